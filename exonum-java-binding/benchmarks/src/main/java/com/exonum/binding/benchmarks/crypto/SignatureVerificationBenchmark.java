@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks.crypto;
+
+import com.exonum.binding.common.crypto.CryptoFunction;
+import com.exonum.binding.common.crypto.CryptoFunctions;
+import com.exonum.binding.common.crypto.KeyPair;
+import com.exonum.binding.common.crypto.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the verification of a batch of Ed25519 signatures one by one
+ * with {@link CryptoFunction#verify} and with {@link CryptoFunction#verifyBatch}.
+ * Each signature in the batch is made with a distinct key pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class SignatureVerificationBenchmark {
+
+  private static final int MESSAGE_SIZE = 128;
+
+  @Param({"1", "16", "256", "4096"})
+  private int batchSize;
+
+  private CryptoFunction cryptoFunction;
+  private List<byte[]> messages;
+  private List<byte[]> signatures;
+  private List<PublicKey> publicKeys;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    cryptoFunction = CryptoFunctions.ed25519();
+    messages = new ArrayList<>(batchSize);
+    signatures = new ArrayList<>(batchSize);
+    publicKeys = new ArrayList<>(batchSize);
+    Random random = new Random(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      KeyPair keyPair = cryptoFunction.generateKeyPair();
+      byte[] message = new byte[MESSAGE_SIZE];
+      random.nextBytes(message);
+      messages.add(message);
+      signatures.add(cryptoFunction.signMessage(message, keyPair.getPrivateKey()));
+      publicKeys.add(keyPair.getPublicKey());
+    }
+  }
+
+  @Benchmark
+  public void verifyOneByOne(Blackhole blackhole) {
+    for (int i = 0; i < batchSize; i++) {
+      blackhole.consume(cryptoFunction.verify(messages.get(i), signatures.get(i),
+          publicKeys.get(i)));
+    }
+  }
+
+  @Benchmark
+  public List<Boolean> verifyBatch() {
+    return cryptoFunction.verifyBatch(messages, signatures, publicKeys);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Generates the data for the storage benchmarks.
+ */
+final class BenchmarkData {
+
+  /**
+   * The number of pre-generated random positions the benchmarks access in turn.
+   * Must be a power of two.
+   */
+  static final int NUM_POSITIONS = 1024;
+
+  /**
+   * The size of the keys. It is equal to the size of the proof map keys, so that the same keys
+   * can be used with any map.
+   */
+  static final int KEY_SIZE = 32;
+
+  /**
+   * Returns a key corresponding to the given number. The keys are ordered as the numbers.
+   */
+  static byte[] key(int i) {
+    checkArgument(i >= 0, "i (%s) must not be negative", i);
+    return ByteBuffer.allocate(KEY_SIZE)
+        .putInt(KEY_SIZE - Integer.BYTES, i)
+        .array();
+  }
+
+  /**
+   * Returns a random value of the given size.
+   */
+  static byte[] randomValue(Random random, int size) {
+    byte[] value = new byte[size];
+    random.nextBytes(value);
+    return value;
+  }
+
+  /**
+   * Returns {@link #NUM_POSITIONS} random positions in range {@code [0, bound)}.
+   */
+  static int[] randomPositions(Random random, int bound) {
+    return random.ints(NUM_POSITIONS, 0, bound)
+        .toArray();
+  }
+
+  /**
+   * A cyclic cursor over the pre-generated random positions.
+   */
+  static final class Positions {
+
+    private final int[] positions;
+    private int cursor;
+
+    Positions(Random random, int bound) {
+      this.positions = randomPositions(random, bound);
+      this.cursor = 0;
+    }
+
+    /** Returns the next random position. */
+    int next() {
+      int position = positions[cursor];
+      cursor = (cursor + 1) & (NUM_POSITIONS - 1);
+      return position;
+    }
+  }
+
+  private BenchmarkData() {}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks.storage;
+
+import static com.exonum.binding.benchmarks.storage.BenchmarkData.randomValue;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.storage.indices.EntryIndexProxy;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of the operations on {@link EntryIndexProxy}.
+ *
+ * <p>The reads use a snapshot; the writes use a fork, which is discarded after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class EntryIndexBenchmark {
+
+  @Param({"8", "1024", "65536"})
+  private int valueSize;
+
+  private TemporaryDb db;
+  private Cleaner snapshotCleaner;
+  private EntryIndexProxy<byte[]> snapshotEntry;
+  private ByteBuffer buffer;
+  private byte[] value;
+
+  private Cleaner forkCleaner;
+  private EntryIndexProxy<byte[]> forkEntry;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    Random random = new Random(valueSize);
+    value = randomValue(random, valueSize);
+    buffer = ByteBuffer.allocateDirect(valueSize);
+
+    db = TemporaryDb.newInstance();
+    try (Cleaner initCleaner = new Cleaner("benchmark initialization")) {
+      Fork fork = db.createFork(initCleaner);
+      createEntry(fork).set(value);
+      db.merge(fork);
+    }
+
+    snapshotCleaner = new Cleaner("benchmark snapshot");
+    snapshotEntry = createEntry(db.createSnapshot(snapshotCleaner));
+  }
+
+  @Setup(Level.Iteration)
+  public void createFork() {
+    forkCleaner = new Cleaner("benchmark fork");
+    forkEntry = createEntry(db.createFork(forkCleaner));
+  }
+
+  @TearDown(Level.Iteration)
+  public void destroyFork() throws CloseFailuresException {
+    forkCleaner.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CloseFailuresException {
+    snapshotCleaner.close();
+    db.close();
+  }
+
+  @Benchmark
+  public byte[] get() {
+    return snapshotEntry.get();
+  }
+
+  @Benchmark
+  public byte[] getWithBuffer() {
+    return snapshotEntry.get(buffer);
+  }
+
+  @Benchmark
+  public boolean isPresent() {
+    return snapshotEntry.isPresent();
+  }
+
+  @Benchmark
+  public void set() {
+    forkEntry.set(value);
+  }
+
+  private static EntryIndexProxy<byte[]> createEntry(View view) {
+    return EntryIndexProxy.newInstance("entry", view, StandardSerializers.bytes());
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks.storage;
+
+import static com.exonum.binding.benchmarks.storage.BenchmarkData.randomValue;
+
+import com.exonum.binding.benchmarks.storage.BenchmarkData.Positions;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.storage.indices.ListIndex;
+import com.exonum.binding.core.storage.indices.ListIndexProxy;
+import com.exonum.binding.core.storage.indices.ProofListIndexProxy;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of the operations on {@link ListIndexProxy} and {@link ProofListIndexProxy}.
+ *
+ * <p>The reads use a snapshot of a list of the given size; the writes use a fork
+ * of the same database state, which is discarded after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class ListIndexBenchmark {
+
+  private static final String LIST_NAME = "list";
+
+  @Param({"list", "proof_list"})
+  private String listType;
+
+  @Param({"1000", "100000"})
+  private int listSize;
+
+  @Param({"8", "1024"})
+  private int valueSize;
+
+  private TemporaryDb db;
+  private Cleaner snapshotCleaner;
+  private ListIndex<byte[]> snapshotList;
+  private Positions positions;
+  private byte[] value;
+
+  private Cleaner forkCleaner;
+  private ListIndex<byte[]> forkList;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    Random random = new Random(listSize);
+    value = randomValue(random, valueSize);
+    positions = new Positions(random, listSize);
+
+    db = TemporaryDb.newInstance();
+    try (Cleaner initCleaner = new Cleaner("benchmark initialization")) {
+      Fork fork = db.createFork(initCleaner);
+      ListIndex<byte[]> list = createList(fork);
+      for (int i = 0; i < listSize; i++) {
+        list.add(randomValue(random, valueSize));
+      }
+      db.merge(fork);
+    }
+
+    snapshotCleaner = new Cleaner("benchmark snapshot");
+    snapshotList = createList(db.createSnapshot(snapshotCleaner));
+  }
+
+  @Setup(Level.Iteration)
+  public void createFork() {
+    forkCleaner = new Cleaner("benchmark fork");
+    forkList = createList(db.createFork(forkCleaner));
+  }
+
+  @TearDown(Level.Iteration)
+  public void destroyFork() throws CloseFailuresException {
+    forkCleaner.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CloseFailuresException {
+    snapshotCleaner.close();
+    db.close();
+  }
+
+  @Benchmark
+  public byte[] get() {
+    return snapshotList.get(positions.next());
+  }
+
+  @Benchmark
+  public void add() {
+    forkList.add(value);
+  }
+
+  @Benchmark
+  public void set() {
+    forkList.set(positions.next(), value);
+  }
+
+  @Benchmark
+  public void stream(Blackhole blackhole) {
+    snapshotList.stream()
+        .forEach(blackhole::consume);
+  }
+
+  private ListIndex<byte[]> createList(View view) {
+    switch (listType) {
+      case "list":
+        return ListIndexProxy.newInstance(LIST_NAME, view, StandardSerializers.bytes());
+      case "proof_list":
+        return ProofListIndexProxy.newInstance(LIST_NAME, view, StandardSerializers.bytes());
+      default:
+        throw new AssertionError("Unknown list type: " + listType);
+    }
+  }
+}
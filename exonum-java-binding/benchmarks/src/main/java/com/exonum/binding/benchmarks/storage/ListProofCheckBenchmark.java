@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks.storage;
+
+import static com.exonum.binding.benchmarks.storage.BenchmarkData.randomValue;
+
+import com.exonum.binding.common.proofs.list.CheckedListProof;
+import com.exonum.binding.common.proofs.list.ListProofNode;
+import com.exonum.binding.common.proofs.list.UncheckedListProofAdapter;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.exonum.binding.core.storage.indices.ProofListIndexProxy;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of verifying the range proofs of {@link ProofListIndexProxy}:
+ * the validation of the proof tree structure and the computation of the index hash.
+ * The proof is of all the elements of the list.
+ *
+ * <p>The proof is created once, hence only the verification is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class ListProofCheckBenchmark {
+
+  private static final int VALUE_SIZE = 8;
+
+  @Param({"1000", "100000", "1000000"})
+  private int rangeSize;
+
+  private ListProofNode proofRoot;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    Random random = new Random(rangeSize);
+    try (TemporaryDb db = TemporaryDb.newInstance();
+        Cleaner cleaner = new Cleaner("benchmark initialization")) {
+      Fork fork = db.createFork(cleaner);
+      ProofListIndexProxy<byte[]> list = ProofListIndexProxy.newInstance("proof_list", fork,
+          StandardSerializers.bytes());
+      for (int i = 0; i < rangeSize; i++) {
+        list.add(randomValue(random, VALUE_SIZE));
+      }
+      proofRoot = list.getRangeProof(0, rangeSize)
+          .getListProofRootNode();
+    }
+  }
+
+  @Benchmark
+  public CheckedListProof checkRangeProof() {
+    return new UncheckedListProofAdapter(proofRoot, rangeSize)
+        .check();
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks.storage;
+
+import static com.exonum.binding.benchmarks.storage.BenchmarkData.key;
+import static com.exonum.binding.benchmarks.storage.BenchmarkData.randomValue;
+
+import com.exonum.binding.benchmarks.storage.BenchmarkData.Positions;
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.storage.indices.MapIndex;
+import com.exonum.binding.core.storage.indices.MapIndexProxy;
+import com.exonum.binding.core.storage.indices.ProofMapIndexProxy;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of the operations on {@link MapIndexProxy} and {@link ProofMapIndexProxy}.
+ *
+ * <p>The reads use a snapshot of a map of the given size; the writes use a fork
+ * of the same database state, which is discarded after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class MapIndexBenchmark {
+
+  private static final String MAP_NAME = "map";
+
+  @Param({"map", "proof_map"})
+  private String mapType;
+
+  @Param({"1000", "100000"})
+  private int mapSize;
+
+  @Param({"8", "1024"})
+  private int valueSize;
+
+  private TemporaryDb db;
+  private Cleaner snapshotCleaner;
+  private MapIndex<byte[], byte[]> snapshotMap;
+  private Positions positions;
+  private byte[][] keys;
+  private byte[] value;
+
+  private Cleaner forkCleaner;
+  private MapIndex<byte[], byte[]> forkMap;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    Random random = new Random(mapSize);
+    keys = new byte[mapSize][];
+    for (int i = 0; i < mapSize; i++) {
+      keys[i] = key(i);
+    }
+    value = randomValue(random, valueSize);
+    positions = new Positions(random, mapSize);
+
+    db = TemporaryDb.newInstance();
+    try (Cleaner initCleaner = new Cleaner("benchmark initialization")) {
+      Fork fork = db.createFork(initCleaner);
+      MapIndex<byte[], byte[]> map = createMap(fork);
+      for (byte[] key : keys) {
+        map.put(key, randomValue(random, valueSize));
+      }
+      db.merge(fork);
+    }
+
+    snapshotCleaner = new Cleaner("benchmark snapshot");
+    snapshotMap = createMap(db.createSnapshot(snapshotCleaner));
+  }
+
+  @Setup(Level.Iteration)
+  public void createFork() {
+    forkCleaner = new Cleaner("benchmark fork");
+    forkMap = createMap(db.createFork(forkCleaner));
+  }
+
+  @TearDown(Level.Iteration)
+  public void destroyFork() throws CloseFailuresException {
+    forkCleaner.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CloseFailuresException {
+    snapshotCleaner.close();
+    db.close();
+  }
+
+  @Benchmark
+  public byte[] get() {
+    byte[] key = keys[positions.next()];
+    return snapshotMap.get(key);
+  }
+
+  @Benchmark
+  public boolean containsKey() {
+    byte[] key = keys[positions.next()];
+    return snapshotMap.containsKey(key);
+  }
+
+  @Benchmark
+  public void put() {
+    byte[] key = keys[positions.next()];
+    forkMap.put(key, value);
+  }
+
+  @Benchmark
+  public void iterateEntries(Blackhole blackhole) {
+    Iterator<MapEntry<byte[], byte[]>> entries = snapshotMap.entries();
+    while (entries.hasNext()) {
+      blackhole.consume(entries.next());
+    }
+  }
+
+  @Benchmark
+  public void iterateValues(Blackhole blackhole) {
+    Iterator<byte[]> values = snapshotMap.values();
+    while (values.hasNext()) {
+      blackhole.consume(values.next());
+    }
+  }
+
+  private MapIndex<byte[], byte[]> createMap(View view) {
+    switch (mapType) {
+      case "map":
+        return MapIndexProxy.newInstance(MAP_NAME, view, StandardSerializers.bytes(),
+            StandardSerializers.bytes());
+      case "proof_map":
+        return ProofMapIndexProxy.newInstance(MAP_NAME, view, StandardSerializers.bytes(),
+            StandardSerializers.bytes());
+      default:
+        throw new AssertionError("Unknown map type: " + mapType);
+    }
+  }
+}
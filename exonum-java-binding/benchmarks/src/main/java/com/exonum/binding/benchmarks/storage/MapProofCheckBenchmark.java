@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks.storage;
+
+import static com.exonum.binding.benchmarks.storage.BenchmarkData.key;
+import static com.exonum.binding.benchmarks.storage.BenchmarkData.randomValue;
+import static java.util.stream.Collectors.toList;
+
+import com.exonum.binding.common.proofs.EncodedMapProof;
+import com.exonum.binding.common.proofs.map.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.UncheckedFlatMapProof;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.storage.indices.ProofMapIndexProxy;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of verifying the multi-key proofs of {@link ProofMapIndexProxy}
+ * depending on the number of requested keys. About a half of the requested keys
+ * are absent in the map.
+ *
+ * <p>The proof is created and decoded once, hence only the verification is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class MapProofCheckBenchmark {
+
+  private static final int VALUE_SIZE = 8;
+
+  @Param({"100000"})
+  private int mapSize;
+
+  @Param({"16", "256", "4096"})
+  private int keyCount;
+
+  private UncheckedFlatMapProof proof;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    Random random = new Random(keyCount);
+    List<byte[]> requestedKeys = random.ints(0, 2 * mapSize)
+        .distinct()
+        .limit(keyCount)
+        .mapToObj(BenchmarkData::key)
+        .collect(toList());
+
+    try (TemporaryDb db = TemporaryDb.newInstance();
+        Cleaner cleaner = new Cleaner("benchmark initialization")) {
+      Fork fork = db.createFork(cleaner);
+      ProofMapIndexProxy<byte[], byte[]> map = createMap(fork);
+      for (int i = 0; i < mapSize; i++) {
+        map.put(key(i), randomValue(random, VALUE_SIZE));
+      }
+      EncodedMapProof encodedProof = (EncodedMapProof) map.getProof(requestedKeys);
+      proof = encodedProof.decode();
+    }
+  }
+
+  @Benchmark
+  public CheckedMapProof checkProof() {
+    return proof.check();
+  }
+
+  private static ProofMapIndexProxy<byte[], byte[]> createMap(View view) {
+    return ProofMapIndexProxy.newInstance("proof_map", view, StandardSerializers.bytes(),
+        StandardSerializers.bytes());
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks.storage;
+
+import static com.exonum.binding.benchmarks.storage.BenchmarkData.randomValue;
+
+import com.exonum.binding.benchmarks.storage.BenchmarkData.Positions;
+import com.exonum.binding.common.proofs.list.UncheckedListProof;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.storage.indices.ProofListIndexProxy;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of creating the proofs of the elements of {@link ProofListIndexProxy}.
+ * The proofs are not verified.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class ProofListIndexBenchmark {
+
+  @Param({"1000", "100000"})
+  private int listSize;
+
+  @Param({"8", "1024"})
+  private int valueSize;
+
+  @Param({"16", "256"})
+  private int rangeSize;
+
+  private TemporaryDb db;
+  private Cleaner cleaner;
+  private ProofListIndexProxy<byte[]> list;
+  private Positions positions;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    Random random = new Random(listSize);
+    positions = new Positions(random, listSize - rangeSize + 1);
+
+    db = TemporaryDb.newInstance();
+    try (Cleaner initCleaner = new Cleaner("benchmark initialization")) {
+      Fork fork = db.createFork(initCleaner);
+      ProofListIndexProxy<byte[]> list = createList(fork);
+      for (int i = 0; i < listSize; i++) {
+        list.add(randomValue(random, valueSize));
+      }
+      db.merge(fork);
+    }
+
+    cleaner = new Cleaner("benchmark");
+    list = createList(db.createSnapshot(cleaner));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CloseFailuresException {
+    cleaner.close();
+    db.close();
+  }
+
+  @Benchmark
+  public UncheckedListProof getProof() {
+    return list.getProof(positions.next());
+  }
+
+  @Benchmark
+  public UncheckedListProof getRangeProof() {
+    int from = positions.next();
+    return list.getRangeProof(from, from + rangeSize);
+  }
+
+  private static ProofListIndexProxy<byte[]> createList(View view) {
+    return ProofListIndexProxy.newInstance("proof_list", view, StandardSerializers.bytes());
+  }
+}
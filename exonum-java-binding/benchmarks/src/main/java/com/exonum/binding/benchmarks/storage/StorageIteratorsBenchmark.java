@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks.storage;
+
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.storage.indices.KeySetIndexProxy;
+import com.exonum.binding.core.storage.indices.MapIndexProxy;
+import com.exonum.binding.core.storage.indices.ValueSetIndexProxy;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of full scans over the storage indices using the chunked iterators.
+ *
+ * <p>The chunk size of 1 corresponds to the per-element iteration, i.e., it performs
+ * a native call for each element of the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class StorageIteratorsBenchmark {
+
+  private static final String CHUNK_SIZE_PROPERTY = "exonum.storage.iteratorChunkSize";
+
+  @Param({"1", "16", "64", "256"})
+  private int chunkSize;
+
+  @Param({"1000", "100000"})
+  private int numElements;
+
+  @Param({"8", "1024"})
+  private int valueSize;
+
+  private TemporaryDb db;
+  private Cleaner cleaner;
+  private MapIndexProxy<byte[], byte[]> map;
+  private KeySetIndexProxy<byte[]> keySet;
+  private ValueSetIndexProxy<byte[]> valueSet;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    // The chunk size is read when the iterators are first used; each combination
+    // of parameters runs in a separate JVM, hence it is safe to set it here.
+    System.setProperty(CHUNK_SIZE_PROPERTY, Integer.toString(chunkSize));
+
+    db = TemporaryDb.newInstance();
+    try (Cleaner initCleaner = new Cleaner("benchmark initialization")) {
+      Fork fork = db.createFork(initCleaner);
+      populateIndices(fork);
+      db.merge(fork);
+    }
+
+    cleaner = new Cleaner("benchmark");
+    Snapshot snapshot = db.createSnapshot(cleaner);
+    map = createMap(snapshot);
+    keySet = createKeySet(snapshot);
+    valueSet = createValueSet(snapshot);
+  }
+
+  private void populateIndices(Fork fork) {
+    MapIndexProxy<byte[], byte[]> map = createMap(fork);
+    KeySetIndexProxy<byte[]> keySet = createKeySet(fork);
+    ValueSetIndexProxy<byte[]> valueSet = createValueSet(fork);
+    Random random = new Random(numElements);
+    for (int i = 0; i < numElements; i++) {
+      byte[] key = ByteBuffer.allocate(Integer.BYTES).putInt(i).array();
+      byte[] value = new byte[valueSize];
+      random.nextBytes(value);
+      map.put(key, value);
+      keySet.add(key);
+      valueSet.add(value);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CloseFailuresException {
+    cleaner.close();
+    db.close();
+  }
+
+  @Benchmark
+  public void mapEntries(Blackhole blackhole) {
+    Iterator<MapEntry<byte[], byte[]>> entries = map.entries();
+    while (entries.hasNext()) {
+      blackhole.consume(entries.next());
+    }
+  }
+
+  @Benchmark
+  public void mapKeys(Blackhole blackhole) {
+    Iterator<byte[]> keys = map.keys();
+    while (keys.hasNext()) {
+      blackhole.consume(keys.next());
+    }
+  }
+
+  @Benchmark
+  public void keySetIterator(Blackhole blackhole) {
+    for (byte[] e : keySet) {
+      blackhole.consume(e);
+    }
+  }
+
+  @Benchmark
+  public void valueSetIterator(Blackhole blackhole) {
+    for (ValueSetIndexProxy.Entry<byte[]> e : valueSet) {
+      blackhole.consume(e);
+    }
+  }
+
+  private static MapIndexProxy<byte[], byte[]> createMap(View view) {
+    return MapIndexProxy.newInstance("map", view, StandardSerializers.bytes(),
+        StandardSerializers.bytes());
+  }
+
+  private static KeySetIndexProxy<byte[]> createKeySet(View view) {
+    return KeySetIndexProxy.newInstance("key_set", view, StandardSerializers.bytes());
+  }
+
+  private static ValueSetIndexProxy<byte[]> createValueSet(View view) {
+    return ValueSetIndexProxy.newInstance("value_set", view, StandardSerializers.bytes());
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks.storage;
+
+import static com.exonum.binding.benchmarks.storage.BenchmarkData.randomValue;
+
+import com.exonum.binding.benchmarks.storage.BenchmarkData.Positions;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.storage.indices.ValueSetIndexProxy;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of the operations on {@link ValueSetIndexProxy}.
+ *
+ * <p>The reads use a snapshot of a set of the given size; the writes use a fork
+ * of the same database state, which is discarded after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class ValueSetIndexBenchmark {
+
+  @Param({"1000", "100000"})
+  private int setSize;
+
+  @Param({"8", "1024"})
+  private int valueSize;
+
+  private TemporaryDb db;
+  private Cleaner snapshotCleaner;
+  private ValueSetIndexProxy<byte[]> snapshotSet;
+  private Positions positions;
+  private byte[][] values;
+  private HashCode[] hashes;
+
+  private Cleaner forkCleaner;
+  private ValueSetIndexProxy<byte[]> forkSet;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    Random random = new Random(setSize);
+    values = new byte[setSize][];
+    hashes = new HashCode[setSize];
+    for (int i = 0; i < setSize; i++) {
+      values[i] = randomValue(random, valueSize);
+      hashes[i] = Hashing.defaultHashFunction().hashBytes(values[i]);
+    }
+    positions = new Positions(random, setSize);
+
+    db = TemporaryDb.newInstance();
+    try (Cleaner initCleaner = new Cleaner("benchmark initialization")) {
+      Fork fork = db.createFork(initCleaner);
+      ValueSetIndexProxy<byte[]> set = createSet(fork);
+      for (byte[] value : values) {
+        set.add(value);
+      }
+      db.merge(fork);
+    }
+
+    snapshotCleaner = new Cleaner("benchmark snapshot");
+    snapshotSet = createSet(db.createSnapshot(snapshotCleaner));
+  }
+
+  @Setup(Level.Iteration)
+  public void createFork() {
+    forkCleaner = new Cleaner("benchmark fork");
+    forkSet = createSet(db.createFork(forkCleaner));
+  }
+
+  @TearDown(Level.Iteration)
+  public void destroyFork() throws CloseFailuresException {
+    forkCleaner.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CloseFailuresException {
+    snapshotCleaner.close();
+    db.close();
+  }
+
+  @Benchmark
+  public boolean contains() {
+    return snapshotSet.contains(values[positions.next()]);
+  }
+
+  @Benchmark
+  public boolean containsByHash() {
+    return snapshotSet.containsByHash(hashes[positions.next()]);
+  }
+
+  @Benchmark
+  public void add() {
+    forkSet.add(values[positions.next()]);
+  }
+
+  private static ValueSetIndexProxy<byte[]> createSet(View view) {
+    return ValueSetIndexProxy.newInstance("value_set", view, StandardSerializers.bytes());
+  }
+}
@@ -16,6 +16,13 @@
 
 package com.exonum.binding.common.crypto;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * A crypto function that provides several signature system crypto methods.
  * All method arguments can't be null otherwise {@link NullPointerException} will be thrown.
@@ -43,6 +50,23 @@ public interface CryptoFunction {
    */
   byte[] signMessage(byte[] message, PrivateKey privateKey);
 
+  /**
+   * Given a {@code privateKey}, computes and returns a signature for the remaining bytes
+   * of the supplied {@code message} buffer. The position of the buffer is not changed.
+   *
+   * <p>The default implementation copies the message into an array
+   * and signs it with {@link #signMessage(byte[], PrivateKey)}.
+   *
+   * @return signature as a byte array
+   * @throws IllegalArgumentException if the private key is not valid for this cryptographic
+   *     function
+   */
+  default byte[] signBuffer(ByteBuffer message, PrivateKey privateKey) {
+    byte[] messageBytes = new byte[message.remaining()];
+    message.duplicate().get(messageBytes);
+    return signMessage(messageBytes, privateKey);
+  }
+
   /**
    * Given a {@code publicKey}, verifies that {@code signature} is a valid signature for the
    * supplied {@code message}.
@@ -50,4 +74,35 @@ public interface CryptoFunction {
    * @return true if signature is valid, false otherwise
    */
   boolean verify(byte[] message, byte[] signature, PublicKey publicKey);
+
+  /**
+   * Verifies a batch of signatures: for each index, checks that the signature at that index
+   * is a valid signature for the message at the same index, given the public key
+   * at that index.
+   *
+   * <p>The default implementation verifies the signatures one by one
+   * with {@link #verify(byte[], byte[], PublicKey)}.
+   *
+   * @param messages the signed messages
+   * @param signatures the signatures of the messages
+   * @param publicKeys the public keys to verify the signatures with
+   * @return the list of verification results, true at the index of each valid signature,
+   *     false otherwise
+   * @throws IllegalArgumentException if the lists have different sizes, or if any
+   *     of the public keys is not valid for this cryptographic function
+   */
+  default List<Boolean> verifyBatch(List<byte[]> messages, List<byte[]> signatures,
+      List<PublicKey> publicKeys) {
+    checkArgument(messages.size() == signatures.size()
+            && messages.size() == publicKeys.size(),
+        "The number of messages (%s), signatures (%s) and public keys (%s) must be equal",
+        messages.size(), signatures.size(), publicKeys.size());
+    List<Boolean> results = new ArrayList<>(messages.size());
+    Iterator<byte[]> signatureIter = signatures.iterator();
+    Iterator<PublicKey> publicKeyIter = publicKeys.iterator();
+    for (byte[] message : messages) {
+      results.add(verify(message, signatureIter.next(), publicKeyIter.next()));
+    }
+    return results;
+  }
 }
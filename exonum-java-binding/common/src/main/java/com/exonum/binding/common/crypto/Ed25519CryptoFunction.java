@@ -24,10 +24,16 @@ import static com.exonum.binding.common.crypto.CryptoUtils.hasLength;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Booleans;
 import com.goterl.lazycode.lazysodium.LazySodiumJava;
 import com.goterl.lazycode.lazysodium.SodiumJava;
 import com.goterl.lazycode.lazysodium.utils.LibraryLoader;
 import com.goterl.lazycode.lazysodium.utils.LibraryLoader.Mode;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
  * A ED25519 public-key signature system crypto function.
@@ -36,6 +42,14 @@ final class Ed25519CryptoFunction implements CryptoFunction {
 
   static final Ed25519CryptoFunction INSTANCE = new Ed25519CryptoFunction(Mode.PREFER_SYSTEM);
 
+  /**
+   * The minimal size of a batch of signatures which are verified in parallel.
+   * The verification of a signature takes tens of microseconds, hence it is not worth
+   * splitting smaller batches.
+   */
+  @VisibleForTesting
+  static final int PARALLEL_BATCH_SIZE = 32;
+
   private final LazySodiumJava lazySodium;
 
   @VisibleForTesting
@@ -70,9 +84,28 @@ final class Ed25519CryptoFunction implements CryptoFunction {
 
   @Override
   public byte[] signMessage(byte[] message, PrivateKey privateKey) {
+    return signMessage(message, message.length, privateKey);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>If the message is in the beginning of the backing array of a heap buffer,
+   * it is signed without a copy.
+   */
+  @Override
+  public byte[] signBuffer(ByteBuffer message, PrivateKey privateKey) {
+    if (message.hasArray() && message.arrayOffset() + message.position() == 0) {
+      // libsodium accepts the message length, hence the prefix of the array can be signed
+      return signMessage(message.array(), message.remaining(), privateKey);
+    }
+    return CryptoFunction.super.signBuffer(message, privateKey);
+  }
+
+  private byte[] signMessage(byte[] message, int messageLength, PrivateKey privateKey) {
     checkArgument(hasLength(privateKey.toBytesNoCopy(), PRIVATE_KEY_BYTES));
     byte[] signature = new byte[SIGNATURE_BYTES];
-    boolean signed = lazySodium.cryptoSignDetached(signature, message, message.length,
+    boolean signed = lazySodium.cryptoSignDetached(signature, message, messageLength,
         privateKey.toBytesNoCopy());
 
     if (!signed) {
@@ -83,13 +116,53 @@ final class Ed25519CryptoFunction implements CryptoFunction {
 
   @Override
   public boolean verify(byte[] message, byte[] signature, PublicKey publicKey) {
+    checkPublicKey(publicKey);
+    return verifyWithValidKey(message, signature, publicKey);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>As libsodium does not support batch verification of Ed25519 signatures,
+   * this implementation verifies the signatures of large batches in parallel,
+   * in the {@linkplain ForkJoinPool#commonPool() common pool}.
+   */
+  @Override
+  public List<Boolean> verifyBatch(List<byte[]> messages, List<byte[]> signatures,
+      List<PublicKey> publicKeys) {
+    checkArgument(messages.size() == signatures.size()
+            && messages.size() == publicKeys.size(),
+        "The number of messages (%s), signatures (%s) and public keys (%s) must be equal",
+        messages.size(), signatures.size(), publicKeys.size());
+    // Copy the arguments to access them by index from several threads
+    byte[][] messageArray = messages.toArray(new byte[0][]);
+    byte[][] signatureArray = signatures.toArray(new byte[0][]);
+    PublicKey[] publicKeyArray = publicKeys.toArray(new PublicKey[0]);
+    for (PublicKey publicKey : publicKeyArray) {
+      checkPublicKey(publicKey);
+    }
+
+    int size = messageArray.length;
+    boolean[] results = new boolean[size];
+    IntStream indexes = IntStream.range(0, size);
+    if (size >= PARALLEL_BATCH_SIZE) {
+      indexes = indexes.parallel();
+    }
+    indexes.forEach(i ->
+        results[i] = verifyWithValidKey(messageArray[i], signatureArray[i], publicKeyArray[i]));
+    return Collections.unmodifiableList(Booleans.asList(results));
+  }
+
+  private static void checkPublicKey(PublicKey publicKey) {
     checkArgument(hasLength(publicKey.toBytesNoCopy(), PUBLIC_KEY_BYTES),
         "Public key has invalid size (%s), must be %s", publicKey.size(), PUBLIC_KEY_BYTES);
+  }
+
+  private boolean verifyWithValidKey(byte[] message, byte[] signature, PublicKey publicKey) {
     if (!hasLength(signature, SIGNATURE_BYTES)) {
       return false;
     }
     return lazySodium
         .cryptoSignVerifyDetached(signature, message, message.length, publicKey.toBytesNoCopy());
   }
-
 }
@@ -33,6 +33,8 @@ import com.google.common.primitives.Ints;
 import com.google.protobuf.ByteString;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A hash function is a collision-averse pure function that maps an arbitrary block of data to a
@@ -236,6 +238,28 @@ public interface HashFunction {
    */
   <T> HashCode hashObject(T instance, Funnel<? super T> funnel);
 
+  /**
+   * Returns the hash codes of each of the given inputs; equivalent to
+   * {@link #hashBytes(ByteBuffer)} applied to each input in order. The implementation
+   * <i>might</i> perform better than its longhand equivalent, e.g., by reusing the hashing state,
+   * but should not perform worse. It is intended for hashing many small inputs, e.g.,
+   * the nodes of Merkle trees.
+   *
+   * <p>The positions of the input buffers are advanced to their limits.
+   *
+   * <p>The default implementation hashes the inputs one by one.
+   *
+   * @param inputs the inputs to hash
+   * @return the list of the hash codes of the inputs, in the same order
+   */
+  default List<HashCode> hashAll(List<ByteBuffer> inputs) {
+    List<HashCode> hashes = new ArrayList<>(inputs.size());
+    for (ByteBuffer input : inputs) {
+      hashes.add(hashBytes(input));
+    }
+    return hashes;
+  }
+
   /**
    * Returns the number of bits (a multiple of 32) that each hash code produced by this hash
    * function has.
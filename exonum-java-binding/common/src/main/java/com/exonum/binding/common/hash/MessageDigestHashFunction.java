@@ -31,13 +31,16 @@ package com.exonum.binding.common.hash;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * {@link com.exonum.binding.common.hash.HashFunction} adapter for {@link MessageDigest} instances.
@@ -51,6 +54,14 @@ final class MessageDigestHashFunction extends AbstractHashFunction implements Se
   private final boolean supportsClone;
   private final String toString;
 
+  /**
+   * The per-thread digests used by the one-shot hashing methods, which, unlike
+   * the {@linkplain #newHasher() hashers}, do not need a new digest for each input.
+   * A digest is reset after each {@link MessageDigest#digest()}.
+   */
+  private final transient ThreadLocal<MessageDigest> digests =
+      ThreadLocal.withInitial(this::newDigest);
+
   MessageDigestHashFunction(String algorithmName, String toString) {
     this.prototype = getMessageDigest(algorithmName);
     this.bytes = prototype.getDigestLength();
@@ -97,14 +108,53 @@ final class MessageDigestHashFunction extends AbstractHashFunction implements Se
 
   @Override
   public Hasher newHasher() {
+    return new MessageDigestHasher(newDigest(), bytes);
+  }
+
+  private MessageDigest newDigest() {
     if (supportsClone) {
       try {
-        return new MessageDigestHasher((MessageDigest) prototype.clone(), bytes);
+        return (MessageDigest) prototype.clone();
       } catch (CloneNotSupportedException e) {
         // falls through
       }
     }
-    return new MessageDigestHasher(getMessageDigest(prototype.getAlgorithm()), bytes);
+    return getMessageDigest(prototype.getAlgorithm());
+  }
+
+  @Override
+  public HashCode hashBytes(byte[] input, int off, int len) {
+    checkPositionIndexes(off, off + len, input.length);
+    MessageDigest digest = digests.get();
+    digest.update(input, off, len);
+    return toHashCode(digest, bytes);
+  }
+
+  @Override
+  public HashCode hashBytes(ByteBuffer input) {
+    MessageDigest digest = digests.get();
+    digest.update(input);
+    return toHashCode(digest, bytes);
+  }
+
+  @Override
+  public List<HashCode> hashAll(List<ByteBuffer> inputs) {
+    MessageDigest digest = digests.get();
+    List<HashCode> hashes = new ArrayList<>(inputs.size());
+    for (ByteBuffer input : inputs) {
+      digest.update(input);
+      hashes.add(toHashCode(digest, bytes));
+    }
+    return hashes;
+  }
+
+  /**
+   * Completes the hash computation and resets the digest.
+   */
+  private static HashCode toHashCode(MessageDigest digest, int bytes) {
+    return (bytes == digest.getDigestLength())
+        ? HashCode.fromBytesNoCopy(digest.digest())
+        : HashCode.fromBytesNoCopy(Arrays.copyOf(digest.digest(), bytes));
   }
 
   private static final class SerializedForm implements Serializable {
@@ -168,9 +218,7 @@ final class MessageDigestHashFunction extends AbstractHashFunction implements Se
     public HashCode hash() {
       checkNotDone();
       done = true;
-      return (bytes == digest.getDigestLength())
-          ? HashCode.fromBytesNoCopy(digest.digest())
-          : HashCode.fromBytesNoCopy(Arrays.copyOf(digest.digest(), bytes));
+      return toHashCode(digest, bytes);
     }
   }
 }
@@ -27,6 +27,7 @@ import com.exonum.binding.common.hash.HashCode;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import java.nio.ByteBuffer;
+import javax.annotation.Nullable;
 
 /**
  * Binary implementation of the {@link TransactionMessage} class. Immutable by design.
@@ -36,20 +37,27 @@ final class BinaryTransactionMessage implements TransactionMessage {
   private final int messageSize;
   private final ByteBuffer rawTransaction;
 
+  /**
+   * The hash of the message, computed on the first request. It is immutable, hence is safe
+   * to publish without synchronization.
+   */
+  @Nullable
+  private HashCode hash;
+
   BinaryTransactionMessage(byte[] bytes) {
     this(ByteBuffer.wrap(bytes));
   }
 
   BinaryTransactionMessage(ByteBuffer buffer) {
-    ByteBuffer slice = buffer.slice();
-    messageSize = slice.remaining();
+    this(buffer.remaining(), copyToHeap(buffer));
+  }
+
+  private BinaryTransactionMessage(int messageSize, ByteBuffer rawTransaction) {
     checkArgument(MIN_MESSAGE_SIZE <= messageSize,
         "Transaction message must be at least %s bytes, but was %s",
         MIN_MESSAGE_SIZE, messageSize);
-
-    this.rawTransaction = ByteBuffer.allocate(messageSize).order(LITTLE_ENDIAN);
-    this.rawTransaction.put(slice);
-    this.rawTransaction.flip();
+    this.messageSize = messageSize;
+    this.rawTransaction = rawTransaction;
 
     // Check class and tag of the message
     byte messageClass = rawTransaction.get(CLS_OFFSET);
@@ -60,6 +68,21 @@ final class BinaryTransactionMessage implements TransactionMessage {
         "Invalid message tag: %s", messageTag);
   }
 
+  /**
+   * Creates a message backed by the given array. The array is not copied,
+   * therefore, it must not be modified afterwards.
+   */
+  static BinaryTransactionMessage wrapNoCopy(byte[] bytes) {
+    return new BinaryTransactionMessage(bytes.length, ByteBuffer.wrap(bytes).order(LITTLE_ENDIAN));
+  }
+
+  private static ByteBuffer copyToHeap(ByteBuffer buffer) {
+    ByteBuffer copy = ByteBuffer.allocate(buffer.remaining()).order(LITTLE_ENDIAN);
+    copy.put(buffer.slice());
+    copy.flip();
+    return copy;
+  }
+
   @Override
   public PublicKey getAuthor() {
     byte[] key = getBytes(AUTHOR_PUBLIC_KEY_OFFSET, AUTHOR_PUBLIC_KEY_SIZE);
@@ -84,7 +107,12 @@ final class BinaryTransactionMessage implements TransactionMessage {
 
   @Override
   public HashCode hash() {
-    return sha256().hashBytes(rawTransaction.array());
+    HashCode messageHash = hash;
+    if (messageHash == null) {
+      messageHash = sha256().hashBytes(rawTransaction.array());
+      hash = messageHash;
+    }
+    return messageHash;
   }
 
   @Override
@@ -93,6 +121,23 @@ final class BinaryTransactionMessage implements TransactionMessage {
     return getBytes(PAYLOAD_OFFSET + payloadSize, SIGNATURE_SIZE);
   }
 
+  @Override
+  public ByteBuffer getAuthorBuffer() {
+    return getBuffer(AUTHOR_PUBLIC_KEY_OFFSET, AUTHOR_PUBLIC_KEY_SIZE);
+  }
+
+  @Override
+  public ByteBuffer getPayloadBuffer() {
+    int payloadSize = messageSize - MIN_MESSAGE_SIZE;
+    return getBuffer(PAYLOAD_OFFSET, payloadSize);
+  }
+
+  @Override
+  public ByteBuffer getSignatureBuffer() {
+    int payloadSize = messageSize - MIN_MESSAGE_SIZE;
+    return getBuffer(PAYLOAD_OFFSET + payloadSize, SIGNATURE_SIZE);
+  }
+
   @Override
   public byte[] toBytes() {
     byte[] bytes = rawTransaction.array();
@@ -134,6 +179,16 @@ final class BinaryTransactionMessage implements TransactionMessage {
         .toString();
   }
 
+  /**
+   * Returns a read-only view of the given part of the raw transaction.
+   */
+  private ByteBuffer getBuffer(int startOffset, int size) {
+    ByteBuffer buffer = rawTransaction.asReadOnlyBuffer();
+    buffer.position(startOffset);
+    buffer.limit(startOffset + size);
+    return buffer.slice();
+  }
+
   /**
    * Returns bytes by slicing raw transaction to avoid changing it's position.
    */
@@ -24,8 +24,10 @@ import com.exonum.binding.common.crypto.CryptoFunctions;
 import com.exonum.binding.common.crypto.KeyPair;
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 
 /**
  * An Exonum transaction message.
@@ -47,6 +49,16 @@ public interface TransactionMessage {
    */
   PublicKey getAuthor();
 
+  /**
+   * Returns the public key of the author of the transaction message as a read-only buffer.
+   *
+   * <p>The default implementation wraps the bytes of {@link #getAuthor()}.
+   */
+  default ByteBuffer getAuthorBuffer() {
+    return ByteBuffer.wrap(getAuthor().toBytes())
+        .asReadOnlyBuffer();
+  }
+
   /**
    * Returns the identifier of the service this message belongs to.
    */
@@ -62,6 +74,19 @@ public interface TransactionMessage {
    */
   byte[] getPayload();
 
+  /**
+   * Returns the payload containing the serialized transaction parameters
+   * as a read-only buffer. The buffer may share the content with this message,
+   * therefore, it is preferable to {@link #getPayload()} when the payload
+   * is only read.
+   *
+   * <p>The default implementation wraps {@link #getPayload()}.
+   */
+  default ByteBuffer getPayloadBuffer() {
+    return ByteBuffer.wrap(getPayload())
+        .asReadOnlyBuffer();
+  }
+
   /**
    * Returns the SHA-256 hash of the binary message representation.
    */
@@ -78,6 +103,18 @@ public interface TransactionMessage {
    */
   byte[] getSignature();
 
+  /**
+   * Returns the signature over this binary message as a read-only buffer.
+   *
+   * <p>The default implementation wraps {@link #getSignature()}.
+   *
+   * @see #getSignature()
+   */
+  default ByteBuffer getSignatureBuffer() {
+    return ByteBuffer.wrap(getSignature())
+        .asReadOnlyBuffer();
+  }
+
   /**
    * Returns the transaction message in binary format.
    */
@@ -160,26 +197,62 @@ public interface TransactionMessage {
      */
     public TransactionMessage sign(KeyPair keys, CryptoFunction crypto) {
       checkRequiredFieldsSet();
+      byte[] message = new byte[MIN_MESSAGE_SIZE + payload.remaining()];
+      writeSignedMessage(keys, crypto, ByteBuffer.wrap(message));
+      // The array is not shared, hence the message may be backed by it
+      return BinaryTransactionMessage.wrapNoCopy(message);
+    }
+
+    /**
+     * Signs the message, writing the signed binary transaction message into the given buffer
+     * at its current position. The position is advanced by the size of the message, which is
+     * equal to {@link TransactionMessage#MIN_MESSAGE_SIZE} plus the size of the payload.
+     *
+     * <p>This method allows to serialize several messages into a reusable buffer, e.g.,
+     * to send them over the network, without creating a {@link TransactionMessage} for each
+     * of them. If the message is written at the beginning of a heap buffer, it is signed
+     * in place; otherwise, the signed part of the message is copied for signing.
+     *
+     * @param keys key pair with private and public keys. Public key is used as an author key of the
+     *        message and private key is used for signing the message.
+     * @param crypto a cryptographic function to use
+     * @param target a buffer to write the signed message to
+     * @throws NullPointerException if serviceId or transactionId or payload weren't set
+     * @throws IllegalArgumentException if public key has wrong size
+     * @throws BufferOverflowException if there is insufficient space in the buffer;
+     *     the buffer is not modified in this case
+     * @throws ReadOnlyBufferException if the buffer is read-only
+     */
+    public void signInto(KeyPair keys, CryptoFunction crypto, ByteBuffer target) {
+      checkRequiredFieldsSet();
+      writeSignedMessage(keys, crypto, target);
+    }
+
+    private void writeSignedMessage(KeyPair keys, CryptoFunction crypto, ByteBuffer target) {
       PublicKey authorPublicKey = keys.getPublicKey();
       checkArgument(authorPublicKey.size() == AUTHOR_PUBLIC_KEY_SIZE);
 
-      int payloadSize = payload.remaining();
-      ByteBuffer buffer = ByteBuffer
-          .allocate(MIN_MESSAGE_SIZE + payloadSize)
+      int unsignedMessageSize = PAYLOAD_OFFSET + payload.remaining();
+      int messageSize = unsignedMessageSize + SIGNATURE_SIZE;
+      if (target.remaining() < messageSize) {
+        throw new BufferOverflowException();
+      }
+      ByteBuffer message = target.slice()
           .order(ByteOrder.LITTLE_ENDIAN);
-      buffer.put(authorPublicKey.toBytes());
-      buffer.put(MessageType.TRANSACTION.bytes());
-      buffer.putShort(serviceId);
-      buffer.putShort(transactionId);
-      buffer.put(payload);
-
-      buffer.rewind();
-      byte[] unsignedMessage = new byte[PAYLOAD_OFFSET + payloadSize];
-      buffer.get(unsignedMessage);
-      byte[] signature = crypto.signMessage(unsignedMessage, keys.getPrivateKey());
-      buffer.put(signature);
-
-      return new BinaryTransactionMessage(buffer.array());
+      message.put(authorPublicKey.toBytes());
+      message.put(MessageType.TRANSACTION.bytes());
+      message.putShort(serviceId);
+      message.putShort(transactionId);
+      // Do not consume the payload, so that the builder can be reused
+      message.put(payload.duplicate());
+
+      message.flip();
+      byte[] signature = crypto.signBuffer(message, keys.getPrivateKey());
+      message.limit(messageSize)
+          .position(unsignedMessageSize);
+      message.put(signature);
+
+      target.position(target.position() + messageSize);
     }
 
     private void checkRequiredFieldsSet() {
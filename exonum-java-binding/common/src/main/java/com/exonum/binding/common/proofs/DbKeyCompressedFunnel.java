@@ -19,6 +19,7 @@ package com.exonum.binding.common.proofs;
 import com.exonum.binding.common.hash.Funnel;
 import com.exonum.binding.common.hash.PrimitiveSink;
 import com.exonum.binding.common.proofs.map.DbKey;
+import java.nio.ByteBuffer;
 
 /**
  * A funnel for a database key. Encodes the key in the following format:
@@ -29,25 +30,49 @@ import com.exonum.binding.common.proofs.map.DbKey;
 public enum DbKeyCompressedFunnel implements Funnel<DbKey> {
   INSTANCE;
 
+  /**
+   * The maximum size of an encoded key in bytes: two bytes of the number of significant bits
+   * (up to 256), and the whole key.
+   */
+  public static final int MAX_COMPRESSED_SIZE = 2 + DbKey.KEY_SIZE;
+
   @Override
   public void funnel(DbKey from, PrimitiveSink into) {
     int bitsLength = from.getNumSignificantBits();
-    writeUnsignedLeb128(into, bitsLength);
+    writeUnsignedLeb128(into::putByte, bitsLength);
 
     int wholeBytesLength = getWholeBytesKeyLength(bitsLength);
     byte[] key = from.getKeySlice();
     into.putBytes(key, 0, wholeBytesLength);
   }
 
-  private static void writeUnsignedLeb128(PrimitiveSink into, int value) {
+  /**
+   * Writes the key to the given buffer in the same format as {@link #funnel(DbKey, PrimitiveSink)}.
+   * Allows to encode the key without a {@link PrimitiveSink}, e.g., to hash a Merkle tree node
+   * in a single call.
+   *
+   * @param from the key to encode
+   * @param into the buffer to write the key into; it must have at least
+   *     {@link #MAX_COMPRESSED_SIZE} bytes remaining
+   * @throws java.nio.BufferOverflowException if there is not enough room in the buffer
+   */
+  public static void putCompressed(DbKey from, ByteBuffer into) {
+    int bitsLength = from.getNumSignificantBits();
+    writeUnsignedLeb128(into::put, bitsLength);
+
+    int wholeBytesLength = getWholeBytesKeyLength(bitsLength);
+    into.put(from.getKeySlice(), 0, wholeBytesLength);
+  }
+
+  private static void writeUnsignedLeb128(ByteSink into, int value) {
     int remaining = value >>> 7;
     while (remaining != 0) {
-      into.putByte((byte) ((value & 0x7f) | 0x80));
+      into.put((byte) ((value & 0x7f) | 0x80));
       value = remaining;
       remaining >>>= 7;
     }
 
-    into.putByte((byte) (value & 0x7f));
+    into.put((byte) (value & 0x7f));
   }
 
   private static int getWholeBytesKeyLength(int bitsLength) {
@@ -57,4 +82,10 @@ public enum DbKeyCompressedFunnel implements Funnel<DbKey> {
   public static Funnel<DbKey> dbKeyCompressedFunnel() {
     return INSTANCE;
   }
+
+  /** A destination of the encoded bytes: either a {@link PrimitiveSink} or a buffer. */
+  @FunctionalInterface
+  private interface ByteSink {
+    void put(byte b);
+  }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.proofs.map.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.UncheckedFlatMapProof;
+import com.exonum.binding.common.proofs.map.UncheckedMapProof;
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import javax.annotation.Nullable;
+
+/**
+ * A map proof in the compact binary format (see the {@code map_proof} in {@link ProofBundle}),
+ * which is decoded lazily. The proof entries are not copied nor decoded until the proof
+ * is {@linkplain #check() checked}, therefore, the proofs that are only forwarded
+ * to the clients may be {@linkplain #writeTo(OutputStream) written} as is,
+ * without the intermediate objects.
+ *
+ * <p>The proofs of {@code ProofMapIndexProxy} are created in this format.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class EncodedMapProof implements UncheckedMapProof {
+
+  private final byte[] encodedProof;
+
+  /**
+   * The decoded proof, created on the first check. It is immutable, hence is safe
+   * to publish without synchronization.
+   */
+  @Nullable
+  private UncheckedFlatMapProof decodedProof;
+
+  private EncodedMapProof(byte[] encodedProof) {
+    this.encodedProof = encodedProof;
+  }
+
+  /**
+   * Creates a proof from its encoded form. The proof is not decoded until it is checked.
+   *
+   * @param encodedProof the encoded proof; it is copied
+   */
+  public static EncodedMapProof fromBytes(byte[] encodedProof) {
+    checkNotNull(encodedProof, "encodedProof");
+    return new EncodedMapProof(encodedProof.clone());
+  }
+
+  /**
+   * Creates a proof from its encoded form without a copy. The caller must not modify the array.
+   */
+  static EncodedMapProof wrap(byte[] encodedProof) {
+    return new EncodedMapProof(checkNotNull(encodedProof, "encodedProof"));
+  }
+
+  @SuppressWarnings("unused") // Native API
+  private static EncodedMapProof fromNative(byte[] encodedProof) {
+    return new EncodedMapProof(encodedProof);
+  }
+
+  /**
+   * Decodes and checks the proof.
+   *
+   * @throws IllegalArgumentException if the encoded proof is malformed
+   */
+  @Override
+  public CheckedMapProof check() {
+    return decode().check();
+  }
+
+  /**
+   * Decodes the proof and checks that it includes all the entries in the given range.
+   *
+   * @throws IllegalArgumentException if the encoded proof is malformed,
+   *     or if the range is not valid
+   */
+  @Override
+  public CheckedMapProof checkRange(ByteString fromKey, ByteString toKey) {
+    return decode().checkRange(fromKey, toKey);
+  }
+
+  /**
+   * Returns the decoded proof.
+   *
+   * @throws IllegalArgumentException if the encoded proof is malformed
+   */
+  public UncheckedFlatMapProof decode() {
+    UncheckedFlatMapProof proof = decodedProof;
+    if (proof == null) {
+      proof = decodeProof();
+      decodedProof = proof;
+    }
+    return proof;
+  }
+
+  private UncheckedFlatMapProof decodeProof() {
+    ByteBuffer buffer = ByteBuffer.wrap(encodedProof);
+    try {
+      UncheckedFlatMapProof proof = ProofWireFormat.readMapProof(buffer);
+      if (buffer.hasRemaining()) {
+        throw new IllegalArgumentException("The proof has " + buffer.remaining()
+            + " trailing bytes");
+      }
+      return proof;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("The proof is truncated", e);
+    }
+  }
+
+  /**
+   * Returns the size of the encoded proof in bytes.
+   */
+  public int getEncodedSize() {
+    return encodedProof.length;
+  }
+
+  /**
+   * Writes the encoded proof to the given stream.
+   *
+   * @param out the output stream
+   * @throws IOException if the stream throws it
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(encodedProof);
+  }
+
+  /**
+   * Returns a read-only buffer with the encoded proof. The buffer shares the proof bytes.
+   */
+  public ByteBuffer asReadOnlyByteBuffer() {
+    return ByteBuffer.wrap(encodedProof).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns a copy of the encoded proof.
+   */
+  public byte[] toByteArray() {
+    return encodedProof.clone();
+  }
+}
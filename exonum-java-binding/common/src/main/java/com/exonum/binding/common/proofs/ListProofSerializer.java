@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.proofs.list.UncheckedListProof;
+import com.exonum.binding.common.proofs.list.UncheckedListProofAdapter;
+import com.exonum.binding.common.serialization.Serializer;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+enum ListProofSerializer implements Serializer<UncheckedListProof> {
+  INSTANCE;
+
+  @Override
+  public byte[] toBytes(UncheckedListProof value) {
+    checkNotNull(value, "value");
+    checkArgument(value instanceof UncheckedListProofAdapter, "Unsupported list proof: %s",
+        value.getClass());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ProofWireFormat.writeListProof((UncheckedListProofAdapter) value, out);
+    return out.toByteArray();
+  }
+
+  @Override
+  public UncheckedListProof fromBytes(byte[] serializedValue) {
+    checkNotNull(serializedValue, "serializedValue");
+    return fromBuffer(ByteBuffer.wrap(serializedValue));
+  }
+
+  @Override
+  public UncheckedListProof fromBuffer(ByteBuffer serializedValue) {
+    checkNotNull(serializedValue, "serializedValue");
+    try {
+      UncheckedListProof proof = ProofWireFormat.readListProof(serializedValue);
+      checkArgument(!serializedValue.hasRemaining(), "The proof has %s trailing bytes",
+          serializedValue.remaining());
+      return proof;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("The proof is truncated", e);
+    }
+  }
+}
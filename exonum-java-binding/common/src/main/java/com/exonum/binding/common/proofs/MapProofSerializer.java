@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.proofs.map.UncheckedFlatMapProof;
+import com.exonum.binding.common.proofs.map.UncheckedMapProof;
+import com.exonum.binding.common.serialization.Serializer;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+enum MapProofSerializer implements Serializer<UncheckedMapProof> {
+  INSTANCE;
+
+  @Override
+  public byte[] toBytes(UncheckedMapProof value) {
+    checkNotNull(value, "value");
+    if (value instanceof EncodedMapProof) {
+      return ((EncodedMapProof) value).toByteArray();
+    } else if (value instanceof UncheckedFlatMapProof) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ProofWireFormat.writeMapProof((UncheckedFlatMapProof) value, out);
+      return out.toByteArray();
+    } else {
+      throw new IllegalArgumentException("Unsupported map proof: " + value.getClass());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The proof is not decoded until it is checked, hence its {@link UncheckedMapProof#check()}
+   * throws {@link IllegalArgumentException} if the bytes are malformed.
+   */
+  @Override
+  public UncheckedMapProof fromBytes(byte[] serializedValue) {
+    return EncodedMapProof.fromBytes(serializedValue);
+  }
+
+  @Override
+  public UncheckedMapProof fromBuffer(ByteBuffer serializedValue) {
+    byte[] encodedProof = new byte[serializedValue.remaining()];
+    serializedValue.get(encodedProof);
+    return EncodedMapProof.wrap(encodedProof);
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.exonum.binding.common.proofs.list.UncheckedListProof;
+import com.exonum.binding.common.proofs.map.UncheckedMapProof;
+import com.google.common.collect.ImmutableList;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bundle of the map and list proofs, encoded in a compact binary format.
+ * A bundle is created by the native code from several proof indexes in a single call,
+ * and is suitable for sending to light clients as is.
+ *
+ * <p>The bundle has the following format, where the varints are unsigned LEB128 numbers,
+ * and the hashes are 32-byte long:
+ * <pre>
+ * bundle     := version:u8 count:varint proof{count}
+ * proof      := 0x01 map_proof | 0x02 list_proof
+ * map_proof  := n:varint (db_key[34] hash[32]){n}
+ *               m:varint (key[32] length:varint value[length]){m}
+ *               k:varint key[32]{k}
+ * list_proof := list_length:varint node
+ * node       := 0x01 node node          -- a branch
+ *             | 0x02 node               -- a branch with no right child
+ *             | 0x03 length:varint value[length]
+ *             | 0x04 hash[32]
+ *             | 0x05 merkle_root[32]    -- a proof of absence
+ * </pre>
+ * The map proof contains the proof entries, the requested entries that are present
+ * in the map, and the requested keys that are absent, as in
+ * {@link com.exonum.binding.common.proofs.map.UncheckedFlatMapProof}. The single map proofs
+ * use the same format, see {@link EncodedMapProof}.
+ * The list proof contains the length of the list and the proof tree in pre-order.
+ * As each proof is self-delimiting, the bundle can be decoded as it is received.
+ *
+ * <p>This class is immutable.
+ */
+public final class ProofBundle {
+
+  /** The version of the bundle format. */
+  public static final byte FORMAT_VERSION = 1;
+
+  /**
+   * The type of a proof in the bundle.
+   */
+  public enum ProofType {
+    MAP,
+    LIST
+  }
+
+  private final List<Object> proofs;
+
+  private ProofBundle(List<Object> proofs) {
+    this.proofs = proofs;
+  }
+
+  /**
+   * Decodes the bundle.
+   *
+   * @param bundle the encoded bundle
+   * @throws IllegalArgumentException if the bundle is malformed or has unsupported version
+   */
+  public static ProofBundle parseFrom(byte[] bundle) {
+    checkNotNull(bundle, "bundle");
+    ByteBuffer buffer = ByteBuffer.wrap(bundle);
+    try {
+      byte version = buffer.get();
+      checkArgument(version == FORMAT_VERSION, "Unsupported bundle format version: %s",
+          version);
+      int numProofs = ProofWireFormat.readLength(buffer);
+      List<Object> proofs = new ArrayList<>(Math.min(numProofs, buffer.remaining()));
+      for (int i = 0; i < numProofs; i++) {
+        byte proofType = buffer.get();
+        switch (proofType) {
+          case ProofWireFormat.MAP_PROOF:
+            proofs.add(ProofWireFormat.readMapProof(buffer));
+            break;
+          case ProofWireFormat.LIST_PROOF:
+            proofs.add(ProofWireFormat.readListProof(buffer));
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown proof type: " + proofType);
+        }
+      }
+      checkArgument(!buffer.hasRemaining(), "The bundle has %s trailing bytes",
+          buffer.remaining());
+      return new ProofBundle(ImmutableList.copyOf(proofs));
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("The bundle is truncated", e);
+    }
+  }
+
+  /**
+   * Returns the number of proofs in this bundle.
+   */
+  public int size() {
+    return proofs.size();
+  }
+
+  /**
+   * Returns the type of the proof at the given position in this bundle.
+   *
+   * @param index the position of the proof, in the order it was requested
+   * @throws IndexOutOfBoundsException if the index is not valid
+   */
+  public ProofType getProofType(int index) {
+    checkElementIndex(index, proofs.size());
+    return (proofs.get(index) instanceof UncheckedMapProof) ? ProofType.MAP : ProofType.LIST;
+  }
+
+  /**
+   * Returns the map proof at the given position in this bundle.
+   *
+   * @param index the position of the proof, in the order it was requested
+   * @throws IndexOutOfBoundsException if the index is not valid
+   * @throws IllegalStateException if the proof at the given position is not a map proof
+   */
+  public UncheckedMapProof getMapProof(int index) {
+    checkState(getProofType(index) == ProofType.MAP, "The proof at %s is not a map proof",
+        index);
+    return (UncheckedMapProof) proofs.get(index);
+  }
+
+  /**
+   * Returns the list proof at the given position in this bundle.
+   *
+   * @param index the position of the proof, in the order it was requested
+   * @throws IndexOutOfBoundsException if the index is not valid
+   * @throws IllegalStateException if the proof at the given position is not a list proof
+   */
+  public UncheckedListProof getListProof(int index) {
+    checkState(getProofType(index) == ProofType.LIST, "The proof at %s is not a list proof",
+        index);
+    return (UncheckedListProof) proofs.get(index);
+  }
+}
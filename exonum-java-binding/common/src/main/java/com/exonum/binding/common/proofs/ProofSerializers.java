@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import com.exonum.binding.common.proofs.list.UncheckedListProof;
+import com.exonum.binding.common.proofs.map.UncheckedMapProof;
+import com.exonum.binding.common.serialization.Serializer;
+
+/**
+ * Serializers of the map and list proofs in the compact binary format. The format
+ * is the same as of the proofs in a {@link ProofBundle}: the hashes and keys are written
+ * as raw bytes, and the lengths as varints, therefore, the encoded proofs are considerably
+ * smaller than their JSON representation with hex-encoded hashes, and are decoded
+ * without parsing text.
+ *
+ * <p>The proof-serving endpoints may use them to send the proofs to the light clients:
+ * <pre><code>
+ * UncheckedMapProof proof = map.getProof(keys);
+ * byte[] response = ProofSerializers.mapProof().toBytes(proof);
+ * </code></pre>
+ */
+public final class ProofSerializers {
+
+  /**
+   * Returns a serializer of the map proofs. It supports the {@link EncodedMapProof}s,
+   * which it writes as is, and the
+   * {@link com.exonum.binding.common.proofs.map.UncheckedFlatMapProof}s.
+   * The proofs are deserialized as {@link EncodedMapProof}s, which are decoded
+   * when checked.
+   */
+  public static Serializer<UncheckedMapProof> mapProof() {
+    return MapProofSerializer.INSTANCE;
+  }
+
+  /**
+   * Returns a serializer of the list proofs. It supports the
+   * {@link com.exonum.binding.common.proofs.list.UncheckedListProofAdapter}s, which are
+   * the list proofs created by the framework.
+   */
+  public static Serializer<UncheckedListProof> listProof() {
+    return ListProofSerializer.INSTANCE;
+  }
+
+  private ProofSerializers() {}
+}
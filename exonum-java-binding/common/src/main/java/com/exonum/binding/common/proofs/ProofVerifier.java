@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.proofs.list.CheckedListProof;
+import com.exonum.binding.common.proofs.list.UncheckedListProof;
+import com.exonum.binding.common.proofs.map.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.UncheckedMapProof;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Checks batches of map and list proofs in parallel on a {@link ForkJoinPool}.
+ *
+ * <p>Each proof in a batch is checked as a separate task, hence the throughput scales
+ * with the parallelism of the pool. The identical proofs in a batch are checked once:
+ * the same proof objects, and the {@link EncodedMapProof}s with equal encodings
+ * (e.g., the proofs of the same keys at the same state of the map, requested
+ * by several clients). The checked proofs are returned in the order of the unchecked ones.
+ *
+ * <pre><code>
+ * ProofVerifier verifier = ProofVerifier.newInstance(new ForkJoinPool(4));
+ * List&lt;CheckedMapProof&gt; checkedProofs = verifier.checkMapProofs(proofs);
+ * </code></pre>
+ *
+ * <p>This class is thread-safe.
+ */
+public final class ProofVerifier {
+
+  private final ForkJoinPool pool;
+
+  private ProofVerifier(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Creates a verifier that checks the proofs on the given pool.
+   *
+   * @param pool the pool to check the proofs on; it is not shut down by the verifier
+   */
+  public static ProofVerifier newInstance(ForkJoinPool pool) {
+    return new ProofVerifier(checkNotNull(pool, "pool"));
+  }
+
+  /**
+   * Creates a verifier that checks the proofs on the {@linkplain ForkJoinPool#commonPool()
+   * common pool}.
+   */
+  public static ProofVerifier withCommonPool() {
+    return newInstance(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Checks the given map proofs.
+   *
+   * @param proofs the proofs to check
+   * @return the checked proofs in the same order
+   * @throws IllegalArgumentException if any of the proofs is an {@link EncodedMapProof}
+   *     that is malformed
+   */
+  public List<CheckedMapProof> checkMapProofs(List<? extends UncheckedMapProof> proofs) {
+    return checkAll(proofs, UncheckedMapProof::check);
+  }
+
+  /**
+   * Checks the given list proofs.
+   *
+   * @param proofs the proofs to check
+   * @return the checked proofs in the same order
+   */
+  public List<CheckedListProof> checkListProofs(List<? extends UncheckedListProof> proofs) {
+    return checkAll(proofs, UncheckedListProof::check);
+  }
+
+  private <UncheckedT, CheckedT> List<CheckedT> checkAll(List<? extends UncheckedT> proofs,
+      Function<UncheckedT, CheckedT> checkFunction) {
+    checkNotNull(proofs, "proofs");
+    // Submit a task for each distinct proof
+    Map<Object, ForkJoinTask<CheckedT>> tasks = new HashMap<>();
+    List<ForkJoinTask<CheckedT>> tasksInOrder = new ArrayList<>(proofs.size());
+    for (UncheckedT proof : proofs) {
+      checkNotNull(proof, "proofs must not contain nulls");
+      ForkJoinTask<CheckedT> task = tasks.computeIfAbsent(identityOf(proof),
+          k -> pool.submit(() -> checkFunction.apply(proof)));
+      tasksInOrder.add(task);
+    }
+    // Wait for all the tasks to complete
+    List<CheckedT> checkedProofs = new ArrayList<>(proofs.size());
+    for (ForkJoinTask<CheckedT> task : tasksInOrder) {
+      checkedProofs.add(task.join());
+    }
+    return checkedProofs;
+  }
+
+  /**
+   * Returns an object that is equal for the proofs that have the same checked proof.
+   */
+  private static Object identityOf(Object proof) {
+    if (proof instanceof EncodedMapProof) {
+      // The buffers are equal if they have the same remaining bytes
+      return ((EncodedMapProof) proof).asReadOnlyByteBuffer();
+    }
+    // The proofs do not override Object#equals
+    return proof;
+  }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.proofs.list.ListProofBranch;
+import com.exonum.binding.common.proofs.list.ListProofElement;
+import com.exonum.binding.common.proofs.list.ListProofHashNode;
+import com.exonum.binding.common.proofs.list.ListProofNode;
+import com.exonum.binding.common.proofs.list.ListProofOfAbsence;
+import com.exonum.binding.common.proofs.list.ListProofVisitor;
+import com.exonum.binding.common.proofs.list.UncheckedListProof;
+import com.exonum.binding.common.proofs.list.UncheckedListProofAdapter;
+import com.exonum.binding.common.proofs.map.DbKey;
+import com.exonum.binding.common.proofs.map.MapProofEntry;
+import com.exonum.binding.common.proofs.map.UncheckedFlatMapProof;
+import com.google.protobuf.ByteString;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Encodes and decodes the proofs in the compact binary format described in {@link ProofBundle}.
+ *
+ * <p>The read methods throw {@link BufferUnderflowException} if the encoded proof is truncated,
+ * and {@link IllegalArgumentException} if it is malformed otherwise.
+ */
+final class ProofWireFormat {
+
+  static final byte MAP_PROOF = 1;
+  static final byte LIST_PROOF = 2;
+
+  static final byte NODE_BRANCH = 1;
+  static final byte NODE_LEFT_BRANCH = 2;
+  static final byte NODE_ELEMENT = 3;
+  static final byte NODE_HASH = 4;
+  static final byte NODE_ABSENT = 5;
+
+  private static final int KEY_SIZE = 32;
+  private static final int HASH_SIZE = Hashing.DEFAULT_HASH_SIZE_BYTES;
+
+  /** The maximum height of a proof list tree: the length of the list does not exceed 2^63. */
+  private static final int MAX_LIST_PROOF_HEIGHT = 64;
+
+  /**
+   * Reads a map proof.
+   */
+  static UncheckedFlatMapProof readMapProof(ByteBuffer buffer) {
+    int numProofEntries = readLength(buffer);
+    List<MapProofEntry> proof = new ArrayList<>(numProofEntries);
+    for (int i = 0; i < numProofEntries; i++) {
+      DbKey dbKey = DbKey.fromBytes(readBytes(buffer, DbKey.DB_KEY_SIZE));
+      HashCode hash = HashCode.fromBytes(readBytes(buffer, HASH_SIZE));
+      proof.add(new MapProofEntry(dbKey, hash));
+    }
+
+    int numEntries = readLength(buffer);
+    List<MapEntry<ByteString, ByteString>> entries = new ArrayList<>(numEntries);
+    for (int i = 0; i < numEntries; i++) {
+      ByteString key = readByteString(buffer, KEY_SIZE);
+      ByteString value = readByteString(buffer, readLength(buffer));
+      entries.add(MapEntry.valueOf(key, value));
+    }
+
+    int numMissingKeys = readLength(buffer);
+    List<byte[]> missingKeys = new ArrayList<>(numMissingKeys);
+    for (int i = 0; i < numMissingKeys; i++) {
+      missingKeys.add(readBytes(buffer, KEY_SIZE));
+    }
+    return UncheckedFlatMapProof.newInstance(proof, entries, missingKeys);
+  }
+
+  /**
+   * Reads a list proof.
+   */
+  static UncheckedListProof readListProof(ByteBuffer buffer) {
+    long length = readVarint(buffer);
+    ListProofNode root = readListProofNode(buffer, 0);
+    return new UncheckedListProofAdapter(root, length);
+  }
+
+  private static ListProofNode readListProofNode(ByteBuffer buffer, int depth) {
+    checkArgument(depth <= MAX_LIST_PROOF_HEIGHT, "The list proof is too deep");
+    byte nodeType = buffer.get();
+    switch (nodeType) {
+      case NODE_BRANCH: {
+        ListProofNode left = readListProofNode(buffer, depth + 1);
+        ListProofNode right = readListProofNode(buffer, depth + 1);
+        return new ListProofBranch(left, right);
+      }
+      case NODE_LEFT_BRANCH: {
+        ListProofNode left = readListProofNode(buffer, depth + 1);
+        return new ListProofBranch(left, null);
+      }
+      case NODE_ELEMENT:
+        return new ListProofElement(readByteString(buffer, readLength(buffer)));
+      case NODE_HASH:
+        return new ListProofHashNode(HashCode.fromBytes(readBytes(buffer, HASH_SIZE)));
+      case NODE_ABSENT:
+        return new ListProofOfAbsence(HashCode.fromBytes(readBytes(buffer, HASH_SIZE)));
+      default:
+        throw new IllegalArgumentException("Unknown list proof node type: " + nodeType);
+    }
+  }
+
+  /**
+   * Writes a map proof.
+   *
+   * @throws IllegalArgumentException if the proof has keys or hashes of invalid size,
+   *     so that it cannot be encoded
+   */
+  static void writeMapProof(UncheckedFlatMapProof proof, ByteArrayOutputStream out) {
+    List<MapProofEntry> proofEntries = proof.getProofEntries();
+    writeVarint(proofEntries.size(), out);
+    for (MapProofEntry entry : proofEntries) {
+      writeBytes(entry.getDbKey().getRawDbKey(), out);
+      writeHash(entry.getHash(), out);
+    }
+
+    List<MapEntry<ByteString, ByteString>> entries = proof.getEntries();
+    writeVarint(entries.size(), out);
+    for (MapEntry<ByteString, ByteString> entry : entries) {
+      writeKey(entry.getKey(), out);
+      ByteString value = entry.getValue();
+      writeVarint(value.size(), out);
+      writeBytes(value.toByteArray(), out);
+    }
+
+    List<ByteString> missingKeys = proof.getMissingKeys();
+    writeVarint(missingKeys.size(), out);
+    for (ByteString key : missingKeys) {
+      writeKey(key, out);
+    }
+  }
+
+  /**
+   * Writes a list proof.
+   *
+   * @throws IllegalArgumentException if the proof tree is too deep or has hashes of invalid
+   *     size, so that it cannot be encoded
+   */
+  static void writeListProof(UncheckedListProofAdapter proof, ByteArrayOutputStream out) {
+    writeVarint(proof.getLength(), out);
+    proof.getListProofRootNode()
+        .accept(new ListProofWriter(out));
+  }
+
+  /**
+   * Writes the proof tree in pre-order.
+   */
+  private static final class ListProofWriter implements ListProofVisitor {
+
+    final ByteArrayOutputStream out;
+    int depth;
+
+    ListProofWriter(ByteArrayOutputStream out) {
+      this.out = out;
+      this.depth = 0;
+    }
+
+    @Override
+    public void visit(ListProofBranch branch) {
+      checkArgument(depth < MAX_LIST_PROOF_HEIGHT, "The list proof is too deep");
+      Optional<ListProofNode> right = branch.getRight();
+      out.write(right.isPresent() ? NODE_BRANCH : NODE_LEFT_BRANCH);
+      depth++;
+      branch.getLeft().accept(this);
+      right.ifPresent(node -> node.accept(this));
+      depth--;
+    }
+
+    @Override
+    public void visit(ListProofHashNode listProofHashNode) {
+      out.write(NODE_HASH);
+      writeHash(listProofHashNode.getHash(), out);
+    }
+
+    @Override
+    public void visit(ListProofElement value) {
+      ByteString element = value.getElement();
+      out.write(NODE_ELEMENT);
+      writeVarint(element.size(), out);
+      writeBytes(element.toByteArray(), out);
+    }
+
+    @Override
+    public void visit(ListProofOfAbsence listProofOfAbsence) {
+      out.write(NODE_ABSENT);
+      writeHash(listProofOfAbsence.getMerkleRoot(), out);
+    }
+  }
+
+  private static void writeKey(ByteString key, ByteArrayOutputStream out) {
+    checkArgument(key.size() == KEY_SIZE, "The key has invalid size (%s), must be %s",
+        key.size(), KEY_SIZE);
+    writeBytes(key.toByteArray(), out);
+  }
+
+  private static void writeHash(HashCode hash, ByteArrayOutputStream out) {
+    checkArgument(hash.bits() == HASH_SIZE * Byte.SIZE,
+        "The hash %s has invalid size, must be %s bytes", hash, HASH_SIZE);
+    writeBytes(hash.asBytes(), out);
+  }
+
+  private static void writeBytes(byte[] bytes, ByteArrayOutputStream out) {
+    out.write(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Writes an unsigned LEB128 number.
+   */
+  static void writeVarint(long value, ByteArrayOutputStream out) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static byte[] readBytes(ByteBuffer buffer, int size) {
+    byte[] bytes = new byte[size];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static ByteString readByteString(ByteBuffer buffer, int size) {
+    if (buffer.remaining() < size) {
+      throw new BufferUnderflowException();
+    }
+    ByteBuffer slice = buffer.slice();
+    slice.limit(size);
+    buffer.position(buffer.position() + size);
+    return ByteString.copyFrom(slice);
+  }
+
+  /**
+   * Reads a length, which must not exceed the number of remaining bytes.
+   */
+  static int readLength(ByteBuffer buffer) {
+    long length = readVarint(buffer);
+    if (length < 0 || length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    return (int) length;
+  }
+
+  /**
+   * Reads an unsigned LEB128 number.
+   */
+  static long readVarint(ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      byte b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  private ProofWireFormat() {}
+}
@@ -16,22 +16,27 @@
 
 package com.exonum.binding.common.proofs.list;
 
-import static com.exonum.binding.common.hash.Funnels.hashCodeFunnel;
-import static com.google.common.base.Preconditions.checkNotNull;
-
 import com.exonum.binding.common.hash.HashCode;
-import com.exonum.binding.common.hash.HashFunction;
 import com.exonum.binding.common.hash.Hashing;
-import com.exonum.binding.common.hash.PrimitiveSink;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSortedMap;
 import com.google.protobuf.ByteString;
-
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.NavigableMap;
-import java.util.Optional;
 import java.util.TreeMap;
 
 /**
  * List proof hash calculator.
+ *
+ * <p>The proof tree is traversed iteratively, with an explicit stack of the nodes to visit,
+ * hence the depth of the tree is not limited by the thread stack. The hashes of the visited
+ * subtrees are kept in a stack of bytes, and all of them are computed with a single
+ * message digest, so that no intermediate objects are created per node.
  */
 final class ListProofHashCalculator implements ListProofVisitor {
 
@@ -42,13 +47,44 @@ final class ListProofHashCalculator implements ListProofVisitor {
   @VisibleForTesting
   static final byte LIST_ROOT_PREFIX = 0x02;
 
-  private final HashFunction hashFunction;
+  /** The name of the algorithm of {@link Hashing#defaultHashFunction()}. */
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final int HASH_SIZE = Hashing.DEFAULT_HASH_SIZE_BYTES;
 
-  private final NavigableMap<Long, ByteString> elements;
+  private static final int INITIAL_STACK_CAPACITY = 64;
+
+  /** A node that must be visited. */
+  private static final byte VISIT = 0;
+  /** A branch whose hash must be computed from the hashes of both children. */
+  private static final byte HASH_BRANCH = 1;
+  /** A branch with no right child whose hash must be computed from the left child hash. */
+  private static final byte HASH_LEFT_BRANCH = 2;
+
+  private final MessageDigest digest;
 
+  // The stack of the nodes: the node, its index at its level, and the pending action
+  private ListProofNode[] nodes;
+  private long[] nodeIndices;
+  private byte[] nodeActions;
+  private int numNodes;
+
+  // The stack of the hashes of the visited subtrees. The hashes are stored in a single array,
+  // the hash number i ends at hashEnds[i]. The hashes of the hash nodes may have any size.
+  private byte[] hashes;
+  private int[] hashEnds;
+  private int numHashes;
+
+  // The elements in the order of visiting, i.e., usually in ascending order of indices
+  private long[] elementIndices;
+  private ByteString[] elementValues;
+  private int numElements;
+
+  /** The index of the node being visited. */
   private long index;
 
-  private HashCode hash;
+  private final NavigableMap<Long, ByteString> elements;
+
+  private final HashCode hash;
 
   /**
    * Creates a new ListProofHashCalculator.
@@ -57,73 +93,197 @@ final class ListProofHashCalculator implements ListProofVisitor {
    * @param length the length of the corresponding index
    */
   ListProofHashCalculator(ListProofNode rootNode, long length) {
-    this(rootNode, length, Hashing.defaultHashFunction());
-  }
-
-  private ListProofHashCalculator(ListProofNode rootNode, long length, HashFunction hashFunction) {
-    this.hashFunction = checkNotNull(hashFunction);
-    elements = new TreeMap<>();
+    digest = newDigest();
+    nodes = new ListProofNode[INITIAL_STACK_CAPACITY];
+    nodeIndices = new long[INITIAL_STACK_CAPACITY];
+    nodeActions = new byte[INITIAL_STACK_CAPACITY];
+    numNodes = 0;
+    hashes = new byte[INITIAL_STACK_CAPACITY * HASH_SIZE];
+    hashEnds = new int[INITIAL_STACK_CAPACITY];
+    numHashes = 0;
+    elementIndices = new long[INITIAL_STACK_CAPACITY];
+    elementValues = new ByteString[INITIAL_STACK_CAPACITY];
+    numElements = 0;
     index = 0;
-    hash = null;
 
-    rootNode.accept(this);
+    hashTree(rootNode);
 
-    hash = hashFunction.newHasher()
-        .putByte(LIST_ROOT_PREFIX)
-        .putLong(length)
-        .putObject(hash, hashCodeFunnel())
-        .hash();
+    ByteBuffer lengthBytes = ByteBuffer.allocate(Long.BYTES)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .putLong(0, length);
+    digest.update(LIST_ROOT_PREFIX);
+    digest.update(lengthBytes);
+    digest.update(hashes, 0, hashEnds[0]);
+    hash = HashCode.fromBytes(digest.digest());
+    elements = collectElements();
+  }
+
+  /**
+   * Computes the hash of the tree, which remains the single entry in the hash stack.
+   */
+  private void hashTree(ListProofNode rootNode) {
+    pushNode(rootNode, 0, VISIT);
+    while (numNodes > 0) {
+      numNodes--;
+      ListProofNode node = nodes[numNodes];
+      long nodeIndex = nodeIndices[numNodes];
+      byte action = nodeActions[numNodes];
+      nodes[numNodes] = null;
+      switch (action) {
+        case VISIT:
+          index = nodeIndex;
+          node.accept(this);
+          break;
+        case HASH_BRANCH:
+          hashBranch(2);
+          break;
+        case HASH_LEFT_BRANCH:
+          hashBranch(1);
+          break;
+        default:
+          throw new AssertionError("Unknown action: " + action);
+      }
+    }
+    assert numHashes == 1 : "A single root hash must remain, but: " + numHashes;
   }
 
   @Override
   public void visit(ListProofBranch branch) {
-    long branchIndex = index;
-    HashCode leftHash = visitLeft(branch, branchIndex);
-    Optional<HashCode> rightHash = visitRight(branch, branchIndex);
-
-    hash = hashFunction.newHasher()
-        .putByte(LIST_BRANCH_PREFIX)
-        .putObject(leftHash, hashCodeFunnel())
-        .putObject(rightHash, (Optional<HashCode> from, PrimitiveSink into) ->
-            from.ifPresent((hash) -> hashCodeFunnel().funnel(hash, into)))
-        .hash();
+    // Push the children in reverse order, so that the left child is visited first,
+    // and the branch after its children
+    ListProofNode right = branch.getRight().orElse(null);
+    pushNode(branch, index, right == null ? HASH_LEFT_BRANCH : HASH_BRANCH);
+    if (right != null) {
+      pushNode(right, 2 * index + 1, VISIT);
+    }
+    pushNode(branch.getLeft(), 2 * index, VISIT);
   }
 
   @Override
   public void visit(ListProofHashNode listProofHashNode) {
-    this.hash = listProofHashNode.getHash();
+    pushHash(listProofHashNode.getHash());
   }
 
   @Override
   public void visit(ListProofElement value) {
-    assert !elements.containsKey(index) :
-        "Error: already an element by such index in the map: i=" + index
-            + ", e=" + elements.get(index);
-
     ByteString element = value.getElement();
-    elements.put(index, element);
-    hash = hashFunction.newHasher()
-        .putByte(BLOB_PREFIX)
-        .putObject(value, ListProofElement.funnel())
-        .hash();
+    addElement(index, element);
+    digest.update(BLOB_PREFIX);
+    digest.update(element.asReadOnlyByteBuffer());
+    pushDigest();
   }
 
   @Override
   public void visit(ListProofOfAbsence listProofOfAbsence) {
-    hash = listProofOfAbsence.getMerkleRoot();
+    pushHash(listProofOfAbsence.getMerkleRoot());
   }
 
-  private HashCode visitLeft(ListProofBranch branch, long parentIndex) {
-    index = 2 * parentIndex;
-    branch.getLeft().accept(this);
-    return hash;
+  /**
+   * Replaces the given number of the hashes on top of the stack with the hash of the branch
+   * having them as children.
+   */
+  private void hashBranch(int numChildren) {
+    int childrenStart = hashStart(numHashes - numChildren);
+    digest.update(LIST_BRANCH_PREFIX);
+    digest.update(hashes, childrenStart, hashEnds[numHashes - 1] - childrenStart);
+    numHashes -= numChildren;
+    pushDigest();
+  }
+
+  private void pushNode(ListProofNode node, long nodeIndex, byte action) {
+    if (numNodes == nodes.length) {
+      int newCapacity = 2 * nodes.length;
+      nodes = Arrays.copyOf(nodes, newCapacity);
+      nodeIndices = Arrays.copyOf(nodeIndices, newCapacity);
+      nodeActions = Arrays.copyOf(nodeActions, newCapacity);
+    }
+    nodes[numNodes] = node;
+    nodeIndices[numNodes] = nodeIndex;
+    nodeActions[numNodes] = action;
+    numNodes++;
+  }
+
+  private void pushHash(HashCode nodeHash) {
+    int size = nodeHash.bits() / Byte.SIZE;
+    int start = reserveHash(size);
+    nodeHash.writeBytesTo(hashes, start, size);
+  }
+
+  /**
+   * Completes the digest and pushes the result on top of the hash stack. The digest is reset.
+   */
+  private void pushDigest() {
+    int start = reserveHash(HASH_SIZE);
+    try {
+      digest.digest(hashes, start, HASH_SIZE);
+    } catch (DigestException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Adds an entry of the given size on top of the hash stack and returns its start.
+   */
+  private int reserveHash(int size) {
+    int start = hashStart(numHashes);
+    if (start + size > hashes.length) {
+      hashes = Arrays.copyOf(hashes, Math.max(2 * hashes.length, start + size));
+    }
+    if (numHashes == hashEnds.length) {
+      hashEnds = Arrays.copyOf(hashEnds, 2 * hashEnds.length);
+    }
+    hashEnds[numHashes] = start + size;
+    numHashes++;
+    return start;
+  }
+
+  private int hashStart(int hashNumber) {
+    return hashNumber == 0 ? 0 : hashEnds[hashNumber - 1];
+  }
+
+  private void addElement(long elementIndex, ByteString element) {
+    if (numElements == elementIndices.length) {
+      int newCapacity = 2 * elementIndices.length;
+      elementIndices = Arrays.copyOf(elementIndices, newCapacity);
+      elementValues = Arrays.copyOf(elementValues, newCapacity);
+    }
+    elementIndices[numElements] = elementIndex;
+    elementValues[numElements] = element;
+    numElements++;
+  }
+
+  private NavigableMap<Long, ByteString> collectElements() {
+    if (isSortedByIndex()) {
+      ImmutableSortedMap.Builder<Long, ByteString> builder = ImmutableSortedMap.naturalOrder();
+      for (int i = 0; i < numElements; i++) {
+        builder.put(elementIndices[i], elementValues[i]);
+      }
+      return builder.build();
+    }
+    // The tree is malformed (which the structure validator reports), hence the indices
+    // may repeat. Keep the last element by each index.
+    NavigableMap<Long, ByteString> unorderedElements = new TreeMap<>();
+    for (int i = 0; i < numElements; i++) {
+      unorderedElements.put(elementIndices[i], elementValues[i]);
+    }
+    return unorderedElements;
+  }
+
+  private boolean isSortedByIndex() {
+    for (int i = 1; i < numElements; i++) {
+      if (elementIndices[i - 1] >= elementIndices[i]) {
+        return false;
+      }
+    }
+    return true;
   }
 
-  private Optional<HashCode> visitRight(ListProofBranch branch, long parentIndex) {
-    index = 2 * parentIndex + 1;
-    hash = null;
-    branch.getRight().ifPresent((right) -> right.accept(this));
-    return Optional.ofNullable(hash);
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError(e);
+    }
   }
 
   /**
@@ -145,7 +305,6 @@ final class ListProofHashCalculator implements ListProofVisitor {
     return "ListProofHashCalculator{"
         + "hash=" + hash
         + ", elements=" + elements
-        + ", index=" + index
         + '}';
   }
 }
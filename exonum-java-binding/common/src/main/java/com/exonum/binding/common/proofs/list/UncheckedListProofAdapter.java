@@ -27,6 +27,8 @@ public class UncheckedListProofAdapter implements UncheckedListProof {
 
   private final ListProofNode rootNode;
 
+  private final long length;
+
   private final ListProofStructureValidator listProofStructureValidator;
 
   private final ListProofHashCalculator listProofHashCalculator;
@@ -42,6 +44,7 @@ public class UncheckedListProofAdapter implements UncheckedListProof {
    */
   public UncheckedListProofAdapter(ListProofNode rootNode, long length) {
     this.rootNode = checkNotNull(rootNode);
+    this.length = length;
     this.listProofStructureValidator = new ListProofStructureValidator(rootNode);
     this.listProofHashCalculator = new ListProofHashCalculator(rootNode, length);
   }
@@ -59,4 +62,11 @@ public class UncheckedListProofAdapter implements UncheckedListProof {
   public ListProofNode getListProofRootNode() {
     return rootNode;
   }
+
+  /**
+   * Returns the length of the corresponding index.
+   */
+  public long getLength() {
+    return length;
+  }
 }
@@ -28,6 +28,7 @@ import com.exonum.binding.common.hash.HashCode;
 import com.google.protobuf.ByteString;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 
 /**
  * A checked flat map proof, which does not include any intermediate nodes.
@@ -42,16 +43,22 @@ public class CheckedFlatMapProof implements CheckedMapProof {
 
   private final MapProofStatus status;
 
+  /** The range of keys whose entries are proved to be complete, if any. */
+  @Nullable
+  private final KeyRange provedRange;
+
   private CheckedFlatMapProof(
       MapProofStatus status,
       HashCode indexHash,
       Set<MapEntry<ByteString, ByteString>> entries,
-      Set<ByteString> missingKeys) {
+      Set<ByteString> missingKeys,
+      @Nullable KeyRange provedRange) {
     this.status = checkNotNull(status);
     this.indexHash = checkNotNull(indexHash);
     this.entries = entries.stream()
         .collect(toMap(MapEntry::getKey, MapEntry::getValue));
     this.missingKeys = checkNotNull(missingKeys);
+    this.provedRange = provedRange;
   }
 
   /**
@@ -66,7 +73,28 @@ public class CheckedFlatMapProof implements CheckedMapProof {
       HashCode indexHash,
       Set<MapEntry<ByteString, ByteString>> entries,
       Set<ByteString> missingKeys) {
-    return new CheckedFlatMapProof(MapProofStatus.CORRECT, indexHash, entries, missingKeys);
+    return new CheckedFlatMapProof(MapProofStatus.CORRECT, indexHash, entries, missingKeys,
+        null);
+  }
+
+  /**
+   * Creates a valid map proof that includes all the entries in the given range of keys.
+   * Any key in the range may be looked up in such proof: the keys that are not among
+   * the entries are proved <em>not</em> to be in the map.
+   *
+   * @param indexHash the index hash calculated by the validator
+   * @param entries the set of entries that are proved to be in the map
+   * @param missingKeys the set of keys that are proved <em>not</em> to be in the map
+   * @param provedRange the range of keys whose entries are all included in the proof
+   * @return a new checked proof
+   */
+  public static CheckedFlatMapProof correctInRange(
+      HashCode indexHash,
+      Set<MapEntry<ByteString, ByteString>> entries,
+      Set<ByteString> missingKeys,
+      KeyRange provedRange) {
+    return new CheckedFlatMapProof(MapProofStatus.CORRECT, indexHash, entries, missingKeys,
+        checkNotNull(provedRange));
   }
 
   /**
@@ -79,7 +107,7 @@ public class CheckedFlatMapProof implements CheckedMapProof {
   public static CheckedFlatMapProof invalid(MapProofStatus status) {
     checkArgument(status != MapProofStatus.CORRECT);
     return new CheckedFlatMapProof(
-        status, HashCode.fromInt(1), emptySet(), emptySet());
+        status, HashCode.fromInt(1), emptySet(), emptySet(), null);
   }
 
   @Override
@@ -132,7 +160,8 @@ public class CheckedFlatMapProof implements CheckedMapProof {
   }
 
   private void checkThatKeyIsRequested(ByteString key) {
-    checkArgument(entries.containsKey(key) || missingKeys.contains(key),
+    checkArgument(entries.containsKey(key) || missingKeys.contains(key)
+            || (provedRange != null && provedRange.contains(key)),
         "Key (%s) that wasn't among requested keys was checked", key);
   }
 }
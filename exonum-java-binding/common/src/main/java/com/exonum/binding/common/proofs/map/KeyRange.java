@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * A half-open range of the proof map keys. The keys are ordered as the map iterates them,
+ * i.e., lexicographically, treating the bytes as unsigned.
+ *
+ * <p>Note that the tree of a proof map orders the keys differently: a tree node contains
+ * the keys starting with the bits of its {@linkplain DbKey key}, and the bits of each byte
+ * are taken from the least significant one. Therefore, the keys of a tree node are not
+ * necessarily contiguous in this range order; {@link #firstKeyWithPrefix(DbKey)} accounts
+ * for that.
+ *
+ * <p>This class is immutable.
+ */
+public final class KeyRange {
+
+  private static final Comparator<byte[]> KEY_ORDER = UnsignedBytes.lexicographicalComparator();
+
+  private final byte[] fromKey;
+  private final byte[] toKey;
+
+  private KeyRange(byte[] fromKey, byte[] toKey) {
+    this.fromKey = fromKey;
+    this.toKey = toKey;
+  }
+
+  /**
+   * Creates a range of the keys.
+   *
+   * @param fromKey the lower bound of the range (inclusive)
+   * @param toKey the upper bound of the range (exclusive)
+   * @throws IllegalArgumentException if the size of any of the keys is not 32 bytes,
+   *     or if the lower bound is greater than the upper bound
+   */
+  public static KeyRange of(byte[] fromKey, byte[] toKey) {
+    checkKey(fromKey, "fromKey");
+    checkKey(toKey, "toKey");
+    checkArgument(KEY_ORDER.compare(fromKey, toKey) <= 0,
+        "fromKey (%s) must not be greater than toKey (%s)", Arrays.toString(fromKey),
+        Arrays.toString(toKey));
+    return new KeyRange(fromKey.clone(), toKey.clone());
+  }
+
+  /**
+   * Creates a range of the keys.
+   *
+   * @param fromKey the lower bound of the range (inclusive)
+   * @param toKey the upper bound of the range (exclusive)
+   * @throws IllegalArgumentException if the size of any of the keys is not 32 bytes,
+   *     or if the lower bound is greater than the upper bound
+   */
+  public static KeyRange of(ByteString fromKey, ByteString toKey) {
+    return of(fromKey.toByteArray(), toKey.toByteArray());
+  }
+
+  private static void checkKey(byte[] key, String name) {
+    checkNotNull(key, name);
+    checkArgument(key.length == DbKey.KEY_SIZE, "%s has invalid size (%s), must be %s",
+        name, key.length, DbKey.KEY_SIZE);
+  }
+
+  /**
+   * Returns true if the given key is in this range.
+   */
+  public boolean contains(ByteString key) {
+    byte[] keyBytes = key.toByteArray();
+    return KEY_ORDER.compare(fromKey, keyBytes) <= 0 && KEY_ORDER.compare(keyBytes, toKey) < 0;
+  }
+
+  /**
+   * Returns the least key in this range that starts with the given tree node key,
+   * i.e., that may be contained in the subtree of that node. If the node is a leaf,
+   * its own key is returned if it is in this range.
+   *
+   * @param prefix the key of a tree node
+   * @return the least key in this range with the given prefix;
+   *     or {@code Optional.empty()} if there are no such keys
+   */
+  public Optional<byte[]> firstKeyWithPrefix(DbKey prefix) {
+    byte[] keySlice = prefix.getKeySlice();
+    int numBits = prefix.getNumSignificantBits();
+    // The prefix fixes the first numFullBytes bytes of the key, and the least significant
+    // numBits % 8 bits of the next one, if any
+    int numFullBytes = numBits / Byte.SIZE;
+    int comparison = KEY_ORDER.compare(Arrays.copyOf(keySlice, numFullBytes),
+        Arrays.copyOf(fromKey, numFullBytes));
+    byte[] candidate;
+    if (comparison < 0) {
+      // All the keys with the prefix are less than the lower bound
+      return Optional.empty();
+    } else if (comparison > 0) {
+      // The key slice has no bits set after the prefix, hence it is the least key
+      candidate = keySlice.clone();
+    } else if (numFullBytes == DbKey.KEY_SIZE) {
+      candidate = fromKey.clone();
+    } else {
+      int mask = (1 << (numBits % Byte.SIZE)) - 1;
+      int fixedBits = keySlice[numFullBytes] & mask;
+      int fromByte = Byte.toUnsignedInt(fromKey[numFullBytes]);
+      if ((fromByte & mask) == fixedBits) {
+        // The lower bound has the prefix
+        candidate = fromKey.clone();
+      } else {
+        // Find the least byte greater than the byte of the lower bound that has the fixed bits
+        int nextByte = (fromByte & ~mask) | fixedBits;
+        if (nextByte < fromByte) {
+          nextByte += mask + 1;
+        }
+        if (nextByte > UnsignedBytes.MAX_VALUE) {
+          return Optional.empty();
+        }
+        candidate = Arrays.copyOf(fromKey, DbKey.KEY_SIZE);
+        candidate[numFullBytes] = (byte) nextByte;
+        Arrays.fill(candidate, numFullBytes + 1, DbKey.KEY_SIZE, (byte) 0);
+      }
+    }
+    return (KEY_ORDER.compare(candidate, toKey) < 0) ? Optional.of(candidate) : Optional.empty();
+  }
+
+  @Override
+  public String toString() {
+    return "KeyRange{"
+        + "fromKey=" + Arrays.toString(fromKey)
+        + ", toKey=" + Arrays.toString(toKey)
+        + '}';
+  }
+}
@@ -31,15 +31,10 @@ public class MapProofEntry {
 
   /**
    * Creates a new entry in a flat map proof corresponding to a branch or a leaf node.
-   * @param dbKey a 34-byte database key of the corresponding branch node
+   * @param dbKey a database key of the corresponding node
    * @param nodeHash a hash of the corresponding node
    */
-  @SuppressWarnings("unused") // Native API
-  MapProofEntry(byte[] dbKey, byte[] nodeHash) {
-    this(DbKey.fromBytes(dbKey), HashCode.fromBytes(nodeHash));
-  }
-
-  MapProofEntry(DbKey dbKey, HashCode nodeHash) {
+  public MapProofEntry(DbKey dbKey, HashCode nodeHash) {
     this.dbKey = dbKey;
     this.hash = nodeHash;
   }
@@ -17,7 +17,6 @@
 package com.exonum.binding.common.proofs.map;
 
 import static com.exonum.binding.common.hash.Funnels.hashCodeFunnel;
-import static com.exonum.binding.common.proofs.DbKeyCompressedFunnel.dbKeyCompressedFunnel;
 import static com.exonum.binding.common.proofs.DbKeyFunnel.dbKeyFunnel;
 import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toList;
@@ -26,19 +25,20 @@ import com.exonum.binding.common.collect.MapEntry;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.HashFunction;
 import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.proofs.DbKeyCompressedFunnel;
 import com.exonum.binding.common.proofs.map.DbKey.Type;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.protobuf.ByteString;
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
 
 /**
  * An unchecked flat map proof, which does not include any intermediate nodes.
@@ -71,21 +71,41 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
         .collect(toList());
   }
 
-  @SuppressWarnings("unused") // Native API
-  static UncheckedFlatMapProof fromNative(
-      MapProofEntry[] proofList,
-      MapEntry<byte[], byte[]>[] entries,
-      byte[][] missingKeys) {
-    List<MapProofEntry> proof = Arrays.asList(proofList);
-    List<MapEntry<ByteString, ByteString>> entriesList = Arrays.stream(entries)
-        .map(
-            e -> MapEntry.valueOf(
-                ByteString.copyFrom(e.getKey()),
-                ByteString.copyFrom(e.getValue()))
-        )
-        .collect(toList());
-    List<byte[]> missingKeysList = Arrays.asList(missingKeys);
-    return new UncheckedFlatMapProof(proof, entriesList, missingKeysList);
+  /**
+   * Creates a new unchecked flat map proof.
+   *
+   * @param proof the proof entries corresponding to the tree nodes that do not contain
+   *     any of the requested keys
+   * @param entries the requested entries that are present in the map
+   * @param missingKeys the requested keys that are absent in the map
+   */
+  public static UncheckedFlatMapProof newInstance(
+      List<MapProofEntry> proof,
+      List<MapEntry<ByteString, ByteString>> entries,
+      List<byte[]> missingKeys) {
+    return new UncheckedFlatMapProof(proof, entries, missingKeys);
+  }
+
+  /**
+   * Returns the proof entries corresponding to the tree nodes that do not contain
+   * any of the requested keys.
+   */
+  public List<MapProofEntry> getProofEntries() {
+    return proof;
+  }
+
+  /**
+   * Returns the requested entries that are present in the map.
+   */
+  public List<MapEntry<ByteString, ByteString>> getEntries() {
+    return entries;
+  }
+
+  /**
+   * Returns the requested keys that are absent in the map.
+   */
+  public List<ByteString> getMissingKeys() {
+    return missingKeys;
   }
 
   @Override
@@ -94,7 +114,10 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
     if (orderCheckResult != MapProofStatus.CORRECT) {
       return CheckedFlatMapProof.invalid(orderCheckResult);
     }
-    if (prefixesIncluded()) {
+    List<MapEntry<DbKey, ByteString>> leaves = sortedLeaves();
+    List<DbKey> missingLeafKeys = sortedMissingLeafKeys();
+    if (prefixesIncluded(Lists.transform(leaves, MapEntry::getKey))
+        || prefixesIncluded(missingLeafKeys)) {
       return CheckedFlatMapProof.invalid(MapProofStatus.EMBEDDED_PATH);
     }
     if (isEmptyProof()) {
@@ -102,8 +125,26 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
     } else if (isSingletonProof()) {
       return checkSingletonProof();
     } else {
-      return checkProof();
+      return checkProof(leaves);
+    }
+  }
+
+  @Override
+  public CheckedMapProof checkRange(ByteString fromKey, ByteString toKey) {
+    KeyRange range = KeyRange.of(fromKey, toKey);
+    CheckedMapProof checkedProof = check();
+    if (!checkedProof.isValid()) {
+      return checkedProof;
+    }
+    // The proof entries are the only subtrees whose entries are not included in the proof,
+    // hence the range is complete if none of them may contain a key in the range
+    for (MapProofEntry proofEntry : proof) {
+      if (range.firstKeyWithPrefix(proofEntry.getDbKey()).isPresent()) {
+        return CheckedFlatMapProof.invalid(MapProofStatus.INCOMPLETE_RANGE);
+      }
     }
+    return CheckedFlatMapProof.correctInRange(checkedProof.getIndexHash(),
+        checkedProof.getEntries(), checkedProof.getMissingKeys(), range);
   }
 
   /**
@@ -138,25 +179,66 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
   }
 
   /**
-   * Check if any entry has a prefix among the paths in the proof entries. Both found and absent
-   * keys are checked.
+   * Returns the leaf keys of the found entries with their values, in ascending order of keys.
+   *
+   * <p>The sort is required: the native code returns the entries in the byte-lexicographic
+   * order of the keys, which differs from the order of {@link DbKey}, where the bits
+   * are compared starting from the least significant bit of each byte.
+   */
+  private List<MapEntry<DbKey, ByteString>> sortedLeaves() {
+    List<MapEntry<DbKey, ByteString>> leaves = entries.stream()
+        .map(e -> MapEntry.valueOf(DbKey.newLeafKey(e.getKey()), e.getValue()))
+        .collect(toList());
+    Comparator<MapEntry<DbKey, ByteString>> byKey = Comparator.comparing(MapEntry::getKey);
+    return sortIfNeeded(leaves, byKey);
+  }
+
+  /**
+   * Returns the leaf keys of the missing keys, in ascending order.
+   */
+  private List<DbKey> sortedMissingLeafKeys() {
+    List<DbKey> leafKeys = missingKeys.stream()
+        .map(DbKey::newLeafKey)
+        .collect(toList());
+    return sortIfNeeded(leafKeys, Comparator.naturalOrder());
+  }
+
+  /**
+   * Sorts the list unless it is already in the order of the comparator,
+   * which is checked in linear time.
+   */
+  private static <T> List<T> sortIfNeeded(List<T> list, Comparator<? super T> comparator) {
+    for (int i = 1; i < list.size(); i++) {
+      if (comparator.compare(list.get(i - 1), list.get(i)) > 0) {
+        list.sort(comparator);
+        break;
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Check if any of the given requested keys has a prefix among the paths in the proof entries.
+   *
+   * <p>As the proof entries are checked to be sorted and to have no embedded paths
+   * at this stage, only the greatest proof entry that is not greater than a requested key
+   * may be its prefix: any entry between the prefix and the key would have the same prefix.
+   * Therefore, the sorted requested keys are merged with the proof entries in a single pass.
+   *
+   * @param requestedKeys the leaf keys in ascending order
    */
-  private boolean prefixesIncluded() {
-    Stream<DbKey> requestedKeys =
-        Stream.concat(
-            entries.stream()
-                .map(MapEntry::getKey),
-            missingKeys.stream())
-        .map(DbKey::newLeafKey);
-
-    // TODO: proof entries are checked to be sorted at this stage, so it's possible …
-    // to use binary search here
-    return requestedKeys
-        .anyMatch(leafEntryKey -> proof.stream()
-            .map(MapProofEntry::getDbKey)
-            .anyMatch(proofEntryKey ->
-                proofEntryKey.isPrefixOf(leafEntryKey))
-        );
+  private boolean prefixesIncluded(List<DbKey> requestedKeys) {
+    int proofIndex = 0;
+    for (DbKey leafEntryKey : requestedKeys) {
+      while (proofIndex < proof.size()
+          && proof.get(proofIndex).getDbKey().compareTo(leafEntryKey) <= 0) {
+        proofIndex++;
+      }
+      if (proofIndex > 0 && proof.get(proofIndex - 1).getDbKey().isPrefixOf(leafEntryKey)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   private boolean isEmptyProof() {
@@ -190,8 +272,8 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
     }
   }
 
-  private CheckedMapProof checkProof() {
-    List<MapProofEntry> proofList = mergeLeavesWithBranches();
+  private CheckedMapProof checkProof(List<MapEntry<DbKey, ByteString>> leaves) {
+    List<MapProofEntry> proofList = mergeLeavesWithBranches(leaves);
     Deque<MapProofEntry> contour = new ArrayDeque<>();
     MapProofEntry first = proofList.get(0);
     MapProofEntry second = proofList.get(1);
@@ -217,22 +299,33 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
 
   /**
    * Creates an initial proof tree contour, by computing hashes of leaf entries and merging them
-   * with the list of proof entries.
+   * with the list of proof entries. As both lists are sorted, they are merged in a single pass.
+   *
+   * @param leaves the leaf entries in ascending order of keys
    */
-  private List<MapProofEntry> mergeLeavesWithBranches() {
-    int contourSize = proof.size() + entries.size();
+  private List<MapProofEntry> mergeLeavesWithBranches(List<MapEntry<DbKey, ByteString>> leaves) {
+    int contourSize = proof.size() + leaves.size();
     assert contourSize > 1 :
         "This method computes the hashes correctly for trees with multiple nodes only";
 
     List<MapProofEntry> proofContour = new ArrayList<>(contourSize);
 
-    proofContour.addAll(proof);
-    entries
-        .stream()
-        .map(e -> new MapProofEntry(DbKey.newLeafKey(e.getKey()), getLeafEntryHash(e.getValue())))
-        .forEach(proofContour::add);
-
-    proofContour.sort(Comparator.comparing(MapProofEntry::getDbKey));
+    // Hash all the leaves at once, which is cheaper than hashing them one by one
+    List<ByteBuffer> leafNodes = leaves.stream()
+        .map(leaf -> getLeafNode(leaf.getValue()))
+        .collect(toList());
+    List<HashCode> leafHashes = HASH_FUNCTION.hashAll(leafNodes);
+
+    int proofIndex = 0;
+    for (int i = 0; i < leaves.size(); i++) {
+      DbKey leafKey = leaves.get(i).getKey();
+      while (proofIndex < proof.size()
+          && proof.get(proofIndex).getDbKey().compareTo(leafKey) < 0) {
+        proofContour.add(proof.get(proofIndex++));
+      }
+      proofContour.add(new MapProofEntry(leafKey, leafHashes.get(i)));
+    }
+    proofContour.addAll(proof.subList(proofIndex, proof.size()));
 
     return proofContour;
   }
@@ -293,21 +386,44 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
   }
 
   private static HashCode getLeafEntryHash(ByteString entryValue) {
-    return HASH_FUNCTION.newHasher()
-        .putByte(BLOB_PREFIX)
-        .putBytes(entryValue.toByteArray())
-        .hash();
+    return HASH_FUNCTION.hashBytes(getLeafNode(entryValue));
+  }
+
+  /**
+   * Returns the hashed representation of a leaf node: the blob prefix and the entry value.
+   */
+  private static ByteBuffer getLeafNode(ByteString entryValue) {
+    ByteBuffer node = ByteBuffer.allocate(1 + entryValue.size())
+        .put(BLOB_PREFIX);
+    entryValue.copyTo(node);
+    node.flip();
+    return node;
   }
 
   private static HashCode computeBranchHash(MapProofEntry leftChild, MapProofEntry rightChild) {
-    return HASH_FUNCTION
-        .newHasher()
-        .putByte(MAP_NODE_PREFIX)
-        .putObject(leftChild.getHash(), hashCodeFunnel())
-        .putObject(rightChild.getHash(), hashCodeFunnel())
-        .putObject(leftChild.getDbKey(), dbKeyCompressedFunnel())
-        .putObject(rightChild.getDbKey(), dbKeyCompressedFunnel())
-        .hash();
+    // The branch node is encoded into a buffer and hashed in a single call,
+    // which is cheaper than using a new Hasher for each node
+    HashCode leftHash = leftChild.getHash();
+    HashCode rightHash = rightChild.getHash();
+    int maxSize = 1 + sizeOf(leftHash) + sizeOf(rightHash)
+        + 2 * DbKeyCompressedFunnel.MAX_COMPRESSED_SIZE;
+    ByteBuffer node = ByteBuffer.allocate(maxSize)
+        .put(MAP_NODE_PREFIX);
+    putHash(leftHash, node);
+    putHash(rightHash, node);
+    DbKeyCompressedFunnel.putCompressed(leftChild.getDbKey(), node);
+    DbKeyCompressedFunnel.putCompressed(rightChild.getDbKey(), node);
+    return HASH_FUNCTION.hashBytes(node.array(), 0, node.position());
+  }
+
+  private static void putHash(HashCode hash, ByteBuffer into) {
+    int position = into.position();
+    int written = hash.writeBytesTo(into.array(), position, sizeOf(hash));
+    into.position(position + written);
+  }
+
+  private static int sizeOf(HashCode hash) {
+    return hash.bits() / Byte.SIZE;
   }
 
   private <T> Set<T> toSet(List<T> list) {
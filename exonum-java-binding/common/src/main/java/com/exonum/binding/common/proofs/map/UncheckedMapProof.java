@@ -16,6 +16,8 @@
 
 package com.exonum.binding.common.proofs.map;
 
+import com.google.protobuf.ByteString;
+
 /**
  * An unchecked map proof.
  * It's used to get a checked map proof.
@@ -39,4 +41,26 @@ public interface UncheckedMapProof {
    * Checks that a proof has either correct or incorrect structure and returns a CheckedMapProof.
    */
   CheckedMapProof check();
+
+  /**
+   * Checks that a proof has correct structure and that it includes <em>all</em> the entries
+   * of the map with the keys in the given range, and returns a CheckedMapProof. A valid
+   * checked proof allows to look up any key in the range: the keys that are not among
+   * its entries are proved to be absent in the map.
+   *
+   * <p>The completeness of the range can only be verified with the structure of the proof,
+   * therefore, the default implementation throws {@link UnsupportedOperationException}.
+   * The proofs that support the range verification override it.
+   *
+   * @param fromKey the lower bound of the range (inclusive)
+   * @param toKey the upper bound of the range (exclusive)
+   * @throws IllegalArgumentException if the range is not valid
+   * @throws UnsupportedOperationException if this proof does not support
+   *     the range verification
+   * @see KeyRange
+   */
+  default CheckedMapProof checkRange(ByteString fromKey, ByteString toKey) {
+    throw new UnsupportedOperationException(
+        "The range verification is not supported by " + getClass().getName());
+  }
 }
@@ -19,6 +19,8 @@ package com.exonum.binding.common.serialization;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import java.nio.ByteBuffer;
+
 /**
  * A serializer decorator, that performs some extra checks to ensure that a user-supplied
  * serializer adheres to {@link Serializer} contract. These are required in Java code
@@ -66,4 +68,13 @@ public final class CheckingSerializerDecorator<T> implements Serializer<T> {
         + "to an instance of the given type.", delegate);
     return value;
   }
+
+  @Override
+  public T fromBuffer(ByteBuffer serializedValue) {
+    T value = delegate.fromBuffer(checkNotNull(serializedValue, "serializedValue is null"));
+    checkState(value != null, "Broken serializer (%s): produces a null value for a non-null buffer."
+        + " You must throw an exception if a serialized value cannot be converted "
+        + "to an instance of the given type.", delegate);
+    return value;
+  }
 }
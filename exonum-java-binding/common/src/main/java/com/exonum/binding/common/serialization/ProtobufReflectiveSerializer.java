@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import javax.annotation.Nullable;
 
 /**
  * A reflective serializer-adapter of protobuf messages.
@@ -41,6 +43,13 @@ class ProtobufReflectiveSerializer<MessageT extends MessageLite> implements Seri
    */
   private final MethodHandle messageParseFrom;
 
+  /**
+   * The handle to a static `MessageT#parseFrom(ByteBuffer) -> MessageT`; or null
+   * if the message does not have one (e.g., if it is generated with an older protoc).
+   */
+  @Nullable
+  private final MethodHandle messageParseFromBuffer;
+
   ProtobufReflectiveSerializer(Class<MessageT> messageType) {
     MethodHandles.Lookup lookup = MethodHandles.publicLookup();
     try {
@@ -50,6 +59,18 @@ class ProtobufReflectiveSerializer<MessageT extends MessageLite> implements Seri
       throw new IllegalArgumentException("Invalid message: cannot find public static parseFrom "
           + "method in " + messageType, e);
     }
+    messageParseFromBuffer = findParseFromBuffer(lookup, messageType);
+  }
+
+  @Nullable
+  private static MethodHandle findParseFromBuffer(MethodHandles.Lookup lookup,
+      Class<?> messageType) {
+    try {
+      return lookup.findStatic(messageType, "parseFrom",
+          MethodType.methodType(messageType, ByteBuffer.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
   }
 
   @Override
@@ -85,4 +106,30 @@ class ProtobufReflectiveSerializer<MessageT extends MessageLite> implements Seri
       throw new AssertionError("Unexpected exception in MessageT#parseFrom", throwable);
     }
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation parses the message from the buffer directly, unless the message
+   * does not support that.
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public MessageT fromBuffer(ByteBuffer serializedValue) {
+    checkNotNull(serializedValue);
+    if (messageParseFromBuffer == null) {
+      return Serializer.super.fromBuffer(serializedValue);
+    }
+    try {
+      MessageT message = (MessageT) messageParseFromBuffer.invoke(serializedValue.duplicate());
+      serializedValue.position(serializedValue.limit());
+      return message;
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalArgumentException(e);
+    } catch (Throwable throwable) {
+      // MessageT#parseFrom is not supposed to throw anything but NPE
+      // and InvalidProtocolBufferException
+      throw new AssertionError("Unexpected exception in MessageT#parseFrom", throwable);
+    }
+  }
 }
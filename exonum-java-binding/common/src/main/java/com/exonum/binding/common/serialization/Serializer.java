@@ -16,6 +16,8 @@
 
 package com.exonum.binding.common.serialization;
 
+import java.nio.ByteBuffer;
+
 /**
  * Converts Java objects into a binary representation in some format, and vice versa.
  *
@@ -50,4 +52,25 @@ public interface Serializer<T> {
    *     (e.g., contains 2 bytes when 4 are expected)
    */
   T fromBytes(byte[] serializedValue);
+
+  /**
+   * De-serializes a value from the remaining bytes of the given buffer, i.e., the bytes
+   * between its position and its limit. The position of the buffer is advanced to its limit.
+   *
+   * <p>This method allows to decode the values stored in the direct buffers without
+   * a copy into an intermediate array, which matters for large values.
+   * The default implementation copies the remaining bytes into a new array
+   * and passes it to {@link #fromBytes(byte[])}; the implementations that can decode
+   * a value from a buffer directly are encouraged to override it.
+   *
+   * @param serializedValue a buffer containing a serialized value of type T, must not be null
+   * @return a value
+   * @throws NullPointerException if the buffer is null
+   * @throws IllegalArgumentException if the bytes cannot be decoded into a value of type T
+   */
+  default T fromBuffer(ByteBuffer serializedValue) {
+    byte[] bytes = new byte[serializedValue.remaining()];
+    serializedValue.get(bytes);
+    return fromBytes(bytes);
+  }
 }
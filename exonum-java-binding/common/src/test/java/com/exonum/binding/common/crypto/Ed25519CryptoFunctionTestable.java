@@ -21,7 +21,10 @@ import static com.exonum.binding.common.crypto.CryptoFunctions.Ed25519.PUBLIC_KE
 import static com.exonum.binding.common.crypto.CryptoFunctions.Ed25519.SEED_BYTES;
 import static com.exonum.binding.common.crypto.CryptoFunctions.Ed25519.SIGNATURE_BYTES;
 import static com.exonum.binding.test.Bytes.bytes;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -30,8 +33,14 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.exonum.binding.test.Bytes;
+import com.google.common.collect.ImmutableList;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 abstract class Ed25519CryptoFunctionTestable {
 
@@ -91,6 +100,26 @@ abstract class Ed25519CryptoFunctionTestable {
     assertTrue(cryptoFunction.verify(emptyMessage, signature, publicKey));
   }
 
+  @Test
+  void signBuffer() {
+    PrivateKey privateKey = cryptoFunction.generateKeyPair().getPrivateKey();
+    byte[] message = bytes("myMessage");
+    byte[] expectedSignature = cryptoFunction.signMessage(message, privateKey);
+    ByteBuffer heapBuffer = ByteBuffer.allocate(message.length + 2);
+    heapBuffer.put(message).flip();
+    ByteBuffer heapBufferWithOffset = ByteBuffer.allocate(message.length + 2);
+    heapBufferWithOffset.position(1);
+    heapBufferWithOffset.put(message).flip().position(1);
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(message.length);
+    directBuffer.put(message).flip();
+
+    for (ByteBuffer buffer : ImmutableList.of(heapBuffer, heapBufferWithOffset, directBuffer)) {
+      int position = buffer.position();
+      assertThat(cryptoFunction.signBuffer(buffer, privateKey), equalTo(expectedSignature));
+      assertThat(buffer.position(), equalTo(position));
+    }
+  }
+
   @Test
   void invalidLengthSignatureVerificationTest() {
     KeyPair keyPair = cryptoFunction.generateKeyPair();
@@ -151,4 +180,75 @@ abstract class Ed25519CryptoFunctionTestable {
     byte[] anotherMessage = bytes("anotherMessage");
     assertFalse(cryptoFunction.verify(anotherMessage, signature, publicKey));
   }
+
+  @Test
+  void verifyBatchEmpty() {
+    List<Boolean> results = cryptoFunction.verifyBatch(emptyList(), emptyList(), emptyList());
+
+    assertThat(results, empty());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, Ed25519CryptoFunction.PARALLEL_BATCH_SIZE + 1})
+  void verifyBatch(int batchSize) {
+    List<byte[]> messages = new ArrayList<>();
+    List<byte[]> signatures = new ArrayList<>();
+    List<PublicKey> publicKeys = new ArrayList<>();
+    List<Boolean> expectedResults = new ArrayList<>();
+    for (int i = 0; i < batchSize; i++) {
+      KeyPair keyPair = cryptoFunction.generateKeyPair();
+      byte[] message = bytes("message " + i);
+      byte[] signature = cryptoFunction.signMessage(message, keyPair.getPrivateKey());
+      // Corrupt every other signature
+      boolean valid = i % 2 == 0;
+      if (!valid) {
+        signature[0] ^= 1;
+      }
+      messages.add(message);
+      signatures.add(signature);
+      publicKeys.add(keyPair.getPublicKey());
+      expectedResults.add(valid);
+    }
+
+    List<Boolean> results = cryptoFunction.verifyBatch(messages, signatures, publicKeys);
+
+    assertThat(results, equalTo(expectedResults));
+  }
+
+  @Test
+  void verifyBatchInvalidLengthSignature() {
+    KeyPair keyPair = cryptoFunction.generateKeyPair();
+    byte[] message = bytes("myMessage");
+    byte[] invalidSignature = bytes("invalidLengthMessage");
+
+    List<Boolean> results = cryptoFunction.verifyBatch(singletonList(message),
+        singletonList(invalidSignature), singletonList(keyPair.getPublicKey()));
+
+    assertThat(results, equalTo(singletonList(false)));
+  }
+
+  @Test
+  void verifyBatchDifferentSizes() {
+    KeyPair keyPair = cryptoFunction.generateKeyPair();
+    byte[] message = bytes("myMessage");
+    byte[] signature = cryptoFunction.signMessage(message, keyPair.getPrivateKey());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> cryptoFunction.verifyBatch(singletonList(message), singletonList(signature),
+            emptyList()));
+  }
+
+  @Test
+  void verifyBatchInvalidPublicKeyLength() {
+    KeyPair keyPair = cryptoFunction.generateKeyPair();
+    byte[] message = bytes("myMessage");
+    byte[] signature = cryptoFunction.signMessage(message, keyPair.getPrivateKey());
+    PublicKey publicKey = PublicKey.fromHexString("abcd");
+
+    IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+        () -> cryptoFunction.verifyBatch(singletonList(message), singletonList(signature),
+            singletonList(publicKey)));
+    assertEquals("Public key has invalid size (2), must be "
+        + PUBLIC_KEY_BYTES, thrown.getMessage());
+  }
 }
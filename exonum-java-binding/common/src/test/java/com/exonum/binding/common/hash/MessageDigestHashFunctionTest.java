@@ -31,6 +31,7 @@
 
 package com.exonum.binding.common.hash;
 
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -38,9 +39,11 @@ import com.exonum.binding.test.CiOnly;
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -97,6 +100,50 @@ class MessageDigestHashFunctionTest {
     assertThrows(IllegalStateException.class, () -> sha256.hash());
   }
 
+  @Test
+  void testHashBytesSameAsHasher() {
+    for (String stringToTest : INPUTS) {
+      byte[] input = HashTestUtils.ascii(stringToTest);
+      for (HashFunction function : ALGORITHMS.values()) {
+        HashCode expected = function.newHasher().putBytes(input).hash();
+
+        assertEquals(expected, function.hashBytes(input));
+        assertEquals(expected, function.hashBytes(ByteBuffer.wrap(input)));
+      }
+    }
+  }
+
+  @Test
+  void testHashBytesWithOffset() {
+    byte[] input = HashTestUtils.ascii("foobar");
+    HashFunction sha256 = Hashing.sha256();
+
+    assertEquals(sha256.hashBytes(HashTestUtils.ascii("oba")), sha256.hashBytes(input, 2, 3));
+    assertThrows(IndexOutOfBoundsException.class, () -> sha256.hashBytes(input, 4, 3));
+  }
+
+  @Test
+  void testHashAll() {
+    List<byte[]> inputs = INPUTS.stream()
+        .map(HashTestUtils::ascii)
+        .collect(toList());
+    for (HashFunction function : ALGORITHMS.values()) {
+      List<ByteBuffer> buffers = inputs.stream()
+          .map(ByteBuffer::wrap)
+          .collect(toList());
+
+      List<HashCode> hashes = function.hashAll(buffers);
+
+      List<HashCode> expected = inputs.stream()
+          .map(input -> function.newHasher().putBytes(input).hash())
+          .collect(toList());
+      assertEquals(expected, hashes);
+      for (ByteBuffer buffer : buffers) {
+        assertEquals(0, buffer.remaining());
+      }
+    }
+  }
+
   @Test
   void testToString() {
     assertEquals("Hashing.sha256()", Hashing.sha256().toString());
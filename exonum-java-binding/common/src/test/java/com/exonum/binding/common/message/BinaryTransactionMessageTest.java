@@ -26,7 +26,9 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import com.exonum.binding.common.crypto.CryptoFunction;
@@ -54,7 +56,7 @@ class BinaryTransactionMessageTest {
   void equalsTest() {
     EqualsVerifier
         .forClass(BinaryTransactionMessage.class)
-        .withIgnoredFields("messageSize")
+        .withIgnoredFields("messageSize", "hash")
         .verify();
   }
 
@@ -188,6 +190,30 @@ class BinaryTransactionMessageTest {
     assertThat(message.hash(), is(hash));
   }
 
+  @ParameterizedTest
+  @MethodSource("transactionMessageSource")
+  void hashIsComputedOnce(TransactionMessage message) {
+    HashCode hash = message.hash();
+
+    assertThat(message.hash(), sameInstance(hash));
+  }
+
+  @ParameterizedTest
+  @MethodSource("transactionMessageSource")
+  void bufferAccessorsTest(TransactionMessage message) {
+    ByteBuffer author = message.getAuthorBuffer();
+    ByteBuffer payload = message.getPayloadBuffer();
+    ByteBuffer signature = message.getSignatureBuffer();
+
+    assertThat(author, equalTo(ByteBuffer.wrap(message.getAuthor().toBytes())));
+    assertThat(payload, equalTo(ByteBuffer.wrap(message.getPayload())));
+    assertThat(signature, equalTo(ByteBuffer.wrap(message.getSignature())));
+    for (ByteBuffer buffer : ImmutableList.of(author, payload, signature)) {
+      assertTrue(buffer.isReadOnly());
+      assertThat(buffer.position(), equalTo(0));
+    }
+  }
+
   @ParameterizedTest
   @MethodSource("byteBufferSource")
   void constructFromBufferTest(TransactionMessage expectedMessage, ByteBuffer buffer) {
@@ -23,6 +23,7 @@ import static com.exonum.binding.common.message.TransactionMessage.SIGNATURE_SIZ
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -32,12 +33,15 @@ import com.exonum.binding.common.crypto.CryptoFunctions;
 import com.exonum.binding.common.crypto.KeyPair;
 import com.exonum.binding.test.Bytes;
 import com.google.common.collect.ImmutableList;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 
 class TransactionMessageBuilderTest {
@@ -53,7 +57,8 @@ class TransactionMessageBuilderTest {
     KeyPair keys = KeyPair.createKeyPair(Bytes.bytes(0x00), publicKey);
     byte[] signature = Bytes.randomBytes(SIGNATURE_SIZE);
     CryptoFunction cryptoFunction = Mockito.mock(CryptoFunction.class);
-    when(cryptoFunction.signMessage(any(), eq(keys.getPrivateKey()))).thenReturn(signature);
+    when(cryptoFunction.signBuffer(any(ByteBuffer.class), eq(keys.getPrivateKey())))
+        .thenReturn(signature);
 
     TransactionMessage message = TransactionMessage.builder()
         .serviceId(SERVICE_ID)
@@ -104,6 +109,81 @@ class TransactionMessageBuilderTest {
     assertThat(message.getPayload(), is(payload));
   }
 
+  @Test
+  void signedMessageIsVerified() {
+    KeyPair keys = CRYPTO.generateKeyPair();
+    byte[] payload = Bytes.randomBytes(100);
+
+    TransactionMessage message = TransactionMessage.builder()
+        .serviceId(SERVICE_ID)
+        .transactionId(TRANSACTION_ID)
+        .payload(payload)
+        .sign(keys, CRYPTO);
+
+    byte[] messageBytes = message.toBytes();
+    byte[] unsignedMessage = Arrays.copyOf(messageBytes, messageBytes.length - SIGNATURE_SIZE);
+    assertTrue(CRYPTO.verify(unsignedMessage, message.getSignature(), keys.getPublicKey()));
+  }
+
+  @Test
+  void builderCanSignSeveralMessages() {
+    KeyPair keys = CRYPTO.generateKeyPair();
+    byte[] payload = Bytes.bytes(0x00, 0x01);
+    TransactionMessage.Builder builder = TransactionMessage.builder()
+        .serviceId(SERVICE_ID)
+        .transactionId(TRANSACTION_ID)
+        .payload(ByteBuffer.wrap(payload));
+
+    TransactionMessage message1 = builder.sign(keys, CRYPTO);
+    TransactionMessage message2 = builder.sign(keys, CRYPTO);
+
+    assertThat(message1.getPayload(), is(payload));
+    assertThat(message2, is(message1));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void signIntoBuffer(boolean direct) {
+    KeyPair keys = CRYPTO.generateKeyPair();
+    TransactionMessage.Builder builder = TransactionMessage.builder()
+        .serviceId(SERVICE_ID)
+        .transactionId(TRANSACTION_ID)
+        .payload(Bytes.randomBytes(100));
+    TransactionMessage expectedMessage = builder.sign(keys, CRYPTO);
+    int position = 3;
+    int messageSize = expectedMessage.size();
+    ByteBuffer target = direct
+        ? ByteBuffer.allocateDirect(position + 2 * messageSize)
+        : ByteBuffer.allocate(position + 2 * messageSize);
+    target.position(position);
+
+    builder.signInto(keys, CRYPTO, target);
+    builder.signInto(keys, CRYPTO, target);
+
+    assertThat(target.position(), is(position + 2 * messageSize));
+    target.position(position);
+    for (int i = 0; i < 2; i++) {
+      ByteBuffer messageBuffer = target.slice();
+      messageBuffer.limit(messageSize);
+      assertThat(TransactionMessage.fromBuffer(messageBuffer), is(expectedMessage));
+      target.position(target.position() + messageSize);
+    }
+  }
+
+  @Test
+  void signIntoBufferWithInsufficientSpace() {
+    TransactionMessage.Builder builder = TransactionMessage.builder()
+        .serviceId(SERVICE_ID)
+        .transactionId(TRANSACTION_ID)
+        .payload(Bytes.bytes(0x00, 0x01));
+    ByteBuffer target = ByteBuffer.allocate(MIN_MESSAGE_SIZE + 1);
+
+    assertThrows(BufferOverflowException.class,
+        () -> builder.signInto(CRYPTO.generateKeyPair(), CRYPTO, target));
+    assertThat(target.position(), is(0));
+    assertThat(target.array(), is(new byte[MIN_MESSAGE_SIZE + 1]));
+  }
+
   @ParameterizedTest
   @MethodSource("notProperlyFilledMessagesSource")
   void notProperlyFilledMessagesTest(Executable message) {
@@ -18,11 +18,14 @@ package com.exonum.binding.common.proofs;
 
 import static com.exonum.binding.common.proofs.map.DbKeyTestUtils.keyFromString;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 
 import com.exonum.binding.common.hash.PrimitiveSink;
 import com.exonum.binding.common.proofs.map.DbKey;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.stream.Stream;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -49,6 +52,21 @@ class DbKeyCompressedFunnelTest {
     Mockito.verifyNoMoreInteractions(primitiveSink);
   }
 
+  @ParameterizedTest
+  @MethodSource("testSource")
+  void putCompressedTest(DbKey dbKey, byte[] encodedNumSignificantBits, int encodedKeyLength) {
+    ByteBuffer buffer = ByteBuffer.allocate(DbKeyCompressedFunnel.MAX_COMPRESSED_SIZE);
+
+    DbKeyCompressedFunnel.putCompressed(dbKey, buffer);
+
+    byte[] expected = ByteBuffer.allocate(encodedNumSignificantBits.length + encodedKeyLength)
+        .put(encodedNumSignificantBits)
+        .put(dbKey.getKeySlice(), 0, encodedKeyLength)
+        .array();
+    byte[] actual = Arrays.copyOf(buffer.array(), buffer.position());
+    assertArrayEquals(expected, actual);
+  }
+
   private static Stream<Arguments> testSource() {
     return Stream.of(
         arguments(DbKey.newBranchKey(keyFromString(""), 0b0_0000000),
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.exonum.binding.common.proofs.WireFormatWriter.bytesOf;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.common.proofs.map.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.MapProofStatus;
+import com.google.protobuf.ByteString;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import org.junit.jupiter.api.Test;
+
+class EncodedMapProofTest {
+
+  private static final byte[] KEY = bytesOf(32, 0x01);
+  private static final ByteString VALUE = ByteString.copyFromUtf8("v1");
+
+  /** A proof of a single entry. */
+  private static final byte[] ENCODED_PROOF = new WireFormatWriter()
+      .writeVarint(0)
+      .writeVarint(1)
+      .writeBytes(KEY)
+      .writeVarint(VALUE.size())
+      .writeBytes(VALUE.toByteArray())
+      .writeVarint(0)
+      .toByteArray();
+
+  @Test
+  void check() {
+    EncodedMapProof proof = EncodedMapProof.fromBytes(ENCODED_PROOF);
+
+    CheckedMapProof checkedProof = proof.check();
+
+    assertThat(checkedProof.getProofStatus(), equalTo(MapProofStatus.CORRECT));
+    assertThat(checkedProof.getEntries(),
+        contains(MapEntry.valueOf(ByteString.copyFrom(KEY), VALUE)));
+  }
+
+  @Test
+  void decodeOnce() {
+    EncodedMapProof proof = EncodedMapProof.fromBytes(ENCODED_PROOF);
+
+    assertThat(proof.decode(), sameInstance(proof.decode()));
+  }
+
+  @Test
+  void checkMalformedProof() {
+    byte[] encodedProof = new WireFormatWriter()
+        .writeVarint(0)
+        .writeVarint(1)
+        .writeBytes(KEY)
+        .toByteArray();
+    EncodedMapProof proof = EncodedMapProof.fromBytes(encodedProof);
+
+    assertThrows(IllegalArgumentException.class, proof::check);
+  }
+
+  @Test
+  void writeTo() throws IOException {
+    EncodedMapProof proof = EncodedMapProof.fromBytes(ENCODED_PROOF);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    proof.writeTo(out);
+
+    assertThat(out.toByteArray(), equalTo(ENCODED_PROOF));
+    assertThat(proof.getEncodedSize(), equalTo(ENCODED_PROOF.length));
+  }
+
+  @Test
+  void asReadOnlyByteBuffer() {
+    EncodedMapProof proof = EncodedMapProof.fromBytes(ENCODED_PROOF);
+
+    ByteBuffer buffer = proof.asReadOnlyByteBuffer();
+
+    assertThat(buffer, equalTo(ByteBuffer.wrap(ENCODED_PROOF)));
+    assertThrows(ReadOnlyBufferException.class, () -> buffer.put(0, (byte) 1));
+  }
+
+  @Test
+  void fromBytesCopiesProof() {
+    byte[] encodedProof = ENCODED_PROOF.clone();
+    EncodedMapProof proof = EncodedMapProof.fromBytes(encodedProof);
+
+    encodedProof[1] = 0;
+
+    assertThat(proof.toByteArray(), equalTo(ENCODED_PROOF));
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.exonum.binding.common.proofs.WireFormatWriter.bytesOf;
+import static com.google.common.collect.ImmutableMap.of;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.common.proofs.ProofBundle.ProofType;
+import com.exonum.binding.common.proofs.list.CheckedListProof;
+import com.exonum.binding.common.proofs.list.ListProofBranch;
+import com.exonum.binding.common.proofs.list.ListProofHashNode;
+import com.exonum.binding.common.proofs.list.ListProofNode;
+import com.exonum.binding.common.proofs.list.ListProofStatus;
+import com.exonum.binding.common.proofs.list.UncheckedListProof;
+import com.exonum.binding.common.proofs.map.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.MapProofStatus;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+class ProofBundleTest {
+
+  private static final byte[] KEY = bytesOf(32, 0x01);
+  private static final byte[] HASH = bytesOf(32, 0x0A);
+  private static final ByteString VALUE = ByteString.copyFromUtf8("v1");
+
+  @Test
+  void parseEmptyBundle() {
+    byte[] bundle = new WireFormatWriter()
+        .writeByte(ProofBundle.FORMAT_VERSION)
+        .writeVarint(0)
+        .toByteArray();
+
+    ProofBundle proofBundle = ProofBundle.parseFrom(bundle);
+
+    assertThat(proofBundle.size(), equalTo(0));
+  }
+
+  @Test
+  void parseListProof() {
+    byte[] bundle = new WireFormatWriter()
+        .writeByte(ProofBundle.FORMAT_VERSION)
+        .writeVarint(1)
+        // List proof of the first element of two
+        .writeByte(2)
+        .writeVarint(2)
+        .writeByte(1)
+        .writeByte(3)
+        .writeVarint(VALUE.size())
+        .writeBytes(VALUE.toByteArray())
+        .writeByte(4)
+        .writeBytes(HASH)
+        .toByteArray();
+
+    ProofBundle proofBundle = ProofBundle.parseFrom(bundle);
+
+    assertThat(proofBundle.size(), equalTo(1));
+    assertThat(proofBundle.getProofType(0), equalTo(ProofType.LIST));
+    UncheckedListProof proof = proofBundle.getListProof(0);
+    ListProofNode root = proof.getListProofRootNode();
+    assertThat(root, instanceOf(ListProofBranch.class));
+    assertThat(((ListProofBranch) root).getRight().get(), instanceOf(ListProofHashNode.class));
+
+    CheckedListProof checkedProof = proof.check();
+    assertThat(checkedProof.getProofStatus(), equalTo(ListProofStatus.VALID));
+    assertThat(checkedProof.getElements(), equalTo(of(0L, VALUE)));
+  }
+
+  @Test
+  void parseMapProof() {
+    byte[] bundle = new WireFormatWriter()
+        .writeByte(ProofBundle.FORMAT_VERSION)
+        .writeVarint(1)
+        // Map proof of a single entry
+        .writeByte(1)
+        .writeVarint(0)
+        .writeVarint(1)
+        .writeBytes(KEY)
+        .writeVarint(VALUE.size())
+        .writeBytes(VALUE.toByteArray())
+        .writeVarint(0)
+        .toByteArray();
+
+    ProofBundle proofBundle = ProofBundle.parseFrom(bundle);
+
+    assertThat(proofBundle.getProofType(0), equalTo(ProofType.MAP));
+    CheckedMapProof checkedProof = proofBundle.getMapProof(0).check();
+    assertThat(checkedProof.getProofStatus(), equalTo(MapProofStatus.CORRECT));
+    assertThat(checkedProof.getEntries(),
+        contains(MapEntry.valueOf(ByteString.copyFrom(KEY), VALUE)));
+    assertThat(checkedProof.getMissingKeys(), empty());
+  }
+
+  @Test
+  void parseSeveralProofs() {
+    byte[] bundle = new WireFormatWriter()
+        .writeByte(ProofBundle.FORMAT_VERSION)
+        .writeVarint(2)
+        // Map proof of an absent key in an empty map
+        .writeByte(1)
+        .writeVarint(0)
+        .writeVarint(0)
+        .writeVarint(1)
+        .writeBytes(KEY)
+        // List proof of absence
+        .writeByte(2)
+        .writeVarint(0)
+        .writeByte(5)
+        .writeBytes(HASH)
+        .toByteArray();
+
+    ProofBundle proofBundle = ProofBundle.parseFrom(bundle);
+
+    assertThat(proofBundle.size(), equalTo(2));
+    assertThat(proofBundle.getMapProof(0).check().getMissingKeys(),
+        contains(ByteString.copyFrom(KEY)));
+    assertThat(proofBundle.getProofType(1), equalTo(ProofType.LIST));
+  }
+
+  @Test
+  void getProofOfOtherType() {
+    byte[] bundle = new WireFormatWriter()
+        .writeByte(ProofBundle.FORMAT_VERSION)
+        .writeVarint(1)
+        .writeByte(2)
+        .writeVarint(0)
+        .writeByte(5)
+        .writeBytes(HASH)
+        .toByteArray();
+
+    ProofBundle proofBundle = ProofBundle.parseFrom(bundle);
+
+    assertThrows(IllegalStateException.class, () -> proofBundle.getMapProof(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> proofBundle.getListProof(1));
+  }
+
+  @Test
+  void parseRejectsUnknownVersion() {
+    byte[] bundle = new WireFormatWriter()
+        .writeByte(0x7F)
+        .writeVarint(0)
+        .toByteArray();
+
+    assertThrows(IllegalArgumentException.class, () -> ProofBundle.parseFrom(bundle));
+  }
+
+  @Test
+  void parseRejectsUnknownProofType() {
+    byte[] bundle = new WireFormatWriter()
+        .writeByte(ProofBundle.FORMAT_VERSION)
+        .writeVarint(1)
+        .writeByte(3)
+        .toByteArray();
+
+    assertThrows(IllegalArgumentException.class, () -> ProofBundle.parseFrom(bundle));
+  }
+
+  @Test
+  void parseRejectsTruncatedBundle() {
+    byte[] bundle = new WireFormatWriter()
+        .writeByte(ProofBundle.FORMAT_VERSION)
+        .writeVarint(1)
+        .writeByte(2)
+        .writeVarint(1)
+        .writeByte(4)
+        .writeBytes(bytesOf(16, 0x0A))
+        .toByteArray();
+
+    assertThrows(IllegalArgumentException.class, () -> ProofBundle.parseFrom(bundle));
+  }
+
+  @Test
+  void parseRejectsTooLongValue() {
+    byte[] bundle = new WireFormatWriter()
+        .writeByte(ProofBundle.FORMAT_VERSION)
+        .writeVarint(1)
+        .writeByte(2)
+        .writeVarint(1)
+        .writeByte(3)
+        .writeVarint(Integer.MAX_VALUE + 1L)
+        .toByteArray();
+
+    assertThrows(IllegalArgumentException.class, () -> ProofBundle.parseFrom(bundle));
+  }
+
+  @Test
+  void parseRejectsTrailingBytes() {
+    byte[] bundle = new WireFormatWriter()
+        .writeByte(ProofBundle.FORMAT_VERSION)
+        .writeVarint(0)
+        .writeByte(0)
+        .toByteArray();
+
+    assertThrows(IllegalArgumentException.class, () -> ProofBundle.parseFrom(bundle));
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.exonum.binding.common.proofs.WireFormatWriter.bytesOf;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.list.CheckedListProof;
+import com.exonum.binding.common.proofs.list.ListProofBranch;
+import com.exonum.binding.common.proofs.list.ListProofElement;
+import com.exonum.binding.common.proofs.list.ListProofHashNode;
+import com.exonum.binding.common.proofs.list.ListProofNode;
+import com.exonum.binding.common.proofs.list.UncheckedListProof;
+import com.exonum.binding.common.proofs.list.UncheckedListProofAdapter;
+import com.exonum.binding.common.proofs.map.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.DbKey;
+import com.exonum.binding.common.proofs.map.MapProofEntry;
+import com.exonum.binding.common.proofs.map.MapProofStatus;
+import com.exonum.binding.common.proofs.map.UncheckedFlatMapProof;
+import com.exonum.binding.common.proofs.map.UncheckedMapProof;
+import com.exonum.binding.common.serialization.Serializer;
+import com.google.protobuf.ByteString;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class ProofSerializersTest {
+
+  private static final byte[] KEY = bytesOf(32, 0x01);
+  private static final byte[] MISSING_KEY = bytesOf(32, 0x02);
+  private static final ByteString VALUE = ByteString.copyFromUtf8("v1");
+  private static final byte[] HASH = bytesOf(32, 0xA1);
+
+  private final Serializer<UncheckedMapProof> mapSerializer = ProofSerializers.mapProof();
+  private final Serializer<UncheckedListProof> listSerializer = ProofSerializers.listProof();
+
+  @Test
+  void mapProofToBytes() {
+    DbKey branchKey = DbKey.newBranchKey(new byte[32], 1);
+    UncheckedFlatMapProof proof = UncheckedFlatMapProof.newInstance(
+        singletonList(new MapProofEntry(branchKey, HashCode.fromBytes(HASH))),
+        singletonList(MapEntry.valueOf(ByteString.copyFrom(KEY), VALUE)),
+        singletonList(MISSING_KEY));
+
+    byte[] expected = new WireFormatWriter()
+        .writeVarint(1)
+        .writeBytes(branchKey.getRawDbKey())
+        .writeBytes(HASH)
+        .writeVarint(1)
+        .writeBytes(KEY)
+        .writeVarint(VALUE.size())
+        .writeBytes(VALUE.toByteArray())
+        .writeVarint(1)
+        .writeBytes(MISSING_KEY)
+        .toByteArray();
+
+    assertThat(mapSerializer.toBytes(proof), equalTo(expected));
+  }
+
+  @Test
+  void mapProofRoundTrip() {
+    UncheckedFlatMapProof proof = UncheckedFlatMapProof.newInstance(emptyList(),
+        singletonList(MapEntry.valueOf(ByteString.copyFrom(KEY), VALUE)),
+        singletonList(MISSING_KEY));
+
+    UncheckedMapProof decodedProof = mapSerializer.fromBytes(mapSerializer.toBytes(proof));
+
+    CheckedMapProof checkedProof = decodedProof.check();
+    assertThat(checkedProof.getProofStatus(), equalTo(MapProofStatus.CORRECT));
+    assertThat(checkedProof.getIndexHash(), equalTo(proof.check().getIndexHash()));
+    assertThat(checkedProof.getEntries(),
+        contains(MapEntry.valueOf(ByteString.copyFrom(KEY), VALUE)));
+    assertThat(checkedProof.getMissingKeys(), contains(ByteString.copyFrom(MISSING_KEY)));
+  }
+
+  @Test
+  void encodedMapProofToBytesIsNotReEncoded() {
+    byte[] encoded = new WireFormatWriter()
+        .writeVarint(0)
+        .writeVarint(0)
+        .writeVarint(1)
+        .writeBytes(MISSING_KEY)
+        .toByteArray();
+    EncodedMapProof proof = EncodedMapProof.fromBytes(encoded);
+
+    assertThat(mapSerializer.toBytes(proof), equalTo(encoded));
+  }
+
+  @Test
+  void mapProofFromBuffer() {
+    UncheckedFlatMapProof proof = UncheckedFlatMapProof.newInstance(emptyList(), emptyList(),
+        singletonList(MISSING_KEY));
+    ByteBuffer buffer = ByteBuffer.wrap(mapSerializer.toBytes(proof));
+
+    UncheckedMapProof decodedProof = mapSerializer.fromBuffer(buffer);
+
+    assertThat(buffer.hasRemaining(), equalTo(false));
+    assertThat(decodedProof.check().getMissingKeys(),
+        contains(ByteString.copyFrom(MISSING_KEY)));
+  }
+
+  @Test
+  void mapProofWithInvalidKeySizeCannotBeEncoded() {
+    UncheckedFlatMapProof proof = UncheckedFlatMapProof.newInstance(emptyList(), emptyList(),
+        singletonList(new byte[2]));
+
+    assertThrows(IllegalArgumentException.class, () -> mapSerializer.toBytes(proof));
+  }
+
+  @Test
+  void listProofToBytes() {
+    UncheckedListProof proof = new UncheckedListProofAdapter(
+        new ListProofBranch(new ListProofElement(VALUE),
+            new ListProofHashNode(HashCode.fromBytes(HASH))), 2);
+
+    byte[] expected = new WireFormatWriter()
+        .writeVarint(2)
+        .writeByte(1)
+        .writeByte(3)
+        .writeVarint(VALUE.size())
+        .writeBytes(VALUE.toByteArray())
+        .writeByte(4)
+        .writeBytes(HASH)
+        .toByteArray();
+
+    assertThat(listSerializer.toBytes(proof), equalTo(expected));
+  }
+
+  @Test
+  void listProofRoundTrip() {
+    UncheckedListProof proof = new UncheckedListProofAdapter(
+        new ListProofBranch(
+            new ListProofBranch(new ListProofHashNode(HashCode.fromBytes(HASH)),
+                new ListProofElement(VALUE)),
+            new ListProofBranch(new ListProofElement(VALUE), null)), 3);
+
+    UncheckedListProof decodedProof = listSerializer.fromBytes(listSerializer.toBytes(proof));
+
+    ListProofNode root = decodedProof.getListProofRootNode();
+    assertThat(root, instanceOf(ListProofBranch.class));
+    CheckedListProof checkedProof = decodedProof.check();
+    CheckedListProof expectedProof = proof.check();
+    assertThat(checkedProof.getProofStatus(), equalTo(expectedProof.getProofStatus()));
+    assertThat(checkedProof.getIndexHash(), equalTo(expectedProof.getIndexHash()));
+    assertThat(checkedProof.getElements(), equalTo(expectedProof.getElements()));
+  }
+
+  @Test
+  void listProofWithInvalidHashSizeCannotBeEncoded() {
+    UncheckedListProof proof = new UncheckedListProofAdapter(
+        new ListProofBranch(new ListProofElement(VALUE),
+            new ListProofHashNode(HashCode.fromString("a1"))), 2);
+
+    assertThrows(IllegalArgumentException.class, () -> listSerializer.toBytes(proof));
+  }
+
+  @Test
+  void listProofFromBytesWithTrailingBytes() {
+    byte[] encoded = new WireFormatWriter()
+        .writeVarint(1)
+        .writeByte(3)
+        .writeVarint(VALUE.size())
+        .writeBytes(VALUE.toByteArray())
+        .writeByte(0)
+        .toByteArray();
+
+    assertThrows(IllegalArgumentException.class, () -> listSerializer.fromBytes(encoded));
+  }
+
+  @Test
+  void listProofFromBytesTruncated() {
+    byte[] encoded = new WireFormatWriter()
+        .writeVarint(2)
+        .writeByte(1)
+        .writeByte(3)
+        .toByteArray();
+
+    assertThrows(IllegalArgumentException.class, () -> listSerializer.fromBytes(encoded));
+  }
+
+  @Test
+  void unsupportedListProof() {
+    UncheckedListProof proof = new UncheckedListProof() {
+      @Override
+      public CheckedListProof check() {
+        throw new AssertionError();
+      }
+
+      @Override
+      public ListProofNode getListProofRootNode() {
+        throw new AssertionError();
+      }
+    };
+
+    assertThrows(IllegalArgumentException.class, () -> listSerializer.toBytes(proof));
+  }
+
+  @Test
+  void mapProofEncodedSize() {
+    UncheckedFlatMapProof proof = UncheckedFlatMapProof.newInstance(emptyList(), emptyList(),
+        Arrays.asList(KEY, MISSING_KEY));
+
+    // 3 varints and 2 keys
+    assertThat(mapSerializer.toBytes(proof).length, equalTo(3 + 2 * 32));
+  }
+}
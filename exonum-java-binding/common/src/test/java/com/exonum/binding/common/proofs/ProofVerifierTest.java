@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.exonum.binding.common.proofs.WireFormatWriter.bytesOf;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.list.CheckedListProof;
+import com.exonum.binding.common.proofs.list.ListProofBranch;
+import com.exonum.binding.common.proofs.list.ListProofElement;
+import com.exonum.binding.common.proofs.list.ListProofHashNode;
+import com.exonum.binding.common.proofs.list.ListProofStatus;
+import com.exonum.binding.common.proofs.list.UncheckedListProof;
+import com.exonum.binding.common.proofs.list.UncheckedListProofAdapter;
+import com.exonum.binding.common.proofs.map.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.MapProofStatus;
+import com.exonum.binding.common.proofs.map.UncheckedMapProof;
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProofVerifierTest {
+
+  private ForkJoinPool pool;
+  private ProofVerifier verifier;
+
+  @BeforeEach
+  void setUp() {
+    pool = new ForkJoinPool(2);
+    verifier = ProofVerifier.newInstance(pool);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  void checkMapProofsInOrder() {
+    ByteString v1 = ByteString.copyFromUtf8("v1");
+    ByteString v2 = ByteString.copyFromUtf8("v2");
+    byte[] k1 = bytesOf(32, 0x01);
+    byte[] k2 = bytesOf(32, 0x02);
+    List<UncheckedMapProof> proofs = Arrays.asList(
+        singleEntryProof(k1, v1),
+        singleEntryProof(k2, v2),
+        singleEntryProof(k1, v1));
+
+    List<CheckedMapProof> checkedProofs = verifier.checkMapProofs(proofs);
+
+    assertThat(checkedProofs, hasSize(3));
+    for (CheckedMapProof checkedProof : checkedProofs) {
+      assertThat(checkedProof.getProofStatus(), equalTo(MapProofStatus.CORRECT));
+    }
+    assertThat(checkedProofs.get(0).getEntries(),
+        contains(MapEntry.valueOf(ByteString.copyFrom(k1), v1)));
+    assertThat(checkedProofs.get(1).getEntries(),
+        contains(MapEntry.valueOf(ByteString.copyFrom(k2), v2)));
+  }
+
+  @Test
+  void checkMapProofsChecksEqualEncodedProofsOnce() {
+    ByteString v1 = ByteString.copyFromUtf8("v1");
+    byte[] k1 = bytesOf(32, 0x01);
+    List<UncheckedMapProof> proofs = Arrays.asList(
+        singleEntryProof(k1, v1),
+        singleEntryProof(k1, v1));
+
+    List<CheckedMapProof> checkedProofs = verifier.checkMapProofs(proofs);
+
+    assertThat(checkedProofs.get(0), sameInstance(checkedProofs.get(1)));
+  }
+
+  @Test
+  void checkMapProofsMalformedProof() {
+    List<UncheckedMapProof> proofs = Arrays.asList(
+        singleEntryProof(bytesOf(32, 0x01), ByteString.copyFromUtf8("v1")),
+        EncodedMapProof.fromBytes(new byte[] {0x01}));
+
+    assertThrows(IllegalArgumentException.class, () -> verifier.checkMapProofs(proofs));
+  }
+
+  @Test
+  void checkListProofsInOrder() {
+    ByteString v1 = ByteString.copyFromUtf8("v1");
+    HashCode h1 = HashCode.fromString("a1");
+    HashCode h2 = HashCode.fromString("a2");
+    UncheckedListProof validProof = new UncheckedListProofAdapter(
+        new ListProofBranch(new ListProofElement(v1), new ListProofHashNode(h1)), 2);
+    UncheckedListProof invalidProof = new UncheckedListProofAdapter(
+        new ListProofBranch(new ListProofHashNode(h1), new ListProofHashNode(h2)), 2);
+    List<UncheckedListProof> proofs = Arrays.asList(validProof, invalidProof, validProof);
+
+    List<CheckedListProof> checkedProofs = verifier.checkListProofs(proofs);
+
+    assertThat(checkedProofs, hasSize(3));
+    assertThat(checkedProofs.get(0).getProofStatus(), equalTo(ListProofStatus.VALID));
+    assertThat(checkedProofs.get(1).getProofStatus(),
+        equalTo(ListProofStatus.INVALID_TREE_NO_ELEMENTS));
+    assertThat(checkedProofs.get(2), sameInstance(checkedProofs.get(0)));
+  }
+
+  @Test
+  void checkEmptyBatch() {
+    assertThat(verifier.checkListProofs(emptyList()), hasSize(0));
+  }
+
+  private static EncodedMapProof singleEntryProof(byte[] key, ByteString value) {
+    byte[] encoded = new WireFormatWriter()
+        .writeVarint(0)
+        .writeVarint(1)
+        .writeBytes(key)
+        .writeVarint(value.size())
+        .writeBytes(value.toByteArray())
+        .writeVarint(0)
+        .toByteArray();
+    return EncodedMapProof.fromBytes(encoded);
+  }
+}
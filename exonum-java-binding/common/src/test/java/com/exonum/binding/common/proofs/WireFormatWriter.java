@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Writes the proofs in the compact binary format byte by byte.
+ */
+final class WireFormatWriter {
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+  WireFormatWriter writeByte(int b) {
+    out.write(b);
+    return this;
+  }
+
+  WireFormatWriter writeBytes(byte[] bytes) {
+    out.write(bytes, 0, bytes.length);
+    return this;
+  }
+
+  WireFormatWriter writeVarint(long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+    return this;
+  }
+
+  byte[] toByteArray() {
+    return out.toByteArray();
+  }
+
+  /**
+   * Returns an array of the given size, the last byte of which is equal to the given value.
+   */
+  static byte[] bytesOf(int size, int value) {
+    byte[] bytes = new byte[size];
+    bytes[size - 1] = (byte) value;
+    return bytes;
+  }
+}
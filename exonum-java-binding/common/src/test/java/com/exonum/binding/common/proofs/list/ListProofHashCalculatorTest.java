@@ -163,4 +163,42 @@ class ListProofHashCalculatorTest {
     );
     assertEquals(expectedProofListHash, calculator.getHash());
   }
+
+  @Test
+  void visit_DeepProof() {
+    int depth = 10_000;
+    ListProofNode root = ListProofUtils.generateRightLeaningProofTree(depth,
+        new ListProofElement(V1));
+
+    long length = 2;
+    calculator = new ListProofHashCalculator(root, length);
+
+    HashCode expectedRootHash = getNodeHashCode(V1);
+    for (int i = 0; i < depth; i++) {
+      expectedRootHash = getBranchHashCode(expectedRootHash, H1);
+    }
+    HashCode expectedProofListHash = getProofListHash(expectedRootHash, length);
+
+    assertThat(calculator.getElements(), equalTo(of(0L, V1)));
+    assertEquals(expectedProofListHash, calculator.getHash());
+  }
+
+  @Test
+  void visit_UnbalancedProofWithRepeatedIndexes() {
+    // V2 and V3 have the same index: the structure validator reports such trees as invalid
+    ListProofBranch root = new ListProofBranch(
+        new ListProofBranch(
+            new ListProofElement(V1),
+            new ListProofElement(V2)
+        ),
+        new ListProofElement(V3)
+    );
+
+    long length = 3;
+    calculator = new ListProofHashCalculator(root, length);
+
+    assertThat(calculator.getElements(), equalTo(of(
+        0L, V1,
+        1L, V3)));
+  }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.map;
+
+import static com.exonum.binding.test.Bytes.bytes;
+import static com.exonum.binding.test.Bytes.createPrefixed;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.google.protobuf.ByteString;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class KeyRangeTest {
+
+  @Test
+  void ofRejectsInvalidKeySize() {
+    assertThrows(IllegalArgumentException.class,
+        () -> KeyRange.of(bytes(1), key(2)));
+    assertThrows(IllegalArgumentException.class,
+        () -> KeyRange.of(key(1), new byte[DbKey.KEY_SIZE + 1]));
+  }
+
+  @Test
+  void ofRejectsReversedRange() {
+    assertThrows(IllegalArgumentException.class,
+        () -> KeyRange.of(key(2), key(1)));
+  }
+
+  @Test
+  void containsUsesUnsignedOrder() {
+    KeyRange range = KeyRange.of(key(0x10), key(0x90));
+
+    assertTrue(range.contains(ByteString.copyFrom(key(0x10))));
+    assertTrue(range.contains(ByteString.copyFrom(key(0x7F, 0xFF))));
+    assertTrue(range.contains(ByteString.copyFrom(key(0x80))));
+    assertFalse(range.contains(ByteString.copyFrom(key(0x90))));
+    assertFalse(range.contains(ByteString.copyFrom(key(0x0F, 0xFF))));
+  }
+
+  @Test
+  void emptyRangeContainsNoKeys() {
+    KeyRange range = KeyRange.of(key(0x10), key(0x10));
+
+    assertFalse(range.contains(ByteString.copyFrom(key(0x10))));
+    assertFalse(range.firstKeyWithPrefix(DbKeyTestUtils.branchKeyFromPrefix("")).isPresent());
+  }
+
+  @Test
+  void firstKeyWithPrefixOfRoot() {
+    KeyRange range = KeyRange.of(key(0x10, 0x01), key(0x90));
+
+    Optional<byte[]> firstKey = range.firstKeyWithPrefix(DbKeyTestUtils.branchKeyFromPrefix(""));
+
+    assertThat(firstKey.map(ByteString::copyFrom),
+        equalTo(Optional.of(ByteString.copyFrom(key(0x10, 0x01)))));
+  }
+
+  @Test
+  void firstKeyWithPrefixOfLeaf() {
+    KeyRange range = KeyRange.of(key(0x10), key(0x90));
+    DbKey leafInRange = DbKey.newLeafKey(key(0x20));
+    DbKey leafBelowRange = DbKey.newLeafKey(key(0x0F));
+    DbKey leafAboveRange = DbKey.newLeafKey(key(0x90));
+
+    assertThat(range.firstKeyWithPrefix(leafInRange).map(ByteString::copyFrom),
+        equalTo(Optional.of(ByteString.copyFrom(key(0x20)))));
+    assertFalse(range.firstKeyWithPrefix(leafBelowRange).isPresent());
+    assertFalse(range.firstKeyWithPrefix(leafAboveRange).isPresent());
+  }
+
+  @Test
+  void firstKeyWithPrefixInNextByte() {
+    // Keys with the first byte 0x10 and the lowest bit of the second byte set
+    DbKey prefix = DbKey.newBranchKey(key(0x10, 0x01), 9);
+    KeyRange range = KeyRange.of(key(0x10, 0x02, 0x33), key(0x11));
+
+    Optional<byte[]> firstKey = range.firstKeyWithPrefix(prefix);
+
+    assertThat(firstKey.map(ByteString::copyFrom),
+        equalTo(Optional.of(ByteString.copyFrom(key(0x10, 0x03)))));
+  }
+
+  @Test
+  void firstKeyWithPrefixWhenNoneInByte() {
+    // Keys with the first byte 0x10 and the lowest bit of the second byte unset
+    DbKey prefix = DbKey.newBranchKey(key(0x10), 9);
+    KeyRange range = KeyRange.of(key(0x10, 0xFF, 0x01), key(0x20));
+
+    assertFalse(range.firstKeyWithPrefix(prefix).isPresent());
+  }
+
+  /**
+   * Checks the keys with the prefixes of all the possible lengths in the first byte
+   * against the least key found by enumerating the first byte values.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {0x00, 0x01, 0x2C, 0x7F, 0x80, 0xA5, 0xFE, 0xFF})
+  void firstKeyWithPrefixInFirstByte(int fromByte) {
+    byte[] fromKey = key(fromByte, 0x42);
+    byte[] toKey = key(0xF0);
+    if (UnsignedBytes.lexicographicalComparator().compare(fromKey, toKey) > 0) {
+      toKey = key(0xFF, 0xFF);
+    }
+    KeyRange range = KeyRange.of(fromKey, toKey);
+    for (int numBits = 0; numBits < Byte.SIZE; numBits++) {
+      int mask = (1 << numBits) - 1;
+      for (int fixedBits = 0; fixedBits <= mask; fixedBits++) {
+        DbKey prefix = DbKey.newBranchKey(key(fixedBits), numBits);
+
+        Optional<ByteString> expected = firstKeyWithPrefix(fromKey, toKey, fixedBits, mask);
+        Optional<ByteString> actual = range.firstKeyWithPrefix(prefix)
+            .map(ByteString::copyFrom);
+
+        assertThat("prefix " + prefix, actual, equalTo(expected));
+      }
+    }
+  }
+
+  private static Optional<ByteString> firstKeyWithPrefix(byte[] fromKey, byte[] toKey,
+      int fixedBits, int mask) {
+    int fromByte = Byte.toUnsignedInt(fromKey[0]);
+    for (int b = fromByte; b <= UnsignedBytes.MAX_VALUE; b++) {
+      if ((b & mask) == fixedBits) {
+        byte[] candidate = (b == fromByte) ? fromKey : key(b);
+        if (UnsignedBytes.lexicographicalComparator().compare(candidate, toKey) < 0) {
+          return Optional.of(ByteString.copyFrom(candidate));
+        }
+        return Optional.empty();
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static byte[] key(int... prefix) {
+    return createPrefixed(bytes(prefix), DbKey.KEY_SIZE);
+  }
+}
@@ -27,6 +27,7 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -34,6 +35,7 @@ import com.exonum.binding.common.collect.MapEntry;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.HashFunction;
 import com.exonum.binding.common.hash.Hashing;
+import com.google.common.collect.Lists;
 import com.google.protobuf.ByteString;
 import java.util.Arrays;
 import java.util.List;
@@ -269,6 +271,103 @@ class UncheckedFlatMapProofTest {
     assertThat(checkedMapProof.getProofStatus(), equalTo(MapProofStatus.EMBEDDED_PATH));
   }
 
+  @Test
+  void mapProofWithUnsortedLeavesShouldBeCorrect() {
+    ByteString firstKey = DbKeyTestUtils.keyByteStringFromString("0011_0101");
+    ByteString secondKey = DbKeyTestUtils.keyByteStringFromString("0011_0110");
+    DbKey thirdDbKey = DbKeyTestUtils.branchKeyFromPrefix("0100_0000");
+    ByteString fourthKey = DbKeyTestUtils.keyByteStringFromString("1000_1101");
+    byte[] firstAbsentKey = DbKeyTestUtils.keyFromString("0011_0111");
+    byte[] secondAbsentKey = DbKeyTestUtils.keyFromString("1000_1111");
+
+    List<MapEntry<ByteString, ByteString>> leaves = Arrays.asList(
+        createMapEntry(firstKey, FIRST_VALUE),
+        createMapEntry(secondKey, SECOND_VALUE),
+        createMapEntry(fourthKey, THIRD_VALUE)
+    );
+    List<MapProofEntry> proof = singletonList(createMapProofEntry(thirdDbKey));
+    UncheckedMapProof sortedProof = new UncheckedFlatMapProof(proof, leaves,
+        Arrays.asList(firstAbsentKey, secondAbsentKey));
+    UncheckedMapProof unsortedProof = new UncheckedFlatMapProof(proof, Lists.reverse(leaves),
+        Arrays.asList(secondAbsentKey, firstAbsentKey));
+
+    CheckedMapProof expected = sortedProof.check();
+    CheckedMapProof actual = unsortedProof.check();
+
+    assertThat(actual.getProofStatus(), equalTo(MapProofStatus.CORRECT));
+    assertThat(actual.getIndexHash(), equalTo(expected.getIndexHash()));
+    assertThat(actual.getEntries(), containsInAnyOrder(leaves.toArray()));
+  }
+
+  @Test
+  void mapProofWithIncludedPrefixesOfFoundKeysShouldBeInvalid() {
+    DbKey firstDbKey = DbKeyTestUtils.branchKeyFromPrefix("00");
+    DbKey secondDbKey = DbKeyTestUtils.branchKeyFromPrefix("10");
+    ByteString firstKey = DbKeyTestUtils.keyByteStringFromString("0101");
+    ByteString secondKey = DbKeyTestUtils.keyByteStringFromString("1011");
+
+    UncheckedMapProof uncheckedFlatMapProof =
+        new UncheckedFlatMapProof(
+            Arrays.asList(
+                createMapProofEntry(firstDbKey),
+                createMapProofEntry(secondDbKey)),
+            Arrays.asList(
+                createMapEntry(firstKey, FIRST_VALUE),
+                createMapEntry(secondKey, SECOND_VALUE)),
+            emptyList());
+
+    CheckedMapProof checkedMapProof = uncheckedFlatMapProof.check();
+    assertThat(checkedMapProof.getProofStatus(), equalTo(MapProofStatus.EMBEDDED_PATH));
+  }
+
+  @Test
+  void mapProofShouldBeCompleteInRange() {
+    // Both branches contain the keys with the first byte outside the range [29, 30)
+    DbKey firstDbKey = DbKeyTestUtils.branchKeyFromPrefix("101100");
+    ByteString valueKey = DbKeyTestUtils.keyByteStringFromString("101110");
+    DbKey thirdDbKey = DbKeyTestUtils.branchKeyFromPrefix("1011111");
+
+    MapEntry<ByteString, ByteString> leaf = createMapEntry(valueKey, FIRST_VALUE);
+    List<MapProofEntry> branches = Arrays.asList(
+        createMapProofEntry(firstDbKey),
+        createMapProofEntry(thirdDbKey)
+    );
+    UncheckedMapProof uncheckedFlatMapProof =
+        new UncheckedFlatMapProof(branches, singletonList(leaf), emptyList());
+
+    CheckedMapProof checkedMapProof = uncheckedFlatMapProof.checkRange(
+        DbKeyTestUtils.keyByteStringFromString("1011 1000"),
+        DbKeyTestUtils.keyByteStringFromString("0111 1000"));
+
+    assertThat(checkedMapProof.getProofStatus(), equalTo(MapProofStatus.CORRECT));
+    assertThat(checkedMapProof.get(valueKey), equalTo(FIRST_VALUE));
+    // Any key in the range is proved to be absent
+    ByteString absentKey = DbKeyTestUtils.keyByteStringFromString("1011 1000 1");
+    assertFalse(checkedMapProof.containsKey(absentKey));
+  }
+
+  @Test
+  void mapProofShouldBeIncompleteInRange() {
+    // The first branch contains the keys with the first byte 13, which is in the range [0, 30)
+    DbKey firstDbKey = DbKeyTestUtils.branchKeyFromPrefix("101100");
+    ByteString valueKey = DbKeyTestUtils.keyByteStringFromString("101110");
+    DbKey thirdDbKey = DbKeyTestUtils.branchKeyFromPrefix("1011111");
+
+    MapEntry<ByteString, ByteString> leaf = createMapEntry(valueKey, FIRST_VALUE);
+    List<MapProofEntry> branches = Arrays.asList(
+        createMapProofEntry(firstDbKey),
+        createMapProofEntry(thirdDbKey)
+    );
+    UncheckedMapProof uncheckedFlatMapProof =
+        new UncheckedFlatMapProof(branches, singletonList(leaf), emptyList());
+
+    CheckedMapProof checkedMapProof = uncheckedFlatMapProof.checkRange(
+        DbKeyTestUtils.keyByteStringFromString(""),
+        DbKeyTestUtils.keyByteStringFromString("0111 1000"));
+
+    assertThat(checkedMapProof.getProofStatus(), equalTo(MapProofStatus.INCOMPLETE_RANGE));
+  }
+
   private static MapProofEntry createMapProofEntry(DbKey dbKey) {
     return new MapProofEntry(dbKey, HashCode.fromBytes(dbKey.getKeySlice()));
   }
@@ -25,6 +25,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.nio.ByteBuffer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
@@ -89,6 +90,27 @@ class CheckingSerializerDecoratorTest {
     expectBrokenSerializerException(() -> decorator.fromBytes(new byte[0]));
   }
 
+  @Test
+  void fromBuffer() {
+    Object value = new Object();
+    ByteBuffer buffer = ByteBuffer.allocate(0);
+    when(delegateMock.fromBuffer(buffer)).thenReturn(value);
+
+    assertThat(decorator.fromBuffer(buffer), equalTo(value));
+  }
+
+  @Test
+  void fromBuffer_NullBuffer() {
+    assertThrows(NullPointerException.class, () -> decorator.fromBuffer(null));
+  }
+
+  @Test
+  void fromBuffer_NullFromDelegate() {
+    when(delegateMock.fromBuffer(any())).thenReturn(null);
+
+    expectBrokenSerializerException(() -> decorator.fromBuffer(ByteBuffer.allocate(0)));
+  }
+
   private void expectBrokenSerializerException(Executable function) {
     IllegalStateException thrown = assertThrows(IllegalStateException.class, function);
     assertThat(thrown.getMessage(), containsString("Broken serializer"));
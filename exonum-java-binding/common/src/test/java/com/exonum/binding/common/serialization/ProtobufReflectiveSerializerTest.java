@@ -28,6 +28,7 @@ import com.exonum.binding.common.serialization.TestProtos.Point;
 import com.exonum.binding.common.serialization.TestProtos.Targets;
 import com.google.common.collect.ImmutableList;
 import com.google.protobuf.MessageLite;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -92,6 +93,28 @@ class ProtobufReflectiveSerializerTest {
     assertThrows(IllegalArgumentException.class, () -> serializer.fromBytes(invalidBuffer));
   }
 
+  @Test
+  void fromBufferInvalidInput() {
+    ByteBuffer invalidBuffer = ByteBuffer.allocateDirect(32); // Too big for a Point message
+
+    assertThrows(IllegalArgumentException.class, () -> serializer.fromBuffer(invalidBuffer));
+  }
+
+  @Test
+  void fromBufferReadsRemainingBytes() {
+    Point p = createPoint(1, 2);
+    byte[] pointBytes = serializer.toBytes(p);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(pointBytes.length + 2);
+    buffer.put((byte) 1)
+        .put(pointBytes)
+        .put((byte) 2);
+    buffer.position(1);
+    buffer.limit(1 + pointBytes.length);
+
+    assertThat(serializer.fromBuffer(buffer), equalTo(p));
+    assertThat(buffer.position(), equalTo(buffer.limit()));
+  }
+
   @ParameterizedTest
   @MethodSource("testPoints")
   void roundtripTest(Point p) {
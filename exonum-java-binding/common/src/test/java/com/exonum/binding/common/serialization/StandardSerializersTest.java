@@ -19,9 +19,11 @@ package com.exonum.binding.common.serialization;
 import static java.util.stream.Stream.concat;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.exonum.binding.test.Bytes;
+import java.nio.ByteBuffer;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
@@ -37,6 +39,14 @@ class StandardSerializersTest {
     ObjectT actual = serializer.fromBytes(bytes);
 
     assertThat(actual, equalTo(expected));
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    buffer.flip();
+    ObjectT actualFromBuffer = serializer.fromBuffer(buffer);
+
+    assertThat(actualFromBuffer, equalTo(expected));
+    assertFalse(buffer.hasRemaining());
   }
 
   /**
@@ -44,6 +54,8 @@ class StandardSerializersTest {
    */
   static void invalidBytesValueTest(byte[] invalidValue, Serializer serializer) {
     assertThrows(IllegalArgumentException.class, () -> serializer.fromBytes(invalidValue));
+    assertThrows(IllegalArgumentException.class,
+        () -> serializer.fromBuffer(ByteBuffer.wrap(invalidValue)));
   }
 
   static IntStream intValues() {
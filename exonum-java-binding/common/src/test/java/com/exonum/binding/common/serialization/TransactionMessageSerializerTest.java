@@ -27,6 +27,7 @@ import com.exonum.binding.common.crypto.CryptoFunction;
 import com.exonum.binding.common.crypto.KeyPair;
 import com.exonum.binding.common.message.TransactionMessage;
 import com.exonum.binding.test.Bytes;
+import java.nio.ByteBuffer;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -41,7 +42,8 @@ class TransactionMessageSerializerTest {
     KeyPair keys = KeyPair.createKeyPair(Bytes.bytes(0x00), publicKey);
     byte[] signature = Bytes.randomBytes(SIGNATURE_SIZE);
     CryptoFunction cryptoFunction = Mockito.mock(CryptoFunction.class);
-    when(cryptoFunction.signMessage(any(), eq(keys.getPrivateKey()))).thenReturn(signature);
+    when(cryptoFunction.signBuffer(any(ByteBuffer.class), eq(keys.getPrivateKey())))
+        .thenReturn(signature);
 
     TransactionMessage message = TransactionMessage.builder()
         .serviceId((short) 1)
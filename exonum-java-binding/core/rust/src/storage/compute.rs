@@ -0,0 +1,74 @@
+// Copyright 2019 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+//! Helpers of the read-modify-write operations on the map values.
+
+use jni::{
+    objects::{JObject, JValue},
+    signature::{JavaType, Primitive},
+    JNIEnv,
+};
+
+use std::mem;
+
+use storage::db::Value;
+use utils::jni_cache::value_remapping;
+use JniResult;
+
+/// Computes the new value from the current `value` with the Java `ValueRemapping` object.
+/// Returns `None` if the mapping must be removed.
+///
+/// If the remapping throws an exception, returns an error, leaving the exception pending.
+pub fn remap_value(
+    env: &JNIEnv,
+    remapping: JObject,
+    value: Option<Value>,
+) -> JniResult<Option<Value>> {
+    let java_value: JObject = match value {
+        Some(value) => env.byte_array_from_slice(&value)?.into(),
+        None => JObject::null(),
+    };
+    let new_value = env
+        .call_method_unchecked(
+            remapping,
+            value_remapping::remap_id(),
+            JavaType::Array(Box::new(JavaType::Primitive(Primitive::Byte))),
+            &[JValue::from(java_value)],
+        )?
+        .l()?;
+    if new_value.is_null() {
+        Ok(None)
+    } else {
+        Ok(Some(env.convert_byte_array(new_value.into_inner())?))
+    }
+}
+
+/// Adds the `delta` to the `value` in the fixed64 format (a little-endian `i64`),
+/// treating an absent value as zero. Wraps around on overflow.
+///
+/// Panics if the value has a size other than 8 bytes.
+pub fn add_fixed64(value: Option<Value>, delta: i64) -> i64 {
+    let current = value.map_or(0, |value| {
+        assert_eq!(
+            value.len(),
+            mem::size_of::<i64>(),
+            "The value is not in the fixed64 format: {} bytes",
+            value.len()
+        );
+        let mut bytes = [0; 8];
+        bytes.copy_from_slice(&value);
+        i64::from_le_bytes(bytes)
+    });
+    current.wrapping_add(delta)
+}
@@ -0,0 +1,58 @@
+// Copyright 2019 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+use jni::{
+    objects::{JByteBuffer, JObject},
+    sys::jint,
+    JNIEnv,
+};
+
+use JniResult;
+
+/// The size returned to Java if there is no value.
+const ABSENT: jint = -1;
+
+/// Copies the value into the direct `buffer` at the given `offset`, if the value size
+/// does not exceed `max_length`; leaves the buffer unchanged otherwise.
+///
+/// Returns the size of the value, or `-1` if there is no value. The Java side
+/// is responsible for checking that the `[offset, offset + max_length)` range
+/// is within the buffer capacity.
+pub(crate) fn copy_to_direct_buffer<V>(
+    env: &JNIEnv,
+    buffer: JObject,
+    offset: jint,
+    max_length: jint,
+    value: Option<V>,
+) -> JniResult<jint>
+where
+    V: AsRef<[u8]>,
+{
+    let value = match value {
+        Some(ref value) => value.as_ref(),
+        None => return Ok(ABSENT),
+    };
+    let size = value.len();
+    assert!(
+        size <= jint::max_value() as usize,
+        "The value is too large for a Java buffer: {} bytes",
+        size
+    );
+    if size <= max_length as usize {
+        let target = env.get_direct_buffer_address(JByteBuffer::from(buffer.into_inner()))?;
+        let offset = offset as usize;
+        target[offset..offset + size].copy_from_slice(value);
+    }
+    Ok(size as jint)
+}
@@ -15,14 +15,17 @@
 use exonum_merkledb::{Entry, Fork, Snapshot};
 use jni::{
     objects::{JClass, JObject, JString},
-    sys::{jboolean, jbyteArray},
+    sys::{jboolean, jbyteArray, jint},
     JNIEnv,
 };
 
 use std::{panic, ptr};
 
 use handle::{self, Handle};
-use storage::db::{Value, View, ViewRef};
+use storage::{
+    db::{Value, View, ViewRef},
+    direct_buffer,
+};
 use utils;
 
 type Index<T> = Entry<T, Value>;
@@ -84,6 +87,28 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_EntryIndexPr
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
+/// Copies the value into the direct `buffer` at the given `offset`, if the value size
+/// does not exceed `max_length`. Returns the size of the value, or `-1` if the entry
+/// has no value.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_EntryIndexProxy_nativeReadValue(
+    env: JNIEnv,
+    _: JObject,
+    entry_handle: Handle,
+    buffer: JObject,
+    offset: jint,
+    max_length: jint,
+) -> jint {
+    let res = panic::catch_unwind(|| {
+        let val = match *handle::cast_handle::<IndexType>(entry_handle) {
+            IndexType::SnapshotIndex(ref entry) => entry.get(),
+            IndexType::ForkIndex(ref entry) => entry.get(),
+        };
+        direct_buffer::copy_to_direct_buffer(&env, buffer, offset, max_length, val)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Returns `true` if the entry contains the value.
 #[no_mangle]
 pub extern "C" fn Java_com_exonum_binding_core_storage_indices_EntryIndexProxy_nativeIsPresent(
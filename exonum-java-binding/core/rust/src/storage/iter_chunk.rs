@@ -0,0 +1,74 @@
+// Copyright 2019 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+use jni::{
+    objects::JObject,
+    sys::{jint, jobjectArray, jsize},
+    JNIEnv,
+};
+
+use std::iter;
+
+use JniResult;
+
+const BYTE_ARRAY: &str = "[B";
+
+/// Returns the next chunk of at most `chunk_size` elements of the iterator
+/// as a Java array of byte arrays (`byte[][]`).
+///
+/// A chunk with fewer than `chunk_size` elements is returned when the iteration is finished.
+pub(crate) fn next_chunk<I>(env: &JNIEnv, iter: &mut I, chunk_size: jint) -> JniResult<jobjectArray>
+where
+    I: Iterator,
+    I::Item: AsRef<[u8]>,
+{
+    let elements: Vec<I::Item> = iter.take(chunk_size as usize).collect();
+    let arrays = elements.iter().map(|element| element.as_ref());
+    new_java_byte_arrays(env, elements.len(), arrays)
+}
+
+/// Returns the next chunk of at most `chunk_size` pairs of the iterator
+/// as a Java array of byte arrays (`byte[][]`), with each pair occupying two
+/// consecutive elements of the array.
+///
+/// A chunk with fewer than `chunk_size` pairs is returned when the iteration is finished.
+pub(crate) fn next_pairs_chunk<I, K, V>(
+    env: &JNIEnv,
+    iter: &mut I,
+    chunk_size: jint,
+) -> JniResult<jobjectArray>
+where
+    I: Iterator<Item = (K, V)>,
+    K: AsRef<[u8]>,
+    V: AsRef<[u8]>,
+{
+    let pairs: Vec<(K, V)> = iter.take(chunk_size as usize).collect();
+    let arrays = pairs
+        .iter()
+        .flat_map(|(key, value)| iter::once(key.as_ref()).chain(iter::once(value.as_ref())));
+    new_java_byte_arrays(env, 2 * pairs.len(), arrays)
+}
+
+fn new_java_byte_arrays<'a, I>(env: &JNIEnv, len: usize, arrays: I) -> JniResult<jobjectArray>
+where
+    I: Iterator<Item = &'a [u8]>,
+{
+    let java_arrays = env.new_object_array(len as jsize, BYTE_ARRAY, JObject::null())?;
+    for (i, array) in arrays.enumerate() {
+        let java_array: JObject = env.byte_array_from_slice(array)?.into();
+        env.set_object_array_element(java_arrays, i as jsize, java_array)?;
+        env.delete_local_ref(java_array)?;
+    }
+    Ok(java_arrays)
+}
@@ -15,14 +15,17 @@
 use exonum_merkledb::{key_set_index::KeySetIndexIter, Fork, KeySetIndex, Snapshot};
 use jni::{
     objects::{JClass, JObject, JString},
-    sys::{jboolean, jbyteArray},
+    sys::{jboolean, jbyteArray, jint, jobjectArray},
     JNIEnv,
 };
 
 use std::{panic, ptr};
 
 use handle::{self, Handle};
-use storage::db::{Key, View, ViewRef};
+use storage::{
+    db::{Key, View, ViewRef},
+    iter_chunk,
+};
 use utils;
 
 type Index<T> = KeySetIndex<T, Key>;
@@ -206,19 +209,18 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_KeySetIndexP
     utils::unwrap_exc_or_default(&env, res)
 }
 
-/// Return next value from the iterator. Returns null pointer when iteration is finished.
+/// Returns the next chunk of elements from the iterator. Returns a shorter chunk
+/// when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_KeySetIndexProxy_nativeIteratorNext(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_KeySetIndexProxy_nativeIteratorNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jbyteArray {
+    chunk_size: jint,
+) -> jobjectArray {
     let res = panic::catch_unwind(|| {
         let iter = handle::cast_handle::<KeySetIndexIter<Key>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        iter_chunk::next_chunk(&env, iter, chunk_size)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -15,14 +15,17 @@
 use exonum_merkledb::{list_index::ListIndexIter, Fork, ListIndex, Snapshot};
 use jni::{
     objects::{JClass, JObject, JString},
-    sys::{jboolean, jbyteArray, jlong},
+    sys::{jboolean, jbyteArray, jint, jlong, jobjectArray},
     JNIEnv,
 };
 
 use std::{panic, ptr};
 
 use handle::{self, Handle};
-use storage::db::{Value, View, ViewRef};
+use storage::{
+    db::{Value, View, ViewRef},
+    direct_buffer, iter_chunk,
+};
 use utils;
 
 type Index<T> = ListIndex<T, Value>;
@@ -110,6 +113,52 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ListIndexPro
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
+/// Copies the element at the given `index` into the direct `buffer` at the given `offset`,
+/// if the element size does not exceed `max_length`. Returns the size of the element,
+/// or `-1` if the element is not found.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ListIndexProxy_nativeReadElement(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    index: jlong,
+    buffer: JObject,
+    offset: jint,
+    max_length: jint,
+) -> jint {
+    let res = panic::catch_unwind(|| {
+        let val = match *handle::cast_handle::<IndexType>(list_handle) {
+            IndexType::SnapshotIndex(ref list) => list.get(index as u64),
+            IndexType::ForkIndex(ref list) => list.get(index as u64),
+        };
+        direct_buffer::copy_to_direct_buffer(&env, buffer, offset, max_length, val)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Returns the values in the range `[from, to)` as an array of byte arrays.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ListIndexProxy_nativeGetRange(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    from: jlong,
+    to: jlong,
+) -> jobjectArray {
+    let res = panic::catch_unwind(|| {
+        let len = (to - from) as jint;
+        match *handle::cast_handle::<IndexType>(list_handle) {
+            IndexType::SnapshotIndex(ref list) => {
+                iter_chunk::next_chunk(&env, &mut list.iter_from(from as u64), len)
+            }
+            IndexType::ForkIndex(ref list) => {
+                iter_chunk::next_chunk(&env, &mut list.iter_from(from as u64), len)
+            }
+        }
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
 /// Returns the last value or null pointer if the list is empty.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ListIndexProxy_nativeGetLast(
@@ -220,6 +269,27 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ListIndexPro
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Adds all the `values` to the end of the list.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ListIndexProxy_nativeAddAll(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    values: jobjectArray,
+) {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(list_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut list) => {
+            let values = utils::convert_to_byte_arrays(&env, values)?;
+            list.extend(values);
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes the last element from a list and returns it, or null pointer if it is empty.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ListIndexProxy_nativeRemoveLast(
@@ -0,0 +1,257 @@
+// Copyright 2019 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+use exonum_merkledb::{Fork, ListIndex, Snapshot};
+use jni::{
+    objects::{JClass, JObject, JString},
+    sys::{jboolean, jbyteArray, jlong, jlongArray, jsize},
+    JNIEnv,
+};
+
+use std::{panic, ptr};
+
+use handle::{self, Handle};
+use storage::db::{View, ViewRef};
+use utils;
+
+/// The values are stored as `u64` in the little-endian format,
+/// which `StandardSerializers.fixed64()` uses in Java.
+type Index<T> = ListIndex<T, u64>;
+
+enum IndexType {
+    SnapshotIndex(Index<&'static dyn Snapshot>),
+    ForkIndex(Index<&'static Fork>),
+}
+
+/// Returns pointer to the created `ListIndex` object.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeCreate(
+    env: JNIEnv,
+    _: JClass,
+    name: JString,
+    view_handle: Handle,
+) -> Handle {
+    let res = panic::catch_unwind(|| {
+        let name = utils::convert_to_string(&env, name)?;
+        Ok(handle::to_handle(
+            match handle::cast_handle::<View>(view_handle).get() {
+                ViewRef::Snapshot(snapshot) => {
+                    IndexType::SnapshotIndex(Index::new(name, &*snapshot))
+                }
+                ViewRef::Fork(fork) => IndexType::ForkIndex(Index::new(name, fork)),
+            },
+        ))
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Returns a pointer to the created `ListIndex` instance in an index family (= group).
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeCreateInGroup(
+    env: JNIEnv,
+    _: JClass,
+    group_name: JString,
+    list_id: jbyteArray,
+    view_handle: Handle,
+) -> Handle {
+    let res = panic::catch_unwind(|| {
+        let group_name = utils::convert_to_string(&env, group_name)?;
+        let list_id = env.convert_byte_array(list_id)?;
+        let view_ref = handle::cast_handle::<View>(view_handle).get();
+        Ok(handle::to_handle(match view_ref {
+            ViewRef::Snapshot(snapshot) => {
+                IndexType::SnapshotIndex(Index::new_in_family(group_name, &list_id, &*snapshot))
+            }
+            ViewRef::Fork(fork) => {
+                IndexType::ForkIndex(Index::new_in_family(group_name, &list_id, fork))
+            }
+        }))
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Destroys the underlying `ListIndex` object and frees memory.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeFree(
+    env: JNIEnv,
+    _: JClass,
+    list_handle: Handle,
+) {
+    handle::drop_handle::<IndexType>(&env, list_handle);
+}
+
+/// Returns the value by index. Panics if `index` is out of bounds.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeGet(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    index: jlong,
+) -> jlong {
+    let res = panic::catch_unwind(|| {
+        let val = match *handle::cast_handle::<IndexType>(list_handle) {
+            IndexType::SnapshotIndex(ref list) => list.get(index as u64),
+            IndexType::ForkIndex(ref list) => list.get(index as u64),
+        };
+        Ok(val.expect("Index is out of bounds") as jlong)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Returns the values in the range `[from, to)` as an array of longs.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeGetRange(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    from: jlong,
+    to: jlong,
+) -> jlongArray {
+    let res = panic::catch_unwind(|| {
+        let len = (to - from) as usize;
+        let values: Vec<jlong> = match *handle::cast_handle::<IndexType>(list_handle) {
+            IndexType::SnapshotIndex(ref list) => list
+                .iter_from(from as u64)
+                .take(len)
+                .map(|val| val as jlong)
+                .collect(),
+            IndexType::ForkIndex(ref list) => list
+                .iter_from(from as u64)
+                .take(len)
+                .map(|val| val as jlong)
+                .collect(),
+        };
+        let array = env.new_long_array(values.len() as jsize)?;
+        env.set_long_array_region(array, 0, &values)?;
+        Ok(array)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
+/// Returns `true` if the list is empty.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeIsEmpty(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+) -> jboolean {
+    let res = panic::catch_unwind(|| {
+        Ok(match *handle::cast_handle::<IndexType>(list_handle) {
+            IndexType::SnapshotIndex(ref list) => list.is_empty(),
+            IndexType::ForkIndex(ref list) => list.is_empty(),
+        } as jboolean)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Returns length of the list.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeSize(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+) -> jlong {
+    let res = panic::catch_unwind(|| {
+        Ok(match *handle::cast_handle::<IndexType>(list_handle) {
+            IndexType::SnapshotIndex(ref list) => list.len(),
+            IndexType::ForkIndex(ref list) => list.len(),
+        } as jlong)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Adds value to the list.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeAdd(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    value: jlong,
+) {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(list_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut list) => {
+            list.push(value as u64);
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Sets value into specified index. Panics if `index` is out of bounds.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeSet(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    index: jlong,
+    value: jlong,
+) {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(list_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut list) => {
+            list.set(index as u64, value as u64);
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Adds the `delta` to the value at the specified index and returns the updated value.
+/// Wraps around on overflow. Panics if `index` is out of bounds.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeIncrementBy(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    index: jlong,
+    delta: jlong,
+) -> jlong {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(list_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut list) => {
+            let index = index as u64;
+            let value = list.get(index).expect("Index is out of bounds") as jlong;
+            let value = value.wrapping_add(delta);
+            list.set(index, value as u64);
+            Ok(value)
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Clears the list, removing all values.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_LongListIndexProxy_nativeClear(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+) {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(list_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut list) => {
+            list.clear();
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
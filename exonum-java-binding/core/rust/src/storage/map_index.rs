@@ -18,7 +18,7 @@ use exonum_merkledb::{
 };
 use jni::{
     objects::{JClass, JObject, JString},
-    sys::{jboolean, jbyteArray, jobject},
+    sys::{jboolean, jbyteArray, jint, jlong, jobjectArray},
     JNIEnv,
 };
 
@@ -26,8 +26,9 @@ use std::{panic, ptr};
 
 use handle::{self, Handle};
 use storage::{
+    compute,
     db::{Key, Value, View, ViewRef},
-    PairIter,
+    direct_buffer, iter_chunk,
 };
 use utils;
 
@@ -38,9 +39,7 @@ enum IndexType {
     ForkIndex(Index<&'static Fork>),
 }
 
-type Iter<'a> = PairIter<MapIndexIter<'a, Key, Value>>;
-
-const JAVA_ENTRY_FQN: &str = "com/exonum/binding/core/storage/indices/MapEntryInternal";
+type Iter<'a> = MapIndexIter<'a, Key, Value>;
 
 /// Returns a pointer to the created `MapIndex` object.
 #[no_mangle]
@@ -121,6 +120,50 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
+/// Copies the value identified by the `key` into the direct `buffer` at the given `offset`,
+/// if the value size does not exceed `max_length`. Returns the size of the value,
+/// or `-1` if the value is not found.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeReadValue(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    key: jbyteArray,
+    buffer: JObject,
+    offset: jint,
+    max_length: jint,
+) -> jint {
+    let res = panic::catch_unwind(|| {
+        let key = env.convert_byte_array(key)?;
+        let val = match *handle::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(ref map) => map.get(&key),
+            IndexType::ForkIndex(ref map) => map.get(&key),
+        };
+        direct_buffer::copy_to_direct_buffer(&env, buffer, offset, max_length, val)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Returns values identified by the `keys` in the same order. Null elements are returned
+/// for the keys that are not found.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeGetAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jobjectArray,
+) -> jobjectArray {
+    let res = panic::catch_unwind(|| {
+        let keys = utils::convert_to_byte_arrays(&env, keys)?;
+        let values: Vec<Option<Value>> = match *handle::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(ref map) => keys.iter().map(|key| map.get(key)).collect(),
+            IndexType::ForkIndex(ref map) => keys.iter().map(|key| map.get(key)).collect(),
+        };
+        utils::convert_to_java_byte_arrays(&env, &values)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
 /// Returns `true` if the map contains a value for the specified key.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeContainsKey(
@@ -151,7 +194,6 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
             IndexType::SnapshotIndex(ref map) => map.iter(),
             IndexType::ForkIndex(ref map) => map.iter(),
         };
-        let iter = Iter::new(&env, iter, JAVA_ENTRY_FQN)?;
         Ok(handle::to_handle(iter))
     });
     utils::unwrap_exc_or_default(&env, res)
@@ -195,7 +237,7 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
 
 /// Returns the pointer to the iterator over a map keys and values starting at the given key.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeCreateIterFrom(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeCreateEntriesIterFrom(
     env: JNIEnv,
     _: JObject,
     map_handle: Handle,
@@ -207,7 +249,6 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
             IndexType::SnapshotIndex(ref map) => map.iter_from(&key),
             IndexType::ForkIndex(ref map) => map.iter_from(&key),
         };
-        let iter = Iter::new(&env, iter, JAVA_ENTRY_FQN)?;
         Ok(handle::to_handle(iter))
     });
     utils::unwrap_exc_or_default(&env, res)
@@ -215,9 +256,9 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
 
 /// Returns a pointer to the iterator over map keys starting at the given key.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeKeysFrom(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeCreateKeysIterFrom(
     env: JNIEnv,
-    _: JClass,
+    _: JObject,
     map_handle: Handle,
     key: jbyteArray,
 ) -> Handle {
@@ -235,9 +276,9 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
 
 /// Returns a pointer to the iterator over map values starting at the given key.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeValuesFrom(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeCreateValuesIterFrom(
     env: JNIEnv,
-    _: JClass,
+    _: JObject,
     map_handle: Handle,
     key: jbyteArray,
 ) -> Handle {
@@ -276,6 +317,86 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Puts all the `values` identified by the corresponding `keys` into the index.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativePutAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jobjectArray,
+    values: jobjectArray,
+) {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let keys = utils::convert_to_byte_arrays(&env, keys)?;
+            let values = utils::convert_to_byte_arrays(&env, values)?;
+            assert_eq!(keys.len(), values.len());
+            for (key, value) in keys.iter().zip(values) {
+                map.put(key, value);
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Replaces the value identified by the `key` with the result of the `remapping`
+/// of the current value, or removes it if the result is null.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeCompute(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    key: jbyteArray,
+    remapping: JObject,
+) {
+    let res = panic::catch_unwind(|| {
+        let key = env.convert_byte_array(key)?;
+        // No reference to the index is held while the remapping is computed in Java.
+        let value = match *handle::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(_) => panic!("Unable to modify snapshot."),
+            IndexType::ForkIndex(ref map) => map.get(&key),
+        };
+        let new_value = compute::remap_value(&env, remapping, value)?;
+        match *handle::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(_) => panic!("Unable to modify snapshot."),
+            IndexType::ForkIndex(ref mut map) => match new_value {
+                Some(new_value) => map.put(&key, new_value),
+                None => map.remove(&key),
+            },
+        }
+        Ok(())
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Adds the `delta` to the fixed64 value identified by the `key` (or to zero,
+/// if it is not found), and returns the updated value. Wraps around on overflow.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeAddAndGet(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    key: jbyteArray,
+    delta: jlong,
+) -> jlong {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let key = env.convert_byte_array(key)?;
+            let value = compute::add_fixed64(map.get(&key), delta);
+            map.put(&key, value.to_le_bytes().to_vec());
+            Ok(value)
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes value identified by the `key` from the index.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeRemove(
@@ -297,6 +418,29 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Removes values identified by the `keys` from the index.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeRemoveAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jobjectArray,
+) {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let keys = utils::convert_to_byte_arrays(&env, keys)?;
+            for key in &keys {
+                map.remove(key);
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Clears the index, removing all values.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeClear(
@@ -316,29 +460,18 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
     utils::unwrap_exc_or_default(&env, res)
 }
 
-/// Returns the next value from the iterator. Returns null pointer when iteration is finished.
+/// Returns the next chunk of entries from the iterator as an array of keys and values
+/// interleaved. Returns a shorter chunk when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeEntriesIterNext(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeEntriesIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jobject {
+    chunk_size: jint,
+) -> jobjectArray {
     let res = panic::catch_unwind(|| {
-        let iterWrapper = handle::cast_handle::<Iter>(iter_handle);
-        match iterWrapper.iter.next() {
-            Some(val) => {
-                let key: JObject = env.byte_array_from_slice(&val.0)?.into();
-                let value: JObject = env.byte_array_from_slice(&val.1)?.into();
-                Ok(env
-                    .new_object_unchecked(
-                        &iterWrapper.element_class,
-                        iterWrapper.constructor_id,
-                        &[key.into(), value.into()],
-                    )?
-                    .into_inner())
-            }
-            None => Ok(ptr::null_mut()),
-        }
+        let iter = handle::cast_handle::<Iter>(iter_handle);
+        iter_chunk::next_pairs_chunk(&env, iter, chunk_size)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -353,19 +486,18 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
     handle::drop_handle::<Iter>(&env, iter_handle);
 }
 
-/// Returns the next value from the keys-iterator. Returns null pointer when iteration is finished.
+/// Returns the next chunk of keys from the keys-iterator. Returns a shorter chunk
+/// when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeKeysIterNext(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeKeysIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jbyteArray {
+    chunk_size: jint,
+) -> jobjectArray {
     let res = panic::catch_unwind(|| {
         let iter = handle::cast_handle::<MapIndexKeys<Key>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        iter_chunk::next_chunk(&env, iter, chunk_size)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -380,19 +512,18 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
     handle::drop_handle::<MapIndexKeys<Key>>(&env, iter_handle);
 }
 
-/// Return next value from the values-iterator. Returns null pointer when iteration is finished.
+/// Returns the next chunk of values from the values-iterator. Returns a shorter chunk
+/// when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeValuesIterNext(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeValuesIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jbyteArray {
+    chunk_size: jint,
+) -> jobjectArray {
     let res = panic::catch_unwind(|| {
         let iter = handle::cast_handle::<MapIndexValues<Value>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        iter_chunk::next_chunk(&env, iter, chunk_size)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -12,14 +12,19 @@
 // See the License for the specific language governing permissions and
 // limitations under the License.
 
+mod compute;
 mod core_schema;
 mod db;
+mod direct_buffer;
 mod entry;
 mod fork;
+mod iter_chunk;
 mod key_set_index;
 mod list_index;
+mod long_list_index;
+mod long_map_index;
 mod map_index;
-mod pair_iter;
+mod proof_bundle;
 mod proof_list_index;
 mod proof_map_index;
 mod temporarydb;
@@ -31,8 +36,10 @@ pub(crate) use self::db::View;
 pub use self::entry::*;
 pub use self::key_set_index::*;
 pub use self::list_index::*;
+pub use self::long_list_index::*;
+pub use self::long_map_index::*;
 pub use self::map_index::*;
-pub use self::pair_iter::PairIter;
+pub use self::proof_bundle::*;
 pub use self::proof_list_index::*;
 pub use self::proof_map_index::*;
 pub use self::temporarydb::*;
@@ -0,0 +1,200 @@
+// Copyright 2019 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+//! Encodes the proofs from several proof indexes into a single bundle.
+//!
+//! The bundle format is described in the `ProofBundle` Java class:
+//!
+//! ```text
+//! bundle     := version:u8 count:varint proof{count}
+//! proof      := 0x01 map_proof | 0x02 list_proof
+//! map_proof  := n:varint (db_key[34] hash[32]){n}
+//!               m:varint (key[32] length:varint value[length]){m}
+//!               k:varint key[32]{k}
+//! list_proof := list_length:varint node
+//! node       := 0x01 node node          -- a branch
+//!             | 0x02 node               -- a branch with no right child
+//!             | 0x03 length:varint value[length]
+//!             | 0x04 hash[32]
+//!             | 0x05 merkle_root[32]    -- a proof of absence
+//! ```
+//!
+//! The varints are unsigned LEB128 numbers.
+
+use exonum_merkledb::{proof_list_index::ListProof, proof_map_index::MapProof};
+use jni::{
+    objects::JClass,
+    sys::{jbyteArray, jint, jintArray, jlong, jlongArray, jobjectArray},
+    JNIEnv,
+};
+
+use std::{panic, ptr};
+
+use handle::Handle;
+use storage::{
+    db::Value,
+    proof_list_index::get_list_range_proof,
+    proof_map_index::{get_map_multiproof, split_keys, Key},
+};
+use utils;
+
+const BUNDLE_FORMAT_VERSION: u8 = 1;
+
+const MAP_PROOF: jint = 1;
+const LIST_PROOF: jint = 2;
+
+const NODE_BRANCH: u8 = 1;
+const NODE_LEFT_BRANCH: u8 = 2;
+const NODE_ELEMENT: u8 = 3;
+const NODE_HASH: u8 = 4;
+const NODE_ABSENT: u8 = 5;
+
+/// Returns the bundle of the proofs requested from the given indexes.
+///
+/// The map proofs are requested for the flattened keys in `map_keys`; the list proofs —
+/// for the ranges `[list_ranges[2 * i], list_ranges[2 * i + 1])`, where `i` is the index
+/// of the request.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofBatch_nativeGetProofs(
+    env: JNIEnv,
+    _: JClass,
+    proof_types: jintArray,
+    index_handles: jlongArray,
+    map_keys: jobjectArray,
+    list_ranges: jlongArray,
+) -> jbyteArray {
+    let res = panic::catch_unwind(|| {
+        let num_proofs = env.get_array_length(proof_types)?;
+        let mut types = vec![0 as jint; num_proofs as usize];
+        env.get_int_array_region(proof_types, 0, &mut types)?;
+        let mut handles = vec![0 as Handle; num_proofs as usize];
+        env.get_long_array_region(index_handles, 0, &mut handles)?;
+        let mut ranges = vec![0 as jlong; 2 * num_proofs as usize];
+        env.get_long_array_region(list_ranges, 0, &mut ranges)?;
+        let keys = utils::convert_to_byte_arrays(&env, map_keys)?;
+
+        let mut bundle = Vec::new();
+        bundle.push(BUNDLE_FORMAT_VERSION);
+        write_varint(&mut bundle, num_proofs as u64);
+        for (i, &proof_type) in types.iter().enumerate() {
+            let index_handle = handles[i];
+            match proof_type {
+                MAP_PROOF => {
+                    let proof = get_map_multiproof(index_handle, split_keys(&keys[i]));
+                    bundle.push(MAP_PROOF as u8);
+                    write_map_proof(&mut bundle, &proof);
+                }
+                LIST_PROOF => {
+                    let from = ranges[2 * i] as u64;
+                    let to = ranges[2 * i + 1] as u64;
+                    let (proof, length) = get_list_range_proof(index_handle, from, to);
+                    bundle.push(LIST_PROOF as u8);
+                    write_varint(&mut bundle, length);
+                    write_list_proof_node(&mut bundle, &proof);
+                }
+                _ => panic!("Unknown proof type: {}", proof_type),
+            }
+        }
+        env.byte_array_from_slice(&bundle)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
+/// Writes the map proof in the bundle format.
+pub(crate) fn write_map_proof(buf: &mut Vec<u8>, proof: &MapProof<Key, Value>) {
+    let proof_nodes = proof.proof_unchecked();
+    write_varint(buf, proof_nodes.len() as u64);
+    for (proof_path, hash) in &proof_nodes {
+        buf.extend_from_slice(proof_path.as_bytes());
+        buf.extend_from_slice(hash.as_ref());
+    }
+
+    let (entries, missing_keys): (Vec<_>, Vec<_>) = proof
+        .all_entries_unchecked()
+        .partition(|(_, value)| value.is_some());
+    write_varint(buf, entries.len() as u64);
+    for (key, value) in entries {
+        let value = value.unwrap();
+        buf.extend_from_slice(key);
+        write_varint(buf, value.len() as u64);
+        buf.extend_from_slice(value);
+    }
+    write_varint(buf, missing_keys.len() as u64);
+    for (key, _) in missing_keys {
+        buf.extend_from_slice(key);
+    }
+}
+
+fn write_list_proof_node(buf: &mut Vec<u8>, proof: &ListProof<Value>) {
+    match *proof {
+        ListProof::Full(ref left, ref right) => {
+            buf.push(NODE_BRANCH);
+            write_list_proof_node(buf, left);
+            write_list_proof_node(buf, right);
+        }
+        ListProof::Left(ref left, Some(ref hash)) => {
+            buf.push(NODE_BRANCH);
+            write_list_proof_node(buf, left);
+            buf.push(NODE_HASH);
+            buf.extend_from_slice(hash.as_ref());
+        }
+        ListProof::Left(ref left, None) => {
+            buf.push(NODE_LEFT_BRANCH);
+            write_list_proof_node(buf, left);
+        }
+        ListProof::Right(ref hash, ref right) => {
+            buf.push(NODE_BRANCH);
+            buf.push(NODE_HASH);
+            buf.extend_from_slice(hash.as_ref());
+            write_list_proof_node(buf, right);
+        }
+        ListProof::Leaf(ref value) => {
+            buf.push(NODE_ELEMENT);
+            write_varint(buf, value.len() as u64);
+            buf.extend_from_slice(value);
+        }
+        ListProof::Absent(ref proof_of_absence) => {
+            buf.push(NODE_ABSENT);
+            buf.extend_from_slice(proof_of_absence.merkle_root().as_ref());
+        }
+    }
+}
+
+/// Writes the value as an unsigned LEB128 number.
+fn write_varint(buf: &mut Vec<u8>, mut value: u64) {
+    while value >= 0x80 {
+        buf.push((value as u8) | 0x80);
+        value >>= 7;
+    }
+    buf.push(value as u8);
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+
+    #[test]
+    fn write_varint_single_byte() {
+        let mut buf = Vec::new();
+        write_varint(&mut buf, 0x7F);
+        assert_eq!(buf, vec![0x7F]);
+    }
+
+    #[test]
+    fn write_varint_multi_byte() {
+        let mut buf = Vec::new();
+        write_varint(&mut buf, 300);
+        assert_eq!(buf, vec![0xAC, 0x02]);
+    }
+}
@@ -14,46 +14,41 @@
 
 use jni::{
     objects::{JClass, JObject, JString},
-    sys::{jboolean, jbyteArray, jobject, jsize},
+    sys::{jboolean, jbyteArray, jint, jlong, jobject, jobjectArray},
     JNIEnv,
 };
 
 use std::{panic, ptr};
 
-use exonum::crypto::Hash;
 use exonum_merkledb::{
     proof_map_index::{
-        MapProof, ProofMapIndexIter, ProofMapIndexKeys, ProofMapIndexValues, ProofPath,
-        PROOF_MAP_KEY_SIZE,
+        MapProof, ProofMapIndexIter, ProofMapIndexKeys, ProofMapIndexValues, PROOF_MAP_KEY_SIZE,
     },
     Fork, ObjectHash, ProofMapIndex, Snapshot,
 };
 
 use handle::{self, Handle};
 use storage::{
+    compute,
     db::{Value, View, ViewRef},
-    PairIter,
+    direct_buffer, iter_chunk,
+    proof_bundle::write_map_proof,
 };
 use utils;
 use JniResult;
 
-type Key = [u8; PROOF_MAP_KEY_SIZE];
+pub(crate) type Key = [u8; PROOF_MAP_KEY_SIZE];
 type Index<T> = ProofMapIndex<T, Key, Value>;
 
-const JAVA_ENTRY_FQN: &str = "com/exonum/binding/core/storage/indices/MapEntryInternal";
-const MAP_PROOF_ENTRY: &str = "com/exonum/binding/common/proofs/map/MapProofEntry";
-const MAP_ENTRY: &str = "com/exonum/binding/common/collect/MapEntry";
-const UNCHECKED_FLAT_MAP_PROOF: &str = "com/exonum/binding/common/proofs/map/UncheckedFlatMapProof";
-const UNCHECKED_FLAT_MAP_PROOF_SIG: &str =
-    "([Lcom/exonum/binding/common/proofs/map/MapProofEntry;[Lcom/exonum/binding/common/collect/MapEntry;[[B)Lcom/exonum/binding/common/proofs/map/UncheckedFlatMapProof;";
-const BYTE_ARRAY: &str = "[B";
+const ENCODED_MAP_PROOF: &str = "com/exonum/binding/common/proofs/EncodedMapProof";
+const ENCODED_MAP_PROOF_SIG: &str = "([B)Lcom/exonum/binding/common/proofs/EncodedMapProof;";
 
 enum IndexType {
     SnapshotIndex(Index<&'static dyn Snapshot>),
     ForkIndex(Index<&'static Fork>),
 }
 
-type Iter<'a> = PairIter<ProofMapIndexIter<'a, Key, Value>>;
+type Iter<'a> = ProofMapIndexIter<'a, Key, Value>;
 
 /// Returns a pointer to the created `ProofMapIndex` object.
 #[no_mangle]
@@ -151,6 +146,52 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
+/// Copies the value identified by the `key` into the direct `buffer` at the given `offset`,
+/// if the value size does not exceed `max_length`. Returns the size of the value,
+/// or `-1` if the value is not found.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeReadValue(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    key: jbyteArray,
+    buffer: JObject,
+    offset: jint,
+    max_length: jint,
+) -> jint {
+    let res = panic::catch_unwind(|| {
+        let key = convert_to_key(&env, key)?;
+        let val = match *handle::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(ref map) => map.get(&key),
+            IndexType::ForkIndex(ref map) => map.get(&key),
+        };
+        direct_buffer::copy_to_direct_buffer(&env, buffer, offset, max_length, val)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Returns values identified by the `keys` in the same order. Null elements are returned
+/// for the keys that are not found.
+///
+/// The keys are passed as a single array of concatenated 32-byte keys.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeGetAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+) -> jobjectArray {
+    let res = panic::catch_unwind(|| {
+        let keys = convert_to_keys(&env, keys)?;
+        let values: Vec<Option<Value>> = match *handle::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(ref map) => keys.iter().map(|key| map.get(key)).collect(),
+            IndexType::ForkIndex(ref map) => keys.iter().map(|key| map.get(key)).collect(),
+        };
+        utils::convert_to_java_byte_arrays(&env, &values)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
 /// Returns `true` if the map contains a value for the specified key.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeContainsKey(
@@ -209,134 +250,30 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
-fn convert_to_java_proof<'a>(
-    env: &'a JNIEnv,
-    proof: MapProof<Key, Value>,
-) -> JniResult<JObject<'a>> {
-    let proof_nodes: JObject = create_java_proof_nodes(&env, &proof)?;
-
-    let native_entries: Vec<_> = proof.all_entries_unchecked().collect();
-
-    let map_entries: JObject = create_java_map_entries(&env, &native_entries)?;
-    let missing_keys: JObject = create_java_missing_keys(&env, &native_entries)?;
-
-    create_java_unchecked_map_proof(&env, proof_nodes, map_entries, missing_keys)
-}
-
-fn create_java_proof_nodes<'a>(
-    env: &'a JNIEnv,
-    map_proof: &MapProof<Key, Value>,
-) -> JniResult<JObject<'a>> {
-    let proof_entries = map_proof.proof_unchecked();
-    let java_entries = env.new_object_array(
-        proof_entries.len() as jsize,
-        MAP_PROOF_ENTRY,
-        JObject::null(),
-    )?;
-    for (i, (proof_path, value_hash)) in proof_entries.iter().enumerate() {
-        // todo: [ECR-2360] Estimate precisely the upper bound on the number of references ^ and
-        //   consider using a single frame
-        env.with_local_frame(8, || {
-            let je = create_java_proof_node(env, &proof_path, &value_hash)?;
-            env.set_object_array_element(java_entries, i as jsize, je)?;
-            Ok(JObject::null())
-        })?;
+/// Returns a proof for the given keys in the map with the given handle.
+pub(crate) fn get_map_multiproof(map_handle: Handle, keys: Vec<Key>) -> MapProof<Key, Value> {
+    match *handle::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(ref map) => map.get_multiproof(keys),
+        IndexType::ForkIndex(ref map) => map.get_multiproof(keys),
     }
-    Ok(java_entries.into())
-}
-
-/// Creates a proof node — a node in a proof contour that corresponds to a tree node
-/// that does not contain any of the requested keys.
-fn create_java_proof_node<'a>(
-    env: &'a JNIEnv,
-    proof_path: &ProofPath,
-    hash: &Hash,
-) -> JniResult<JObject<'a>> {
-    let proof_path: JObject = env.byte_array_from_slice(proof_path.as_bytes())?.into();
-    let hash: JObject = utils::convert_hash(env, hash)?.into();
-    env.new_object(
-        MAP_PROOF_ENTRY,
-        "([B[B)V",
-        &[proof_path.into(), hash.into()],
-    )
 }
 
-fn create_java_map_entries<'a>(
+fn convert_to_java_proof<'a>(
     env: &'a JNIEnv,
-    entries: &[(&Key, Option<&Value>)],
+    proof: MapProof<Key, Value>,
 ) -> JniResult<JObject<'a>> {
-    let existing_entries: Vec<(&Key, &Value)> = entries
-        .iter()
-        .filter_map(|e| match e {
-            (key, Some(value)) => Some((*key, *value)),
-            _ => None,
-        })
-        .collect();
-    let java_entries =
-        env.new_object_array(existing_entries.len() as jsize, MAP_ENTRY, JObject::null())?;
-
-    for (i, (key, value)) in existing_entries.iter().enumerate() {
-        // todo: [ECR-2360] Estimate precisely the upper bound on the number of references ^ and
-        //   consider using a single frame
-        env.with_local_frame(8, || {
-            let je = create_java_map_entry(env, key, value)?;
-            env.set_object_array_element(java_entries, i as jsize, je)?;
-            Ok(JObject::null())
-        })?;
-    }
-    Ok(java_entries.into())
-}
-
-#[allow(clippy::ptr_arg)]
-fn create_java_map_entry<'a>(env: &'a JNIEnv, key: &Key, value: &Value) -> JniResult<JObject<'a>> {
-    let key: JObject = env.byte_array_from_slice(key)?.into();
-    let value: JObject = env.byte_array_from_slice(value.as_slice())?.into();
+    let mut encoded_proof = Vec::new();
+    write_map_proof(&mut encoded_proof, &proof);
+    let encoded_proof: JObject = env.byte_array_from_slice(&encoded_proof)?.into();
     env.call_static_method(
-        MAP_ENTRY,
-        "valueOf",
-        format!("(Ljava/lang/Object;Ljava/lang/Object;)L{};", MAP_ENTRY),
-        &[key.into(), value.into()],
+        ENCODED_MAP_PROOF,
+        "fromNative",
+        ENCODED_MAP_PROOF_SIG,
+        &[encoded_proof.into()],
     )?
     .l()
 }
 
-fn create_java_missing_keys<'a>(
-    env: &'a JNIEnv,
-    entries: &[(&Key, Option<&Value>)],
-) -> JniResult<JObject<'a>> {
-    let missing_keys: Vec<&Key> = entries
-        .iter()
-        .filter_map(|e| match e {
-            (key, None) => Some(*key),
-            _ => None,
-        })
-        .collect();
-    let java_missing_keys =
-        env.new_object_array(missing_keys.len() as jsize, BYTE_ARRAY, JObject::null())?;
-
-    for (i, key) in missing_keys.iter().enumerate() {
-        let java_key = env.byte_array_from_slice(key.as_ref())?.into();
-        env.set_object_array_element(java_missing_keys, i as jsize, java_key)?;
-        env.delete_local_ref(java_key)?;
-    }
-    Ok(java_missing_keys.into())
-}
-
-fn create_java_unchecked_map_proof<'a>(
-    env: &'a JNIEnv,
-    proof_nodes: JObject,
-    map_entries: JObject,
-    missing_keys: JObject,
-) -> JniResult<JObject<'a>> {
-    let java_proof = env.call_static_method(
-        UNCHECKED_FLAT_MAP_PROOF,
-        "fromNative",
-        UNCHECKED_FLAT_MAP_PROOF_SIG,
-        &[proof_nodes.into(), map_entries.into(), missing_keys.into()],
-    )?;
-    java_proof.l()
-}
-
 /// Returns the pointer to the iterator over a map keys and values.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeCreateEntriesIter(
@@ -349,7 +286,6 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
             IndexType::SnapshotIndex(ref map) => map.iter(),
             IndexType::ForkIndex(ref map) => map.iter(),
         };
-        let iter = Iter::new(&env, iter, JAVA_ENTRY_FQN)?;
         Ok(handle::to_handle(iter))
     });
     utils::unwrap_exc_or_default(&env, res)
@@ -393,7 +329,7 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
 
 /// Returns the pointer to the iterator over a map keys and values starting at the given key.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeCreateIterFrom(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeCreateEntriesIterFrom(
     env: JNIEnv,
     _: JObject,
     map_handle: Handle,
@@ -405,7 +341,6 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
             IndexType::SnapshotIndex(ref map) => map.iter_from(&key),
             IndexType::ForkIndex(ref map) => map.iter_from(&key),
         };
-        let iter = Iter::new(&env, iter, JAVA_ENTRY_FQN)?;
         Ok(handle::to_handle(iter))
     });
     utils::unwrap_exc_or_default(&env, res)
@@ -413,9 +348,9 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
 
 /// Returns the pointer to the iterator over map keys starting at the given key.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeKeysFrom(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeCreateKeysIterFrom(
     env: JNIEnv,
-    _: JClass,
+    _: JObject,
     map_handle: Handle,
     key: jbyteArray,
 ) -> Handle {
@@ -433,9 +368,9 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
 
 /// Returns the pointer to the iterator over map values starting at the given key.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeValuesFrom(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeCreateValuesIterFrom(
     env: JNIEnv,
-    _: JClass,
+    _: JObject,
     map_handle: Handle,
     key: jbyteArray,
 ) -> Handle {
@@ -474,6 +409,88 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Puts all the `values` identified by the corresponding `keys` into the index.
+///
+/// The keys are passed as a single array of concatenated 32-byte keys.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativePutAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+    values: jobjectArray,
+) {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let keys = convert_to_keys(&env, keys)?;
+            let values = utils::convert_to_byte_arrays(&env, values)?;
+            assert_eq!(keys.len(), values.len());
+            for (key, value) in keys.iter().zip(values) {
+                map.put(key, value);
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Replaces the value identified by the `key` with the result of the `remapping`
+/// of the current value, or removes it if the result is null.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeCompute(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    key: jbyteArray,
+    remapping: JObject,
+) {
+    let res = panic::catch_unwind(|| {
+        let key = convert_to_key(&env, key)?;
+        // No reference to the index is held while the remapping is computed in Java.
+        let value = match *handle::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(_) => panic!("Unable to modify snapshot."),
+            IndexType::ForkIndex(ref map) => map.get(&key),
+        };
+        let new_value = compute::remap_value(&env, remapping, value)?;
+        match *handle::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(_) => panic!("Unable to modify snapshot."),
+            IndexType::ForkIndex(ref mut map) => match new_value {
+                Some(new_value) => map.put(&key, new_value),
+                None => map.remove(&key),
+            },
+        }
+        Ok(())
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Adds the `delta` to the fixed64 value identified by the `key` (or to zero,
+/// if it is not found), and returns the updated value. Wraps around on overflow.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeAddAndGet(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    key: jbyteArray,
+    delta: jlong,
+) -> jlong {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let key = convert_to_key(&env, key)?;
+            let value = compute::add_fixed64(map.get(&key), delta);
+            map.put(&key, value.to_le_bytes().to_vec());
+            Ok(value)
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes value identified by the `key` from the index.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeRemove(
@@ -495,6 +512,31 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Removes values identified by the `keys` from the index.
+///
+/// The keys are passed as a single array of concatenated 32-byte keys.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeRemoveAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *handle::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let keys = convert_to_keys(&env, keys)?;
+            for key in &keys {
+                map.remove(key);
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes all entries of the map.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeClear(
@@ -514,29 +556,18 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
     utils::unwrap_exc_or_default(&env, res)
 }
 
-/// Returns the next value from the iterator. Returns null pointer when iteration is finished.
+/// Returns the next chunk of entries from the iterator as an array of keys and values
+/// interleaved. Returns a shorter chunk when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeEntriesIterNext(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeEntriesIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jobject {
+    chunk_size: jint,
+) -> jobjectArray {
     let res = panic::catch_unwind(|| {
-        let iterWrapper = handle::cast_handle::<Iter>(iter_handle);
-        match iterWrapper.iter.next() {
-            Some(val) => {
-                let key: JObject = env.byte_array_from_slice(&val.0)?.into();
-                let value: JObject = env.byte_array_from_slice(&val.1)?.into();
-                Ok(env
-                    .new_object_unchecked(
-                        &iterWrapper.element_class,
-                        iterWrapper.constructor_id,
-                        &[key.into(), value.into()],
-                    )?
-                    .into_inner())
-            }
-            None => Ok(ptr::null_mut()),
-        }
+        let iter = handle::cast_handle::<Iter>(iter_handle);
+        iter_chunk::next_pairs_chunk(&env, iter, chunk_size)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -551,19 +582,18 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
     handle::drop_handle::<Iter>(&env, iter_handle);
 }
 
-/// Returns the next value from the keys-iterator. Returns null pointer when iteration is finished.
+/// Returns the next chunk of keys from the keys-iterator. Returns a shorter chunk
+/// when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeKeysIterNext(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeKeysIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jbyteArray {
+    chunk_size: jint,
+) -> jobjectArray {
     let res = panic::catch_unwind(|| {
         let iter = handle::cast_handle::<ProofMapIndexKeys<Key>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        iter_chunk::next_chunk(&env, iter, chunk_size)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -578,19 +608,18 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
     handle::drop_handle::<ProofMapIndexKeys<Key>>(&env, iter_handle);
 }
 
-/// Return next value from the values-iterator. Returns null pointer when iteration is finished.
+/// Returns the next chunk of values from the values-iterator. Returns a shorter chunk
+/// when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeValuesIterNext(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeValuesIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jbyteArray {
+    chunk_size: jint,
+) -> jobjectArray {
     let res = panic::catch_unwind(|| {
         let iter = handle::cast_handle::<ProofMapIndexValues<Value>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        iter_chunk::next_chunk(&env, iter, chunk_size)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -616,15 +645,19 @@ fn convert_to_key(env: &JNIEnv, array: jbyteArray) -> JniResult<Key> {
 
 fn convert_to_keys(env: &JNIEnv, array: jbyteArray) -> JniResult<Vec<Key>> {
     let bytes = env.convert_byte_array(array)?;
+    Ok(split_keys(&bytes))
+}
+
+/// Splits the flattened 32-byte keys.
+pub(crate) fn split_keys(bytes: &[u8]) -> Vec<Key> {
     assert_eq!(bytes.len() % PROOF_MAP_KEY_SIZE, 0);
 
-    let keys = bytes
+    bytes
         .chunks(PROOF_MAP_KEY_SIZE)
         .map(|bytes| {
             let mut key = Key::default();
             key.copy_from_slice(bytes);
             key
         })
-        .collect();
-    Ok(keys)
+        .collect()
 }
@@ -18,7 +18,7 @@ use exonum_merkledb::{
 };
 use jni::{
     objects::{JClass, JObject, JString},
-    sys::{jboolean, jbyteArray, jobject},
+    sys::{jboolean, jbyteArray, jint, jobjectArray},
     JNIEnv,
 };
 
@@ -27,7 +27,7 @@ use std::{panic, ptr};
 use handle::{self, Handle};
 use storage::{
     db::{Value, View, ViewRef},
-    PairIter,
+    iter_chunk,
 };
 use utils;
 
@@ -38,10 +38,7 @@ enum IndexType {
     ForkIndex(Index<&'static Fork>),
 }
 
-type Iter<'a> = PairIter<ValueSetIndexIter<'a, Value>>;
-
-const JAVA_ENTRY_FQN: &str =
-    "com/exonum/binding/core/storage/indices/ValueSetIndexProxy$EntryInternal";
+type Iter<'a> = ValueSetIndexIter<'a, Value>;
 
 /// Returns pointer to the created `ValueSetIndex` object.
 #[no_mangle]
@@ -148,7 +145,6 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ValueSetInde
             IndexType::SnapshotIndex(ref set) => set.iter(),
             IndexType::ForkIndex(ref set) => set.iter(),
         };
-        let iter = Iter::new(&env, iter, JAVA_ENTRY_FQN)?;
         Ok(handle::to_handle(iter))
     });
     utils::unwrap_exc_or_default(&env, res)
@@ -168,7 +164,6 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ValueSetInde
             IndexType::SnapshotIndex(ref set) => set.iter_from(&from),
             IndexType::ForkIndex(ref set) => set.iter_from(&from),
         };
-        let iter = Iter::new(&env, iter, JAVA_ENTRY_FQN)?;
         Ok(handle::to_handle(iter))
     });
     utils::unwrap_exc_or_default(&env, res)
@@ -294,29 +289,18 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ValueSetInde
     utils::unwrap_exc_or_default(&env, res)
 }
 
-/// Returns next value from the iterator. Returns null pointer when iteration is finished.
+/// Returns the next chunk of entries from the iterator as an array of hashes and values
+/// interleaved. Returns a shorter chunk when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ValueSetIndexProxy_nativeIteratorNext(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ValueSetIndexProxy_nativeIteratorNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jobject {
+    chunk_size: jint,
+) -> jobjectArray {
     let res = panic::catch_unwind(|| {
-        let iterWrapper = handle::cast_handle::<Iter>(iter_handle);
-        match iterWrapper.iter.next() {
-            Some(val) => {
-                let hash: JObject = utils::convert_hash(&env, &val.0)?.into();
-                let value: JObject = env.byte_array_from_slice(&val.1)?.into();
-                Ok(env
-                    .new_object_unchecked(
-                        &iterWrapper.element_class,
-                        iterWrapper.constructor_id,
-                        &[hash.into(), value.into()],
-                    )?
-                    .into_inner())
-            }
-            None => Ok(ptr::null_mut()),
-        }
+        let iter = handle::cast_handle::<Iter>(iter_handle);
+        iter_chunk::next_pairs_chunk(&env, iter, chunk_size)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -331,19 +315,18 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ValueSetInde
     handle::drop_handle::<Iter>(&env, iter_handle);
 }
 
-/// Returns next value from the hash-iterator. Returns null pointer when iteration is finished.
+/// Returns the next chunk of hashes from the hash-iterator. Returns a shorter chunk
+/// when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ValueSetIndexProxy_nativeHashIteratorNext(
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ValueSetIndexProxy_nativeHashIteratorNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jbyteArray {
+    chunk_size: jint,
+) -> jobjectArray {
     let res = panic::catch_unwind(|| {
         let iter = handle::cast_handle::<ValueSetIndexHashes>(iter_handle);
-        match iter.next() {
-            Some(val) => utils::convert_hash(&env, &val),
-            None => Ok(ptr::null_mut()),
-        }
+        iter_chunk::next_chunk(&env, iter, chunk_size)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -13,8 +13,8 @@
 // limitations under the License.
 
 use exonum::crypto::Hash;
-use jni::objects::JString;
-use jni::sys::jbyteArray;
+use jni::objects::{JObject, JString};
+use jni::sys::{jbyteArray, jobjectArray, jsize};
 use jni::JNIEnv;
 
 use JniResult;
@@ -37,3 +37,31 @@ where
 {
     Ok(env.get_string(val.into())?.into())
 }
+
+/// Converts Java array of byte arrays (`byte[][]`) into a vector of Rust byte vectors.
+pub fn convert_to_byte_arrays(env: &JNIEnv, array: jobjectArray) -> JniResult<Vec<Vec<u8>>> {
+    let len = env.get_array_length(array)?;
+    let mut arrays = Vec::with_capacity(len as usize);
+    for i in 0..len {
+        let element = env.auto_local(env.get_object_array_element(array, i)?);
+        arrays.push(env.convert_byte_array(element.as_obj().into_inner())?);
+    }
+    Ok(arrays)
+}
+
+/// Converts a slice of optional byte sequences into Java array of byte arrays (`byte[][]`).
+/// `None` elements are converted into `null`s.
+pub fn convert_to_java_byte_arrays<T: AsRef<[u8]>>(
+    env: &JNIEnv,
+    values: &[Option<T>],
+) -> JniResult<jobjectArray> {
+    let java_arrays = env.new_object_array(values.len() as jsize, "[B", JObject::null())?;
+    for (i, value) in values.iter().enumerate() {
+        if let Some(value) = value {
+            let java_value: JObject = env.byte_array_from_slice(value.as_ref())?.into();
+            env.set_object_array_element(java_arrays, i as jsize, java_value)?;
+            env.delete_local_ref(java_value)?;
+        }
+    }
+    Ok(java_arrays)
+}
@@ -43,6 +43,8 @@ static mut TRANSACTION_ADAPTER_INFO: Option<JMethodID> = None;
 static mut SERVICE_ADAPTER_STATE_HASHES: Option<JMethodID> = None;
 static mut SERVICE_ADAPTER_CONVERT_TRANSACTION: Option<JMethodID> = None;
 
+static mut VALUE_REMAPPING_REMAP: Option<JMethodID> = None;
+
 static mut JAVA_LANG_ERROR: Option<GlobalRef> = None;
 static mut JAVA_LANG_RUNTIME_EXCEPTION: Option<GlobalRef> = None;
 static mut TRANSACTION_EXECUTION_EXCEPTION: Option<GlobalRef> = None;
@@ -100,6 +102,12 @@ unsafe fn cache_methods(env: &JNIEnv) {
         "convertTransaction",
         "(S[B)Lcom/exonum/binding/core/service/adapters/UserTransactionAdapter;",
     );
+    VALUE_REMAPPING_REMAP = get_method_id(
+        &env,
+        "com/exonum/binding/core/storage/indices/ValueRemapping",
+        "remap",
+        "([B)[B",
+    );
     JAVA_LANG_ERROR = env
         .new_global_ref(env.find_class("java/lang/Error").unwrap().into())
         .ok();
@@ -122,6 +130,7 @@ unsafe fn cache_methods(env: &JNIEnv) {
             && TRANSACTION_ADAPTER_INFO.is_some()
             && SERVICE_ADAPTER_STATE_HASHES.is_some()
             && SERVICE_ADAPTER_CONVERT_TRANSACTION.is_some()
+            && VALUE_REMAPPING_REMAP.is_some()
             && JAVA_LANG_ERROR.is_some()
             && JAVA_LANG_RUNTIME_EXCEPTION.is_some()
             && TRANSACTION_EXECUTION_EXCEPTION.is_some(),
@@ -179,6 +188,17 @@ pub mod service_adapter {
     }
 }
 
+/// Refers to the cached methods of the `ValueRemapping` class.
+pub mod value_remapping {
+    use super::*;
+
+    /// Returns cached `JMethodID` for `ValueRemapping.remap()`.
+    pub fn remap_id() -> JMethodID<'static> {
+        check_cache_initialized();
+        unsafe { VALUE_REMAPPING_REMAP.unwrap() }
+    }
+}
+
 /// Refers to the cached methods of the `java.lang.Object` class.
 pub mod object {
     use super::*;
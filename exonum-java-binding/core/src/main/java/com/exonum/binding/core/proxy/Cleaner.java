@@ -39,7 +39,9 @@ import org.apache.logging.log4j.Logger;
  *
  * <p>All method arguments are non-null by default.
  *
- * <p>This class is not thread-safe.
+ * <p>This class is thread-safe: the clean actions may be registered from several threads
+ * (e.g., the threads sharing a {@linkplain com.exonum.binding.core.storage.database.Snapshot
+ * snapshot}). The clean actions are performed in the thread closing the cleaner.
  *
  * @see <a href="https://github.com/exonum/exonum-java-binding/wiki/Native-peers-management-approaches">
  *   Discussion of various approaches to the management of native peers</a>
@@ -81,7 +83,7 @@ public final class Cleaner implements AutoCloseable {
   }
 
   /** Returns true if this cleaner is closed. */
-  public boolean isClosed() {
+  public synchronized boolean isClosed() {
     return closed;
   }
 
@@ -93,7 +95,7 @@ public final class Cleaner implements AutoCloseable {
    *
    * @throws IllegalStateException if it’s attempted to add a clean action to a closed context
    */
-  public void add(CleanAction<?> cleanAction) {
+  public synchronized void add(CleanAction<?> cleanAction) {
     if (closed) {
       // To avoid possible leaks, perform the clean action before throwing IllegalStateException.
       Throwable cleanActionError = null;
@@ -156,7 +158,7 @@ public final class Cleaner implements AutoCloseable {
    *     thrown exceptions as suppressed
    */
   @Override
-  public void close() throws CloseFailuresException {
+  public synchronized void close() throws CloseFailuresException {
     if (closed) {
       return;
     }
@@ -205,7 +207,7 @@ public final class Cleaner implements AutoCloseable {
   /**
    * Returns the number of the registered clean actions.
    */
-  public int getNumRegisteredActions() {
+  public synchronized int getNumRegisteredActions() {
     return registeredCleanActions.size();
   }
 
@@ -214,7 +216,7 @@ public final class Cleaner implements AutoCloseable {
    * can be easily identified in the logs.
    */
   @Override
-  public String toString() {
+  public synchronized String toString() {
     String hash = Integer.toHexString(System.identityHashCode(this));
     MoreObjects.ToStringHelper sb = MoreObjects.toStringHelper(this);
     sb.add("hash", hash);
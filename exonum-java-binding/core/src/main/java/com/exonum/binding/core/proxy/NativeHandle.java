@@ -22,6 +22,9 @@ import com.google.common.base.MoreObjects;
 
 /**
  * An implementation-specific handle to the native object. Once closed, can no longer be accessed.
+ *
+ * <p>This class is thread-safe: once closed by any thread, the handle
+ * is seen as invalid by all threads.
  */
 public final class NativeHandle implements AutoCloseable {
 
@@ -32,7 +35,7 @@ public final class NativeHandle implements AutoCloseable {
 
   private final long nativeHandle;
 
-  private boolean isValid;
+  private volatile boolean isValid;
 
   /**
    * Creates new native handle. Validates it's state not allowing to create nullptr handle.
@@ -18,6 +18,7 @@ package com.exonum.binding.core.runtime;
 
 import static com.google.inject.name.Names.named;
 
+import com.exonum.binding.core.service.SnapshotCache;
 import com.exonum.binding.core.service.adapters.ViewFactory;
 import com.exonum.binding.core.service.adapters.ViewProxyFactory;
 import com.exonum.binding.core.transport.Server;
@@ -61,6 +62,8 @@ public final class FrameworkModule extends AbstractModule {
         .toInstance(serviceWebServerPort);
 
     bind(ViewFactory.class).toInstance(ViewProxyFactory.getInstance());
+    bind(SnapshotCache.class).toProvider(SnapshotCache::newInstance)
+        .in(Singleton.class);
     // todo: Consider providing an implementation of a Node —
     //   requires changing its contract.
   }
@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.exonum.binding.core.service.ServiceModule;
+import com.exonum.binding.core.service.SnapshotCache;
 import com.exonum.binding.core.service.adapters.UserServiceAdapter;
 import com.exonum.binding.core.transport.Server;
 import com.google.inject.Inject;
@@ -53,6 +54,7 @@ public final class ServiceRuntime {
 
   private final Injector frameworkInjector;
   private final ServiceLoader serviceLoader;
+  private final SnapshotCache committedSnapshots;
   private final Object lock = new Object();
 
   /**
@@ -64,12 +66,15 @@ public final class ServiceRuntime {
    * @param serviceLoader a loader of service artifacts
    * @param server a web server providing transport to Java services
    * @param serverPort a port for the web server providing transport to Java services
+   * @param committedSnapshots the cache of the committed snapshots shared by the services;
+   *     the runtime closes it on {@linkplain #shutdown() shutdown}
    */
   @Inject
   public ServiceRuntime(Injector frameworkInjector, ServiceLoader serviceLoader, Server server,
-      @Named(SERVICE_WEB_SERVER_PORT) int serverPort) {
+      @Named(SERVICE_WEB_SERVER_PORT) int serverPort, SnapshotCache committedSnapshots) {
     this.frameworkInjector = checkNotNull(frameworkInjector);
     this.serviceLoader = checkNotNull(serviceLoader);
+    this.committedSnapshots = checkNotNull(committedSnapshots);
 
     // Start the server
     checkServerIsSingleton(server, frameworkInjector);
@@ -145,5 +150,13 @@ public final class ServiceRuntime {
     }
   }
 
+  /**
+   * Stops the runtime. Destroys the committed snapshots retained for the service APIs;
+   * the snapshots that are in use by the read requests are destroyed once they complete.
+   */
+  public void shutdown() {
+    committedSnapshots.close();
+  }
+
   // TODO: unloadArtifact and stopService, once they can be used/ECR-2275
 }
@@ -55,12 +55,55 @@ public interface Node {
   /**
    * Performs the given function with a snapshot of the current database state.
    *
+   * <p>The function may share the snapshot with other threads, e.g., to perform several
+   * read queries in parallel, as long as they complete before the function returns.
+   * The snapshot is destroyed afterwards.
+   *
    * @param snapshotFunction a function to execute
    * @param <ResultT> a type the function returns
    * @return the result of applying the given function to the database state
    */
   <ResultT> ResultT withSnapshot(Function<Snapshot, ResultT> snapshotFunction);
 
+  /**
+   * Performs the given function with a read-only snapshot of the database state
+   * at the latest committed block.
+   *
+   * <p>Unlike {@link #withSnapshot(Function)}, the snapshot is not created for each invocation,
+   * but shared by all the invocations at the same height, which makes this method
+   * preferable for serving read requests. The indexes and iterators opened by the function
+   * are destroyed once it completes. The function may share the snapshot with
+   * other threads as long as they complete before the function returns.
+   *
+   * <p>The default implementation is equivalent to {@link #withSnapshot(Function)}.
+   *
+   * @param snapshotFunction a function to execute
+   * @param <ResultT> a type the function returns
+   * @return the result of applying the given function to the database state
+   */
+  default <ResultT> ResultT withCommittedSnapshot(Function<Snapshot, ResultT> snapshotFunction) {
+    return withSnapshot(snapshotFunction);
+  }
+
+  /**
+   * Performs the given function with a read-only snapshot of the database state
+   * at the given blockchain height. Only the snapshots of several latest heights
+   * are retained.
+   *
+   * <p>The default implementation does not retain any snapshots.
+   *
+   * @param height the blockchain height
+   * @param snapshotFunction a function to execute
+   * @param <ResultT> a type the function returns
+   * @return the result of applying the given function to the database state
+   * @throws IllegalArgumentException if the snapshot at the given height is not retained
+   * @see #withCommittedSnapshot(Function)
+   */
+  default <ResultT> ResultT withCommittedSnapshot(long height,
+      Function<Snapshot, ResultT> snapshotFunction) {
+    throw new IllegalArgumentException("No snapshot is retained at height " + height);
+  }
+
   /**
    * Returns the service public key of this node. The corresponding private key is used
    * for signing transactions in {@link #submitTransaction(RawTransaction)}.
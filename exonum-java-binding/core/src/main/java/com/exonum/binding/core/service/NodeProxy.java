@@ -16,6 +16,9 @@
 
 package com.exonum.binding.core.service;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.core.proxy.AbstractCloseableNativeProxy;
@@ -24,6 +27,8 @@ import com.exonum.binding.core.proxy.CloseFailuresException;
 import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.transaction.RawTransaction;
 import com.exonum.binding.core.util.LibraryLoader;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Optional;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +36,12 @@ import org.apache.logging.log4j.Logger;
 /**
  * An Exonum node context. Allows to add transactions to Exonum network
  * and get a snapshot of the database state.
+ *
+ * <p>The node retains the snapshots of the latest committed heights, which are shared
+ * by the {@linkplain #withCommittedSnapshot(Function) read requests}. The number of retained
+ * heights is configured with the {@code exonum.service.retainedSnapshots} system
+ * property (two by default; zero disables the retention). The retained snapshots are kept
+ * in a {@link SnapshotCache} that the nodes of all services share; the node does not own it.
  */
 public final class NodeProxy extends AbstractCloseableNativeProxy implements Node {
 
@@ -40,14 +51,19 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
 
   private static final Logger logger = LogManager.getLogger(NodeProxy.class);
 
+  private final SnapshotCache committedSnapshots;
+
   /**
    * Creates a proxy of a node. Native code owns the node,
    * and, therefore, shall destroy the object.
    *
    * @param nativeHandle an implementation-specific reference to a native node
+   * @param committedSnapshots the cache of the committed snapshots shared by the nodes
+   *     of all services; it is not closed with this proxy
    */
-  public NodeProxy(long nativeHandle) {
+  public NodeProxy(long nativeHandle, SnapshotCache committedSnapshots) {
     super(nativeHandle, false);
+    this.committedSnapshots = checkNotNull(committedSnapshots, "committedSnapshots");
   }
 
   /**
@@ -94,6 +110,91 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation uses a fresh snapshot if no block has been committed
+   * since the node start, or if the retention of snapshots is disabled.
+   *
+   * @throws IllegalStateException if the node proxy is closed
+   */
+  @Override
+  public <ResultT> ResultT withCommittedSnapshot(Function<Snapshot, ResultT> snapshotFunction) {
+    checkValid();
+    Optional<SnapshotCache.Lease> latest = committedSnapshots.borrowLatest();
+    if (!latest.isPresent()) {
+      return withSnapshot(snapshotFunction);
+    }
+    try (SnapshotCache.Lease lease = latest.get()) {
+      return applyToLeased(lease, snapshotFunction);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalStateException if the node proxy is closed
+   */
+  @Override
+  public <ResultT> ResultT withCommittedSnapshot(long height,
+      Function<Snapshot, ResultT> snapshotFunction) {
+    checkValid();
+    try (SnapshotCache.Lease lease = committedSnapshots.borrow(height)
+        .orElseThrow(() -> new IllegalArgumentException(
+            "No snapshot is retained at height " + height))) {
+      return applyToLeased(lease, snapshotFunction);
+    }
+  }
+
+  /**
+   * Applies the function to a view of the leased snapshot. The view has its own cleaner,
+   * so that the indexes and iterators opened by the function are destroyed once it completes,
+   * instead of piling up until the shared snapshot is evicted.
+   */
+  private static <ResultT> ResultT applyToLeased(SnapshotCache.Lease lease,
+      Function<Snapshot, ResultT> snapshotFunction) {
+    try (Cleaner cleaner = new Cleaner("NodeProxy#withCommittedSnapshot")) {
+      long snapshotNativeHandle = lease.getSnapshot().getViewNativeHandle();
+      Snapshot snapshot = Snapshot.newInstance(snapshotNativeHandle, false, cleaner);
+      return snapshotFunction.apply(snapshot);
+    } catch (CloseFailuresException e) {
+      logger.error(e);
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Returns the cache of the retained snapshots.
+   */
+  @VisibleForTesting
+  SnapshotCache getCommittedSnapshots() {
+    return committedSnapshots;
+  }
+
+  /**
+   * Retains a snapshot of the current database state as the snapshot at the given height.
+   * Must be invoked after the block at the given height is committed, before any other
+   * changes to the database state.
+   *
+   * <p>The snapshot at the oldest retained height is released; it is destroyed
+   * once the read requests that use it complete. Has no effect if the snapshot
+   * at the given height is already retained, e.g., by the node of another service.
+   *
+   * @param height the height of the committed block
+   * @throws IllegalArgumentException if the height is less than
+   *     the latest retained height
+   * @throws IllegalStateException if the node proxy is closed
+   */
+  public void retainCommittedSnapshot(long height) {
+    if (!committedSnapshots.isEnabled() || committedSnapshots.contains(height)) {
+      return;
+    }
+    Cleaner cleaner = new Cleaner("NodeProxy#retainCommittedSnapshot(" + height + ")");
+    long snapshotNativeHandle = nativeCreateSnapshot(getNativeHandle());
+    Snapshot snapshot = Snapshot.newInstance(snapshotNativeHandle, cleaner);
+    committedSnapshots.put(height, snapshot);
+  }
+
   private native long nativeCreateSnapshot(long nativeHandle);
 
   /**
@@ -109,6 +210,10 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
 
   private native byte[] nativeGetPublicKey(long nativeHandle);
 
+  private void checkValid() {
+    checkState(isValidHandle(), "The node proxy is closed");
+  }
+
   @Override
   protected void disposeInternal() {
     nativeFree(getNativeHandle());
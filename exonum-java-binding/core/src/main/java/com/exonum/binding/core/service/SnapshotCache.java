@@ -0,0 +1,315 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.service;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A cache of read-only snapshots of the database state at the latest committed heights.
+ * The cached snapshots are shared by all the readers that borrow them, which saves
+ * the native allocation of a snapshot per read request.
+ *
+ * <p>The cache retains the snapshots of up to a configured number of the latest heights.
+ * Each snapshot is reference-counted: it is destroyed when it is evicted from the cache
+ * <em>and</em> all the borrowers have released it.
+ *
+ * <p>A single cache is shared by the {@linkplain NodeProxy nodes} of all the services
+ * of a runtime. The runtime owns the cache and {@linkplain #close() closes} it on shutdown.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class SnapshotCache implements AutoCloseable {
+
+  /**
+   * The name of the system property that specifies the number of the latest heights
+   * the snapshots of which the node retains. Zero disables the cache.
+   */
+  @VisibleForTesting
+  static final String RETAINED_HEIGHTS_PROPERTY = "exonum.service.retainedSnapshots";
+
+  @VisibleForTesting
+  static final int DEFAULT_RETAINED_HEIGHTS = 2;
+
+  /**
+   * The number of the latest heights the snapshots of which the node retains.
+   */
+  static final int RETAINED_HEIGHTS = Integer.getInteger(RETAINED_HEIGHTS_PROPERTY,
+      DEFAULT_RETAINED_HEIGHTS);
+
+  private static final Logger logger = LogManager.getLogger(SnapshotCache.class);
+
+  private final int retainedHeights;
+
+  /** The cached snapshots in ascending order of heights. */
+  private final Deque<Entry> entries;
+
+  private boolean closed;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param retainedHeights the maximum number of the latest heights to retain the snapshots of;
+   *     zero disables the cache
+   * @throws IllegalArgumentException if the number of heights is negative
+   */
+  SnapshotCache(int retainedHeights) {
+    checkArgument(retainedHeights >= 0, "retainedHeights (%s) must not be negative",
+        retainedHeights);
+    this.retainedHeights = retainedHeights;
+    this.entries = new ArrayDeque<>(retainedHeights);
+    this.closed = false;
+  }
+
+  /**
+   * Creates a new cache that retains the snapshots of the number of the latest heights
+   * configured with {@value RETAINED_HEIGHTS_PROPERTY} system property.
+   */
+  public static SnapshotCache newInstance() {
+    return new SnapshotCache(RETAINED_HEIGHTS);
+  }
+
+  /**
+   * Returns true if this cache retains any snapshots.
+   */
+  boolean isEnabled() {
+    return retainedHeights > 0;
+  }
+
+  /**
+   * Adds the snapshot at the given height to the cache, which becomes the latest one.
+   * Evicts the snapshot at the oldest height if the cache retains more heights than allowed.
+   *
+   * <p>The cache takes the ownership of the snapshot: it destroys the snapshot
+   * by closing its {@linkplain Snapshot#getCleaner() cleaner}. If the cache is disabled
+   * or closed, or if the height is invalid, the snapshot is destroyed immediately.
+   *
+   * @param height the blockchain height of the snapshot
+   * @param snapshot the snapshot of the database state at the given height
+   * @throws IllegalArgumentException if the height is not greater than the latest cached one
+   */
+  void put(long height, Snapshot snapshot) {
+    checkNotNull(snapshot, "snapshot");
+    Entry entry = new Entry(height, snapshot);
+    List<Entry> evicted = new ArrayList<>();
+    Entry latest;
+    synchronized (this) {
+      latest = entries.peekLast();
+      boolean validHeight = latest == null || latest.height < height;
+      if (!validHeight || closed || !isEnabled()) {
+        evicted.add(entry);
+      } else {
+        entries.addLast(entry);
+        while (entries.size() > retainedHeights) {
+          Entry oldest = entries.removeFirst();
+          if (oldest.evict()) {
+            evicted.add(oldest);
+          }
+        }
+      }
+    }
+    destroy(evicted);
+    checkArgument(latest == null || latest.height < height,
+        "Height (%s) must be greater than the latest cached one (%s)", height, latest);
+  }
+
+  /**
+   * Returns true if the snapshot at the given height is cached.
+   */
+  synchronized boolean contains(long height) {
+    for (Entry entry : entries) {
+      if (entry.height == height) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Borrows the snapshot at the latest cached height. The snapshot remains valid
+   * until the returned lease is closed.
+   *
+   * @return the lease of the latest snapshot; or {@code Optional.empty()} if the cache
+   *     is empty
+   */
+  synchronized Optional<Lease> borrowLatest() {
+    return Optional.ofNullable(entries.peekLast())
+        .map(Entry::borrow);
+  }
+
+  /**
+   * Borrows the snapshot at the given height. The snapshot remains valid
+   * until the returned lease is closed.
+   *
+   * @param height the blockchain height
+   * @return the lease of the snapshot at the given height; or {@code Optional.empty()}
+   *     if the cache does not retain such snapshot
+   */
+  synchronized Optional<Lease> borrow(long height) {
+    for (Iterator<Entry> it = entries.descendingIterator(); it.hasNext(); ) {
+      Entry entry = it.next();
+      if (entry.height == height) {
+        return Optional.of(entry.borrow());
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the number of snapshots that are currently cached.
+   */
+  @VisibleForTesting
+  synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Evicts all the snapshots from the cache. The borrowed snapshots are destroyed
+   * once they are released. The subsequently added snapshots are destroyed immediately.
+   */
+  @Override
+  public void close() {
+    List<Entry> evicted = new ArrayList<>();
+    synchronized (this) {
+      closed = true;
+      for (Entry entry : entries) {
+        if (entry.evict()) {
+          evicted.add(entry);
+        }
+      }
+      entries.clear();
+    }
+    destroy(evicted);
+  }
+
+  private void release(Entry entry) {
+    boolean destroy;
+    synchronized (this) {
+      destroy = entry.release();
+    }
+    if (destroy) {
+      entry.destroy();
+    }
+  }
+
+  private static void destroy(List<Entry> entries) {
+    for (Entry entry : entries) {
+      entry.destroy();
+    }
+  }
+
+  /**
+   * A borrowed snapshot. The snapshot must not be used after the lease is closed.
+   */
+  final class Lease implements AutoCloseable {
+
+    private final Entry entry;
+    private boolean released;
+
+    private Lease(Entry entry) {
+      this.entry = entry;
+      this.released = false;
+    }
+
+    /**
+     * Returns the blockchain height of the snapshot.
+     */
+    long getHeight() {
+      return entry.height;
+    }
+
+    /**
+     * Returns the borrowed snapshot.
+     *
+     * @throws IllegalStateException if this lease is closed
+     */
+    Snapshot getSnapshot() {
+      checkState(!released, "The snapshot at height %s is already released", entry.height);
+      return entry.snapshot;
+    }
+
+    /**
+     * Releases the snapshot. Has no effect if the lease is already closed.
+     */
+    @Override
+    public void close() {
+      if (!released) {
+        released = true;
+        release(entry);
+      }
+    }
+  }
+
+  /** A cached snapshot. The mutable fields are guarded by the cache. */
+  private final class Entry {
+
+    final long height;
+    final Snapshot snapshot;
+    int borrowers;
+    boolean evicted;
+
+    Entry(long height, Snapshot snapshot) {
+      this.height = height;
+      this.snapshot = snapshot;
+      this.borrowers = 0;
+      this.evicted = false;
+    }
+
+    Lease borrow() {
+      borrowers++;
+      return new Lease(this);
+    }
+
+    /** Returns true if the snapshot must be destroyed, as nobody uses it. */
+    boolean release() {
+      borrowers--;
+      return evicted && borrowers == 0;
+    }
+
+    /** Returns true if the snapshot must be destroyed, as nobody uses it. */
+    boolean evict() {
+      evicted = true;
+      return borrowers == 0;
+    }
+
+    void destroy() {
+      try {
+        snapshot.getCleaner().close();
+      } catch (CloseFailuresException e) {
+        logger.error("Failed to destroy the snapshot at height {}", height, e);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return Long.toString(height);
+    }
+  }
+}
@@ -26,6 +26,7 @@ import com.exonum.binding.core.service.BlockCommittedEvent;
 import com.exonum.binding.core.service.BlockCommittedEventImpl;
 import com.exonum.binding.core.service.NodeProxy;
 import com.exonum.binding.core.service.Service;
+import com.exonum.binding.core.service.SnapshotCache;
 import com.exonum.binding.core.storage.database.Fork;
 import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.transaction.RawTransaction;
@@ -54,15 +55,24 @@ public class UserServiceAdapter {
   private final Service service;
   private final Server server;
   private final ViewFactory viewFactory;
+  private final SnapshotCache committedSnapshots;
 
   @Nullable
   private NodeProxy node;
 
+  /**
+   * Creates an adapter of the service.
+   *
+   * @param committedSnapshots the cache of the committed snapshots, which the runtime shares
+   *     between all services and closes on shutdown
+   */
   @Inject
-  public UserServiceAdapter(Service service, Server server, ViewFactory viewFactory) {
+  public UserServiceAdapter(Service service, Server server, ViewFactory viewFactory,
+      SnapshotCache committedSnapshots) {
     this.service = checkNotNull(service, "service");
     this.server = checkNotNull(server, "server");
     this.viewFactory = checkNotNull(viewFactory, "viewFactory");
+    this.committedSnapshots = checkNotNull(committedSnapshots, "committedSnapshots");
   }
 
   public short getId() {
@@ -174,7 +184,7 @@ public class UserServiceAdapter {
           node);
 
       // Create the API handlers of this service
-      node = new NodeProxy(nodeNativeHandle);
+      node = new NodeProxy(nodeNativeHandle, committedSnapshots);
       Router router = server.createRouter();
       service.createPublicApiHandlers(node, router);
 
@@ -213,13 +223,20 @@ public class UserServiceAdapter {
 
   /**
    * Handles block committed event. This handler is invoked after commit of the block.
+   *
+   * <p>Besides notifying the service, retains the snapshot of the committed state
+   * for the read requests to the service API.
+   *
    * @param snapshotHandle a handle to a native snapshot object
    * @param validatorId a validator id. Negative if this node is not a validator
    * @param height the current blockchain height
+   * @see NodeProxy#retainCommittedSnapshot(long)
    */
   public void afterCommit(long snapshotHandle, int validatorId, long height) {
     assert snapshotHandle != 0;
 
+    retainCommittedSnapshot(height);
+
     try (Cleaner cleaner = new Cleaner("UserServiceAdapter#afterCommit")) {
       Snapshot snapshot = viewFactory.createSnapshot(snapshotHandle, cleaner);
       OptionalInt optionalValidatorId = validatorId >= 0
@@ -234,6 +251,18 @@ public class UserServiceAdapter {
     }
   }
 
+  private void retainCommittedSnapshot(long height) {
+    if (node == null) {
+      return; // No API handlers to serve
+    }
+    try {
+      node.retainCommittedSnapshot(height);
+    } catch (Exception e) {
+      // The API handlers will use the previous snapshot, hence, do not fail the commit
+      logger.error("Failed to retain the snapshot at height {}", height, e);
+    }
+  }
+
   private void doAfterCommit(BlockCommittedEvent event) {
     try {
       service.afterCommit(event);
@@ -251,7 +280,8 @@ public class UserServiceAdapter {
   /**
    * Close this service adapter.
    *
-   * <p>Releases any resources.
+   * <p>Releases any resources, except the committed snapshots, which are shared
+   * with other services and released by the runtime.
    */
   public void close() {
     try {
@@ -20,25 +20,47 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.exonum.binding.core.storage.indices.IndexAddress;
 import com.exonum.binding.core.storage.indices.StorageIndex;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A registry of open {@linkplain com.exonum.binding.core.storage.indices indexes}. Allows
  * to de-duplicate the indexes created with the same (View, name, prefix) tuple, which is
  * required to overcome the MerkleDB limitation which prevents creating several indexes
  * with the same address (name + prefix) using the same Fork.
+ *
+ * <p>This class is thread-safe.
  */
 class OpenIndexRegistry {
 
-  private final Map<IndexAddress, StorageIndex> indexes = new HashMap<>();
+  private final Map<IndexAddress, StorageIndex> indexes = new ConcurrentHashMap<>();
+  private final boolean permitsDuplicates;
+
+  /**
+   * Creates a registry that rejects an index with the address of an already registered index.
+   */
+  OpenIndexRegistry() {
+    this(false);
+  }
+
+  /**
+   * Creates a registry.
+   *
+   * @param permitsDuplicates whether the registry permits to register an index with
+   *     the address of an already registered index, keeping the latter. That is safe
+   *     with read-only views only, where it allows several threads to open the same index
+   *     concurrently without extra synchronization
+   */
+  OpenIndexRegistry(boolean permitsDuplicates) {
+    this.permitsDuplicates = permitsDuplicates;
+  }
 
   void registerIndex(StorageIndex index) {
     IndexAddress address = index.getAddress();
     Object present = indexes.putIfAbsent(address, index);
-    checkArgument(present == null, "Cannot register index (%s): the address (%s) is already "
-        + "associated with index (%s): ", index, address, present);
+    checkArgument(present == null || permitsDuplicates, "Cannot register index (%s): "
+        + "the address (%s) is already associated with index (%s): ", index, address, present);
   }
 
   Optional<StorageIndex> findIndex(IndexAddress address) {
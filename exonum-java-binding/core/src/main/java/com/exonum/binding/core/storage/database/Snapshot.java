@@ -33,6 +33,13 @@ import com.exonum.binding.core.proxy.ProxyDestructor;
  *   snapshots, however, might correspond to a new database state.
  * </ul>
  *
+ * <p>As it is immutable, a snapshot may be shared between threads: the indexes and
+ * the iterators may be created with a snapshot and read concurrently by several threads,
+ * e.g., to fan out the read queries against the same consistent database state.
+ * The snapshot and any indexes created from it remain valid until its cleaner is closed;
+ * the clients must ensure that no thread uses them afterwards. The iterators
+ * are not thread-safe and shall be used by a single thread.
+ *
  * @see Fork
  */
 public final class Snapshot extends View {
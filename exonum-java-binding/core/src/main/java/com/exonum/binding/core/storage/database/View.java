@@ -41,7 +41,7 @@ import java.util.Optional;
 public abstract class View extends AbstractNativeProxy {
 
   private final Cleaner cleaner;
-  private final OpenIndexRegistry indexRegistry = new OpenIndexRegistry();
+  private final OpenIndexRegistry indexRegistry;
   private final boolean canModify;
 
   /**
@@ -55,6 +55,9 @@ public abstract class View extends AbstractNativeProxy {
     super(nativeHandle);
     this.cleaner = cleaner;
     this.canModify = canModify;
+    // The indexes of read-only views may be opened concurrently by several threads,
+    // hence the registry must tolerate the duplicate registrations of the same index.
+    this.indexRegistry = new OpenIndexRegistry(!canModify);
   }
 
   /**
@@ -94,8 +97,12 @@ public abstract class View extends AbstractNativeProxy {
    * <p><em>This method is for internal use. It is not designed to be used by services,
    * rather by index factories.</em>
    *
+   * <p>If this view is read-only and an index with the same address is already registered,
+   * the latter remains registered.
+   *
    * @param index a new index to register
-   * @throws IllegalArgumentException if the index is already registered
+   * @throws IllegalArgumentException if this view allows modifications and the index
+   *     is already registered
    * @see #findOpenIndex(IndexAddress)
    */
   public void registerIndex(StorageIndex index) {
@@ -57,6 +57,15 @@ abstract class AbstractIndexProxy extends AbstractNativeProxy implements Storage
     this.modCounter = ModificationCounter.forView(view);
   }
 
+  /**
+   * Returns the native handle of this index.
+   *
+   * @throws IllegalStateException if this index is not valid
+   */
+  long getIndexNativeHandle() {
+    return getNativeHandle();
+  }
+
   @Override
   public IndexAddress getAddress() {
     return address;
@@ -77,7 +86,7 @@ abstract class AbstractIndexProxy extends AbstractNativeProxy implements Storage
    *
    * @throws UnsupportedOperationException if view is read-only or null.
    */
-  private void checkCanModify() {
+  void checkCanModify() {
     if (!(dbView.canModify())) {
       throw new UnsupportedOperationException("Cannot modify the view: " + dbView
           + "\nUse a Fork to modify any collection.");
@@ -18,12 +18,18 @@ package com.exonum.binding.core.storage.indices;
 
 import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkElementIndex;
 import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkNoNulls;
+import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkPositionIndexes;
+import static com.google.common.base.Preconditions.checkArgument;
 
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.core.proxy.NativeHandle;
 import com.exonum.binding.core.storage.database.View;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -32,15 +38,27 @@ import java.util.stream.StreamSupport;
  * An abstract class for list indices implementing {@link ListIndex} interface.
  *
  * <p>Implements all methods from ListIndex.
+ *
+ * <p>A native list caches its length in a cell that is not safe to access from several
+ * threads, as the first read writes it. The proxies created with a snapshot, which may be
+ * shared between threads (e.g., by a parallel {@linkplain #stream() stream}), read the length
+ * once when they are created, so that the concurrent native reads never write the cell.
  */
 abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements ListIndex<T> {
 
+  /** A size of a list created with a fork, which must be read from the native list. */
+  private static final long UNKNOWN_SIZE = -1;
+
   final CheckingSerializerDecorator<T> serializer;
 
+  /** The size of the list if it is created with a snapshot; or {@link #UNKNOWN_SIZE}. */
+  private final long snapshotSize;
+
   AbstractListIndexProxy(NativeHandle nativeHandle, IndexAddress address, View view,
                          CheckingSerializerDecorator<T> userSerializer) {
     super(nativeHandle, address, view);
     this.serializer = userSerializer;
+    this.snapshotSize = view.canModify() ? UNKNOWN_SIZE : nativeSize(getNativeHandle());
   }
 
   @Override
@@ -58,12 +76,11 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
   }
 
   private void addAllUnchecked(Collection<? extends T> elements) {
-    // Cache the nativeHandle to avoid repeated 'isValid' checks.
-    // It's OK to do that during this call, as this class is not thread-safe.
-    long nativeHandle = getNativeHandle();
-    elements.stream()
+    // Serialize all the elements first so that they are added in a single native call.
+    byte[][] dbElements = elements.stream()
         .map(serializer::toBytes)
-        .forEach((e) -> nativeAdd(nativeHandle, e));
+        .toArray(byte[][]::new);
+    nativeAddAll(getNativeHandle(), dbElements);
   }
 
   @Override
@@ -81,6 +98,74 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
     return serializer.fromBytes(e);
   }
 
+  /**
+   * Copies the serialized element at the given position into the given buffer,
+   * starting at its position. If the element fits in the remaining bytes of the buffer,
+   * advances the position of the buffer by the element size; otherwise, leaves
+   * the buffer unchanged, so that the caller may retry with a larger buffer.
+   *
+   * <p>Unlike {@link #get(long)}, this method does not allocate an array for the element,
+   * which makes it preferable for reading large elements into a reused buffer.
+   *
+   * @param index an element index
+   * @param target a writable direct buffer to copy the element to
+   * @return the size of the serialized element in bytes
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws IllegalStateException if this list is not valid
+   * @throws IllegalArgumentException if the buffer is not direct or is read-only
+   */
+  public final int readElement(long index, ByteBuffer target) {
+    checkElementIndex(index, size());
+    return DirectBuffers.readInto(target,
+        (buffer, offset, maxLength) ->
+            nativeReadElement(getNativeHandle(), index, buffer, offset, maxLength));
+  }
+
+  /**
+   * Returns the element at the given position. The element is copied into
+   * the given buffer and decoded from it with
+   * {@link com.exonum.binding.common.serialization.Serializer#fromBuffer}.
+   * If the element does not fit in the buffer, it is read as in {@link #get(long)}.
+   *
+   * @param index an element index
+   * @param buffer a writable direct buffer to use as a scratch space; its contents,
+   *     position and limit are overwritten
+   * @return the element at the given index
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws IllegalStateException if this list is not valid
+   * @throws IllegalArgumentException if the buffer is not direct or is read-only
+   * @see #readElement(long, ByteBuffer)
+   */
+  public final T get(long index, ByteBuffer buffer) {
+    checkElementIndex(index, size());
+    return DirectBuffers.decode(buffer,
+        (target, offset, maxLength) ->
+            nativeReadElement(getNativeHandle(), index, target, offset, maxLength),
+        serializer, () -> get(index));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation reads all the elements in a single native call.
+   */
+  @Override
+  public final List<T> getRange(long fromIndex, long toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size());
+    long rangeSize = toIndex - fromIndex;
+    checkArgument(rangeSize <= Integer.MAX_VALUE, "Too many elements in range [%s, %s)",
+        fromIndex, toIndex);
+    if (rangeSize == 0) {
+      return Collections.emptyList();
+    }
+    byte[][] dbElements = nativeGetRange(getNativeHandle(), fromIndex, toIndex);
+    List<T> elements = new ArrayList<>(dbElements.length);
+    for (byte[] e : dbElements) {
+      elements.add(serializer.fromBytes(e));
+    }
+    return elements;
+  }
+
   @Override
   public final T getLast() {
     byte[] e = nativeGetLast(getNativeHandle());
@@ -99,11 +184,17 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
 
   @Override
   public final boolean isEmpty() {
+    if (snapshotSize != UNKNOWN_SIZE) {
+      return snapshotSize == 0;
+    }
     return nativeIsEmpty(getNativeHandle());
   }
 
   @Override
   public final long size() {
+    if (snapshotSize != UNKNOWN_SIZE) {
+      return snapshotSize;
+    }
     return nativeSize(getNativeHandle());
   }
 
@@ -127,10 +218,17 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
 
   abstract void nativeAdd(long nativeHandle, byte[] e);
 
+  abstract void nativeAddAll(long nativeHandle, byte[][] elements);
+
   abstract void nativeSet(long nativeHandle, long index, byte[] e);
 
   abstract byte[] nativeGet(long nativeHandle, long index);
 
+  abstract int nativeReadElement(long nativeHandle, long index, ByteBuffer target, int offset,
+      int maxLength);
+
+  abstract byte[][] nativeGetRange(long nativeHandle, long fromIndex, long toIndex);
+
   abstract byte[] nativeGetLast(long nativeHandle);
 
   abstract void nativeClear(long nativeHandle);
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * A read-only view of an {@link EntryIndexProxy} which reads the value through
+ * a {@link ValueCache}.
+ *
+ * <p>This class is thread-safe if the underlying entry is.
+ *
+ * @param <T> the type of an element in this entry
+ * @see ValueCache#cachingEntry(EntryIndexProxy)
+ */
+public final class CachingEntryIndex<T> implements StorageIndex {
+
+  private final EntryIndexProxy<T> entry;
+  private final long height;
+  private final ValueCache cache;
+
+  CachingEntryIndex(EntryIndexProxy<T> entry, long height, ValueCache cache) {
+    this.entry = checkNotNull(entry);
+    this.height = height;
+    this.cache = checkNotNull(cache);
+  }
+
+  @Override
+  public IndexAddress getAddress() {
+    return entry.getAddress();
+  }
+
+  /**
+   * Returns true if this entry exists in the database.
+   *
+   * @throws IllegalStateException if the proxy is invalid
+   * @see EntryIndexProxy#isPresent()
+   */
+  public boolean isPresent() {
+    return toOptional().isPresent();
+  }
+
+  /**
+   * If value is present in the entry, returns it, otherwise,
+   * throws {@link NoSuchElementException}.
+   *
+   * @return a non-null value
+   * @throws NoSuchElementException if a value is not present in the Entry
+   * @throws IllegalStateException if the proxy is invalid
+   * @throws IllegalArgumentException if the supplied serializer cannot decode the value
+   * @see EntryIndexProxy#get()
+   */
+  public T get() {
+    return toOptional()
+        .orElseThrow(() -> new NoSuchElementException("No value in this entry"));
+  }
+
+  /**
+   * Converts the entry to {@link java.util.Optional}.
+   *
+   * @return {@code Optional.of(value)} if value is present in the entry,
+   *        otherwise returns {@code Optional.empty()}
+   * @see EntryIndexProxy#toOptional()
+   */
+  public Optional<T> toOptional() {
+    IndexAddress address = getAddress();
+    Optional<T> cached = cache.getIfPresent(address, null, height);
+    if (cached != null) {
+      return cached;
+    }
+    Optional<T> value = entry.toOptional();
+    cache.put(address, null, height, value.orElse(null));
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return getName() + ": " + getClass().getName();
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.collect.MapEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * A read-only view of a map which reads the values through a {@link ValueCache}.
+ * The iterators read the map directly.
+ *
+ * <p>This class is thread-safe if the underlying map is.
+ *
+ * @param <K> the type of keys in this map
+ * @param <V> the type of values in this map
+ * @see ValueCache#cachingMap(MapIndex)
+ */
+final class CachingMapIndex<K, V> implements MapIndex<K, V> {
+
+  private final MapIndex<K, V> map;
+  private final long height;
+  private final ValueCache cache;
+
+  CachingMapIndex(MapIndex<K, V> map, long height, ValueCache cache) {
+    this.map = checkNotNull(map);
+    this.height = height;
+    this.cache = checkNotNull(cache);
+  }
+
+  @Override
+  public IndexAddress getAddress() {
+    return map.getAddress();
+  }
+
+  @Override
+  public boolean containsKey(K key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public V get(K key) {
+    checkNotNull(key, "key");
+    IndexAddress address = getAddress();
+    Optional<V> cached = cache.getIfPresent(address, key, height);
+    if (cached != null) {
+      return cached.orElse(null);
+    }
+    V value = map.get(key);
+    cache.put(address, key, height, value);
+    return value;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation looks up the keys that are not cached with a single call
+   * to the underlying map.
+   */
+  @Override
+  public Map<K, V> getAll(Collection<? extends K> keys) {
+    IndexAddress address = getAddress();
+    Map<K, Optional<V>> cachedValues = new LinkedHashMap<>();
+    List<K> missingKeys = new ArrayList<>();
+    for (K key : keys) {
+      checkNotNull(key, "key");
+      Optional<V> cached = cache.getIfPresent(address, key, height);
+      if (cached != null) {
+        cachedValues.put(key, cached);
+      } else {
+        missingKeys.add(key);
+      }
+    }
+
+    Map<K, V> loadedValues = missingKeys.isEmpty()
+        ? new LinkedHashMap<>()
+        : map.getAll(missingKeys);
+    for (K key : missingKeys) {
+      cache.put(address, key, height, loadedValues.get(key));
+    }
+
+    // Follow the order of the given keys
+    Map<K, V> values = new LinkedHashMap<>();
+    for (K key : keys) {
+      Optional<V> cached = cachedValues.get(key);
+      V value = (cached != null) ? cached.orElse(null) : loadedValues.get(key);
+      if (value != null) {
+        values.put(key, value);
+      }
+    }
+    return values;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> sourceMap) {
+    throw readOnly();
+  }
+
+  @Override
+  public void remove(K key) {
+    throw readOnly();
+  }
+
+  @Override
+  public void removeAll(Collection<? extends K> keys) {
+    throw readOnly();
+  }
+
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    throw readOnly();
+  }
+
+  @Override
+  public V merge(K key, V value,
+      BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    throw readOnly();
+  }
+
+  @Override
+  public void clear() {
+    throw readOnly();
+  }
+
+  private UnsupportedOperationException readOnly() {
+    return new UnsupportedOperationException("The cached map " + getName() + " is read-only");
+  }
+
+  @Override
+  public Iterator<K> keys() {
+    return map.keys();
+  }
+
+  @Override
+  public Iterator<V> values() {
+    return map.values();
+  }
+
+  @Override
+  public Iterator<MapEntry<K, V>> entries() {
+    return map.entries();
+  }
+
+  @Override
+  public Iterator<K> keys(K fromKey) {
+    return map.keys(fromKey);
+  }
+
+  @Override
+  public Iterator<K> keys(K fromKey, K toKey) {
+    return map.keys(fromKey, toKey);
+  }
+
+  @Override
+  public Iterator<V> values(K fromKey) {
+    return map.values(fromKey);
+  }
+
+  @Override
+  public Iterator<V> values(K fromKey, K toKey) {
+    return map.values(fromKey, toKey);
+  }
+
+  @Override
+  public Iterator<MapEntry<K, V>> entries(K fromKey) {
+    return map.entries(fromKey);
+  }
+
+  @Override
+  public Iterator<MapEntry<K, V>> entries(K fromKey, K toKey) {
+    return map.entries(fromKey, toKey);
+  }
+
+  @Override
+  public String toString() {
+    return getName() + ": " + getClass().getName();
+  }
+}
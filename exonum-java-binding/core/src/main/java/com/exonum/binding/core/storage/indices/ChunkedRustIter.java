@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.exonum.binding.core.proxy.AbstractNativeProxy;
+import com.exonum.binding.core.proxy.NativeHandle;
+import java.util.ConcurrentModificationException;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A fail-fast iterator that fetches the elements from the native iterator in chunks,
+ * using a single native call per chunk.
+ *
+ * <p>A chunk is an array of byte arrays; each element of this iterator is encoded
+ * in {@code arraysPerElement} consecutive byte arrays of the chunk. A chunk that contains
+ * fewer elements than requested signals the end of the iteration.
+ *
+ * <p>The iteration also ends at the first element which key, i.e., the first byte array
+ * encoding the element, does not satisfy the key condition of this iterator. That allows
+ * to stop the native iterator at the upper bound of a key range.
+ *
+ * @param <E> type of elements returned by the iterator.
+ */
+final class ChunkedRustIter<E> extends AbstractNativeProxy implements RustIter<E> {
+
+  private static final byte[][] EMPTY_CHUNK = new byte[0][];
+
+  private final NextChunkFunction nextChunkFunction;
+  private final int chunkSize;
+  private final int arraysPerElement;
+  private final ElementReader<E> elementReader;
+  private final Predicate<byte[]> keyCondition;
+  private final ModificationCounter modificationCounter;
+  private final Integer initialModCount;
+
+  private byte[][] chunk = EMPTY_CHUNK;
+  private int position = 0;
+  private boolean lastChunk = false;
+
+  /**
+   * Creates a new iterator over a collection (index).
+   *
+   * @param nativeHandle nativeHandle of this iterator
+   * @param nextChunkFunction a function to call to get the next chunk of items
+   * @param chunkSize the maximum number of elements to request in a single chunk
+   * @param arraysPerElement the number of byte arrays encoding each element
+   * @param elementReader a function to create an element from the byte arrays of the chunk
+   * @param keyCondition a condition the key of each element must satisfy to be returned;
+   *                     the iteration ends at the first element that does not satisfy it
+   * @param modificationCounter a collection modification counter
+   */
+  ChunkedRustIter(NativeHandle nativeHandle,
+                  NextChunkFunction nextChunkFunction,
+                  int chunkSize,
+                  int arraysPerElement,
+                  ElementReader<E> elementReader,
+                  Predicate<byte[]> keyCondition,
+                  ModificationCounter modificationCounter) {
+    super(nativeHandle);
+    checkArgument(chunkSize > 0, "chunkSize must be positive: %s", chunkSize);
+    checkArgument(arraysPerElement > 0, "arraysPerElement must be positive: %s",
+        arraysPerElement);
+    this.nextChunkFunction = nextChunkFunction;
+    this.chunkSize = chunkSize;
+    this.arraysPerElement = arraysPerElement;
+    this.elementReader = elementReader;
+    this.keyCondition = keyCondition;
+    this.modificationCounter = modificationCounter;
+    this.initialModCount = modificationCounter.getCurrentValue();
+  }
+
+  @Override
+  public Optional<E> next() {
+    checkNotModified();
+    long nativeHandle = getNativeHandle();
+    if (position == chunk.length) {
+      if (lastChunk) {
+        return Optional.empty();
+      }
+      fetchNextChunk(nativeHandle);
+      if (chunk.length == 0) {
+        return Optional.empty();
+      }
+    }
+    if (!keyCondition.test(chunk[position])) {
+      finish();
+      return Optional.empty();
+    }
+    E element = elementReader.read(chunk, position);
+    // Release the references to the consumed arrays so that they can be collected early.
+    for (int i = position; i < position + arraysPerElement; i++) {
+      chunk[i] = null;
+    }
+    position += arraysPerElement;
+    return Optional.of(element);
+  }
+
+  private void fetchNextChunk(long nativeHandle) {
+    chunk = nextChunkFunction.nextChunk(nativeHandle, chunkSize);
+    position = 0;
+    lastChunk = chunk.length < chunkSize * arraysPerElement;
+  }
+
+  private void finish() {
+    chunk = EMPTY_CHUNK;
+    position = 0;
+    lastChunk = true;
+  }
+
+  private void checkNotModified() {
+    if (modificationCounter.isModifiedSince(initialModCount)) {
+      throw new ConcurrentModificationException("The source collection "
+          + "has been modified during iteration");
+    }
+  }
+
+  /**
+   * A native function returning the next chunk of items of the iterator.
+   */
+  @FunctionalInterface
+  interface NextChunkFunction {
+
+    /**
+     * Returns the byte arrays encoding at most {@code chunkSize} next elements of the iterator;
+     * or an empty array if the end is reached.
+     *
+     * @param iterNativeHandle a native handle of the iterator
+     * @param chunkSize the maximum number of elements to return
+     */
+    byte[][] nextChunk(long iterNativeHandle, int chunkSize);
+  }
+
+  /**
+   * A function creating an element of the iterator from the byte arrays of a chunk.
+   */
+  @FunctionalInterface
+  interface ElementReader<E> {
+
+    /**
+     * Creates an element encoded in the byte arrays of the chunk, starting at the given offset.
+     */
+    E read(byte[][] chunk, int offset);
+  }
+}
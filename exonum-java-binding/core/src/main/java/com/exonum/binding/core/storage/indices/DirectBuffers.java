@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.serialization.Serializer;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Utilities to read the serialized values of indexes from native code into direct buffers,
+ * without allocating an intermediate array per value.
+ */
+final class DirectBuffers {
+
+  /**
+   * The value a {@link NativeValueReader} returns if the value is absent.
+   */
+  static final int ABSENT = -1;
+
+  /**
+   * Copies a serialized value from native code into a direct buffer.
+   */
+  @FunctionalInterface
+  interface NativeValueReader {
+
+    /**
+     * Copies the value into the given buffer at the given offset, if the value size
+     * does not exceed the maximum length. Does not modify the buffer otherwise.
+     *
+     * @param target a direct buffer to copy the value to
+     * @param offset an offset in the buffer to copy the value at
+     * @param maxLength the maximum size of the value to copy
+     * @return the size of the value in bytes; or {@link #ABSENT} if there is no value
+     */
+    int read(ByteBuffer target, int offset, int maxLength);
+  }
+
+  /**
+   * Reads the value into the given buffer, starting at its position. If the value fits
+   * in the remaining bytes of the buffer, advances the position of the buffer by the value size;
+   * otherwise, leaves the buffer unchanged.
+   *
+   * @param target a writable direct buffer
+   * @param reader a reader of the value
+   * @return the size of the value in bytes; or {@link #ABSENT} if there is no value
+   * @throws IllegalArgumentException if the buffer is not direct or is read-only
+   */
+  static int readInto(ByteBuffer target, NativeValueReader reader) {
+    checkTarget(target);
+    int position = target.position();
+    int remaining = target.remaining();
+    int size = reader.read(target, position, remaining);
+    if (size != ABSENT && size <= remaining) {
+      target.position(position + size);
+    }
+    return size;
+  }
+
+  /**
+   * Reads the value into the given buffer, which is used entirely as a scratch space,
+   * and decodes it with the given serializer. If the value does not fit in the buffer,
+   * decodes the value with the given fallback instead.
+   *
+   * @param buffer a writable direct buffer; its contents, position and limit are overwritten
+   * @param reader a reader of the value
+   * @param serializer a serializer to decode the value
+   * @param fallback a supplier of the value that does not fit in the buffer
+   * @return the decoded value; or {@code null} if there is no value
+   * @throws IllegalArgumentException if the buffer is not direct or is read-only
+   */
+  @Nullable
+  static <T> T decode(ByteBuffer buffer, NativeValueReader reader, Serializer<T> serializer,
+      Supplier<T> fallback) {
+    checkTarget(buffer);
+    buffer.clear();
+    int size = readInto(buffer, reader);
+    if (size == ABSENT) {
+      return null;
+    }
+    if (size > buffer.capacity()) {
+      return fallback.get();
+    }
+    buffer.flip();
+    return serializer.fromBuffer(buffer);
+  }
+
+  private static void checkTarget(ByteBuffer target) {
+    checkNotNull(target, "target");
+    checkArgument(target.isDirect(), "The buffer must be direct: %s", target);
+    checkArgument(!target.isReadOnly(), "The buffer must be writable: %s", target);
+  }
+
+  private DirectBuffers() {}
+}
@@ -27,6 +27,7 @@ import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.storage.database.View;
 import com.exonum.binding.core.util.LibraryLoader;
 import com.google.protobuf.MessageLite;
+import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -40,7 +41,9 @@ import java.util.Optional;
  *
  * <p>All method arguments are non-null by default.
  *
- * <p>This class is not thread-safe and and its instances shall not be shared between threads.
+ * <p>This class is not thread-safe and its instances shall not be shared between threads,
+ * unless created with a read-only {@linkplain com.exonum.binding.core.storage.database.Snapshot
+ * snapshot}, which allows concurrent reads.
  *
  * <p>When the view goes out of scope, this entry is destroyed. Subsequent use of the closed entry
  * is prohibited and will result in {@link IllegalStateException}.
@@ -170,6 +173,53 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
     return serializer.fromBytes(value);
   }
 
+  /**
+   * Copies the serialized value of this entry into the given buffer, starting
+   * at its position. If the value fits in the remaining bytes of the buffer,
+   * advances the position of the buffer by the value size; otherwise, leaves
+   * the buffer unchanged, so that the caller may retry with a larger buffer.
+   *
+   * <p>Unlike {@link #get()}, this method does not allocate an array for the value,
+   * which makes it preferable for reading a large value into a reused buffer.
+   *
+   * @param target a writable direct buffer to copy the value to
+   * @return the size of the serialized value in bytes; or -1 if the value
+   *     is not present in the Entry
+   * @throws IllegalStateException if the proxy is invalid
+   * @throws IllegalArgumentException if the buffer is not direct or is read-only
+   */
+  public int readValue(ByteBuffer target) {
+    return DirectBuffers.readInto(target,
+        (buffer, offset, maxLength) ->
+            nativeReadValue(getNativeHandle(), buffer, offset, maxLength));
+  }
+
+  /**
+   * If value is present in the entry, returns it, otherwise,
+   * throws {@link NoSuchElementException}. The value is copied into the given buffer
+   * and decoded from it with {@link Serializer#fromBuffer}. If the value does not fit
+   * in the buffer, it is read as in {@link #get()}.
+   *
+   * @param buffer a writable direct buffer to use as a scratch space; its contents,
+   *     position and limit are overwritten
+   * @return a non-null value
+   * @throws NoSuchElementException if a value is not present in the Entry
+   * @throws IllegalStateException if the proxy is invalid
+   * @throws IllegalArgumentException if the buffer is not direct or is read-only;
+   *     or if the supplied serializer cannot decode the value
+   * @see #readValue(ByteBuffer)
+   */
+  public T get(ByteBuffer buffer) {
+    T value = DirectBuffers.decode(buffer,
+        (target, offset, maxLength) ->
+            nativeReadValue(getNativeHandle(), target, offset, maxLength),
+        serializer, this::get);
+    if (value == null) {
+      throw new NoSuchElementException("No value in this entry");
+    }
+    return value;
+  }
+
   // TODO(dt): add getHash when you clarify why on Earth it returns a default (= zero) hash when
   // value is not present.
 
@@ -217,6 +267,9 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
 
   private native byte[] nativeGet(long nativeHandle);
 
+  private native int nativeReadValue(long nativeHandle, ByteBuffer target, int offset,
+      int maxLength);
+
   @SuppressWarnings("unused")
   private native byte[] nativeGetHash(long nativeHandle);
 
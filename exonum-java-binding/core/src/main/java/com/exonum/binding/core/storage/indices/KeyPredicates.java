@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import com.google.common.primitives.UnsignedBytes;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * Conditions on the database keys, used to bound the iteration over an index.
+ *
+ * <p>The keys are compared as the underlying database orders them, i.e., lexicographically,
+ * treating the bytes as unsigned.
+ */
+final class KeyPredicates {
+
+  private static final Comparator<byte[]> KEY_ORDER = UnsignedBytes.lexicographicalComparator();
+
+  private static final Predicate<byte[]> ANY = key -> true;
+
+  /**
+   * Returns a condition that any key satisfies.
+   */
+  static Predicate<byte[]> any() {
+    return ANY;
+  }
+
+  /**
+   * Returns a condition that the keys strictly less than the given upper bound satisfy.
+   *
+   * @param toKey an upper bound (exclusive)
+   */
+  static Predicate<byte[]> lessThan(byte[] toKey) {
+    byte[] bound = toKey.clone();
+    return key -> KEY_ORDER.compare(key, bound) < 0;
+  }
+
+  /**
+   * Returns a condition that the keys starting with the given prefix satisfy.
+   *
+   * @param prefix a prefix of the keys
+   */
+  static Predicate<byte[]> startsWith(byte[] prefix) {
+    byte[] keyPrefix = prefix.clone();
+    return key -> {
+      if (key.length < keyPrefix.length) {
+        return false;
+      }
+      for (int i = 0; i < keyPrefix.length; i++) {
+        if (key[i] != keyPrefix[i]) {
+          return false;
+        }
+      }
+      return true;
+    };
+  }
+
+  private KeyPredicates() {}
+}
@@ -31,6 +31,7 @@ import java.util.Iterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -50,7 +51,9 @@ import java.util.stream.StreamSupport;
  *
  * <p>All method arguments are non-null by default.
  *
- * <p>This class is not thread-safe and and its instances shall not be shared between threads.
+ * <p>This class is not thread-safe and its instances shall not be shared between threads,
+ * unless created with a read-only {@linkplain com.exonum.binding.core.storage.database.Snapshot
+ * snapshot}, which allows concurrent reads.
  *
  * <p>When the view goes out of scope, this set is destroyed. Subsequent use of the closed set
  * is prohibited and will result in {@link IllegalStateException}.
@@ -220,9 +223,66 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
    */
   @Override
   public Iterator<E> iterator() {
-    return StorageIterators.createIterator(
-        nativeCreateIterator(getNativeHandle()),
-        this::nativeIteratorNext,
+    return createIterator(nativeCreateIterator(getNativeHandle()), KeyPredicates.any());
+  }
+
+  /**
+   * Creates an iterator over the set elements, starting from the given element (inclusive).
+   * The elements are ordered lexicographically, by their serialized form.
+   * The given element does not have to be present in the set.
+   *
+   * @param fromElement the lower bound of the elements (inclusive)
+   * @return an iterator over the elements of this set
+   * @throws IllegalStateException if this set is not valid
+   */
+  public Iterator<E> iterator(E fromElement) {
+    byte[] dbFromElement = serializer.toBytes(fromElement);
+    return createIterator(nativeCreateIteratorFrom(getNativeHandle(), dbFromElement),
+        KeyPredicates.any());
+  }
+
+  /**
+   * Creates an iterator over the set elements that are in range from {@code fromElement}
+   * (inclusive) to {@code toElement} (exclusive). The elements are ordered
+   * lexicographically, by their serialized form. The bounds do not have to be present
+   * in the set.
+   *
+   * <p>The iteration stops at the upper bound, therefore, its cost is proportional
+   * to the size of the range, not of the set.
+   *
+   * @param fromElement the lower bound of the elements (inclusive)
+   * @param toElement the upper bound of the elements (exclusive)
+   * @return an iterator over the elements of this set in the given range
+   * @throws IllegalStateException if this set is not valid
+   */
+  public Iterator<E> iterator(E fromElement, E toElement) {
+    byte[] dbFromElement = serializer.toBytes(fromElement);
+    byte[] dbToElement = serializer.toBytes(toElement);
+    return createIterator(nativeCreateIteratorFrom(getNativeHandle(), dbFromElement),
+        KeyPredicates.lessThan(dbToElement));
+  }
+
+  /**
+   * Creates an iterator over the set elements which serialized form starts with
+   * the serialized form of the given prefix. The elements are ordered lexicographically.
+   * For example, in a set of strings, {@code iteratorWithPrefix("a")} returns all elements
+   * starting with "a".
+   *
+   * @param prefix the prefix of the elements
+   * @return an iterator over the elements of this set having the given prefix
+   * @throws IllegalStateException if this set is not valid
+   */
+  public Iterator<E> iteratorWithPrefix(E prefix) {
+    byte[] dbPrefix = serializer.toBytes(prefix);
+    return createIterator(nativeCreateIteratorFrom(getNativeHandle(), dbPrefix),
+        KeyPredicates.startsWith(dbPrefix));
+  }
+
+  private Iterator<E> createIterator(long iterNativeHandle, Predicate<byte[]> keyCondition) {
+    return StorageIterators.createChunkedIterator(
+        iterNativeHandle,
+        this::nativeIteratorNextChunk,
+        keyCondition,
         this::nativeIteratorFree,
         dbView,
         modCounter,
@@ -274,7 +334,9 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
 
   private native long nativeCreateIterator(long nativeHandle);
 
-  private native byte[] nativeIteratorNext(long iterNativeHandle);
+  private native long nativeCreateIteratorFrom(long nativeHandle, byte[] fromElement);
+
+  private native byte[][] nativeIteratorNextChunk(long iterNativeHandle, int chunkSize);
 
   private native void nativeIteratorFree(long iterNativeHandle);
 
@@ -16,8 +16,13 @@
 
 package com.exonum.binding.core.storage.indices;
 
+import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkPositionIndexes;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.stream.Stream;
 
@@ -80,6 +85,34 @@ public interface ListIndex<T> extends StorageIndex, Iterable<T> {
    */
   T get(long index);
 
+  /**
+   * Returns the elements in the range from {@code fromIndex} (inclusive)
+   * to {@code toIndex} (exclusive). If the indexes are equal, returns an empty list.
+   *
+   * <p>Implementations may read all the elements at once, which is more efficient
+   * than a sequence of individual {@link #get} operations.
+   *
+   * @param fromIndex an index of the first element to return
+   * @param toIndex an index after the last element to return
+   * @return the elements in the given range
+   * @throws IndexOutOfBoundsException if the indexes are not in range [0, size],
+   *     or {@code fromIndex > toIndex}
+   * @throws IllegalArgumentException if the range has more than {@link Integer#MAX_VALUE}
+   *     elements
+   * @throws IllegalStateException if this list is not valid
+   */
+  default List<T> getRange(long fromIndex, long toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size());
+    long rangeSize = toIndex - fromIndex;
+    checkArgument(rangeSize <= Integer.MAX_VALUE, "Too many elements in range [%s, %s)",
+        fromIndex, toIndex);
+    List<T> elements = new ArrayList<>((int) rangeSize);
+    for (long i = fromIndex; i < toIndex; i++) {
+      elements.add(get(i));
+    }
+    return elements;
+  }
+
   /**
    * Returns the last element of the list.
    *
@@ -124,6 +157,9 @@ public interface ListIndex<T> extends StorageIndex, Iterable<T> {
    * The returned stream is <em>fail-fast</em> and <em>late-binding</em>.
    * The stream can be used as long as the source list is valid.
    *
+   * <p>The stream may be made parallel if the list has been created with a read-only
+   * database view (a snapshot); its elements are read in ranges.
+   *
    * @throws IllegalStateException if this list is not valid
    */
   Stream<T> stream();
@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.annotations.VisibleForTesting;
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 
@@ -29,6 +30,10 @@ import java.util.function.Consumer;
  *
  * <p>This spliterator is late-binding and fail-fast.
  *
+ * <p>{@link #forEachRemaining(Consumer)} reads the elements in ranges of up to
+ * {@link #RANGE_SIZE} elements using {@link ListIndex#getRange(long, long)}, performing
+ * the checks for modifications of the source list once per range.
+ *
  * <p>This spliterator does not support specializations (e.g., {@link Spliterator.OfInt}).
  * If they are ever needed, see the Spliterator in an archived "exonum-serialization" project.
  *
@@ -42,6 +47,13 @@ class ListSpliterator<ElementT> implements Spliterator<ElementT> {
   @VisibleForTesting
   static final int MIN_SPLITTABLE_SIZE = 2;
 
+  /**
+   * The maximum number of elements to read from the list at once in
+   * {@link #forEachRemaining(Consumer)}.
+   */
+  @VisibleForTesting
+  static final int RANGE_SIZE = StorageIterators.CHUNK_SIZE;
+
   private final ListIndex<ElementT> list;
 
   /** An index of the next element to read. */
@@ -76,12 +88,6 @@ class ListSpliterator<ElementT> implements Spliterator<ElementT> {
     this.initialCounterValue = initialCounterValue;
   }
 
-  //  todo: can add forEachRemaining and AbstractListIndexProxy#forEachInRange to list that
-  //    can avoid performing repetitive operation per each get:
-  //    - a check for modifications of the source list
-  //    - getNativeHandle
-  //    - size checks (a native call to size): [ECR-2817]
-
   @Override
   public boolean tryAdvance(Consumer<? super ElementT> action) {
     bindOrCheckModifications();
@@ -95,6 +101,19 @@ class ListSpliterator<ElementT> implements Spliterator<ElementT> {
     }
   }
 
+  @Override
+  public void forEachRemaining(Consumer<? super ElementT> action) {
+    bindOrCheckModifications();
+    while (nextIndex < fence) {
+      long rangeEnd = Math.min(fence, nextIndex + RANGE_SIZE);
+      List<ElementT> elements = list.getRange(nextIndex, rangeEnd);
+      nextIndex = rangeEnd;
+      elements.forEach(action);
+      // Check for modifications made before or by the action
+      bindOrCheckModifications();
+    }
+  }
+
   @Override
   public Spliterator<ElementT> trySplit() {
     bindOrCheckModifications();
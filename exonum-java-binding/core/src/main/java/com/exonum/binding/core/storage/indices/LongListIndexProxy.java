@@ -0,0 +1,297 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkElementIndex;
+import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkIndexType;
+import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkPositionIndexes;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.NativeHandle;
+import com.exonum.binding.core.proxy.ProxyDestructor;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.util.LibraryLoader;
+import java.util.NoSuchElementException;
+import java.util.function.LongSupplier;
+
+/**
+ * A list of primitive {@code long} values. It exchanges the values with the native code
+ * as primitives, hence, unlike a {@code ListIndexProxy<Long>}, it neither boxes the values
+ * nor allocates arrays for each of them. A {@linkplain #getRange(long, long) range}
+ * of values is read into a single {@code long[]} in a single native call.
+ *
+ * <p>The values are stored in the same format as {@link StandardSerializers#fixed64()}
+ * uses, hence a list created with this class may be read as a {@link ListIndexProxy}
+ * with that serializer, and vice versa. However, a list cannot be opened as both
+ * types with the same database view.
+ *
+ * <p>The "destructive" methods of the list, i.e., those that change its contents,
+ * are specified to throw {@link UnsupportedOperationException} if
+ * this list has been created with a read-only database view.
+ *
+ * <p>This class is not thread-safe and its instances shall not be shared between threads,
+ * unless created with a read-only {@linkplain com.exonum.binding.core.storage.database.Snapshot
+ * snapshot}, which allows concurrent reads.
+ *
+ * <p>When the view goes out of scope, this list is destroyed. Subsequent use of the closed list
+ * is prohibited and will result in {@link IllegalStateException}.
+ *
+ * @see LongMapIndexProxy
+ * @see View
+ */
+public final class LongListIndexProxy extends AbstractIndexProxy {
+
+  static {
+    LibraryLoader.load();
+  }
+
+  /** A size of a list created with a fork, which must be read from the native list. */
+  private static final long UNKNOWN_SIZE = -1;
+
+  /** The size of the list if it is created with a snapshot; or {@link #UNKNOWN_SIZE}. */
+  private final long snapshotSize;
+
+  /**
+   * Creates a new LongListIndexProxy.
+   *
+   * @param name a unique alphanumeric non-empty identifier of this list in the underlying storage:
+   *             [a-zA-Z0-9_]
+   * @param view a database view. Must be valid.
+   *             If a view is read-only, "destructive" operations are not permitted.
+   * @throws IllegalStateException if the view is not valid
+   * @throws IllegalArgumentException if the name is empty
+   */
+  public static LongListIndexProxy newInstance(String name, View view) {
+    IndexAddress address = IndexAddress.valueOf(name);
+    long viewNativeHandle = view.getViewNativeHandle();
+    LongSupplier nativeListConstructor = () -> nativeCreate(name, viewNativeHandle);
+
+    return getOrCreate(address, view, nativeListConstructor);
+  }
+
+  /**
+   * Creates a new list in a <a href="package-summary.html#families">collection group</a>
+   * with the given name.
+   *
+   * <p>See a <a href="package-summary.html#families-limitations">caveat</a> on index identifiers.
+   *
+   * @param groupName a name of the collection group
+   * @param listId an identifier of this collection in the group, see the caveats
+   * @param view a database view
+   * @return a new list proxy
+   * @throws IllegalStateException if the view is not valid
+   * @throws IllegalArgumentException if the name or index id is empty
+   */
+  public static LongListIndexProxy newInGroupUnsafe(String groupName, byte[] listId,
+      View view) {
+    IndexAddress address = IndexAddress.valueOf(groupName, listId);
+    long viewNativeHandle = view.getViewNativeHandle();
+    LongSupplier nativeListConstructor =
+        () -> nativeCreateInGroup(groupName, listId, viewNativeHandle);
+
+    return getOrCreate(address, view, nativeListConstructor);
+  }
+
+  private static LongListIndexProxy getOrCreate(IndexAddress address, View view,
+      LongSupplier nativeListConstructor) {
+    return view.findOpenIndex(address)
+        .map(LongListIndexProxy::checkCachedInstance)
+        .orElseGet(() -> newLongListIndexProxy(address, view, nativeListConstructor));
+  }
+
+  private static LongListIndexProxy checkCachedInstance(StorageIndex cachedIndex) {
+    checkIndexType(cachedIndex, LongListIndexProxy.class);
+    return (LongListIndexProxy) cachedIndex;
+  }
+
+  private static LongListIndexProxy newLongListIndexProxy(IndexAddress address, View view,
+      LongSupplier nativeListConstructor) {
+    NativeHandle listNativeHandle = createNativeList(view, nativeListConstructor);
+
+    LongListIndexProxy list = new LongListIndexProxy(listNativeHandle, address, view);
+    view.registerIndex(list);
+    return list;
+  }
+
+  private static NativeHandle createNativeList(View view, LongSupplier nativeListConstructor) {
+    NativeHandle listNativeHandle = new NativeHandle(nativeListConstructor.getAsLong());
+
+    Cleaner cleaner = view.getCleaner();
+    ProxyDestructor.newRegistered(cleaner, listNativeHandle, LongListIndexProxy.class,
+        LongListIndexProxy::nativeFree);
+    return listNativeHandle;
+  }
+
+  private LongListIndexProxy(NativeHandle nativeHandle, IndexAddress address, View view) {
+    super(nativeHandle, address, view);
+    // The native list caches its length in a cell that is not safe to access from several
+    // threads. Read it once, so that the concurrent reads of a snapshot never write the cell.
+    this.snapshotSize = view.canModify() ? UNKNOWN_SIZE : nativeSize(getNativeHandle());
+  }
+
+  /**
+   * Adds a new value to the end of the list.
+   *
+   * @param value a value to add
+   * @throws IllegalStateException if this list is not valid
+   * @throws UnsupportedOperationException if this list is read-only
+   */
+  public void addLong(long value) {
+    notifyModified();
+    nativeAdd(getNativeHandle(), value);
+  }
+
+  /**
+   * Replaces the value at the given index of the list with the specified value.
+   *
+   * @param index an index of the value to replace
+   * @param value a value to add
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws IllegalStateException if this list is not valid
+   * @throws UnsupportedOperationException if this list is read-only
+   */
+  public void setLong(long index, long value) {
+    checkElementIndex(index, size());
+    notifyModified();
+    nativeSet(getNativeHandle(), index, value);
+  }
+
+  /**
+   * Returns the value at the given index.
+   *
+   * @param index an index of the value to return
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws IllegalStateException if this list is not valid
+   */
+  public long getLong(long index) {
+    checkElementIndex(index, size());
+    return nativeGet(getNativeHandle(), index);
+  }
+
+  /**
+   * Returns the last value of the list.
+   *
+   * @throws NoSuchElementException if the list is empty
+   * @throws IllegalStateException if this list is not valid
+   */
+  public long getLastLong() {
+    long size = size();
+    if (size == 0) {
+      throw new NoSuchElementException("List is empty");
+    }
+    return nativeGet(getNativeHandle(), size - 1);
+  }
+
+  /**
+   * Returns the values in the given range of indexes in a single native call.
+   *
+   * @param fromIndex the index of the first value to return, inclusive
+   * @param toIndex the index of the last value to return, exclusive
+   * @return an array of the values in the range; empty if {@code fromIndex == toIndex}
+   * @throws IndexOutOfBoundsException if the range is invalid
+   * @throws IllegalArgumentException if the range has more elements than an array can hold
+   * @throws IllegalStateException if this list is not valid
+   */
+  public long[] getRange(long fromIndex, long toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size());
+    long rangeSize = toIndex - fromIndex;
+    checkArgument(rangeSize <= Integer.MAX_VALUE, "Too many elements in range [%s, %s)",
+        fromIndex, toIndex);
+    if (rangeSize == 0) {
+      return new long[0];
+    }
+    return nativeGetRange(getNativeHandle(), fromIndex, toIndex);
+  }
+
+  /**
+   * Adds the given delta to the value at the given index in a single native call,
+   * and returns the new value. As {@link java.util.concurrent.atomic.AtomicLong#addAndGet},
+   * this method silently overflows.
+   *
+   * @param index an index of the value to update
+   * @param delta a value to add; may be negative
+   * @return the updated value
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws IllegalStateException if this list is not valid
+   * @throws UnsupportedOperationException if this list is read-only
+   */
+  public long incrementBy(long index, long delta) {
+    checkElementIndex(index, size());
+    notifyModified();
+    return nativeIncrementBy(getNativeHandle(), index, delta);
+  }
+
+  /**
+   * Clears the list.
+   *
+   * @throws IllegalStateException if this list is not valid
+   * @throws UnsupportedOperationException if this list is read-only
+   */
+  public void clear() {
+    notifyModified();
+    nativeClear(getNativeHandle());
+  }
+
+  /**
+   * Returns true if the list has no elements.
+   *
+   * @throws IllegalStateException if this list is not valid
+   */
+  public boolean isEmpty() {
+    if (snapshotSize != UNKNOWN_SIZE) {
+      return snapshotSize == 0;
+    }
+    return nativeIsEmpty(getNativeHandle());
+  }
+
+  /**
+   * Returns the number of elements in the list.
+   *
+   * @throws IllegalStateException if this list is not valid
+   */
+  public long size() {
+    if (snapshotSize != UNKNOWN_SIZE) {
+      return snapshotSize;
+    }
+    return nativeSize(getNativeHandle());
+  }
+
+  private static native long nativeCreate(String listName, long viewNativeHandle);
+
+  private static native long nativeCreateInGroup(String groupName, byte[] listId,
+      long viewNativeHandle);
+
+  private static native void nativeFree(long nativeHandle);
+
+  private native void nativeAdd(long nativeHandle, long value);
+
+  private native void nativeSet(long nativeHandle, long index, long value);
+
+  private native long nativeGet(long nativeHandle, long index);
+
+  private native long[] nativeGetRange(long nativeHandle, long fromIndex, long toIndex);
+
+  private native long nativeIncrementBy(long nativeHandle, long index, long delta);
+
+  private native void nativeClear(long nativeHandle);
+
+  private native boolean nativeIsEmpty(long nativeHandle);
+
+  private native long nativeSize(long nativeHandle);
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkIndexType;
+
+import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.NativeHandle;
+import com.exonum.binding.core.proxy.ProxyDestructor;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.util.LibraryLoader;
+import java.util.NoSuchElementException;
+import java.util.function.LongSupplier;
+
+/**
+ * A map of keys to primitive {@code long} values. It exchanges the values with the native code
+ * as primitives, hence, unlike a {@code MapIndexProxy<K, Long>}, it neither boxes the values
+ * nor allocates arrays for them. It is preferable for counters and other numeric values
+ * that are updated often, e.g., with {@link #incrementBy(Object, long)}.
+ *
+ * <p>The values are stored in the same format as {@link StandardSerializers#fixed64()}
+ * uses, hence a map created with this class may be read as a {@link MapIndexProxy}
+ * with that value serializer, and vice versa. However, a map cannot be opened as both
+ * types with the same database view.
+ *
+ * <p>The "destructive" methods of the map, i.e., the one that change the map contents,
+ * are specified to throw {@link UnsupportedOperationException} if
+ * the map has been created with a read-only database view.
+ *
+ * <p>All method arguments are non-null by default.
+ *
+ * <p>This class is not thread-safe and its instances shall not be shared between threads,
+ * unless created with a read-only {@linkplain com.exonum.binding.core.storage.database.Snapshot
+ * snapshot}, which allows concurrent reads.
+ *
+ * <p>When the view goes out of scope, this map is destroyed. Subsequent use of the closed map
+ * is prohibited and will result in {@link IllegalStateException}.
+ *
+ * @param <K> the type of keys in this map
+ * @see LongListIndexProxy
+ * @see View
+ */
+public final class LongMapIndexProxy<K> extends AbstractIndexProxy {
+
+  static {
+    LibraryLoader.load();
+  }
+
+  private final CheckingSerializerDecorator<K> keySerializer;
+
+  /**
+   * Creates a new LongMapIndexProxy.
+   *
+   * @param name a unique alphanumeric non-empty identifier of this map in the underlying storage:
+   *             [a-zA-Z0-9_]
+   * @param view a database view. Must be valid.
+   *             If a view is read-only, "destructive" operations are not permitted.
+   * @param keySerializer a serializer of keys
+   * @param <K> the type of keys in the map
+   * @throws IllegalStateException if the view is not valid
+   * @throws IllegalArgumentException if the name is empty
+   * @see StandardSerializers
+   */
+  public static <K> LongMapIndexProxy<K> newInstance(String name, View view,
+      Serializer<K> keySerializer) {
+    IndexAddress address = IndexAddress.valueOf(name);
+    long viewNativeHandle = view.getViewNativeHandle();
+    LongSupplier nativeMapConstructor = () -> nativeCreate(name, viewNativeHandle);
+
+    return getOrCreate(address, view, keySerializer, nativeMapConstructor);
+  }
+
+  /**
+   * Creates a new map in a <a href="package-summary.html#families">collection group</a>
+   * with the given name.
+   *
+   * <p>See a <a href="package-summary.html#families-limitations">caveat</a> on index identifiers.
+   *
+   * @param groupName a name of the collection group
+   * @param mapId an identifier of this collection in the group, see the caveats
+   * @param view a database view
+   * @param keySerializer a serializer of keys
+   * @param <K> the type of keys in the map
+   * @return a new map proxy
+   * @throws IllegalStateException if the view is not valid
+   * @throws IllegalArgumentException if the name or index id is empty
+   * @see StandardSerializers
+   */
+  public static <K> LongMapIndexProxy<K> newInGroupUnsafe(String groupName, byte[] mapId,
+      View view, Serializer<K> keySerializer) {
+    IndexAddress address = IndexAddress.valueOf(groupName, mapId);
+    long viewNativeHandle = view.getViewNativeHandle();
+    LongSupplier nativeMapConstructor =
+        () -> nativeCreateInGroup(groupName, mapId, viewNativeHandle);
+
+    return getOrCreate(address, view, keySerializer, nativeMapConstructor);
+  }
+
+  private static <K> LongMapIndexProxy<K> getOrCreate(IndexAddress address, View view,
+      Serializer<K> keySerializer, LongSupplier nativeMapConstructor) {
+    return view.findOpenIndex(address)
+        .map(LongMapIndexProxy::<K>checkCachedInstance)
+        .orElseGet(() -> newLongMapIndexProxy(address, view, keySerializer,
+            nativeMapConstructor));
+  }
+
+  @SuppressWarnings("unchecked") // The compiler is correct: the cache is not type-safe: ECR-3387
+  private static <K> LongMapIndexProxy<K> checkCachedInstance(StorageIndex cachedIndex) {
+    checkIndexType(cachedIndex, LongMapIndexProxy.class);
+    return (LongMapIndexProxy<K>) cachedIndex;
+  }
+
+  private static <K> LongMapIndexProxy<K> newLongMapIndexProxy(IndexAddress address, View view,
+      Serializer<K> keySerializer, LongSupplier nativeMapConstructor) {
+    CheckingSerializerDecorator<K> ks = CheckingSerializerDecorator.from(keySerializer);
+
+    NativeHandle mapNativeHandle = createNativeMap(view, nativeMapConstructor);
+
+    LongMapIndexProxy<K> map = new LongMapIndexProxy<>(mapNativeHandle, address, view, ks);
+    view.registerIndex(map);
+    return map;
+  }
+
+  private static NativeHandle createNativeMap(View view, LongSupplier nativeMapConstructor) {
+    NativeHandle mapNativeHandle = new NativeHandle(nativeMapConstructor.getAsLong());
+
+    Cleaner cleaner = view.getCleaner();
+    ProxyDestructor.newRegistered(cleaner, mapNativeHandle, LongMapIndexProxy.class,
+        LongMapIndexProxy::nativeFree);
+    return mapNativeHandle;
+  }
+
+  private LongMapIndexProxy(NativeHandle nativeHandle, IndexAddress address, View view,
+      CheckingSerializerDecorator<K> keySerializer) {
+    super(nativeHandle, address, view);
+    this.keySerializer = keySerializer;
+  }
+
+  /**
+   * Returns true if this map contains a value for the given key.
+   *
+   * @param key a key to check
+   * @throws IllegalStateException if this map is not valid
+   */
+  public boolean containsKey(K key) {
+    byte[] dbKey = keySerializer.toBytes(key);
+    return nativeContainsKey(getNativeHandle(), dbKey);
+  }
+
+  /**
+   * Returns the value associated with the given key.
+   *
+   * @param key a key
+   * @throws NoSuchElementException if this map does not contain a value for the key
+   * @throws IllegalStateException if this map is not valid
+   * @see #getLong(Object, long)
+   */
+  public long getLong(K key) {
+    byte[] dbKey = keySerializer.toBytes(key);
+    long value = nativeGetOrDefault(getNativeHandle(), dbKey, 0L);
+    // Zero is either the value or the absence of it; only in this case an extra native call
+    // is needed to tell them apart.
+    if (value == 0L && !nativeContainsKey(getNativeHandle(), dbKey)) {
+      throw new NoSuchElementException("No value for key " + key);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the value associated with the given key; or the given default value
+   * if this map does not contain a value for the key.
+   *
+   * @param key a key
+   * @param defaultValue a value to return if the key is not in the map
+   * @throws IllegalStateException if this map is not valid
+   */
+  public long getLong(K key, long defaultValue) {
+    byte[] dbKey = keySerializer.toBytes(key);
+    return nativeGetOrDefault(getNativeHandle(), dbKey, defaultValue);
+  }
+
+  /**
+   * Puts a new key-value pair into the map. If this map already contains
+   * a value for the given key, that value is replaced by the new one.
+   *
+   * @param key a key
+   * @param value a value to associate with the key
+   * @throws IllegalStateException if this map is not valid
+   * @throws UnsupportedOperationException if this map is read-only
+   */
+  public void putLong(K key, long value) {
+    notifyModified();
+    byte[] dbKey = keySerializer.toBytes(key);
+    nativePut(getNativeHandle(), dbKey, value);
+  }
+
+  /**
+   * Adds the given delta to the value associated with the given key in a single native call,
+   * and returns the new value. If this map does not contain a value for the key,
+   * the delta is added to zero. As {@link java.util.concurrent.atomic.AtomicLong#addAndGet},
+   * this method silently overflows.
+   *
+   * @param key a key
+   * @param delta a value to add; may be negative
+   * @return the updated value
+   * @throws IllegalStateException if this map is not valid
+   * @throws UnsupportedOperationException if this map is read-only
+   */
+  public long incrementBy(K key, long delta) {
+    notifyModified();
+    byte[] dbKey = keySerializer.toBytes(key);
+    return nativeIncrementBy(getNativeHandle(), dbKey, delta);
+  }
+
+  /**
+   * Removes the value associated with the given key. If there is no such key,
+   * this method does nothing.
+   *
+   * @param key a key
+   * @throws IllegalStateException if this map is not valid
+   * @throws UnsupportedOperationException if this map is read-only
+   */
+  public void remove(K key) {
+    notifyModified();
+    byte[] dbKey = keySerializer.toBytes(key);
+    nativeRemove(getNativeHandle(), dbKey);
+  }
+
+  /**
+   * Removes all of the key-value pairs from the map.
+   * The map will be empty after this method returns.
+   *
+   * @throws IllegalStateException if this map is not valid
+   * @throws UnsupportedOperationException if this map is read-only
+   */
+  public void clear() {
+    notifyModified();
+    nativeClear(getNativeHandle());
+  }
+
+  private static native long nativeCreate(String name, long viewNativeHandle);
+
+  private static native long nativeCreateInGroup(String groupName, byte[] mapId,
+      long viewNativeHandle);
+
+  private static native void nativeFree(long nativeHandle);
+
+  private native boolean nativeContainsKey(long nativeHandle, byte[] key);
+
+  private native long nativeGetOrDefault(long nativeHandle, byte[] key, long defaultValue);
+
+  private native void nativePut(long nativeHandle, byte[] key, long value);
+
+  private native long nativeIncrementBy(long nativeHandle, byte[] key, long delta);
+
+  private native void nativeRemove(long nativeHandle, byte[] key);
+
+  private native void nativeClear(long nativeHandle);
+}
@@ -16,9 +16,16 @@
 
 package com.exonum.binding.core.storage.indices;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import com.exonum.binding.common.collect.MapEntry;
+import com.google.common.collect.Iterators;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.BiFunction;
 
 /**
  * A MapIndex is an index that maps keys to values. A map cannot contain duplicate keys;
@@ -83,6 +90,48 @@ public interface MapIndex<K, V> extends StorageIndex {
    */
   V get(K key);
 
+  /**
+   * Returns the values associated with the specified keys. The returned map contains
+   * a mapping for each of the given keys that is present in this map; the keys
+   * that have no mapping are not included. The entries of the returned map
+   * follow the iteration order of the given keys.
+   *
+   * <p>Implementations may perform the lookup of all keys at once, which is more efficient
+   * than a sequence of individual {@link #get} operations.
+   *
+   * @param keys storage keys
+   * @return the values mapped to the specified keys; an empty map if none of the keys
+   *         are present in this map
+   * @throws NullPointerException if the passed collection is null or contains a null key
+   * @throws IllegalStateException if this map is not valid
+   */
+  default Map<K, V> getAll(Collection<? extends K> keys) {
+    Map<K, V> values = new LinkedHashMap<>();
+    for (K key : keys) {
+      V value = get(key);
+      if (value != null) {
+        values.put(key, value);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Returns the values associated with the specified keys. Equivalent to
+   * {@code getAll(Arrays.asList(keys))}.
+   *
+   * @param keys storage keys
+   * @return the values mapped to the specified keys; an empty map if none of the keys
+   *         are present in this map
+   * @throws NullPointerException if the passed array is null or contains a null key
+   * @throws IllegalStateException if this map is not valid
+   * @see #getAll(Collection)
+   */
+  @SuppressWarnings("unchecked") // Only reads the keys from the array
+  default Map<K, V> getAll(K... keys) {
+    return getAll(Arrays.asList(keys));
+  }
+
   /**
    * Removes the value mapped to the specified key from the map.
    * If there is no such mapping, has no effect.
@@ -92,6 +141,77 @@ public interface MapIndex<K, V> extends StorageIndex {
    * @throws UnsupportedOperationException if this map is read-only
    */
   void remove(K key);
+
+  /**
+   * Removes the values mapped to the specified keys from the map. Equivalent to a sequence
+   * of individual {@link #remove} operations. The keys that have no mapping are ignored.
+   *
+   * @param keys storage keys
+   * @throws NullPointerException if the passed collection is null or contains a null key
+   * @throws IllegalStateException if this map is not valid
+   * @throws UnsupportedOperationException if this map is read-only
+   */
+  default void removeAll(Collection<? extends K> keys) {
+    for (K key : keys) {
+      remove(key);
+    }
+  }
+
+  /**
+   * Computes a new value of the specified key from its current value (or {@code null}
+   * if there is no current mapping), and puts it into the map. If the function returns
+   * {@code null}, the mapping is removed (or remains absent).
+   *
+   * <p>If the function throws an exception, the computed value is not written and
+   * the exception is rethrown. The function must not modify this map: the modifications
+   * it makes are not reverted if the operation fails.
+   *
+   * <p>Implementations may perform the lookup and the update in a single operation,
+   * which is more efficient than a sequence of {@link #get} and {@link #put} operations.
+   *
+   * @param key a storage key
+   * @param remappingFunction the function to compute a value
+   * @return the new value associated with the specified key, or {@code null} if none
+   * @throws NullPointerException if the remapping function is null
+   * @throws IllegalStateException if this map is not valid
+   * @throws UnsupportedOperationException if this map is read-only
+   * @see Map#compute(Object, BiFunction)
+   */
+  default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    checkNotNull(remappingFunction, "remappingFunction");
+    V oldValue = get(key);
+    V newValue = remappingFunction.apply(key, oldValue);
+    if (newValue != null) {
+      put(key, newValue);
+    } else if (oldValue != null) {
+      remove(key);
+    }
+    return newValue;
+  }
+
+  /**
+   * If the specified key has no mapping, associates it with the given value. Otherwise,
+   * replaces the associated value with the result of the given remapping function,
+   * or removes it if the result is {@code null}. Equivalent to {@link #compute}
+   * with a function that combines the current and the given values.
+   *
+   * @param key a storage key
+   * @param value the value to associate with the key if it has no mapping; or the value
+   *     to combine with the current one
+   * @param remappingFunction the function to recompute a value if present
+   * @return the new value associated with the specified key, or {@code null} if none
+   * @throws NullPointerException if the value or the remapping function is null
+   * @throws IllegalStateException if this map is not valid
+   * @throws UnsupportedOperationException if this map is read-only
+   * @see Map#merge(Object, Object, BiFunction)
+   */
+  default V merge(K key, V value,
+      BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    checkNotNull(value, "value");
+    checkNotNull(remappingFunction, "remappingFunction");
+    return compute(key,
+        (k, oldValue) -> oldValue == null ? value : remappingFunction.apply(oldValue, value));
+  }
   
   /**
    * Returns an iterator over the map keys in lexicographical order.
@@ -115,6 +235,137 @@ public interface MapIndex<K, V> extends StorageIndex {
    */
   Iterator<MapEntry<K, V>> entries();
 
+  /**
+   * Returns an iterator over the map keys in lexicographical order, starting
+   * from the given key (inclusive). The key does not have to be present in the map.
+   *
+   * <p>The keys are compared by their serialized form, the same way the underlying
+   * database orders them.
+   *
+   * <p>The default implementation returns the keys of {@link #entries(Object)}.
+   *
+   * @param fromKey the lower bound of the keys (inclusive)
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if some property of the key prevents it
+   *                                  from being stored in this map
+   * @throws UnsupportedOperationException if this map does not support the iteration
+   *                                       from a key
+   */
+  default Iterator<K> keys(K fromKey) {
+    return Iterators.transform(entries(fromKey), MapEntry::getKey);
+  }
+
+  /**
+   * Returns an iterator over the map keys in lexicographical order, that are in range
+   * from {@code fromKey} (inclusive) to {@code toKey} (exclusive).
+   * The bounds do not have to be present in the map.
+   *
+   * <p>The keys are compared by their serialized form, the same way the underlying
+   * database orders them.
+   *
+   * <p>The default implementation returns the keys of {@link #entries(Object, Object)}.
+   *
+   * @param fromKey the lower bound of the keys (inclusive)
+   * @param toKey the upper bound of the keys (exclusive)
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if some property of the keys prevents them
+   *                                  from being stored in this map
+   * @throws UnsupportedOperationException if this map does not support the iteration
+   *                                       in a range of keys
+   */
+  default Iterator<K> keys(K fromKey, K toKey) {
+    return Iterators.transform(entries(fromKey, toKey), MapEntry::getKey);
+  }
+
+  /**
+   * Returns an iterator over the map values in lexicographical order of <em>keys</em>,
+   * starting from the value mapped to the given key (inclusive).
+   * The key does not have to be present in the map.
+   *
+   * <p>The default implementation returns the values of {@link #entries(Object)}.
+   *
+   * @param fromKey the lower bound of the keys (inclusive)
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if some property of the key prevents it
+   *                                  from being stored in this map
+   * @throws UnsupportedOperationException if this map does not support the iteration
+   *                                       from a key
+   * @see #keys(Object)
+   */
+  default Iterator<V> values(K fromKey) {
+    return Iterators.transform(entries(fromKey), MapEntry::getValue);
+  }
+
+  /**
+   * Returns an iterator over the map values in lexicographical order of <em>keys</em>,
+   * which keys are in range from {@code fromKey} (inclusive) to {@code toKey} (exclusive).
+   * The bounds do not have to be present in the map.
+   *
+   * <p>The default implementation returns the values of {@link #entries(Object, Object)}.
+   *
+   * @param fromKey the lower bound of the keys (inclusive)
+   * @param toKey the upper bound of the keys (exclusive)
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if some property of the keys prevents them
+   *                                  from being stored in this map
+   * @throws UnsupportedOperationException if this map does not support the iteration
+   *                                       in a range of keys
+   * @see #keys(Object, Object)
+   */
+  default Iterator<V> values(K fromKey, K toKey) {
+    return Iterators.transform(entries(fromKey, toKey), MapEntry::getValue);
+  }
+
+  /**
+   * Returns an iterator over the map entries, starting from the given key (inclusive).
+   * The entries are ordered by keys in lexicographical order.
+   * The key does not have to be present in the map.
+   *
+   * <p>The keys are compared by their serialized form, which this interface does not
+   * expose, therefore, the default implementation throws
+   * {@link UnsupportedOperationException}. The maps that support the iteration
+   * from a key override it.
+   *
+   * @param fromKey the lower bound of the keys (inclusive)
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if some property of the key prevents it
+   *                                  from being stored in this map
+   * @throws UnsupportedOperationException if this map does not support the iteration
+   *                                       from a key
+   * @see #keys(Object)
+   */
+  default Iterator<MapEntry<K, V>> entries(K fromKey) {
+    throw new UnsupportedOperationException(
+        "The iteration from a key is not supported by " + getClass().getName());
+  }
+
+  /**
+   * Returns an iterator over the map entries which keys are in range
+   * from {@code fromKey} (inclusive) to {@code toKey} (exclusive).
+   * The entries are ordered by keys in lexicographical order.
+   * The bounds do not have to be present in the map.
+   *
+   * <p>Implementations stop the iteration at the upper bound, therefore,
+   * iterating a range of the map is proportional to the size of the range,
+   * not of the map.
+   *
+   * <p>The default implementation throws {@link UnsupportedOperationException}.
+   * The maps that support the iteration in a range of keys override it.
+   *
+   * @param fromKey the lower bound of the keys (inclusive)
+   * @param toKey the upper bound of the keys (exclusive)
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if some property of the keys prevents them
+   *                                  from being stored in this map
+   * @throws UnsupportedOperationException if this map does not support the iteration
+   *                                       in a range of keys
+   * @see #keys(Object, Object)
+   */
+  default Iterator<MapEntry<K, V>> entries(K fromKey, K toKey) {
+    throw new UnsupportedOperationException(
+        "The iteration in a range of keys is not supported by " + getClass().getName());
+  }
+
   /**
    * Removes all of the key-value pairs from the map.
    * The map will be empty after this method returns.
@@ -16,7 +16,9 @@
 
 package com.exonum.binding.core.storage.indices;
 
+import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkFixed64Values;
 import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkIndexType;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.exonum.binding.common.collect.MapEntry;
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
@@ -27,10 +29,17 @@ import com.exonum.binding.core.proxy.NativeHandle;
 import com.exonum.binding.core.proxy.ProxyDestructor;
 import com.exonum.binding.core.storage.database.View;
 import com.exonum.binding.core.util.LibraryLoader;
+import com.google.common.collect.ImmutableList;
 import com.google.protobuf.MessageLite;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 
 /**
  * A MapIndex is an index that maps keys to values. A map cannot contain duplicate keys;
@@ -44,7 +53,9 @@ import java.util.function.LongSupplier;
  *
  * <p>All method arguments are non-null by default.
  *
- * <p>This class is not thread-safe and its instances shall not be shared between threads.
+ * <p>This class is not thread-safe and its instances shall not be shared between threads,
+ * unless created with a read-only {@linkplain com.exonum.binding.core.storage.database.Snapshot
+ * snapshot}, which allows concurrent reads.
  *
  * <p>When the view goes out of scope, this map is destroyed. Subsequent use of the closed map
  * is prohibited and will result in {@link IllegalStateException}.
@@ -61,6 +72,7 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
 
   private final CheckingSerializerDecorator<K> keySerializer;
   private final CheckingSerializerDecorator<V> valueSerializer;
+  private boolean fixed64ValuesChecked;
 
   /**
    * Creates a new MapIndexProxy using protobuf messages.
@@ -200,13 +212,24 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
     putInternal(getNativeHandle(), key, value);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation puts all the entries in a single native call.
+   */
   @Override
   public void putAll(Map<? extends K, ? extends V> sourceMap) {
     notifyModified();
-    long nativeHandle = getNativeHandle();
+    int numEntries = sourceMap.size();
+    byte[][] dbKeys = new byte[numEntries][];
+    byte[][] dbValues = new byte[numEntries][];
+    int i = 0;
     for (Map.Entry<? extends K, ? extends V> entry : sourceMap.entrySet()) {
-      putInternal(nativeHandle, entry.getKey(), entry.getValue());
+      dbKeys[i] = keySerializer.toBytes(entry.getKey());
+      dbValues[i] = valueSerializer.toBytes(entry.getValue());
+      i++;
     }
+    nativePutAll(getNativeHandle(), dbKeys, dbValues);
   }
 
   private void putInternal(long thisNativeHandle, K key, V value) {
@@ -222,6 +245,125 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
     return (dbValue == null) ? null : valueSerializer.fromBytes(dbValue);
   }
 
+  /**
+   * Copies the serialized value associated with the specified key into the given buffer,
+   * starting at its position. If the value fits in the remaining bytes of the buffer,
+   * advances the position of the buffer by the value size; otherwise, leaves
+   * the buffer unchanged, so that the caller may retry with a larger buffer.
+   *
+   * <p>Unlike {@link #get(Object)}, this method does not allocate an array for the value,
+   * which makes it preferable for reading large values into a reused buffer.
+   *
+   * @param key a storage key
+   * @param target a writable direct buffer to copy the value to
+   * @return the size of the serialized value in bytes; or -1 if this map contains
+   *     no mapping for the key
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the buffer is not direct or is read-only
+   */
+  public int readValue(K key, ByteBuffer target) {
+    byte[] dbKey = keySerializer.toBytes(key);
+    return DirectBuffers.readInto(target,
+        (buffer, offset, maxLength) ->
+            nativeReadValue(getNativeHandle(), dbKey, buffer, offset, maxLength));
+  }
+
+  /**
+   * Returns the value associated with the specified key,
+   * or {@code null} if there is no mapping for the key. The value is copied into
+   * the given buffer and decoded from it with {@link Serializer#fromBuffer}.
+   * If the value does not fit in the buffer, it is read as in {@link #get(Object)}.
+   *
+   * @param key a storage key
+   * @param buffer a writable direct buffer to use as a scratch space; its contents,
+   *     position and limit are overwritten
+   * @return the value mapped to the specified key,
+   *         or {@code null} if this map contains no mapping for the key.
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the buffer is not direct or is read-only
+   * @see #readValue(Object, ByteBuffer)
+   */
+  public V get(K key, ByteBuffer buffer) {
+    byte[] dbKey = keySerializer.toBytes(key);
+    return DirectBuffers.decode(buffer,
+        (target, offset, maxLength) ->
+            nativeReadValue(getNativeHandle(), dbKey, target, offset, maxLength),
+        valueSerializer, () -> get(key));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation looks up all the keys in a single native call.
+   */
+  @Override
+  public Map<K, V> getAll(Collection<? extends K> keys) {
+    List<K> keyList = ImmutableList.copyOf(keys);
+    byte[][] dbKeys = keyList.stream()
+        .map(keySerializer::toBytes)
+        .toArray(byte[][]::new);
+    byte[][] dbValues = nativeGetAll(getNativeHandle(), dbKeys);
+
+    Map<K, V> values = new LinkedHashMap<>();
+    for (int i = 0; i < dbValues.length; i++) {
+      byte[] dbValue = dbValues[i];
+      if (dbValue != null) {
+        values.put(keyList.get(i), valueSerializer.fromBytes(dbValue));
+      }
+    }
+    return values;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation looks up and updates the value in a single native call,
+   * which invokes the remapping function. If the function throws, the computed value
+   * is not written and the iterators over this map remain valid.
+   *
+   * @throws java.util.ConcurrentModificationException if the remapping function
+   *     modified this map; the modifications made by the function are not reverted
+   */
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    checkNotNull(remappingFunction, "remappingFunction");
+    checkCanModify();
+    byte[] dbKey = keySerializer.toBytes(key);
+    ValueRemapping<K, V> remapping = new ValueRemapping<>(key, valueSerializer,
+        remappingFunction, modCounter);
+    nativeCompute(getNativeHandle(), dbKey, remapping);
+    // Notified only once the value is written, so that the iterators remain valid
+    // if the function throws
+    notifyModified();
+    return remapping.getNewValue();
+  }
+
+  /**
+   * Adds the given delta to the value associated with the specified key in a single
+   * native call, and returns the new value. If there is no mapping for the key,
+   * the delta is added to zero. As {@link java.util.concurrent.atomic.AtomicLong#addAndGet},
+   * this method silently overflows.
+   *
+   * <p>This method is applicable only to the maps of {@code Long} values serialized with
+   * {@link StandardSerializers#fixed64()}.
+   *
+   * @param key a storage key
+   * @param delta a value to add; may be negative
+   * @return the updated value
+   * @throws IllegalStateException if this map is not valid; or if its values are not
+   *     serialized as fixed64
+   * @throws UnsupportedOperationException if this map is read-only
+   */
+  public long addAndGet(K key, long delta) {
+    if (!fixed64ValuesChecked) {
+      checkFixed64Values(valueSerializer);
+      fixed64ValuesChecked = true;
+    }
+    notifyModified();
+    byte[] dbKey = keySerializer.toBytes(key);
+    return nativeAddAndGet(getNativeHandle(), dbKey, delta);
+  }
+
   @Override
   public void remove(K key) {
     notifyModified();
@@ -229,11 +371,65 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
     nativeRemove(getNativeHandle(), dbKey);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation removes all the keys in a single native call.
+   */
+  @Override
+  public void removeAll(Collection<? extends K> keys) {
+    notifyModified();
+    byte[][] dbKeys = keys.stream()
+        .map(keySerializer::toBytes)
+        .toArray(byte[][]::new);
+    nativeRemoveAll(getNativeHandle(), dbKeys);
+  }
+
   @Override
   public Iterator<K> keys() {
-    return StorageIterators.createIterator(
-        nativeCreateKeysIter(getNativeHandle()),
-        this::nativeKeysIterNext,
+    return keysIterator(nativeCreateKeysIter(getNativeHandle()), KeyPredicates.any());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation starts the native iterator at the given key, therefore,
+   * the preceding keys are not traversed.
+   */
+  @Override
+  public Iterator<K> keys(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return keysIterator(nativeCreateKeysIterFrom(getNativeHandle(), dbFromKey),
+        KeyPredicates.any());
+  }
+
+  @Override
+  public Iterator<K> keys(K fromKey, K toKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    byte[] dbToKey = keySerializer.toBytes(toKey);
+    return keysIterator(nativeCreateKeysIterFrom(getNativeHandle(), dbFromKey),
+        KeyPredicates.lessThan(dbToKey));
+  }
+
+  /**
+   * Returns an iterator over the map keys in lexicographical order, which serialized form
+   * starts with the serialized form of the given prefix. For example, in a map with
+   * string keys, {@code keysWithPrefix("a")} returns all keys starting with "a".
+   *
+   * @param prefix the prefix of the keys
+   * @throws IllegalStateException if this map is not valid
+   */
+  public Iterator<K> keysWithPrefix(K prefix) {
+    byte[] dbPrefix = keySerializer.toBytes(prefix);
+    return keysIterator(nativeCreateKeysIterFrom(getNativeHandle(), dbPrefix),
+        KeyPredicates.startsWith(dbPrefix));
+  }
+
+  private Iterator<K> keysIterator(long iterNativeHandle, Predicate<byte[]> keyCondition) {
+    return StorageIterators.createChunkedIterator(
+        iterNativeHandle,
+        this::nativeKeysIterNextChunk,
+        keyCondition,
         this::nativeKeysIterFree,
         dbView,
         modCounter,
@@ -243,9 +439,19 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
 
   @Override
   public Iterator<V> values() {
-    return StorageIterators.createIterator(
-        nativeCreateValuesIter(getNativeHandle()),
-        this::nativeValuesIterNext,
+    return valuesIterator(nativeCreateValuesIter(getNativeHandle()));
+  }
+
+  @Override
+  public Iterator<V> values(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return valuesIterator(nativeCreateValuesIterFrom(getNativeHandle(), dbFromKey));
+  }
+
+  private Iterator<V> valuesIterator(long iterNativeHandle) {
+    return StorageIterators.createChunkedIterator(
+        iterNativeHandle,
+        this::nativeValuesIterNextChunk,
         this::nativeValuesIterFree,
         dbView,
         modCounter,
@@ -255,9 +461,46 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
 
   @Override
   public Iterator<MapEntry<K, V>> entries() {
-    return StorageIterators.createIterator(
-        nativeCreateEntriesIter(getNativeHandle()),
-        this::nativeEntriesIterNext,
+    return entriesIterator(nativeCreateEntriesIter(getNativeHandle()), KeyPredicates.any());
+  }
+
+  @Override
+  public Iterator<MapEntry<K, V>> entries(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return entriesIterator(nativeCreateEntriesIterFrom(getNativeHandle(), dbFromKey),
+        KeyPredicates.any());
+  }
+
+  @Override
+  public Iterator<MapEntry<K, V>> entries(K fromKey, K toKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    byte[] dbToKey = keySerializer.toBytes(toKey);
+    return entriesIterator(nativeCreateEntriesIterFrom(getNativeHandle(), dbFromKey),
+        KeyPredicates.lessThan(dbToKey));
+  }
+
+  /**
+   * Returns an iterator over the map entries which keys, in serialized form, start with
+   * the serialized form of the given prefix. The entries are ordered by keys
+   * in lexicographical order.
+   *
+   * @param prefix the prefix of the keys
+   * @throws IllegalStateException if this map is not valid
+   * @see #keysWithPrefix(Object)
+   */
+  public Iterator<MapEntry<K, V>> entriesWithPrefix(K prefix) {
+    byte[] dbPrefix = keySerializer.toBytes(prefix);
+    return entriesIterator(nativeCreateEntriesIterFrom(getNativeHandle(), dbPrefix),
+        KeyPredicates.startsWith(dbPrefix));
+  }
+
+  private Iterator<MapEntry<K, V>> entriesIterator(long iterNativeHandle,
+      Predicate<byte[]> keyCondition) {
+    return StorageIterators.createChunkedPairIterator(
+        iterNativeHandle,
+        this::nativeEntriesIterNextChunk,
+        keyCondition,
+        MapEntryInternal::new,
         this::nativeEntriesIterFree,
         dbView,
         modCounter,
@@ -267,7 +510,9 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
 
   private native long nativeCreateEntriesIter(long nativeHandle);
 
-  private native MapEntryInternal nativeEntriesIterNext(long iterNativeHandle);
+  private native long nativeCreateEntriesIterFrom(long nativeHandle, byte[] fromKey);
+
+  private native byte[][] nativeEntriesIterNextChunk(long iterNativeHandle, int chunkSize);
 
   private native void nativeEntriesIterFree(long iterNativeHandle);
 
@@ -286,19 +531,37 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
 
   private native void nativePut(long nativeHandle, byte[] key, byte[] value);
 
+  private native void nativePutAll(long nativeHandle, byte[][] keys, byte[][] values);
+
   private native byte[] nativeGet(long nativeHandle, byte[] key);
 
+  private native int nativeReadValue(long nativeHandle, byte[] key, ByteBuffer target,
+      int offset, int maxLength);
+
+  private native byte[][] nativeGetAll(long nativeHandle, byte[][] keys);
+
+  private native void nativeCompute(long nativeHandle, byte[] key,
+      ValueRemapping<K, V> remapping);
+
+  private native long nativeAddAndGet(long nativeHandle, byte[] key, long delta);
+
   private native void nativeRemove(long nativeHandle, byte[] key);
 
+  private native void nativeRemoveAll(long nativeHandle, byte[][] keys);
+
   private native long nativeCreateKeysIter(long nativeHandle);
 
-  private native byte[] nativeKeysIterNext(long iterNativeHandle);
+  private native long nativeCreateKeysIterFrom(long nativeHandle, byte[] fromKey);
+
+  private native byte[][] nativeKeysIterNextChunk(long iterNativeHandle, int chunkSize);
 
   private native void nativeKeysIterFree(long iterNativeHandle);
 
   private native long nativeCreateValuesIter(long nativeHandle);
 
-  private native byte[] nativeValuesIterNext(long iterNativeHandle);
+  private native long nativeCreateValuesIterFrom(long nativeHandle, byte[] fromKey);
+
+  private native byte[][] nativeValuesIterNextChunk(long iterNativeHandle, int chunkSize);
 
   private native void nativeValuesIterFree(long iterNativeHandle);
 
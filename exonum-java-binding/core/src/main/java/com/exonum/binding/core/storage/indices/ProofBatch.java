@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkElementIndex;
+import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkRange;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.proofs.ProofBundle;
+import com.exonum.binding.core.storage.database.View;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A batch of the proofs from several proof indexes created with the same database view.
+ * The batch obtains all the requested proofs in a single native call, and encodes them
+ * in a compact {@linkplain ProofBundle bundle}, without creating the Java proof objects.
+ * The bundle may be sent to a light client as is, for instance, to prove a block
+ * transaction, its execution result and a service state entry at once:
+ * <pre>{@code
+ * Blockchain blockchain = Blockchain.newInstance(snapshot);
+ * byte[] bundle = ProofBatch.newInstance(snapshot)
+ *     .addListProof(blockchain.getBlockTransactions(height), txPosition)
+ *     .addMapProof(blockchain.getTxResults(), singletonList(txHash))
+ *     .addMapProof(schema.wallets(), singletonList(walletKey))
+ *     .build();
+ * }</pre>
+ *
+ * <p>The bundle can be decoded with {@link ProofBundle#parseFrom(byte[])}; the proofs
+ * in the bundle are in the order they are added to the batch.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class ProofBatch {
+
+  /** The proof types; must match the native code. */
+  private static final int MAP_PROOF = 1;
+  private static final int LIST_PROOF = 2;
+
+  private static final byte[] NO_KEYS = new byte[0];
+
+  private final View view;
+  private final List<ProofRequest> requests;
+
+  private ProofBatch(View view) {
+    this.view = view;
+    this.requests = new ArrayList<>();
+  }
+
+  /**
+   * Creates a new empty batch.
+   *
+   * @param view a database view the indexes of which provide the proofs;
+   *     usually, a snapshot
+   */
+  public static ProofBatch newInstance(View view) {
+    return new ProofBatch(checkNotNull(view));
+  }
+
+  /**
+   * Adds a request of a proof that there are values mapped to the specified keys
+   * or that there are no such mappings.
+   *
+   * @param map a proof map created with the view of this batch
+   * @param keys the proof map keys which might be mapped to some values, each must be 32-byte long
+   * @return this batch
+   * @throws IllegalArgumentException if the map is not created with the view of this batch,
+   *     or if the keys collection is empty or contains invalid keys
+   */
+  public <K> ProofBatch addMapProof(ProofMapIndexProxy<K, ?> map,
+      Collection<? extends K> keys) {
+    checkIndexView(map);
+    checkArgument(!keys.isEmpty(), "Keys collection should not be empty");
+    byte[] flattenedKeys = map.mergeKeysIntoByteArray(keys);
+    requests.add(new ProofRequest(MAP_PROOF, map, flattenedKeys, 0L, 0L));
+    return this;
+  }
+
+  /**
+   * Adds a request of a proof of either existence or absence of an element
+   * at the specified index in the list.
+   *
+   * @param list a proof list created with the view of this batch
+   * @param index the element index
+   * @return this batch
+   * @throws IllegalArgumentException if the list is not created with the view of this batch
+   * @throws IndexOutOfBoundsException if the index is negative
+   */
+  public ProofBatch addListProof(ProofListIndexProxy<?> list, long index) {
+    checkElementIndex(index, Long.MAX_VALUE);
+    return addListRangeProof(list, index, index + 1);
+  }
+
+  /**
+   * Adds a request of a proof of either existence or absence of some elements
+   * in the specified range in the list.
+   *
+   * @param list a proof list created with the view of this batch
+   * @param from the index of the first element
+   * @param to the index after the last element
+   * @return this batch
+   * @throws IllegalArgumentException if the list is not created with the view of this batch
+   * @throws IndexOutOfBoundsException if the range is not valid
+   */
+  public ProofBatch addListRangeProof(ProofListIndexProxy<?> list, long from, long to) {
+    checkIndexView(list);
+    checkRange(from, to);
+    requests.add(new ProofRequest(LIST_PROOF, list, NO_KEYS, from, to));
+    return this;
+  }
+
+  private void checkIndexView(AbstractIndexProxy index) {
+    checkNotNull(index, "index");
+    checkArgument(index.dbView == view,
+        "The index (%s) is not created with the view of this batch (%s)", index, view);
+  }
+
+  /**
+   * Returns the number of proofs requested in this batch.
+   */
+  public int size() {
+    return requests.size();
+  }
+
+  /**
+   * Obtains all the requested proofs in a single native call, and returns them
+   * encoded in a {@linkplain ProofBundle bundle}.
+   *
+   * @throws IllegalStateException if any of the indexes or the view is not valid
+   */
+  public byte[] build() {
+    int numProofs = requests.size();
+    int[] proofTypes = new int[numProofs];
+    long[] indexHandles = new long[numProofs];
+    byte[][] mapKeys = new byte[numProofs][];
+    long[] listRanges = new long[2 * numProofs];
+    for (int i = 0; i < numProofs; i++) {
+      ProofRequest request = requests.get(i);
+      proofTypes[i] = request.proofType;
+      indexHandles[i] = request.index.getIndexNativeHandle();
+      mapKeys[i] = request.mapKeys;
+      listRanges[2 * i] = request.from;
+      listRanges[2 * i + 1] = request.to;
+    }
+    return nativeGetProofs(proofTypes, indexHandles, mapKeys, listRanges);
+  }
+
+  private static native byte[] nativeGetProofs(int[] proofTypes, long[] indexHandles,
+      byte[][] mapKeys, long[] listRanges);
+
+  private static final class ProofRequest {
+
+    final int proofType;
+    final AbstractIndexProxy index;
+    final byte[] mapKeys;
+    final long from;
+    final long to;
+
+    ProofRequest(int proofType, AbstractIndexProxy index, byte[] mapKeys, long from, long to) {
+      this.proofType = proofType;
+      this.index = index;
+      this.mapKeys = mapKeys;
+      this.from = from;
+      this.to = to;
+    }
+  }
+}
@@ -31,6 +31,7 @@ import com.exonum.binding.core.proxy.ProxyDestructor;
 import com.exonum.binding.core.storage.database.View;
 import com.exonum.binding.core.util.LibraryLoader;
 import com.google.protobuf.MessageLite;
+import java.nio.ByteBuffer;
 import java.util.function.LongSupplier;
 
 /**
@@ -46,7 +47,9 @@ import java.util.function.LongSupplier;
  *
  * <p>All method arguments are non-null by default.
  *
- * <p>This class is not thread-safe and and its instances shall not be shared between threads.
+ * <p>This class is not thread-safe and its instances shall not be shared between threads,
+ * unless created with a read-only {@linkplain com.exonum.binding.core.storage.database.Snapshot
+ * snapshot}, which allows concurrent reads.
  *
  * <p>When the view goes out of scope, this list is destroyed. Subsequent use of the closed list
  * is prohibited and will result in {@link IllegalStateException}.
@@ -219,12 +222,22 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
   @Override
   native void nativeAdd(long nativeHandle, byte[] e);
 
+  @Override
+  native void nativeAddAll(long nativeHandle, byte[][] elements);
+
   @Override
   native void nativeSet(long nativeHandle, long index, byte[] e);
 
   @Override
   native byte[] nativeGet(long nativeHandle, long index);
 
+  @Override
+  native int nativeReadElement(long nativeHandle, long index, ByteBuffer target, int offset,
+      int maxLength);
+
+  @Override
+  native byte[][] nativeGetRange(long nativeHandle, long fromIndex, long toIndex);
+
   @Override
   native byte[] nativeGetLast(long nativeHandle);
 
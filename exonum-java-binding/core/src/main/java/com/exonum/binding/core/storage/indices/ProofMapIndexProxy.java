@@ -17,11 +17,16 @@
 package com.exonum.binding.core.storage.indices;
 
 import static com.exonum.binding.core.storage.indices.StoragePreconditions.PROOF_MAP_KEY_SIZE;
+import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkFixed64Values;
 import static com.exonum.binding.core.storage.indices.StoragePreconditions.checkIndexType;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.exonum.binding.common.collect.MapEntry;
 import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.EncodedMapProof;
+import com.exonum.binding.common.proofs.map.KeyRange;
+import com.exonum.binding.common.proofs.map.MapProofEntry;
 import com.exonum.binding.common.proofs.map.UncheckedMapProof;
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
@@ -30,13 +35,22 @@ import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.proxy.NativeHandle;
 import com.exonum.binding.core.proxy.ProxyDestructor;
 import com.exonum.binding.core.storage.database.View;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
 
 /**
  * A ProofMapIndexProxy is an index that maps keys to values. A map cannot contain duplicate keys;
@@ -53,7 +67,9 @@ import java.util.function.LongSupplier;
  *
  * <p>All method arguments are non-null by default.
  *
- * <p>This class is not thread-safe and and its instances shall not be shared between threads.
+ * <p>This class is not thread-safe and its instances shall not be shared between threads,
+ * unless created with a read-only {@linkplain com.exonum.binding.core.storage.database.Snapshot
+ * snapshot}, which allows concurrent reads.
  *
  * <p>When the view goes out of scope, this map is destroyed. Subsequent use of the closed map
  * is prohibited and will result in {@link IllegalStateException}.
@@ -66,6 +82,13 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private final ProofMapKeyCheckingSerializerDecorator<K> keySerializer;
   private final CheckingSerializerDecorator<V> valueSerializer;
+  private boolean fixed64ValuesChecked;
+  /**
+   * The last computed index hash; or null if it is not computed yet. It is published
+   * as a single immutable holder, so that the threads that share a map created with
+   * a snapshot never see a hash paired with a wrong modification count.
+   */
+  @Nullable private volatile CachedIndexHash cachedIndexHash;
 
   /**
    * Creates a ProofMapIndexProxy.
@@ -197,13 +220,26 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
     putInternal(nativeHandle, key, value);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation puts all the entries in a single native call.
+   *
+   * @throws IllegalArgumentException if the size of any of the keys is not 32 bytes
+   */
   @Override
   public void putAll(Map<? extends K, ? extends V> sourceMap) {
     notifyModified();
-    long nativeHandle = getNativeHandle();
+    int numEntries = sourceMap.size();
+    ByteBuffer flattenedKeys = ByteBuffer.allocate(numEntries * PROOF_MAP_KEY_SIZE);
+    byte[][] dbValues = new byte[numEntries][];
+    int i = 0;
     for (Map.Entry<? extends K, ? extends V> entry : sourceMap.entrySet()) {
-      putInternal(nativeHandle, entry.getKey(), entry.getValue());
+      flattenedKeys.put(keySerializer.toBytes(entry.getKey()));
+      dbValues[i] = valueSerializer.toBytes(entry.getValue());
+      i++;
     }
+    nativePutAll(getNativeHandle(), flattenedKeys.array(), dbValues);
   }
 
   private void putInternal(long nativeHandle, K key, V value) {
@@ -214,6 +250,8 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private native void nativePut(long nativeHandle, byte[] key, byte[] value);
 
+  private native void nativePutAll(long nativeHandle, byte[] keys, byte[][] values);
+
   @Override
   public V get(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
@@ -221,8 +259,82 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
     return (dbValue == null) ? null : valueSerializer.fromBytes(dbValue);
   }
 
+  /**
+   * Copies the serialized value associated with the specified key into the given buffer,
+   * starting at its position. If the value fits in the remaining bytes of the buffer,
+   * advances the position of the buffer by the value size; otherwise, leaves
+   * the buffer unchanged, so that the caller may retry with a larger buffer.
+   *
+   * <p>Unlike {@link #get(Object)}, this method does not allocate an array for the value,
+   * which makes it preferable for reading large values into a reused buffer.
+   *
+   * @param key a storage key
+   * @param target a writable direct buffer to copy the value to
+   * @return the size of the serialized value in bytes; or -1 if this map contains
+   *     no mapping for the key
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the buffer is not direct or is read-only
+   */
+  public int readValue(K key, ByteBuffer target) {
+    byte[] dbKey = keySerializer.toBytes(key);
+    return DirectBuffers.readInto(target,
+        (buffer, offset, maxLength) ->
+            nativeReadValue(getNativeHandle(), dbKey, buffer, offset, maxLength));
+  }
+
+  /**
+   * Returns the value associated with the specified key,
+   * or {@code null} if there is no mapping for the key. The value is copied into
+   * the given buffer and decoded from it with {@link Serializer#fromBuffer}.
+   * If the value does not fit in the buffer, it is read as in {@link #get(Object)}.
+   *
+   * @param key a storage key
+   * @param buffer a writable direct buffer to use as a scratch space; its contents,
+   *     position and limit are overwritten
+   * @return the value mapped to the specified key,
+   *         or {@code null} if this map contains no mapping for the key.
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the buffer is not direct or is read-only
+   * @see #readValue(Object, ByteBuffer)
+   */
+  public V get(K key, ByteBuffer buffer) {
+    byte[] dbKey = keySerializer.toBytes(key);
+    return DirectBuffers.decode(buffer,
+        (target, offset, maxLength) ->
+            nativeReadValue(getNativeHandle(), dbKey, target, offset, maxLength),
+        valueSerializer, () -> get(key));
+  }
+
+  private native int nativeReadValue(long nativeHandle, byte[] key, ByteBuffer target,
+      int offset, int maxLength);
+
   private native byte[] nativeGet(long nativeHandle, byte[] key);
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation looks up all the keys in a single native call.
+   *
+   * @param keys proof map keys, each must be 32-byte long when serialized
+   * @throws IllegalArgumentException if the size of any of the keys is not 32 bytes
+   */
+  @Override
+  public Map<K, V> getAll(Collection<? extends K> keys) {
+    List<K> keyList = ImmutableList.copyOf(keys);
+    byte[][] dbValues = nativeGetAll(getNativeHandle(), mergeKeysIntoByteArray(keyList));
+
+    Map<K, V> values = new LinkedHashMap<>();
+    for (int i = 0; i < dbValues.length; i++) {
+      byte[] dbValue = dbValues[i];
+      if (dbValue != null) {
+        values.put(keyList.get(i), valueSerializer.fromBytes(dbValue));
+      }
+    }
+    return values;
+  }
+
+  private native byte[][] nativeGetAll(long nativeHandle, byte[] keys);
+
   /**
    * Returns a proof that there are values mapped to the specified keys or that there are no such
    * mappings.
@@ -262,6 +374,61 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
     }
   }
 
+  /**
+   * Returns a proof of all the entries with the keys in the given range. Unlike
+   * {@link #getProof(Collection)}, which proves the values of the requested keys only,
+   * the range proof also proves that the map has no other entries in the range,
+   * see {@link UncheckedMapProof#checkRange(ByteString, ByteString)}.
+   *
+   * <p>The keys are ordered as the map {@linkplain #keys(Object, Object) iterates} them,
+   * i.e., lexicographically by their serialized form. As the proof tree orders the keys
+   * differently, the proof may also include some absent keys outside the requested ones,
+   * which prove the completeness of the range.
+   *
+   * @param fromKey the lower bound of the range (inclusive), must be 32-byte long
+   *     when serialized
+   * @param toKey the upper bound of the range (exclusive), must be 32-byte long
+   *     when serialized
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the size of any of the keys is not 32 bytes,
+   *     or if the lower bound is greater than the upper bound
+   * @see KeyRange
+   */
+  public UncheckedMapProof getRangeProof(K fromKey, K toKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    byte[] dbToKey = keySerializer.toBytes(toKey);
+    KeyRange range = KeyRange.of(dbFromKey, dbToKey);
+    // Request the lower bound, so that the proof is never empty, and the keys in the range
+    List<byte[]> requestedKeys = new ArrayList<>();
+    requestedKeys.add(dbFromKey);
+    Iterator<byte[]> rangeKeys = dbKeysIterator(
+        nativeCreateKeysIterFrom(getNativeHandle(), dbFromKey),
+        KeyPredicates.lessThan(dbToKey));
+    while (rangeKeys.hasNext()) {
+      byte[] dbKey = rangeKeys.next();
+      if (!Arrays.equals(dbKey, dbFromKey)) {
+        requestedKeys.add(dbKey);
+      }
+    }
+    // A proof entry may still contain the absent keys in the range, as the subtrees of
+    // the proof tree are not contiguous in the iteration order. Request the least such key
+    // of each entry, which splits the entry in the next proof, until none are left.
+    // Each iteration makes the remaining entries deeper, hence it terminates.
+    while (true) {
+      EncodedMapProof proof = (EncodedMapProof) nativeGetMultiProof(getNativeHandle(),
+          mergeDbKeysIntoByteArray(requestedKeys));
+      List<byte[]> uncoveredKeys = new ArrayList<>();
+      for (MapProofEntry proofEntry : proof.decode().getProofEntries()) {
+        range.firstKeyWithPrefix(proofEntry.getDbKey())
+            .ifPresent(uncoveredKeys::add);
+      }
+      if (uncoveredKeys.isEmpty()) {
+        return proof;
+      }
+      requestedKeys.addAll(uncoveredKeys);
+    }
+  }
+
   private UncheckedMapProof getSingleKeyProof(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
     return nativeGetProof(getNativeHandle(), dbKey);
@@ -273,7 +440,7 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
     return nativeGetMultiProof(getNativeHandle(), mergeKeysIntoByteArray(keys));
   }
 
-  private byte[] mergeKeysIntoByteArray(Collection<? extends K> keys) {
+  byte[] mergeKeysIntoByteArray(Collection<? extends K> keys) {
     int arraySize = keys.size() * PROOF_MAP_KEY_SIZE;
     ByteBuffer flattenedKeys = ByteBuffer.allocate(arraySize);
     keys.stream()
@@ -282,20 +449,88 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
     return flattenedKeys.array();
   }
 
+  private static byte[] mergeDbKeysIntoByteArray(List<byte[]> dbKeys) {
+    ByteBuffer flattenedKeys = ByteBuffer.allocate(dbKeys.size() * PROOF_MAP_KEY_SIZE);
+    dbKeys.forEach(flattenedKeys::put);
+    return flattenedKeys.array();
+  }
+
   private native UncheckedMapProof nativeGetMultiProof(long nativeHandle, byte[] keys);
 
   /**
    * Returns the index hash which represents the complete state of this map.
    * Any modifications to the stored entries affect the index hash.
    *
+   * <p>The hash is cached by this proxy until the map is modified, therefore, the repeated
+   * invocations on an unmodified map, e.g., a map created with a snapshot,
+   * do not access the native storage.
+   *
    * @throws IllegalStateException if this map is not valid
    */
   public HashCode getIndexHash() {
-    return HashCode.fromBytes(nativeGetIndexHash(getNativeHandle()));
+    long nativeHandle = getNativeHandle();
+    CachedIndexHash cached = cachedIndexHash;
+    if (cached == null || modCounter.isModifiedSince(cached.modCount)) {
+      int modCount = modCounter.getCurrentValue();
+      HashCode indexHash = HashCode.fromBytes(nativeGetIndexHash(nativeHandle));
+      cached = new CachedIndexHash(indexHash, modCount);
+      cachedIndexHash = cached;
+    }
+    return cached.indexHash;
   }
 
   private native byte[] nativeGetIndexHash(long nativeHandle);
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation looks up and updates the value in a single native call,
+   * which invokes the remapping function. If the function throws, the computed value
+   * is not written and the iterators over this map remain valid.
+   *
+   * @throws java.util.ConcurrentModificationException if the remapping function
+   *     modified this map; the modifications made by the function are not reverted
+   */
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    checkNotNull(remappingFunction, "remappingFunction");
+    checkCanModify();
+    byte[] dbKey = keySerializer.toBytes(key);
+    ValueRemapping<K, V> remapping = new ValueRemapping<>(key, valueSerializer,
+        remappingFunction, modCounter);
+    nativeCompute(getNativeHandle(), dbKey, remapping);
+    // Notified only once the value is written, so that the iterators remain valid
+    // if the function throws
+    notifyModified();
+    return remapping.getNewValue();
+  }
+
+  /**
+   * Adds the given delta to the value associated with the specified key in a single
+   * native call, and returns the new value. If there is no mapping for the key,
+   * the delta is added to zero. As {@link java.util.concurrent.atomic.AtomicLong#addAndGet},
+   * this method silently overflows.
+   *
+   * <p>This method is applicable only to the maps of {@code Long} values serialized with
+   * {@link StandardSerializers#fixed64()}.
+   *
+   * @param key a storage key
+   * @param delta a value to add; may be negative
+   * @return the updated value
+   * @throws IllegalStateException if this map is not valid; or if its values are not
+   *     serialized as fixed64
+   * @throws UnsupportedOperationException if this map is read-only
+   */
+  public long addAndGet(K key, long delta) {
+    if (!fixed64ValuesChecked) {
+      checkFixed64Values(valueSerializer);
+      fixed64ValuesChecked = true;
+    }
+    notifyModified();
+    byte[] dbKey = keySerializer.toBytes(key);
+    return nativeAddAndGet(getNativeHandle(), dbKey, delta);
+  }
+
   @Override
   public void remove(K key) {
     notifyModified();
@@ -303,13 +538,70 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
     nativeRemove(getNativeHandle(), dbKey);
   }
 
+  private native void nativeCompute(long nativeHandle, byte[] key,
+      ValueRemapping<K, V> remapping);
+
+  private native long nativeAddAndGet(long nativeHandle, byte[] key, long delta);
+
   private native void nativeRemove(long nativeHandle, byte[] key);
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation removes all the keys in a single native call.
+   *
+   * @param keys proof map keys, each must be 32-byte long when serialized
+   * @throws IllegalArgumentException if the size of any of the keys is not 32 bytes
+   */
+  @Override
+  public void removeAll(Collection<? extends K> keys) {
+    notifyModified();
+    nativeRemoveAll(getNativeHandle(), mergeKeysIntoByteArray(keys));
+  }
+
+  private native void nativeRemoveAll(long nativeHandle, byte[] keys);
+
   @Override
   public Iterator<K> keys() {
-    return StorageIterators.createIterator(
-        nativeCreateKeysIter(getNativeHandle()),
-        this::nativeKeysIterNext,
+    return keysIterator(nativeCreateKeysIter(getNativeHandle()), KeyPredicates.any());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param fromKey the lower bound of the keys (inclusive), must be 32-byte long
+   *     when serialized
+   * @throws IllegalArgumentException if the size of the key is not 32 bytes
+   */
+  @Override
+  public Iterator<K> keys(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return keysIterator(nativeCreateKeysIterFrom(getNativeHandle(), dbFromKey),
+        KeyPredicates.any());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param fromKey the lower bound of the keys (inclusive), must be 32-byte long
+   *     when serialized
+   * @param toKey the upper bound of the keys (exclusive), must be 32-byte long
+   *     when serialized
+   * @throws IllegalArgumentException if the size of any of the keys is not 32 bytes
+   */
+  @Override
+  public Iterator<K> keys(K fromKey, K toKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    byte[] dbToKey = keySerializer.toBytes(toKey);
+    return keysIterator(nativeCreateKeysIterFrom(getNativeHandle(), dbFromKey),
+        KeyPredicates.lessThan(dbToKey));
+  }
+
+  private Iterator<K> keysIterator(long iterNativeHandle, Predicate<byte[]> keyCondition) {
+    return StorageIterators.createChunkedIterator(
+        iterNativeHandle,
+        this::nativeKeysIterNextChunk,
+        keyCondition,
         this::nativeKeysIterFree,
         dbView,
         modCounter,
@@ -317,17 +609,49 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
     );
   }
 
+  private Iterator<byte[]> dbKeysIterator(long iterNativeHandle,
+      Predicate<byte[]> keyCondition) {
+    return StorageIterators.createChunkedIterator(
+        iterNativeHandle,
+        this::nativeKeysIterNextChunk,
+        keyCondition,
+        this::nativeKeysIterFree,
+        dbView,
+        modCounter,
+        Function.identity()
+    );
+  }
+
   private native long nativeCreateKeysIter(long nativeHandle);
 
-  private native byte[] nativeKeysIterNext(long iterNativeHandle);
+  private native long nativeCreateKeysIterFrom(long nativeHandle, byte[] fromKey);
+
+  private native byte[][] nativeKeysIterNextChunk(long iterNativeHandle, int chunkSize);
 
   private native void nativeKeysIterFree(long iterNativeHandle);
 
   @Override
   public Iterator<V> values() {
-    return StorageIterators.createIterator(
-        nativeCreateValuesIter(getNativeHandle()),
-        this::nativeValuesIterNext,
+    return valuesIterator(nativeCreateValuesIter(getNativeHandle()));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param fromKey the lower bound of the keys (inclusive), must be 32-byte long
+   *     when serialized
+   * @throws IllegalArgumentException if the size of the key is not 32 bytes
+   */
+  @Override
+  public Iterator<V> values(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return valuesIterator(nativeCreateValuesIterFrom(getNativeHandle(), dbFromKey));
+  }
+
+  private Iterator<V> valuesIterator(long iterNativeHandle) {
+    return StorageIterators.createChunkedIterator(
+        iterNativeHandle,
+        this::nativeValuesIterNextChunk,
         this::nativeValuesIterFree,
         dbView,
         modCounter,
@@ -337,15 +661,55 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private native long nativeCreateValuesIter(long nativeHandle);
 
-  private native byte[] nativeValuesIterNext(long iterNativeHandle);
+  private native long nativeCreateValuesIterFrom(long nativeHandle, byte[] fromKey);
+
+  private native byte[][] nativeValuesIterNextChunk(long iterNativeHandle, int chunkSize);
 
   private native void nativeValuesIterFree(long iterNativeHandle);
 
   @Override
   public Iterator<MapEntry<K, V>> entries() {
-    return StorageIterators.createIterator(
-        nativeCreateEntriesIter(getNativeHandle()),
-        this::nativeEntriesIterNext,
+    return entriesIterator(nativeCreateEntriesIter(getNativeHandle()), KeyPredicates.any());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param fromKey the lower bound of the keys (inclusive), must be 32-byte long
+   *     when serialized
+   * @throws IllegalArgumentException if the size of the key is not 32 bytes
+   */
+  @Override
+  public Iterator<MapEntry<K, V>> entries(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return entriesIterator(nativeCreateEntriesIterFrom(getNativeHandle(), dbFromKey),
+        KeyPredicates.any());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param fromKey the lower bound of the keys (inclusive), must be 32-byte long
+   *     when serialized
+   * @param toKey the upper bound of the keys (exclusive), must be 32-byte long
+   *     when serialized
+   * @throws IllegalArgumentException if the size of any of the keys is not 32 bytes
+   */
+  @Override
+  public Iterator<MapEntry<K, V>> entries(K fromKey, K toKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    byte[] dbToKey = keySerializer.toBytes(toKey);
+    return entriesIterator(nativeCreateEntriesIterFrom(getNativeHandle(), dbFromKey),
+        KeyPredicates.lessThan(dbToKey));
+  }
+
+  private Iterator<MapEntry<K, V>> entriesIterator(long iterNativeHandle,
+      Predicate<byte[]> keyCondition) {
+    return StorageIterators.createChunkedPairIterator(
+        iterNativeHandle,
+        this::nativeEntriesIterNextChunk,
+        keyCondition,
+        MapEntryInternal::new,
         this::nativeEntriesIterFree,
         dbView,
         modCounter,
@@ -355,7 +719,9 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private native long nativeCreateEntriesIter(long nativeHandle);
 
-  private native MapEntryInternal nativeEntriesIterNext(long iterNativeHandle);
+  private native long nativeCreateEntriesIterFrom(long nativeHandle, byte[] fromKey);
+
+  private native byte[][] nativeEntriesIterNextChunk(long iterNativeHandle, int chunkSize);
 
   private native void nativeEntriesIterFree(long iterNativeHandle);
 
@@ -368,4 +734,18 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   private native void nativeClear(long nativeHandle);
 
   private static native void nativeFree(long nativeHandle);
+
+  /**
+   * An index hash computed at the given modification count of the map.
+   */
+  private static final class CachedIndexHash {
+
+    final HashCode indexHash;
+    final int modCount;
+
+    CachedIndexHash(HashCode indexHash, int modCount) {
+      this.indexHash = indexHash;
+      this.modCount = modCount;
+    }
+  }
 }
@@ -20,14 +20,61 @@ import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.proxy.NativeHandle;
 import com.exonum.binding.core.proxy.ProxyDestructor;
 import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.storage.indices.ChunkedRustIter.ElementReader;
+import com.exonum.binding.core.storage.indices.ChunkedRustIter.NextChunkFunction;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterators;
+import com.google.common.primitives.Ints;
 import java.util.Iterator;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.LongConsumer;
 import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 final class StorageIterators {
 
+  private static final Logger logger = LogManager.getLogger(StorageIterators.class);
+
+  /**
+   * The name of the system property that specifies the maximum number of elements
+   * the chunked iterators fetch from native code in a single call.
+   */
+  @VisibleForTesting
+  static final String CHUNK_SIZE_PROPERTY = "exonum.storage.iteratorChunkSize";
+
+  @VisibleForTesting
+  static final int DEFAULT_CHUNK_SIZE = 64;
+
+  /**
+   * The maximum number of elements the chunked iterators fetch from native code in a single call.
+   */
+  static final int CHUNK_SIZE = parseChunkSize(System.getProperty(CHUNK_SIZE_PROPERTY));
+
+  /**
+   * Returns the chunk size specified by the given value of the system property.
+   * An invalid value is logged and replaced with the default chunk size: throwing
+   * from the class initializer would make every iterator unusable.
+   *
+   * @param value the value of the system property, or null if it is not set
+   */
+  @VisibleForTesting
+  static int parseChunkSize(@Nullable String value) {
+    if (value == null) {
+      return DEFAULT_CHUNK_SIZE;
+    }
+    Integer chunkSize = Ints.tryParse(value.trim());
+    if (chunkSize == null || chunkSize <= 0) {
+      logger.warn("The value of {} system property ({}) must be a positive integer, "
+          + "using the default chunk size ({})", CHUNK_SIZE_PROPERTY, value, DEFAULT_CHUNK_SIZE);
+      return DEFAULT_CHUNK_SIZE;
+    }
+    return chunkSize;
+  }
+
   /**
    * Creates a new iterator over an index.
    *
@@ -66,5 +113,157 @@ final class StorageIterators {
     return Iterators.transform(iterator, transformingFunction::apply);
   }
 
+  /**
+   * Creates a new iterator over an index that fetches the elements from native code
+   * in chunks of up to {@link #CHUNK_SIZE} elements.
+   *
+   * <p>The returned iterator is a {@link ChunkedRustIter}
+   * wrapped in a {@link RustIterAdapter}.
+   *
+   * @param nativeHandle nativeHandle of this iterator
+   * @param nextChunkFunction a function to call to get the next chunk of items,
+   *                          each encoded in a single byte array
+   * @param disposeOperation an operation to call to destroy the corresponding native iterator
+   * @param collectionView a database view of the collection over which to iterate
+   * @param modificationCounter a modification counter of the collection
+   * @param transformingFunction a function to apply to the byte arrays returned
+   *                             by native iterator
+   */
+  static <ElementT> Iterator<ElementT> createChunkedIterator(
+      long nativeHandle,
+      NextChunkFunction nextChunkFunction,
+      LongConsumer disposeOperation,
+      View collectionView,
+      ModificationCounter modificationCounter,
+      Function<byte[], ? extends ElementT> transformingFunction) {
+    return createChunkedIterator(nativeHandle, nextChunkFunction, KeyPredicates.any(),
+        disposeOperation, collectionView, modificationCounter, transformingFunction);
+  }
+
+  /**
+   * Creates a new iterator over an index that fetches the elements from native code
+   * in chunks of up to {@link #CHUNK_SIZE} elements, and ends at the first element
+   * that does not satisfy the given condition.
+   *
+   * @param nativeHandle nativeHandle of this iterator
+   * @param nextChunkFunction a function to call to get the next chunk of items,
+   *                          each encoded in a single byte array
+   * @param keyCondition a condition on the byte arrays returned by native iterator;
+   *                     the iteration ends at the first one that does not satisfy it
+   * @param disposeOperation an operation to call to destroy the corresponding native iterator
+   * @param collectionView a database view of the collection over which to iterate
+   * @param modificationCounter a modification counter of the collection
+   * @param transformingFunction a function to apply to the byte arrays returned
+   *                             by native iterator
+   * @see KeyPredicates
+   */
+  static <ElementT> Iterator<ElementT> createChunkedIterator(
+      long nativeHandle,
+      NextChunkFunction nextChunkFunction,
+      Predicate<byte[]> keyCondition,
+      LongConsumer disposeOperation,
+      View collectionView,
+      ModificationCounter modificationCounter,
+      Function<byte[], ? extends ElementT> transformingFunction) {
+    ElementReader<byte[]> elementReader = (chunk, offset) -> chunk[offset];
+    return createChunkedIterator(nativeHandle, nextChunkFunction, 1, elementReader,
+        keyCondition, disposeOperation, collectionView, modificationCounter,
+        transformingFunction);
+  }
+
+  /**
+   * Creates a new iterator over an index that fetches the pairs of elements
+   * (e.g., map entries) from native code in chunks of up to {@link #CHUNK_SIZE} pairs.
+   *
+   * <p>The returned iterator is a {@link ChunkedRustIter}
+   * wrapped in a {@link RustIterAdapter}.
+   *
+   * @param nativeHandle nativeHandle of this iterator
+   * @param nextChunkFunction a function to call to get the next chunk of items,
+   *                          each encoded in two consecutive byte arrays
+   * @param pairConstructor a function to create a native pair from its two byte arrays
+   * @param disposeOperation an operation to call to destroy the corresponding native iterator
+   * @param collectionView a database view of the collection over which to iterate
+   * @param modificationCounter a modification counter of the collection
+   * @param transformingFunction a function to apply to the pairs returned by native iterator
+   */
+  static <ElementT, NativeT> Iterator<ElementT> createChunkedPairIterator(
+      long nativeHandle,
+      NextChunkFunction nextChunkFunction,
+      BiFunction<byte[], byte[], NativeT> pairConstructor,
+      LongConsumer disposeOperation,
+      View collectionView,
+      ModificationCounter modificationCounter,
+      Function<? super NativeT, ? extends ElementT> transformingFunction) {
+    return createChunkedPairIterator(nativeHandle, nextChunkFunction, KeyPredicates.any(),
+        pairConstructor, disposeOperation, collectionView, modificationCounter,
+        transformingFunction);
+  }
+
+  /**
+   * Creates a new iterator over an index that fetches the pairs of elements
+   * (e.g., map entries) from native code in chunks of up to {@link #CHUNK_SIZE} pairs,
+   * and ends at the first pair which first element (e.g., the key of a map entry)
+   * does not satisfy the given condition.
+   *
+   * @param nativeHandle nativeHandle of this iterator
+   * @param nextChunkFunction a function to call to get the next chunk of items,
+   *                          each encoded in two consecutive byte arrays
+   * @param keyCondition a condition on the first byte array of each pair;
+   *                     the iteration ends at the first pair that does not satisfy it
+   * @param pairConstructor a function to create a native pair from its two byte arrays
+   * @param disposeOperation an operation to call to destroy the corresponding native iterator
+   * @param collectionView a database view of the collection over which to iterate
+   * @param modificationCounter a modification counter of the collection
+   * @param transformingFunction a function to apply to the pairs returned by native iterator
+   * @see KeyPredicates
+   */
+  static <ElementT, NativeT> Iterator<ElementT> createChunkedPairIterator(
+      long nativeHandle,
+      NextChunkFunction nextChunkFunction,
+      Predicate<byte[]> keyCondition,
+      BiFunction<byte[], byte[], NativeT> pairConstructor,
+      LongConsumer disposeOperation,
+      View collectionView,
+      ModificationCounter modificationCounter,
+      Function<? super NativeT, ? extends ElementT> transformingFunction) {
+    ElementReader<NativeT> elementReader =
+        (chunk, offset) -> pairConstructor.apply(chunk[offset], chunk[offset + 1]);
+    return createChunkedIterator(nativeHandle, nextChunkFunction, 2, elementReader,
+        keyCondition, disposeOperation, collectionView, modificationCounter,
+        transformingFunction);
+  }
+
+  private static <ElementT, NativeT> Iterator<ElementT> createChunkedIterator(
+      long nativeHandle,
+      NextChunkFunction nextChunkFunction,
+      int arraysPerElement,
+      ElementReader<NativeT> elementReader,
+      Predicate<byte[]> keyCondition,
+      LongConsumer disposeOperation,
+      View collectionView,
+      ModificationCounter modificationCounter,
+      Function<? super NativeT, ? extends ElementT> transformingFunction) {
+
+    // Register the destructor first.
+    NativeHandle handle = new NativeHandle(nativeHandle);
+    Cleaner cleaner = collectionView.getCleaner();
+    cleaner.add(new ProxyDestructor(handle, RustIter.class, disposeOperation));
+
+    Iterator<NativeT> iterator = new RustIterAdapter<>(
+        new ChunkedRustIter<>(
+            handle,
+            nextChunkFunction,
+            CHUNK_SIZE,
+            arraysPerElement,
+            elementReader,
+            keyCondition,
+            modificationCounter
+        )
+    );
+
+    return Iterators.transform(iterator, transformingFunction::apply);
+  }
+
   private StorageIterators() {}
 }
@@ -18,8 +18,12 @@ package com.exonum.binding.core.storage.indices;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.common.serialization.StandardSerializers;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.Arrays;
 import java.util.Collection;
 
 final class StoragePreconditions {
@@ -138,6 +142,24 @@ final class StoragePreconditions {
     return index;
   }
 
+  /**
+   * Checks that the specified indexes are valid positions of a range [from, to)
+   * in a sequence of the given size: {@code 0 <= from <= to <= size}.
+   *
+   * @param from the index of the first element of the range
+   * @param to the index after the last element of the range
+   * @param size size of the sequence
+   * @throws IndexOutOfBoundsException if the indexes are not valid positions
+   *     or {@code to} is less than {@code from}
+   */
+  static void checkPositionIndexes(long from, long to, long size) {
+    checkPositionIndex(to, size);
+    if (from < 0 || from > to) {
+      throw new IndexOutOfBoundsException("from index (" + from
+          + ") must be in range [0, " + to + "]");
+    }
+  }
+
   /**
    * Checks that the first element index of the range is less than the index after
    * the last element.
@@ -177,5 +199,33 @@ final class StoragePreconditions {
             + "of another type (%s)", requestedIndexType, cachedIndex.getAddress(), cachedIndex);
   }
 
+  /**
+   * Checks that the given serializer converts {@code Long} values to and from
+   * the little-endian format of {@link StandardSerializers#fixed64()}, which the native
+   * arithmetic operations use.
+   *
+   * @param valueSerializer a serializer of the values of an index
+   * @throws IllegalStateException if the serializer uses another type or format
+   */
+  static void checkFixed64Values(Serializer<?> valueSerializer) {
+    long probe = 0x0102030405060708L;
+    byte[] fixed64Probe = StandardSerializers.fixed64().toBytes(probe);
+    boolean isFixed64;
+    try {
+      Object value = valueSerializer.fromBytes(fixed64Probe);
+      isFixed64 = Long.valueOf(probe).equals(value)
+          && Arrays.equals(toBytesUnchecked(valueSerializer, value), fixed64Probe);
+    } catch (RuntimeException e) {
+      isFixed64 = false;
+    }
+    checkState(isFixed64, "The values must be serialized as fixed64, but the serializer (%s) "
+        + "uses another format", valueSerializer);
+  }
+
+  @SuppressWarnings("unchecked") // The value is produced by the same serializer
+  private static <V> byte[] toBytesUnchecked(Serializer<V> serializer, Object value) {
+    return serializer.toBytes((V) value);
+  }
+
   private StoragePreconditions() {}
 }
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.core.blockchain.Blockchain;
+import com.exonum.binding.core.storage.database.View;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * A cache of the deserialized values of read-only indexes. It allows to skip the native call
+ * and the deserialization of the values that are read often, e.g., the configuration entries
+ * or the popular map keys.
+ *
+ * <p>The cache is opt-in: the reads go through it only if an index is
+ * {@linkplain #cachingMap(MapIndex) wrapped} with a caching decorator.
+ * Only the indexes created with a {@linkplain com.exonum.binding.core.storage.database.Snapshot
+ * snapshot} can be wrapped, because the values of a snapshot never change. The values are keyed
+ * by the index address, the key in the index and the
+ * {@linkplain com.exonum.binding.core.blockchain.Blockchain#getHeight() blockchain height}
+ * of the snapshot, hence the decorators of the snapshots at different heights may share
+ * the same cache. The height is read from the snapshot of the index when it is wrapped.
+ *
+ * <p>The cache holds up to the given number of values, evicting the least recently used ones.
+ * As the values at the previous heights are rarely read after a new block is committed,
+ * the cache evicts all of them once an index of a snapshot at a greater height is wrapped,
+ * i.e., on the first read request after each commit. The values at the previous heights
+ * may still be read and cached again, until a snapshot at a greater height is wrapped.
+ *
+ * <p>The keys of the cached maps must implement {@link Object#equals(Object)}
+ * and {@link Object#hashCode()} consistently with their serialized form, and must not
+ * be modified after they are passed to the cache. The cached values are shared by
+ * all the readers, therefore, they must not be modified either.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class ValueCache {
+
+  private final Cache<CacheKey, Optional<Object>> cache;
+
+  /** The greatest height of the wrapped indexes. */
+  private final AtomicLong latestHeight = new AtomicLong(Long.MIN_VALUE);
+
+  private ValueCache(long maximumSize) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Creates a new cache.
+   *
+   * @param maximumSize the maximum number of values (including the absent ones) the cache holds
+   * @throws IllegalArgumentException if the size is not positive
+   */
+  public static ValueCache newInstance(long maximumSize) {
+    checkArgument(maximumSize > 0, "maximumSize (%s) must be positive", maximumSize);
+    return new ValueCache(maximumSize);
+  }
+
+  /**
+   * Returns a read-only view of the given map which reads the values through this cache.
+   * Only {@link MapIndex#get}, {@link MapIndex#getAll} and {@link MapIndex#containsKey}
+   * use the cache; the iterators read the map directly.
+   *
+   * @param map a map created with a snapshot
+   * @throws IllegalArgumentException if the map is not created with a snapshot
+   * @throws RuntimeException if the "genesis block" was not created
+   */
+  public <K, V> MapIndex<K, V> cachingMap(MapIndex<K, V> map) {
+    checkReadOnly(map);
+    long height = getHeight(map);
+    evictPreviousHeights(height);
+    return new CachingMapIndex<>(map, height, this);
+  }
+
+  /**
+   * Returns a read-only view of the given map which reads the values through this cache
+   * at the given height. The height is not checked against the snapshot of the map,
+   * which allows to use the cache with a database that has no blockchain.
+   */
+  @VisibleForTesting
+  <K, V> MapIndex<K, V> cachingMap(MapIndex<K, V> map, long height) {
+    checkReadOnly(map);
+    evictPreviousHeights(height);
+    return new CachingMapIndex<>(map, height, this);
+  }
+
+  /**
+   * Returns a read-only view of the given entry which reads the value through this cache.
+   *
+   * @param entry an entry created with a snapshot
+   * @throws IllegalArgumentException if the entry is not created with a snapshot
+   * @throws RuntimeException if the "genesis block" was not created
+   */
+  public <T> CachingEntryIndex<T> cachingEntry(EntryIndexProxy<T> entry) {
+    checkReadOnly(entry);
+    long height = getHeight(entry);
+    evictPreviousHeights(height);
+    return new CachingEntryIndex<>(entry, height, this);
+  }
+
+  /**
+   * Returns a read-only view of the given entry which reads the value through this cache
+   * at the given height. The height is not checked against the snapshot of the entry.
+   */
+  @VisibleForTesting
+  <T> CachingEntryIndex<T> cachingEntry(EntryIndexProxy<T> entry, long height) {
+    checkReadOnly(entry);
+    evictPreviousHeights(height);
+    return new CachingEntryIndex<>(entry, height, this);
+  }
+
+  private static void checkReadOnly(StorageIndex index) {
+    checkNotNull(index, "index");
+    checkArgument(index instanceof AbstractIndexProxy
+            && !((AbstractIndexProxy) index).dbView.canModify(),
+        "Only the indexes created with a snapshot can be cached, but %s is not", index);
+  }
+
+  /**
+   * Returns the blockchain height of the snapshot the given index is created with.
+   */
+  private static long getHeight(StorageIndex index) {
+    View snapshot = ((AbstractIndexProxy) index).dbView;
+    return Blockchain.newInstance(snapshot).getHeight();
+  }
+
+  /**
+   * Evicts the values at the heights less than the given one, if it is greater than
+   * the height of any previously wrapped index.
+   */
+  private void evictPreviousHeights(long height) {
+    long latest = latestHeight.get();
+    while (latest < height) {
+      if (latestHeight.compareAndSet(latest, height)) {
+        cache.asMap().keySet().removeIf(key -> key.height < height);
+        return;
+      }
+      latest = latestHeight.get();
+    }
+  }
+
+  /**
+   * Returns the cached value of the given key in the index; or {@code null}
+   * if it is not cached. The absent values are cached as {@code Optional.empty()}.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked") // Each address-key pair corresponds to the values of one type
+  <V> Optional<V> getIfPresent(IndexAddress address, @Nullable Object key, long height) {
+    return (Optional<V>) (Optional<?>) cache.getIfPresent(new CacheKey(address, key, height));
+  }
+
+  /**
+   * Caches the value of the given key in the index.
+   */
+  void put(IndexAddress address, @Nullable Object key, long height, @Nullable Object value) {
+    cache.put(new CacheKey(address, key, height), Optional.ofNullable(value));
+  }
+
+  /**
+   * Removes all the values from this cache.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Returns the approximate number of values in this cache.
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Returns the statistics of this cache: the number of hits, misses and evictions.
+   * The statistics are not reset on {@linkplain #invalidateAll() invalidation}.
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("size", size())
+        .add("stats", stats())
+        .toString();
+  }
+
+  private static final class CacheKey {
+
+    final IndexAddress address;
+    @Nullable final Object key;
+    final long height;
+
+    CacheKey(IndexAddress address, @Nullable Object key, long height) {
+      this.address = address;
+      this.key = key;
+      this.height = height;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return height == that.height
+          && address.equals(that.address)
+          && Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(address, key, height);
+    }
+  }
+}
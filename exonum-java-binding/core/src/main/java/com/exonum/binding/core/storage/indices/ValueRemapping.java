@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import com.exonum.binding.common.serialization.Serializer;
+import java.util.ConcurrentModificationException;
+import java.util.function.BiFunction;
+import javax.annotation.Nullable;
+
+/**
+ * A remapping of the value of a map key, which the native code applies while it updates
+ * the map in a single call. It deserializes the current value, applies the user function
+ * and serializes the result.
+ *
+ * <p>The native code holds no references to the map while it calls {@link #remap(byte[])},
+ * but the map must not be modified by the user function, for the native code overwrites
+ * the value afterwards. Such modifications are detected with the modification counter
+ * of the map, and the computed value is not written then. The modifications made
+ * by the function itself have already reached the database and are not reverted.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of values in the map
+ */
+final class ValueRemapping<K, V> {
+
+  private final K key;
+  private final Serializer<V> valueSerializer;
+  private final BiFunction<? super K, ? super V, ? extends V> remappingFunction;
+  private final ModificationCounter modCounter;
+  private final int initialModCount;
+  @Nullable private V newValue;
+
+  /**
+   * Creates a remapping of the value of the given key.
+   *
+   * @param key a key in the map
+   * @param valueSerializer a serializer of values
+   * @param remappingFunction a function computing the new value from the current one
+   * @param modCounter the modification counter of the map; it must be notified
+   *     of the modification only after the computed value is written
+   */
+  ValueRemapping(K key, Serializer<V> valueSerializer,
+      BiFunction<? super K, ? super V, ? extends V> remappingFunction,
+      ModificationCounter modCounter) {
+    this.key = key;
+    this.valueSerializer = valueSerializer;
+    this.remappingFunction = remappingFunction;
+    this.modCounter = modCounter;
+    this.initialModCount = modCounter.getCurrentValue();
+  }
+
+  /**
+   * Computes the new serialized value from the current one. Invoked by the native code.
+   *
+   * @param dbValue the current serialized value; or null if the key has no mapping
+   * @return the new serialized value; or null if the mapping must be removed
+   * @throws ConcurrentModificationException if the function modified the map, in which case
+   *     the computed value is not written
+   */
+  @Nullable
+  byte[] remap(@Nullable byte[] dbValue) {
+    V oldValue = (dbValue == null) ? null : valueSerializer.fromBytes(dbValue);
+    newValue = remappingFunction.apply(key, oldValue);
+    if (modCounter.isModifiedSince(initialModCount)) {
+      throw new ConcurrentModificationException("The remapping function modified the map");
+    }
+    return (newValue == null) ? null : valueSerializer.toBytes(newValue);
+  }
+
+  /**
+   * Returns the value computed by the last invocation of {@link #remap(byte[])}.
+   */
+  @Nullable
+  V getNewValue() {
+    return newValue;
+  }
+}
@@ -38,7 +38,6 @@ import java.util.Spliterators;
 import java.util.function.LongSupplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
-import javax.annotation.Nullable;
 
 /**
  * A value set is an index that contains no duplicate elements (values).
@@ -56,7 +55,9 @@ import javax.annotation.Nullable;
  *
  * <p>All method arguments are non-null by default.
  *
- * <p>This class is not thread-safe and and its instances shall not be shared between threads.
+ * <p>This class is not thread-safe and its instances shall not be shared between threads,
+ * unless created with a read-only {@linkplain com.exonum.binding.core.storage.database.Snapshot
+ * snapshot}, which allows concurrent reads.
  *
  * <p>When the view goes out of scope, this set is destroyed. Subsequent use of the closed set
  * is prohibited and will result in {@link IllegalStateException}.
@@ -239,9 +240,9 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
    * @throws IllegalStateException if this set is not valid
    */
   public Iterator<HashCode> hashes() {
-    return StorageIterators.createIterator(
+    return StorageIterators.createChunkedIterator(
         nativeCreateHashIterator(getNativeHandle()),
-        this::nativeHashIteratorNext,
+        this::nativeHashIteratorNextChunk,
         this::nativeHashIteratorFree,
         dbView,
         modCounter,
@@ -257,9 +258,10 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
    */
   @Override
   public Iterator<Entry<E>> iterator() {
-    return StorageIterators.createIterator(
+    return StorageIterators.createChunkedPairIterator(
         nativeCreateIterator(getNativeHandle()),
-        this::nativeIteratorNext,
+        this::nativeIteratorNextChunk,
+        EntryInternal::new,
         this::nativeIteratorFree,
         dbView,
         modCounter,
@@ -268,7 +270,7 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
 
   private native long nativeCreateIterator(long nativeHandle);
 
-  private native EntryInternal nativeIteratorNext(long iterNativeHandle);
+  private native byte[][] nativeIteratorNextChunk(long iterNativeHandle, int chunkSize);
 
   private native void nativeIteratorFree(long iterNativeHandle);
 
@@ -334,13 +336,12 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
   }
 
   /**
-   * An internal entry: native API.
+   * An internal entry: a hash-value pair as returned by the native iterator.
    */
   private static class EntryInternal {
     final byte[] hash;
     final byte[] value;
 
-    @SuppressWarnings("unused")  // native API
     private EntryInternal(byte[] hash, byte[] value) {
       this.hash = checkNotNull(hash);
       this.value = checkStorageValue(value);
@@ -388,8 +389,7 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
 
   private native long nativeCreateHashIterator(long nativeHandle);
 
-  @Nullable
-  private native byte[] nativeHashIteratorNext(long iterNativeHandle);
+  private native byte[][] nativeHashIteratorNextChunk(long iterNativeHandle, int chunkSize);
 
   private native void nativeHashIteratorFree(long iterNativeHandle);
 
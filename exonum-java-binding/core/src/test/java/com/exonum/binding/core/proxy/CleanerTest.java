@@ -24,6 +24,13 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.testing.NullPointerTester;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
@@ -178,4 +185,28 @@ class CleanerTest {
     assertThat(context.getNumRegisteredActions())
         .isZero();
   }
+
+  @Test
+  void addFromSeveralThreads() throws Exception {
+    int numThreads = 4;
+    int numActionsPerThread = 200;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      Callable<Void> task = () -> {
+        for (int i = 0; i < numActionsPerThread; i++) {
+          context.add(() -> { });
+        }
+        return null;
+      };
+      List<Future<Void>> results = executor.invokeAll(Collections.nCopies(numThreads, task));
+      for (Future<Void> result : results) {
+        result.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(context.getNumRegisteredActions())
+        .isEqualTo(numThreads * numActionsPerThread);
+  }
 }
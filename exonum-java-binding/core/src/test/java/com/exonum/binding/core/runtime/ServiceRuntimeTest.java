@@ -25,6 +25,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.exonum.binding.core.service.SnapshotCache;
 import com.exonum.binding.core.service.adapters.UserServiceAdapter;
 import com.exonum.binding.core.service.adapters.ViewFactory;
 import com.exonum.binding.core.transport.Server;
@@ -123,6 +124,14 @@ class ServiceRuntimeTest {
       assertThat(e).hasMessageFindingMatch("Unknown.+artifact");
       assertThat(e).hasMessageContaining(serviceId);
     }
+
+    @Test
+    void shutdownReleasesCommittedSnapshots() {
+      serviceRuntime.shutdown();
+
+      SnapshotCache committedSnapshots = rootInjector.getInstance(SnapshotCache.class);
+      verify(committedSnapshots).close();
+    }
   }
 
   @Test
@@ -136,7 +145,7 @@ class ServiceRuntimeTest {
     ServiceLoader serviceLoader = mock(ServiceLoader.class);
     Server s1 = mock(Server.class);
     assertThrows(IllegalArgumentException.class,
-        () -> new ServiceRuntime(injector, serviceLoader, s1, PORT));
+        () -> new ServiceRuntime(injector, serviceLoader, s1, PORT, mock(SnapshotCache.class)));
   }
 }
 
@@ -150,6 +159,7 @@ class TestFrameworkModule extends AbstractModule {
     bind(Integer.class).annotatedWith(named(SERVICE_WEB_SERVER_PORT))
         .toInstance(PORT);
     bindToSingletonMock(ViewFactory.class);
+    bindToSingletonMock(SnapshotCache.class);
   }
 
   private <T> void bindToSingletonMock(Class<T> type) {
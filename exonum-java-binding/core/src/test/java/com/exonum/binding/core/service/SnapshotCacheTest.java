@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.service.SnapshotCache.Lease;
+import com.exonum.binding.core.storage.database.Snapshot;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class SnapshotCacheTest {
+
+  @Test
+  void newCacheIsEmpty() {
+    SnapshotCache cache = new SnapshotCache(2);
+
+    assertThat(cache.size(), equalTo(0));
+    assertFalse(cache.borrowLatest().isPresent());
+    assertFalse(cache.borrow(1L).isPresent());
+  }
+
+  @Test
+  void cannotCreateWithNegativeRetainedHeights() {
+    assertThrows(IllegalArgumentException.class, () -> new SnapshotCache(-1));
+  }
+
+  @Test
+  void borrowLatest() {
+    SnapshotCache cache = new SnapshotCache(2);
+    Snapshot s1 = mockSnapshot();
+    Snapshot s2 = mockSnapshot();
+    cache.put(1L, s1);
+    cache.put(2L, s2);
+
+    Optional<Lease> lease = cache.borrowLatest();
+
+    assertTrue(lease.isPresent());
+    assertThat(lease.get().getHeight(), equalTo(2L));
+    assertThat(lease.get().getSnapshot(), sameInstance(s2));
+  }
+
+  @Test
+  void borrowAtHeight() {
+    SnapshotCache cache = new SnapshotCache(2);
+    Snapshot s1 = mockSnapshot();
+    cache.put(1L, s1);
+    cache.put(2L, mockSnapshot());
+
+    Optional<Lease> lease = cache.borrow(1L);
+
+    assertTrue(lease.isPresent());
+    assertThat(lease.get().getSnapshot(), sameInstance(s1));
+    assertFalse(cache.borrow(3L).isPresent());
+  }
+
+  @Test
+  void putEvictsAndDestroysOldestSnapshot() {
+    SnapshotCache cache = new SnapshotCache(2);
+    Snapshot s1 = mockSnapshot();
+    cache.put(1L, s1);
+    cache.put(2L, mockSnapshot());
+    cache.put(3L, mockSnapshot());
+
+    assertThat(cache.size(), equalTo(2));
+    assertFalse(cache.borrow(1L).isPresent());
+    assertTrue(s1.getCleaner().isClosed());
+  }
+
+  @Test
+  void evictedSnapshotIsDestroyedWhenReleased() {
+    SnapshotCache cache = new SnapshotCache(1);
+    Snapshot s1 = mockSnapshot();
+    cache.put(1L, s1);
+
+    Lease l1 = cache.borrowLatest().get();
+    Lease l2 = cache.borrowLatest().get();
+    cache.put(2L, mockSnapshot());
+
+    // Still borrowed
+    assertFalse(s1.getCleaner().isClosed());
+
+    l1.close();
+    assertFalse(s1.getCleaner().isClosed());
+
+    l2.close();
+    assertTrue(s1.getCleaner().isClosed());
+  }
+
+  @Test
+  void releasedLeaseDoesNotProvideSnapshot() {
+    SnapshotCache cache = new SnapshotCache(1);
+    cache.put(1L, mockSnapshot());
+    Lease lease = cache.borrowLatest().get();
+
+    lease.close();
+
+    assertThrows(IllegalStateException.class, lease::getSnapshot);
+  }
+
+  @Test
+  void repeatedReleaseHasNoEffect() {
+    SnapshotCache cache = new SnapshotCache(1);
+    Snapshot s1 = mockSnapshot();
+    cache.put(1L, s1);
+    Lease l1 = cache.borrowLatest().get();
+    Lease l2 = cache.borrowLatest().get();
+    cache.put(2L, mockSnapshot());
+
+    l1.close();
+    l1.close();
+
+    assertFalse(s1.getCleaner().isClosed());
+  }
+
+  @Test
+  void putRejectsNonIncreasingHeight() {
+    SnapshotCache cache = new SnapshotCache(2);
+    cache.put(2L, mockSnapshot());
+    Snapshot snapshot = mockSnapshot();
+
+    assertThrows(IllegalArgumentException.class, () -> cache.put(2L, snapshot));
+    assertTrue(snapshot.getCleaner().isClosed());
+    assertThat(cache.size(), equalTo(1));
+  }
+
+  @Test
+  void disabledCacheDestroysSnapshots() {
+    SnapshotCache cache = new SnapshotCache(0);
+    Snapshot snapshot = mockSnapshot();
+
+    cache.put(1L, snapshot);
+
+    assertFalse(cache.isEnabled());
+    assertTrue(snapshot.getCleaner().isClosed());
+    assertFalse(cache.borrowLatest().isPresent());
+  }
+
+  @Test
+  void closeDestroysUnborrowedSnapshots() {
+    SnapshotCache cache = new SnapshotCache(2);
+    Snapshot s1 = mockSnapshot();
+    Snapshot s2 = mockSnapshot();
+    cache.put(1L, s1);
+    cache.put(2L, s2);
+    Lease lease = cache.borrowLatest().get();
+
+    cache.close();
+
+    assertTrue(s1.getCleaner().isClosed());
+    assertFalse(s2.getCleaner().isClosed());
+    assertFalse(cache.borrowLatest().isPresent());
+
+    lease.close();
+    assertTrue(s2.getCleaner().isClosed());
+  }
+
+  @Test
+  void putAfterCloseDestroysSnapshot() {
+    SnapshotCache cache = new SnapshotCache(2);
+    cache.close();
+    Snapshot snapshot = mockSnapshot();
+
+    cache.put(1L, snapshot);
+
+    assertTrue(snapshot.getCleaner().isClosed());
+    assertThat(cache.size(), equalTo(0));
+  }
+
+  private static Snapshot mockSnapshot() {
+    Snapshot snapshot = mock(Snapshot.class);
+    Cleaner cleaner = new Cleaner();
+    when(snapshot.getCleaner()).thenReturn(cleaner);
+    return snapshot;
+  }
+}
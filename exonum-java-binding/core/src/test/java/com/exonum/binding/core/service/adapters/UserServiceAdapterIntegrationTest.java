@@ -30,6 +30,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,6 +38,7 @@ import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.service.BlockCommittedEvent;
 import com.exonum.binding.core.service.Service;
+import com.exonum.binding.core.service.SnapshotCache;
 import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.transaction.RawTransaction;
 import com.exonum.binding.core.transaction.Transaction;
@@ -70,6 +72,9 @@ class UserServiceAdapterIntegrationTest {
   @Mock
   private Snapshot snapshot;
 
+  @Mock
+  private SnapshotCache committedSnapshots;
+
   @InjectMocks
   private UserServiceAdapter serviceAdapter;
 
@@ -218,6 +223,19 @@ class UserServiceAdapterIntegrationTest {
     assertThrows(IllegalStateException.class, () -> serviceAdapter.mountPublicApiHandler(0x0B));
   }
 
+  @Test
+  void closeKeepsSharedCommittedSnapshots() {
+    Router router = mock(RouterImpl.class);
+    when(server.createRouter())
+        .thenReturn(router);
+    serviceAdapter.mountPublicApiHandler(0x0A);
+
+    serviceAdapter.close();
+
+    // The snapshots are shared with other services and released by the runtime
+    verify(committedSnapshots, never()).close();
+  }
+
   @Test
   void afterCommit_ValidatorNode() {
     when(viewFactory.createSnapshot(eq(SNAPSHOT_HANDLE), any(Cleaner.class)))
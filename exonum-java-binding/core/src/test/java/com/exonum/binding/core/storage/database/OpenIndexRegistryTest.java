@@ -67,6 +67,21 @@ class OpenIndexRegistryTest {
     }
   }
 
+  @Test
+  void registerKeepsFirstIndexIfPermitsDuplicates() {
+    OpenIndexRegistry registry = new OpenIndexRegistry(true);
+    IndexAddress address = IndexAddress.valueOf("name");
+    StorageIndex index = mock(StorageIndex.class, "index 1");
+    when(index.getAddress()).thenReturn(address);
+    StorageIndex otherIndex = mock(StorageIndex.class, "other index");
+    when(otherIndex.getAddress()).thenReturn(address);
+
+    registry.registerIndex(index);
+    registry.registerIndex(otherIndex);
+
+    assertThat(registry.findIndex(address)).hasValue(index);
+  }
+
   @Test
   void findUnknownIndex() {
     IndexAddress unknownAddress = IndexAddress.valueOf("Unknown");
@@ -34,6 +34,13 @@ import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.storage.database.TemporaryDb;
 import com.exonum.binding.core.storage.database.View;
 import com.exonum.binding.test.RequiresNativeLibrary;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -155,6 +162,37 @@ abstract class BaseIndexProxyTestable<IndexT extends StorageIndex> {
     }
   }
 
+  @Test
+  void indexesOfSnapshotCanBeUsedConcurrently() throws Exception {
+    String name = "test_index";
+    int numThreads = 4;
+    int numReadsPerThread = 100;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try (Cleaner cleaner = new Cleaner()) {
+      Fork fork = database.createFork(cleaner);
+      update(create(name, fork));
+      database.merge(fork);
+
+      Snapshot snapshot = database.createSnapshot(cleaner);
+      Object expected = getAnyElement(create(name, snapshot));
+
+      // Open and read the index created with the same snapshot from several threads
+      Callable<Void> reader = () -> {
+        for (int i = 0; i < numReadsPerThread; i++) {
+          IndexT index = create(name, snapshot);
+          assertThat(getAnyElement(index), equalTo(expected));
+        }
+        return null;
+      };
+      List<Future<Void>> results = executor.invokeAll(Collections.nCopies(numThreads, reader));
+      for (Future<Void> result : results) {
+        result.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   void indexConstructorThrowsIfIndexWithSameNameButOtherTypeIsOpened()
       throws CloseFailuresException {
@@ -29,19 +29,28 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.proxy.CloseFailuresException;
 import com.exonum.binding.core.storage.database.Fork;
 import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.storage.database.View;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -205,6 +214,68 @@ abstract class BaseListIndexIntegrationTestable
     }
   }
 
+  @Test
+  void getRange() {
+    runTestWithView(database::createFork, (l) -> {
+      List<String> elements = TestStorageItems.values;
+      l.addAll(elements);
+
+      assertThat(l.getRange(0, elements.size()), equalTo(elements));
+      assertThat(l.getRange(2, 5), equalTo(elements.subList(2, 5)));
+      assertThat(l.getRange(3, 3), equalTo(Collections.emptyList()));
+    });
+  }
+
+  @Test
+  void readElement() {
+    runTestWithView(database::createFork, (l) -> {
+      l.add(V1);
+      l.add(V2);
+      ByteBuffer target = ByteBuffer.allocateDirect(16);
+
+      int size = l.readElement(1, target);
+
+      target.flip();
+      assertThat(size, equalTo(V2.length()));
+      assertThat(StandardSerializers.string().fromBuffer(target), equalTo(V2));
+    });
+  }
+
+  @Test
+  void readElementInvalidIndex() {
+    runTestWithView(database::createFork, (l) -> {
+      l.add(V1);
+      ByteBuffer target = ByteBuffer.allocateDirect(16);
+
+      assertThrows(IndexOutOfBoundsException.class, () -> l.readElement(1, target));
+    });
+  }
+
+  @Test
+  void getWithBuffer() {
+    runTestWithView(database::createFork, (l) -> {
+      String largeElement = Strings.repeat("e", 1024);
+      l.add(V1);
+      l.add(largeElement);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+
+      assertThat(l.get(0, buffer), equalTo(V1));
+      assertThat(l.get(1, buffer), equalTo(largeElement));
+    });
+  }
+
+  @Test
+  void getRangeInvalidIndexes() {
+    runTestWithView(database::createFork, (l) -> {
+      l.add(V1);
+      l.add(V2);
+
+      assertThrows(IndexOutOfBoundsException.class, () -> l.getRange(-1, 1));
+      assertThrows(IndexOutOfBoundsException.class, () -> l.getRange(0, 3));
+      assertThrows(IndexOutOfBoundsException.class, () -> l.getRange(2, 1));
+    });
+  }
+
   @Test
   void getLastEmptyList() {
     runTestWithView(database::createFork, (l) -> {
@@ -399,6 +470,67 @@ abstract class BaseListIndexIntegrationTestable
     });
   }
 
+  @Test
+  void parallelStreamOfSnapshotList() throws Exception {
+    try (Cleaner cleaner = new Cleaner()) {
+      // Initialize the list with enough elements to be read in several ranges
+      List<String> elements = IntStream.range(0, 5 * ListSpliterator.RANGE_SIZE)
+          .mapToObj(i -> "v" + i)
+          .collect(toList());
+      Fork fork = database.createFork(cleaner);
+      ListIndex<String> forkList = this.create(LIST_NAME, fork);
+      forkList.addAll(elements);
+      database.merge(fork);
+
+      Snapshot snapshot = database.createSnapshot(cleaner);
+      ListIndex<String> list = this.create(LIST_NAME, snapshot);
+
+      List<String> streamElements = list.stream()
+          .parallel()
+          .collect(toList());
+
+      assertThat(streamElements, equalTo(elements));
+    }
+  }
+
+  @Test
+  void sharedSnapshotListCanBeReadConcurrently() throws Exception {
+    int numThreads = 4;
+    int numReadsPerThread = 100;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try (Cleaner cleaner = new Cleaner()) {
+      List<String> elements = IntStream.range(0, 2 * ListSpliterator.RANGE_SIZE)
+          .mapToObj(i -> "v" + i)
+          .collect(toList());
+      Fork fork = database.createFork(cleaner);
+      ListIndex<String> forkList = this.create(LIST_NAME, fork);
+      forkList.addAll(elements);
+      database.merge(fork);
+
+      // Share a single list proxy between the threads
+      Snapshot snapshot = database.createSnapshot(cleaner);
+      ListIndex<String> list = this.create(LIST_NAME, snapshot);
+      int size = elements.size();
+      Callable<Void> reader = () -> {
+        for (int i = 0; i < numReadsPerThread; i++) {
+          assertThat(list.size(), equalTo((long) size));
+          assertFalse(list.isEmpty());
+          assertThat(list.get(i % size), equalTo(elements.get(i % size)));
+          assertThat(list.getLast(), equalTo(elements.get(size - 1)));
+          assertThat(list.getRange(0, i % size), equalTo(elements.subList(0, i % size)));
+        }
+        assertThat(list.stream().parallel().collect(toList()), equalTo(elements));
+        return null;
+      };
+      List<Future<Void>> results = executor.invokeAll(Collections.nCopies(numThreads, reader));
+      for (Future<Void> result : results) {
+        result.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   void streamIsLateBinding() {
     runTestWithView(database::createFork, (l) -> {
@@ -456,10 +588,10 @@ abstract class BaseListIndexIntegrationTestable
   }
 
   private void runTestWithView(Function<Cleaner, View> viewFactory,
-      Consumer<ListIndex<String>> listTest) {
+      Consumer<AbstractListIndexProxy<String>> listTest) {
     try (Cleaner cleaner = new Cleaner()) {
       View view = viewFactory.apply(cleaner);
-      ListIndex<String> list = this.create(LIST_NAME, view);
+      AbstractListIndexProxy<String> list = this.create(LIST_NAME, view);
 
       listTest.accept(list);
     } catch (CloseFailuresException e) {
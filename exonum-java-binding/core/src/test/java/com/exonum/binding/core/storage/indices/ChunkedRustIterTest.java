@@ -0,0 +1,202 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.exonum.binding.test.Bytes.bytes;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.core.proxy.NativeHandle;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ChunkedRustIterTest {
+
+  private static final int INITIAL_MOD_COUNT = 11;
+
+  private static final long DEFAULT_NATIVE_HANDLE = 0x05;
+
+  private static final int CHUNK_SIZE = 2;
+
+  private ModificationCounter modCounter;
+
+  private int numChunkRequests;
+
+  @BeforeEach
+  void setUp() {
+    modCounter = mock(ModificationCounter.class);
+    when(modCounter.getCurrentValue())
+        .thenReturn(INITIAL_MOD_COUNT);
+    numChunkRequests = 0;
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 3, 4, 5})
+  void nextGoesThroughAllElements(int numElements) {
+    List<byte[]> underlyingList = createElements(numElements);
+    ChunkedRustIter<byte[]> iter = createFromIterable(underlyingList);
+
+    List<byte[]> iterElements = ImmutableList.copyOf(new RustIterAdapter<>(iter));
+
+    assertThat(iterElements, equalTo(underlyingList));
+    // One request per each full chunk, and one for the last incomplete (possibly, empty) chunk
+    int expectedChunkRequests = numElements / CHUNK_SIZE + 1;
+    assertThat(numChunkRequests, equalTo(expectedChunkRequests));
+  }
+
+  @Test
+  void nextGoesThroughAllPairs() {
+    List<byte[]> underlyingList = asList(bytes("k1"), bytes("v1"), bytes("k2"), bytes("v2"),
+        bytes("k3"), bytes("v3"));
+    Iterator<byte[]> iterator = underlyingList.iterator();
+    ChunkedRustIter<MapEntry<byte[], byte[]>> iter = new ChunkedRustIter<>(
+        new NativeHandle(DEFAULT_NATIVE_HANDLE),
+        (h, chunkSize) -> nextChunk(iterator, 2 * chunkSize),
+        CHUNK_SIZE,
+        2,
+        (chunk, offset) -> MapEntry.valueOf(chunk[offset], chunk[offset + 1]),
+        k -> true,
+        modCounter);
+
+    List<MapEntry<byte[], byte[]>> iterElements =
+        ImmutableList.copyOf(new RustIterAdapter<>(iter));
+
+    assertThat(iterElements.size(), equalTo(3));
+    for (int i = 0; i < iterElements.size(); i++) {
+      MapEntry<byte[], byte[]> entry = iterElements.get(i);
+      assertThat(entry.getKey(), equalTo(underlyingList.get(2 * i)));
+      assertThat(entry.getValue(), equalTo(underlyingList.get(2 * i + 1)));
+    }
+  }
+
+  @Test
+  void nextStopsAtFirstKeyNotSatisfyingCondition() {
+    List<byte[]> underlyingList = createElements(5);
+    Iterator<byte[]> iterator = underlyingList.iterator();
+    byte[] bound = underlyingList.get(3);
+    ChunkedRustIter<byte[]> iter = new ChunkedRustIter<>(
+        new NativeHandle(DEFAULT_NATIVE_HANDLE),
+        (h, chunkSize) -> nextChunk(iterator, chunkSize),
+        CHUNK_SIZE,
+        1,
+        (chunk, offset) -> chunk[offset],
+        k -> !Arrays.equals(k, bound),
+        modCounter);
+
+    List<byte[]> iterElements = ImmutableList.copyOf(new RustIterAdapter<>(iter));
+
+    assertThat(iterElements, equalTo(underlyingList.subList(0, 3)));
+    // Must not request the chunks after the one containing the first non-matching key
+    assertThat(numChunkRequests, equalTo(2));
+    // Must remain exhausted
+    assertFalse(iter.next().isPresent());
+  }
+
+  @Test
+  void nextFailsIfModifiedBeforeFirstNext() {
+    ChunkedRustIter<byte[]> iter = createFromIterable(emptyList());
+
+    notifyModified();
+
+    assertThrows(ConcurrentModificationException.class, iter::next);
+  }
+
+  @Test
+  void nextFailsIfModifiedAfterFirstNextWithinChunk() {
+    ChunkedRustIter<byte[]> iter = createFromIterable(createElements(CHUNK_SIZE + 1));
+
+    iter.next();  // 1st must succeed
+
+    notifyModified();
+
+    // The 2nd element is already fetched, but the iterator must still detect the modification
+    assertThrows(ConcurrentModificationException.class, iter::next);
+  }
+
+  @Test
+  void nextFailsIfHandleClosed() {
+    NativeHandle nh = new NativeHandle(DEFAULT_NATIVE_HANDLE);
+    ChunkedRustIter<byte[]> iter = createFromIterable(nh, createElements(CHUNK_SIZE + 1));
+
+    iter.next();  // 1st must succeed
+
+    // Close the native handle.
+    nh.close();
+
+    assertThrows(IllegalStateException.class, iter::next);
+  }
+
+  @Test
+  void constructorRejectsNonPositiveChunkSize() {
+    NativeHandle nh = new NativeHandle(DEFAULT_NATIVE_HANDLE);
+    assertThrows(IllegalArgumentException.class,
+        () -> new ChunkedRustIter<>(nh, (h, chunkSize) -> new byte[0][], 0, 1,
+            (chunk, offset) -> chunk[offset], k -> true, modCounter));
+  }
+
+  private static List<byte[]> createElements(int numElements) {
+    List<byte[]> elements = new ArrayList<>(numElements);
+    for (int i = 0; i < numElements; i++) {
+      elements.add(bytes(i));
+    }
+    return elements;
+  }
+
+  private ChunkedRustIter<byte[]> createFromIterable(Iterable<byte[]> it) {
+    NativeHandle nh = new NativeHandle(DEFAULT_NATIVE_HANDLE);
+    return createFromIterable(nh, it);
+  }
+
+  private ChunkedRustIter<byte[]> createFromIterable(NativeHandle nativeHandle,
+      Iterable<byte[]> it) {
+    Iterator<byte[]> iterator = it.iterator();
+    return new ChunkedRustIter<>(nativeHandle,
+        (h, chunkSize) -> nextChunk(iterator, chunkSize),
+        CHUNK_SIZE,
+        1,
+        (chunk, offset) -> chunk[offset],
+        k -> true,
+        modCounter);
+  }
+
+  private byte[][] nextChunk(Iterator<byte[]> iterator, int numArrays) {
+    numChunkRequests++;
+    return Iterators.toArray(Iterators.limit(iterator, numArrays), byte[].class);
+  }
+
+  private void notifyModified() {
+    when(modCounter.isModifiedSince(eq(INITIAL_MOD_COUNT)))
+        .thenReturn(true);
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.exonum.binding.core.storage.indices.DirectBuffers.ABSENT;
+import static com.exonum.binding.test.Bytes.bytes;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.storage.indices.DirectBuffers.NativeValueReader;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class DirectBuffersTest {
+
+  @Test
+  void readIntoAdvancesPosition() {
+    ByteBuffer target = ByteBuffer.allocateDirect(8);
+    target.position(2);
+
+    int size = DirectBuffers.readInto(target, readerOf(bytes(1, 2, 3)));
+
+    assertThat(size, equalTo(3));
+    assertThat(target.position(), equalTo(5));
+    assertThat(target.get(2), equalTo((byte) 1));
+    assertThat(target.get(4), equalTo((byte) 3));
+  }
+
+  @Test
+  void readIntoLeavesBufferUnchangedIfValueDoesNotFit() {
+    ByteBuffer target = ByteBuffer.allocateDirect(4);
+    target.position(2);
+
+    int size = DirectBuffers.readInto(target, readerOf(bytes(1, 2, 3)));
+
+    assertThat(size, equalTo(3));
+    assertThat(target.position(), equalTo(2));
+  }
+
+  @Test
+  void readIntoAbsentValue() {
+    ByteBuffer target = ByteBuffer.allocateDirect(4);
+
+    int size = DirectBuffers.readInto(target, readerOf(null));
+
+    assertThat(size, equalTo(ABSENT));
+    assertThat(target.position(), equalTo(0));
+  }
+
+  @Test
+  void readIntoRejectsHeapBuffers() {
+    ByteBuffer target = ByteBuffer.allocate(4);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> DirectBuffers.readInto(target, readerOf(bytes(1))));
+  }
+
+  @Test
+  void readIntoRejectsReadOnlyBuffers() {
+    ByteBuffer target = ByteBuffer.allocateDirect(4).asReadOnlyBuffer();
+
+    assertThrows(IllegalArgumentException.class,
+        () -> DirectBuffers.readInto(target, readerOf(bytes(1))));
+  }
+
+  @Test
+  void decode() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+    buffer.position(3);
+
+    String value = DirectBuffers.decode(buffer, readerOf(bytes("abc")),
+        StandardSerializers.string(), () -> "fallback");
+
+    assertThat(value, equalTo("abc"));
+  }
+
+  @Test
+  void decodeAbsentValue() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+
+    String value = DirectBuffers.decode(buffer, readerOf(null),
+        StandardSerializers.string(), () -> "fallback");
+
+    assertThat(value, nullValue());
+  }
+
+  @Test
+  void decodeUsesFallbackIfValueDoesNotFit() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(2);
+
+    String value = DirectBuffers.decode(buffer, readerOf(bytes("abc")),
+        StandardSerializers.string(), () -> "fallback");
+
+    assertThat(value, equalTo("fallback"));
+  }
+
+  /**
+   * Creates a reader of the given value that follows the contract of the native readers.
+   */
+  private static NativeValueReader readerOf(byte[] value) {
+    return (target, offset, maxLength) -> {
+      if (value == null) {
+        return ABSENT;
+      }
+      if (value.length <= maxLength) {
+        for (int i = 0; i < value.length; i++) {
+          target.put(offset + i, value[i]);
+        }
+      }
+      return value.length;
+    };
+  }
+}
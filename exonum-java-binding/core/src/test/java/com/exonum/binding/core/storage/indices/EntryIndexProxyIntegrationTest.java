@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.storage.database.View;
+import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.BiConsumer;
@@ -122,6 +123,48 @@ class EntryIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void readValue() {
+    runTestWithView(database::createFork, (e) -> {
+      e.set(V1);
+      ByteBuffer target = ByteBuffer.allocateDirect(16);
+
+      int size = e.readValue(target);
+
+      target.flip();
+      assertThat(size, equalTo(V1.length()));
+      assertThat(StandardSerializers.string().fromBuffer(target), equalTo(V1));
+    });
+  }
+
+  @Test
+  void readValueIfNotPresent() {
+    runTestWithView(database::createSnapshot, (e) -> {
+      ByteBuffer target = ByteBuffer.allocateDirect(16);
+
+      assertThat(e.readValue(target), equalTo(-1));
+    });
+  }
+
+  @Test
+  void getWithBuffer() {
+    runTestWithView(database::createFork, (e) -> {
+      e.set(V1);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+
+      assertThat(e.get(buffer), equalTo(V1));
+    });
+  }
+
+  @Test
+  void getWithBufferFailsIfNotPresent() {
+    runTestWithView(database::createSnapshot, (e) -> {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+
+      assertThrows(NoSuchElementException.class, () -> e.get(buffer));
+    });
+  }
+
   private static void runTestWithView(Function<Cleaner, View> viewFactory,
       Consumer<EntryIndexProxy<String>> entryTest) {
     runTestWithView(viewFactory, (ignoredView, entry) -> entryTest.accept(entry));
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.exonum.binding.test.Bytes.bytes;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class KeyPredicatesTest {
+
+  @Test
+  void lessThan() {
+    Predicate<byte[]> lessThan = KeyPredicates.lessThan(bytes(0x01, 0x02));
+
+    assertTrue(lessThan.test(bytes()));
+    assertTrue(lessThan.test(bytes(0x01)));
+    assertTrue(lessThan.test(bytes(0x01, 0x01, 0xff)));
+    assertFalse(lessThan.test(bytes(0x01, 0x02)));
+    assertFalse(lessThan.test(bytes(0x01, 0x02, 0x00)));
+    assertFalse(lessThan.test(bytes(0x02)));
+  }
+
+  @Test
+  void lessThanComparesUnsignedBytes() {
+    Predicate<byte[]> lessThan = KeyPredicates.lessThan(bytes(0x80));
+
+    assertTrue(lessThan.test(bytes(0x7f)));
+    assertFalse(lessThan.test(bytes(0xff)));
+  }
+
+  @Test
+  void lessThanCopiesBound() {
+    byte[] bound = bytes(0x02);
+    Predicate<byte[]> lessThan = KeyPredicates.lessThan(bound);
+
+    bound[0] = 0x00;
+
+    assertTrue(lessThan.test(bytes(0x01)));
+  }
+
+  @Test
+  void startsWith() {
+    Predicate<byte[]> startsWith = KeyPredicates.startsWith(bytes("ab"));
+
+    assertTrue(startsWith.test(bytes("ab")));
+    assertTrue(startsWith.test(bytes("abc")));
+    assertFalse(startsWith.test(bytes("a")));
+    assertFalse(startsWith.test(bytes("ac")));
+    assertFalse(startsWith.test(bytes("b")));
+  }
+
+  @Test
+  void startsWithEmptyPrefix() {
+    Predicate<byte[]> startsWith = KeyPredicates.startsWith(bytes());
+
+    assertTrue(startsWith.test(bytes()));
+    assertTrue(startsWith.test(bytes("a")));
+  }
+}
@@ -113,6 +113,47 @@ class KeySetIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void iteratorFromShouldStartAtElement() {
+    runTestWithView(database::createFork, (set) -> {
+      List<String> elements = TestStorageItems.keys;
+
+      elements.forEach(set::add);
+
+      String fromElement = elements.get(4);
+      List<String> iterElements = ImmutableList.copyOf(set.iterator(fromElement));
+
+      assertThat(iterElements, equalTo(elements.subList(4, elements.size())));
+    });
+  }
+
+  @Test
+  void iteratorInRangeShouldExcludeUpperBound() {
+    runTestWithView(database::createFork, (set) -> {
+      List<String> elements = TestStorageItems.keys;
+
+      elements.forEach(set::add);
+
+      List<String> iterElements = ImmutableList.copyOf(
+          set.iterator(elements.get(1), elements.get(3)));
+
+      assertThat(iterElements, equalTo(elements.subList(1, 3)));
+    });
+  }
+
+  @Test
+  void iteratorWithPrefixShouldReturnElementsHavingPrefix() {
+    runTestWithView(database::createFork, (set) -> {
+      List<String> elements = ImmutableList.of("a", "ba", "bb", "bc", "c");
+
+      elements.forEach(set::add);
+
+      List<String> iterElements = ImmutableList.copyOf(set.iteratorWithPrefix("b"));
+
+      assertThat(iterElements, equalTo(ImmutableList.of("ba", "bb", "bc")));
+    });
+  }
+
   @Test
   void testStream() {
     runTestWithView(database::createFork, (set) -> {
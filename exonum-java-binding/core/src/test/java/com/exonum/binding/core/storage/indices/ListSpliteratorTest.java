@@ -24,13 +24,18 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -284,13 +289,39 @@ class ListSpliteratorTest {
     assertThat(spliterator.estimateSize()).isEqualTo(0);
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3})
+  void forEachRemainingReadsElementsInRanges(int numRanges) {
+    int size = numRanges * ListSpliterator.RANGE_SIZE - 1;
+    int[] source = IntStream.range(0, size).toArray();
+    ListIndex<Integer> list = createListMock(source);
+    Spliterator<Integer> spliterator = new ListSpliterator<>(list, mock(ModificationCounter.class),
+        true);
+
+    List<Integer> elements = new ArrayList<>();
+    spliterator.forEachRemaining(elements::add);
+
+    assertThat(elements).containsExactlyElementsOf(
+        IntStream.of(source).boxed().collect(Collectors.toList()));
+    verify(list, times(numRanges)).getRange(anyLong(), anyLong());
+    verify(list, never()).get(anyLong());
+  }
+
+  @Test
+  void forEachRemainingFailsIfModifiedByAction() {
+    int[] source = IntStream.range(0, 2 * ListSpliterator.RANGE_SIZE).toArray();
+    ListIndex<Integer> list = createListMock(source);
+    ModificationCounter counter = new IncrementalModificationCounter();
+    Spliterator<Integer> spliterator = new ListSpliterator<>(list, counter, false);
+
+    assertThrows(ConcurrentModificationException.class,
+        () -> spliterator.forEachRemaining(e -> counter.notifyModified()));
+    // Must not read the next range after the modification
+    verify(list, times(1)).getRange(anyLong(), anyLong());
+  }
+
   private static Spliterator<Integer> createSpliteratorOf(int[] source) {
-    ListIndex<Integer> list = createListMock();
-    lenient().when(list.get(anyLong())).thenAnswer((Answer<Integer>) invocation -> {
-      Long index = invocation.getArgument(0);
-      return source[Math.toIntExact(index)];
-    });
-    lenient().when(list.size()).thenReturn((long) source.length);
+    ListIndex<Integer> list = createListMock(source);
 
     ModificationCounter modCounter = mock(ModificationCounter.class);
     lenient().when(modCounter.isModifiedSince(anyInt()))
@@ -299,6 +330,24 @@ class ListSpliteratorTest {
     return new ListSpliterator<>(list, modCounter, true);
   }
 
+  private static ListIndex<Integer> createListMock(int[] source) {
+    ListIndex<Integer> list = createListMock();
+    lenient().when(list.get(anyLong())).thenAnswer((Answer<Integer>) invocation -> {
+      Long index = invocation.getArgument(0);
+      return source[Math.toIntExact(index)];
+    });
+    lenient().when(list.getRange(anyLong(), anyLong()))
+        .thenAnswer((Answer<List<Integer>>) invocation -> {
+          long from = invocation.getArgument(0);
+          long to = invocation.getArgument(1);
+          return Arrays.stream(source, Math.toIntExact(from), Math.toIntExact(to))
+              .boxed()
+              .collect(Collectors.toList());
+        });
+    lenient().when(list.size()).thenReturn((long) source.length);
+    return list;
+  }
+
   // Don't warn of unchecked assignment of mock of parameterized class
   @SuppressWarnings("unchecked")
   private static ListIndex<Integer> createListMock() {
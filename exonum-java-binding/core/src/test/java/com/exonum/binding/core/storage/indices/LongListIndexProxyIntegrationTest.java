@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.core.storage.database.View;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class LongListIndexProxyIntegrationTest extends BaseIndexProxyTestable<LongListIndexProxy> {
+
+  private static final String LIST_NAME = "test_long_list";
+
+  @Test
+  void newListIsEmpty() {
+    runTestWithView(database::createSnapshot, (list) -> {
+      assertTrue(list.isEmpty());
+      assertThat(list.size(), equalTo(0L));
+    });
+  }
+
+  @Test
+  void addLong() {
+    runTestWithView(database::createFork, (list) -> {
+      list.addLong(1L);
+      list.addLong(-2L);
+
+      assertFalse(list.isEmpty());
+      assertThat(list.size(), equalTo(2L));
+      assertThat(list.getLong(0), equalTo(1L));
+      assertThat(list.getLong(1), equalTo(-2L));
+    });
+  }
+
+  @Test
+  void addLongFailsWithSnapshot() {
+    runTestWithView(database::createSnapshot, (list) -> {
+      assertThrows(UnsupportedOperationException.class, () -> list.addLong(1L));
+    });
+  }
+
+  @Test
+  void getLongInvalidIndex() {
+    runTestWithView(database::createFork, (list) -> {
+      list.addLong(1L);
+
+      assertThrows(IndexOutOfBoundsException.class, () -> list.getLong(1));
+      assertThrows(IndexOutOfBoundsException.class, () -> list.getLong(-1));
+    });
+  }
+
+  @Test
+  void setLong() {
+    runTestWithView(database::createFork, (list) -> {
+      list.addLong(1L);
+      list.addLong(2L);
+
+      list.setLong(1, Long.MAX_VALUE);
+
+      assertThat(list.getLong(1), equalTo(Long.MAX_VALUE));
+    });
+  }
+
+  @Test
+  void setLongInvalidIndex() {
+    runTestWithView(database::createFork, (list) -> {
+      assertThrows(IndexOutOfBoundsException.class, () -> list.setLong(0, 1L));
+    });
+  }
+
+  @Test
+  void getLastLong() {
+    runTestWithView(database::createFork, (list) -> {
+      list.addLong(1L);
+      list.addLong(2L);
+
+      assertThat(list.getLastLong(), equalTo(2L));
+    });
+  }
+
+  @Test
+  void getLastLongFailsIfEmpty() {
+    runTestWithView(database::createSnapshot, (list) -> {
+      assertThrows(NoSuchElementException.class, list::getLastLong);
+    });
+  }
+
+  @Test
+  void getRange() {
+    runTestWithView(database::createFork, (list) -> {
+      for (long i = 0; i < 5; i++) {
+        list.addLong(i * 10);
+      }
+
+      assertThat(list.getRange(1, 4), equalTo(new long[] {10L, 20L, 30L}));
+      assertThat(list.getRange(2, 2), equalTo(new long[0]));
+    });
+  }
+
+  @Test
+  void getRangeInvalidRange() {
+    runTestWithView(database::createFork, (list) -> {
+      list.addLong(1L);
+
+      assertThrows(IndexOutOfBoundsException.class, () -> list.getRange(0, 2));
+      assertThrows(IndexOutOfBoundsException.class, () -> list.getRange(1, 0));
+    });
+  }
+
+  @Test
+  void incrementBy() {
+    runTestWithView(database::createFork, (list) -> {
+      list.addLong(10L);
+
+      assertThat(list.incrementBy(0, 5L), equalTo(15L));
+      assertThat(list.getLong(0), equalTo(15L));
+    });
+  }
+
+  @Test
+  void incrementByOverflows() {
+    runTestWithView(database::createFork, (list) -> {
+      list.addLong(Long.MIN_VALUE);
+
+      assertThat(list.incrementBy(0, -1L), equalTo(Long.MAX_VALUE));
+    });
+  }
+
+  @Test
+  void incrementByInvalidIndex() {
+    runTestWithView(database::createFork, (list) -> {
+      assertThrows(IndexOutOfBoundsException.class, () -> list.incrementBy(0, 1L));
+    });
+  }
+
+  @Test
+  void clear() {
+    runTestWithView(database::createFork, (list) -> {
+      list.addLong(1L);
+
+      list.clear();
+
+      assertTrue(list.isEmpty());
+    });
+  }
+
+  @Test
+  void valuesAreCompatibleWithFixed64Serializer() throws CloseFailuresException {
+    try (Cleaner cleaner = new Cleaner()) {
+      Fork fork = database.createFork(cleaner);
+      LongListIndexProxy longList = create(LIST_NAME, fork);
+      longList.addLong(-2L);
+      database.merge(fork);
+
+      Snapshot snapshot = database.createSnapshot(cleaner);
+      ListIndexProxy<Long> list = ListIndexProxy.newInstance(LIST_NAME, snapshot,
+          StandardSerializers.fixed64());
+
+      assertThat(list.get(0), equalTo(-2L));
+    }
+  }
+
+  private void runTestWithView(Function<Cleaner, View> viewFactory,
+      Consumer<LongListIndexProxy> listTest) {
+    try (Cleaner cleaner = new Cleaner()) {
+      View view = viewFactory.apply(cleaner);
+      LongListIndexProxy list = create(LIST_NAME, view);
+
+      listTest.accept(list);
+    } catch (CloseFailuresException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  LongListIndexProxy create(String name, View view) {
+    return LongListIndexProxy.newInstance(name, view);
+  }
+
+  @Override
+  LongListIndexProxy createInGroup(String groupName, byte[] idInGroup, View view) {
+    return LongListIndexProxy.newInGroupUnsafe(groupName, idInGroup, view);
+  }
+
+  @Override
+  StorageIndex createOfOtherType(String name, View view) {
+    return MapIndexProxy.newInstance(name, view, StandardSerializers.string(),
+        StandardSerializers.string());
+  }
+
+  @Override
+  Object getAnyElement(LongListIndexProxy index) {
+    return index.getLong(0);
+  }
+
+  @Override
+  void update(LongListIndexProxy index) {
+    index.addLong(1L);
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.exonum.binding.core.storage.indices.TestStorageItems.K1;
+import static com.exonum.binding.core.storage.indices.TestStorageItems.K2;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.core.storage.database.View;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class LongMapIndexProxyIntegrationTest
+    extends BaseIndexProxyTestable<LongMapIndexProxy<String>> {
+
+  private static final String MAP_NAME = "test_long_map";
+
+  @Test
+  void putLong() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putLong(K1, 10L);
+
+      assertTrue(map.containsKey(K1));
+      assertThat(map.getLong(K1), equalTo(10L));
+    });
+  }
+
+  @Test
+  void putLongOverwritesPreviousValue() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putLong(K1, 10L);
+      map.putLong(K1, Long.MIN_VALUE);
+
+      assertThat(map.getLong(K1), equalTo(Long.MIN_VALUE));
+    });
+  }
+
+  @Test
+  void putLongFailsWithSnapshot() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      assertThrows(UnsupportedOperationException.class, () -> map.putLong(K1, 1L));
+    });
+  }
+
+  @Test
+  void getLongZeroValue() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putLong(K1, 0L);
+
+      assertThat(map.getLong(K1), equalTo(0L));
+    });
+  }
+
+  @Test
+  void getLongFailsIfNoValue() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      assertThrows(NoSuchElementException.class, () -> map.getLong(K1));
+    });
+  }
+
+  @Test
+  void getLongWithDefault() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putLong(K1, 10L);
+
+      assertThat(map.getLong(K1, -1L), equalTo(10L));
+      assertThat(map.getLong(K2, -1L), equalTo(-1L));
+    });
+  }
+
+  @Test
+  void incrementByAbsentKey() {
+    runTestWithView(database::createFork, (map) -> {
+      assertThat(map.incrementBy(K1, 5L), equalTo(5L));
+      assertThat(map.getLong(K1), equalTo(5L));
+    });
+  }
+
+  @Test
+  void incrementByExistingKey() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putLong(K1, 10L);
+
+      assertThat(map.incrementBy(K1, -3L), equalTo(7L));
+      assertThat(map.getLong(K1), equalTo(7L));
+    });
+  }
+
+  @Test
+  void incrementByOverflows() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putLong(K1, Long.MAX_VALUE);
+
+      assertThat(map.incrementBy(K1, 1L), equalTo(Long.MIN_VALUE));
+    });
+  }
+
+  @Test
+  void incrementByFailsWithSnapshot() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      assertThrows(UnsupportedOperationException.class, () -> map.incrementBy(K1, 1L));
+    });
+  }
+
+  @Test
+  void remove() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putLong(K1, 1L);
+      map.putLong(K2, 2L);
+
+      map.remove(K1);
+
+      assertFalse(map.containsKey(K1));
+      assertTrue(map.containsKey(K2));
+    });
+  }
+
+  @Test
+  void clear() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putLong(K1, 1L);
+      map.putLong(K2, 2L);
+
+      map.clear();
+
+      assertFalse(map.containsKey(K1));
+      assertFalse(map.containsKey(K2));
+    });
+  }
+
+  @Test
+  void valuesAreCompatibleWithFixed64Serializer() throws CloseFailuresException {
+    try (Cleaner cleaner = new Cleaner()) {
+      Fork fork = database.createFork(cleaner);
+      LongMapIndexProxy<String> longMap = create(MAP_NAME, fork);
+      longMap.putLong(K1, -2L);
+      database.merge(fork);
+
+      Snapshot snapshot = database.createSnapshot(cleaner);
+      MapIndexProxy<String, Long> map = MapIndexProxy.newInstance(MAP_NAME, snapshot,
+          StandardSerializers.string(), StandardSerializers.fixed64());
+
+      assertThat(map.get(K1), equalTo(-2L));
+    }
+  }
+
+  private static void runTestWithView(Function<Cleaner, View> viewFactory,
+      Consumer<LongMapIndexProxy<String>> mapTest) {
+    IndicesTests.runTestWithView(
+        viewFactory,
+        MAP_NAME,
+        LongMapIndexProxy::newInstance,
+        (view, map) -> mapTest.accept(map)
+    );
+  }
+
+  @Override
+  LongMapIndexProxy<String> create(String name, View view) {
+    return LongMapIndexProxy.newInstance(name, view, StandardSerializers.string());
+  }
+
+  @Override
+  LongMapIndexProxy<String> createInGroup(String groupName, byte[] idInGroup, View view) {
+    return LongMapIndexProxy.newInGroupUnsafe(groupName, idInGroup, view,
+        StandardSerializers.string());
+  }
+
+  @Override
+  StorageIndex createOfOtherType(String name, View view) {
+    return ListIndexProxy.newInstance(name, view, StandardSerializers.string());
+  }
+
+  @Override
+  Object getAnyElement(LongMapIndexProxy<String> index) {
+    return index.getLong(K1, 0L);
+  }
+
+  @Override
+  void update(LongMapIndexProxy<String> index) {
+    index.putLong(K1, 1L);
+  }
+}
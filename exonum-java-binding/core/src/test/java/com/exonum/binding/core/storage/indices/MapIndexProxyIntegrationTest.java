@@ -39,9 +39,11 @@ import com.exonum.binding.core.storage.database.Fork;
 import com.exonum.binding.core.storage.database.View;
 import com.exonum.binding.core.storage.indices.TestProtoMessages.Id;
 import com.exonum.binding.core.storage.indices.TestProtoMessages.Point;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Streams;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
@@ -223,6 +225,98 @@ class MapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void readValue() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+      ByteBuffer target = ByteBuffer.allocateDirect(16);
+
+      int size = map.readValue(K1, target);
+
+      target.flip();
+      assertThat(size, equalTo(V1.length()));
+      assertThat(StandardSerializers.string().fromBuffer(target), equalTo(V1));
+    });
+  }
+
+  @Test
+  void readValueAbsentKey() {
+    runTestWithView(database::createFork, (map) -> {
+      ByteBuffer target = ByteBuffer.allocateDirect(16);
+
+      assertThat(map.readValue(K1, target), equalTo(-1));
+      assertThat(target.position(), equalTo(0));
+    });
+  }
+
+  @Test
+  void readValueDoesNotFit() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+      ByteBuffer target = ByteBuffer.allocateDirect(V1.length() - 1);
+
+      assertThat(map.readValue(K1, target), equalTo(V1.length()));
+      assertThat(target.position(), equalTo(0));
+    });
+  }
+
+  @Test
+  void getWithBuffer() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+      String largeValue = Strings.repeat("v", 1024);
+      map.put(K2, largeValue);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+
+      assertThat(map.get(K1, buffer), equalTo(V1));
+      assertThat(map.get(K2, buffer), equalTo(largeValue));
+      assertNull(map.get("absent key", buffer));
+    });
+  }
+
+  @Test
+  void getAllShouldReturnPresentValues() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+      map.put("", V2);
+
+      Map<String, String> values = map.getAll(ImmutableList.of("", "absent key", K1));
+
+      assertThat(values, equalTo(ImmutableMap.of("", V2, K1, V1)));
+      assertThat(ImmutableList.copyOf(values.keySet()), equalTo(ImmutableList.of("", K1)));
+    });
+  }
+
+  @Test
+  void getAllVarargsShouldReturnPresentValues() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+      map.put(K2, V2);
+
+      Map<String, String> values = map.getAll(K2, "absent key", K1);
+
+      assertThat(values, equalTo(ImmutableMap.of(K2, V2, K1, V1)));
+      assertThat(ImmutableList.copyOf(values.keySet()), equalTo(ImmutableList.of(K2, K1)));
+    });
+  }
+
+  @Test
+  void getAllShouldReturnEmptyMapIfNoKeys() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      Map<String, String> values = map.getAll(ImmutableList.of());
+
+      assertTrue(values.isEmpty());
+    });
+  }
+
+  @Test
+  void getAllShouldThrowIfNullKey() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      assertThrows(NullPointerException.class,
+          () -> map.getAll(Collections.singletonList(null)));
+    });
+  }
+
   @Test
   void putShouldFailWithSnapshot() {
     runTestWithView(database::createSnapshot, (map) -> {
@@ -297,6 +391,164 @@ class MapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void removeAllShouldRemoveGivenKeys() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(4);
+      putAll(map, entries);
+
+      List<String> keys = MapEntries.extractKeys(entries);
+      map.removeAll(ImmutableList.of(keys.get(0), keys.get(2), "absent key"));
+
+      List<String> remainingKeys = ImmutableList.copyOf(map.keys());
+      assertThat(remainingKeys, equalTo(ImmutableList.of(keys.get(1), keys.get(3))));
+    });
+  }
+
+  @Test
+  void removeAllShouldFailWithSnapshot() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      assertThrows(UnsupportedOperationException.class,
+          () -> map.removeAll(ImmutableList.of(K1)));
+    });
+  }
+
+  @Test
+  void computeShouldPutComputedValue() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+
+      String newValue = map.compute(K1, (k, v) -> k + v);
+
+      assertThat(newValue, equalTo(K1 + V1));
+      assertThat(map.get(K1), equalTo(K1 + V1));
+    });
+  }
+
+  @Test
+  void computeShouldPassNullIfAbsent() {
+    runTestWithView(database::createFork, (map) -> {
+      String newValue = map.compute(K1, (k, v) -> {
+        assertNull(v);
+        return V1;
+      });
+
+      assertThat(newValue, equalTo(V1));
+      assertThat(map.get(K1), equalTo(V1));
+    });
+  }
+
+  @Test
+  void computeShouldRemoveIfNull() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+
+      String newValue = map.compute(K1, (k, v) -> null);
+
+      assertNull(newValue);
+      assertFalse(map.containsKey(K1));
+    });
+  }
+
+  @Test
+  void computeShouldNotModifyIfFunctionThrows() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+      RuntimeException e = new RuntimeException("Test");
+
+      RuntimeException thrown = assertThrows(RuntimeException.class,
+          () -> map.compute(K1, (k, v) -> {
+            throw e;
+          }));
+
+      assertThat(thrown, equalTo(e));
+      assertThat(map.get(K1), equalTo(V1));
+    });
+  }
+
+  @Test
+  void computeShouldNotInvalidateIteratorsIfFunctionThrows() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+      Iterator<String> iterator = map.keys();
+
+      assertThrows(RuntimeException.class, () -> map.compute(K1, (k, v) -> {
+        throw new RuntimeException("Test");
+      }));
+
+      assertThat(iterator.next(), equalTo(K1));
+    });
+  }
+
+  @Test
+  void computeShouldFailIfFunctionModifiesMap() {
+    runTestWithView(database::createFork, (map) -> {
+      assertThrows(ConcurrentModificationException.class,
+          () -> map.compute(K1, (k, v) -> {
+            map.put(K2, V2);
+            return V1;
+          }));
+
+      // The computed value is not written, but the modification made by the function is
+      assertFalse(map.containsKey(K1));
+      assertThat(map.get(K2), equalTo(V2));
+    });
+  }
+
+  @Test
+  void computeShouldFailWithSnapshot() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      assertThrows(UnsupportedOperationException.class, () -> map.compute(K1, (k, v) -> V1));
+    });
+  }
+
+  @Test
+  void mergeShouldPutValueIfAbsent() {
+    runTestWithView(database::createFork, (map) -> {
+      String newValue = map.merge(K1, V1, String::concat);
+
+      assertThat(newValue, equalTo(V1));
+      assertThat(map.get(K1), equalTo(V1));
+    });
+  }
+
+  @Test
+  void mergeShouldCombineValues() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+
+      String newValue = map.merge(K1, V2, String::concat);
+
+      assertThat(newValue, equalTo(V1 + V2));
+      assertThat(map.get(K1), equalTo(V1 + V2));
+    });
+  }
+
+  @Test
+  void addAndGet() throws CloseFailuresException {
+    try (Cleaner cleaner = new Cleaner()) {
+      Fork fork = database.createFork(cleaner);
+      MapIndexProxy<String, Long> map = MapIndexProxy.newInstance(MAP_NAME, fork,
+          StandardSerializers.string(), StandardSerializers.fixed64());
+
+      assertThat(map.addAndGet(K1, 10L), equalTo(10L));
+      assertThat(map.addAndGet(K1, -3L), equalTo(7L));
+      assertThat(map.get(K1), equalTo(7L));
+
+      map.put(K2, Long.MAX_VALUE);
+      assertThat(map.addAndGet(K2, 1L), equalTo(Long.MIN_VALUE));
+    }
+  }
+
+  @Test
+  void addAndGetShouldFailIfValuesAreNotFixed64() {
+    runTestWithView(database::createFork, (map) -> {
+      assertThrows(IllegalStateException.class, () -> map.addAndGet(K1, 1L));
+
+      assertFalse(map.containsKey(K1));
+    });
+  }
+
   @Test
   void keysShouldReturnEmptyIterIfNoEntries() {
     runTestWithView(database::createSnapshot, (map) -> {
@@ -381,6 +633,158 @@ class MapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void keysFromShouldReturnIterStartingAtKey() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(5);
+      putAll(map, entries);
+
+      List<String> keysFromIter = ImmutableList.copyOf(map.keys("c"));
+      List<String> expectedKeys = MapEntries.extractKeys(entries.subList(2, 5));
+
+      assertThat(keysFromIter, equalTo(expectedKeys));
+    });
+  }
+
+  @Test
+  void keysFromShouldReturnIterStartingAtNextKeyIfAbsent() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(3);
+      putAll(map, entries);
+
+      List<String> keysFromIter = ImmutableList.copyOf(map.keys("aa"));
+
+      assertThat(keysFromIter, equalTo(ImmutableList.of("b", "c")));
+    });
+  }
+
+  @Test
+  void keysInRangeShouldExcludeUpperBound() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(5);
+      putAll(map, entries);
+
+      List<String> keysFromIter = ImmutableList.copyOf(map.keys("b", "d"));
+
+      assertThat(keysFromIter, equalTo(ImmutableList.of("b", "c")));
+    });
+  }
+
+  @Test
+  void valuesFromShouldReturnIterStartingAtKey() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(5);
+      putAll(map, entries);
+
+      List<String> valuesFromIter = ImmutableList.copyOf(map.values("d"));
+      List<String> expectedValues = MapEntries.extractValues(entries.subList(3, 5));
+
+      assertThat(valuesFromIter, equalTo(expectedValues));
+    });
+  }
+
+  @Test
+  void valuesInRangeShouldExcludeUpperBound() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(5);
+      putAll(map, entries);
+
+      List<String> valuesFromIter = ImmutableList.copyOf(map.values("b", "d"));
+      List<String> expectedValues = MapEntries.extractValues(entries.subList(1, 3));
+
+      assertThat(valuesFromIter, equalTo(expectedValues));
+    });
+  }
+
+  @Test
+  void entriesFromShouldReturnIterStartingAtKey() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(5);
+      putAll(map, entries);
+
+      List<MapEntry<String, String>> iterEntries = ImmutableList.copyOf(map.entries("b"));
+
+      assertThat(iterEntries, equalTo(entries.subList(1, 5)));
+    });
+  }
+
+  @Test
+  void entriesFromShouldReturnEmptyIterIfAfterLastKey() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(3);
+      putAll(map, entries);
+
+      Iterator<MapEntry<String, String>> iterator = map.entries("z");
+
+      assertFalse(iterator.hasNext());
+    });
+  }
+
+  @Test
+  void entriesInRangeShouldReturnEntriesInRange() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(10);
+      putAll(map, entries);
+
+      List<MapEntry<String, String>> iterEntries = ImmutableList.copyOf(map.entries("c", "f"));
+
+      assertThat(iterEntries, equalTo(entries.subList(2, 5)));
+    });
+  }
+
+  @Test
+  void entriesInRangeShouldReturnEmptyIterIfEmptyRange() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(3);
+      putAll(map, entries);
+
+      assertFalse(map.entries("b", "b").hasNext());
+      assertFalse(map.entries("c", "a").hasNext());
+    });
+  }
+
+  @Test
+  void entriesWithPrefixShouldReturnEntriesHavingPrefix() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put("a", V1);
+      map.put("ab", V2);
+      map.put("abc", V3);
+      map.put("b", V4);
+
+      List<MapEntry<String, String>> iterEntries =
+          ImmutableList.copyOf(map.entriesWithPrefix("ab"));
+
+      List<MapEntry<String, String>> expected = ImmutableList.of(
+          MapEntry.valueOf("ab", V2),
+          MapEntry.valueOf("abc", V3));
+      assertThat(iterEntries, equalTo(expected));
+    });
+  }
+
+  @Test
+  void keysWithPrefixShouldReturnEmptyIterIfNoKeysHavePrefix() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(K1, V1);
+      map.put(K2, V2);
+
+      assertFalse(map.keysWithPrefix("no such prefix").hasNext());
+    });
+  }
+
+  @Test
+  void entriesInRangeIterNextShouldFailIfThisMapModified() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(5);
+      putAll(map, entries);
+
+      Iterator<MapEntry<String, String>> iterator = map.entries("a", "d");
+      iterator.next();
+      map.put("new key", "new value");
+
+      assertThrows(ConcurrentModificationException.class, iterator::next);
+    });
+  }
+
   @Test
   void clearEmptyFork() {
     runTestWithView(database::createFork, MapIndexProxy::clear);  // no-op
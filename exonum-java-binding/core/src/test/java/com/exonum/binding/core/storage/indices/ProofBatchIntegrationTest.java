@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.exonum.binding.core.storage.indices.ProofMapIndexProxyIntegrationTest.PK1;
+import static com.exonum.binding.core.storage.indices.ProofMapIndexProxyIntegrationTest.PK2;
+import static com.exonum.binding.core.storage.indices.ProofMapIndexProxyIntegrationTest.PK3;
+import static com.exonum.binding.core.storage.indices.TestStorageItems.V1;
+import static com.exonum.binding.core.storage.indices.TestStorageItems.V2;
+import static com.exonum.binding.core.storage.indices.TestStorageItems.V3;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.ProofBundle;
+import com.exonum.binding.common.proofs.ProofBundle.ProofType;
+import com.exonum.binding.common.proofs.list.CheckedListProof;
+import com.exonum.binding.common.proofs.map.CheckedMapProof;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.test.RequiresNativeLibrary;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@RequiresNativeLibrary
+class ProofBatchIntegrationTest {
+
+  private static final String MAP_NAME = "test_proof_map";
+  private static final String LIST_NAME = "test_proof_list";
+
+  private TemporaryDb database;
+  private Cleaner cleaner;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    database = TemporaryDb.newInstance();
+    cleaner = new Cleaner();
+
+    Fork fork = database.createFork(cleaner);
+    ProofMapIndexProxy<HashCode, String> map = createMap(fork);
+    map.put(PK1, V1);
+    map.put(PK2, V2);
+    ProofListIndexProxy<String> list = createList(fork);
+    list.addAll(Arrays.asList(V1, V2, V3));
+    database.merge(fork);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    cleaner.close();
+    database.close();
+  }
+
+  @Test
+  void buildProofsOfSeveralIndexes() {
+    Snapshot snapshot = database.createSnapshot(cleaner);
+    ProofMapIndexProxy<HashCode, String> map = createMap(snapshot);
+    ProofListIndexProxy<String> list = createList(snapshot);
+
+    byte[] bundle = ProofBatch.newInstance(snapshot)
+        .addMapProof(map, ImmutableList.of(PK1, PK3))
+        .addListProof(list, 1L)
+        .addListRangeProof(list, 0L, 2L)
+        .build();
+
+    ProofBundle proofs = ProofBundle.parseFrom(bundle);
+    assertThat(proofs.size(), equalTo(3));
+
+    assertThat(proofs.getProofType(0), equalTo(ProofType.MAP));
+    CheckedMapProof mapProof = proofs.getMapProof(0).check();
+    assertTrue(mapProof.isValid());
+    assertThat(mapProof.getIndexHash(), equalTo(map.getIndexHash()));
+    assertThat(mapProof.getEntries(), contains(MapEntry.valueOf(toByteString(PK1),
+        ByteString.copyFromUtf8(V1))));
+    assertThat(mapProof.getMissingKeys(), contains(toByteString(PK3)));
+
+    CheckedListProof listProof = proofs.getListProof(1).check();
+    assertTrue(listProof.isValid());
+    assertThat(listProof.getIndexHash(), equalTo(list.getIndexHash()));
+    assertThat(listProof.getElements(), equalTo(ImmutableMap.of(1L,
+        ByteString.copyFromUtf8(V2))));
+
+    CheckedListProof rangeProof = proofs.getListProof(2).check();
+    assertTrue(rangeProof.isValid());
+    assertThat(rangeProof.getElements(), equalTo(ImmutableMap.of(
+        0L, ByteString.copyFromUtf8(V1),
+        1L, ByteString.copyFromUtf8(V2))));
+  }
+
+  @Test
+  void buildEmptyBatch() {
+    Snapshot snapshot = database.createSnapshot(cleaner);
+
+    byte[] bundle = ProofBatch.newInstance(snapshot).build();
+
+    assertThat(ProofBundle.parseFrom(bundle).size(), equalTo(0));
+  }
+
+  @Test
+  void addMapProofRejectsIndexOfOtherView() {
+    Snapshot snapshot = database.createSnapshot(cleaner);
+    ProofMapIndexProxy<HashCode, String> map = createMap(database.createSnapshot(cleaner));
+    ProofBatch batch = ProofBatch.newInstance(snapshot);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> batch.addMapProof(map, singletonList(PK1)));
+  }
+
+  @Test
+  void addMapProofRejectsEmptyKeys() {
+    Snapshot snapshot = database.createSnapshot(cleaner);
+    ProofMapIndexProxy<HashCode, String> map = createMap(snapshot);
+    ProofBatch batch = ProofBatch.newInstance(snapshot);
+
+    assertThrows(IllegalArgumentException.class, () -> batch.addMapProof(map, emptyList()));
+  }
+
+  @Test
+  void addListRangeProofRejectsInvalidRange() {
+    Snapshot snapshot = database.createSnapshot(cleaner);
+    ProofListIndexProxy<String> list = createList(snapshot);
+    ProofBatch batch = ProofBatch.newInstance(snapshot);
+
+    assertThrows(IndexOutOfBoundsException.class, () -> batch.addListRangeProof(list, 2L, 1L));
+    assertThat(batch.size(), equalTo(0));
+  }
+
+  private static ByteString toByteString(HashCode hash) {
+    return ByteString.copyFrom(hash.asBytes());
+  }
+
+  private static ProofMapIndexProxy<HashCode, String> createMap(View view) {
+    return ProofMapIndexProxy.newInstance(MAP_NAME, view, StandardSerializers.hash(),
+        StandardSerializers.string());
+  }
+
+  private static ProofListIndexProxy<String> createList(View view) {
+    return ProofListIndexProxy.newInstance(LIST_NAME, view, StandardSerializers.string());
+  }
+}
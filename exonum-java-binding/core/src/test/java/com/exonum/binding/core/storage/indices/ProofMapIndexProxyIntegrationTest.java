@@ -37,6 +37,7 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsNot.not;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -48,6 +49,7 @@ import com.exonum.binding.common.collect.MapEntry;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.common.proofs.map.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.MapProofStatus;
 import com.exonum.binding.common.proofs.map.UncheckedMapProof;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.core.proxy.Cleaner;
@@ -59,13 +61,17 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Streams;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.protobuf.ByteString;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -206,6 +212,34 @@ class ProofMapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void getAll() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(PK1, V1);
+      map.put(PK3, V3);
+
+      Map<HashCode, String> values = map.getAll(ImmutableList.of(PK3, PK2, PK1));
+
+      assertThat(values, equalTo(ImmutableMap.of(PK3, V3, PK1, V1)));
+      assertThat(ImmutableList.copyOf(values.keySet()), equalTo(ImmutableList.of(PK3, PK1)));
+    });
+  }
+
+  @Test
+  void getAllEmptyMap() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      Map<HashCode, String> values = map.getAll(ImmutableList.of(PK1, PK2));
+
+      assertTrue(values.isEmpty());
+    });
+  }
+
+  @Test
+  void getAllThrowsIfInvalidKey() {
+    runTestWithView(database::createSnapshot, (map) -> assertThrows(IllegalArgumentException.class,
+        () -> map.getAll(ImmutableList.of(PK1, INVALID_PROOF_KEY))));
+  }
+
   @Test
   void getIndexHash_EmptyMap() {
     runTestWithView(database::createSnapshot,
@@ -224,6 +258,35 @@ class ProofMapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void getIndexHashIsCachedIfNotModified() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(PK1, V1);
+
+      HashCode indexHash = map.getIndexHash();
+
+      assertThat(map.getIndexHash(), sameInstance(indexHash));
+    });
+  }
+
+  @Test
+  void getIndexHashIsUpdatedAfterModification() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(PK1, V1);
+      HashCode indexHash1 = map.getIndexHash();
+
+      map.put(PK2, V2);
+      HashCode indexHash2 = map.getIndexHash();
+      assertThat(indexHash2, not(equalTo(indexHash1)));
+
+      map.remove(PK2);
+      assertThat(map.getIndexHash(), equalTo(indexHash1));
+
+      map.clear();
+      assertThat(map.getIndexHash(), equalTo(EMPTY_MAP_INDEX_HASH));
+    });
+  }
+
   @Test
   void getProof_EmptyMapDoesNotContainSingleKey() {
     runTestWithView(database::createSnapshot,
@@ -522,6 +585,88 @@ class ProofMapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void getRangeProof_EmptyMap() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      UncheckedMapProof proof = map.getRangeProof(PK1, PK3);
+
+      CheckedMapProof checkedProof = proof.checkRange(toByteString(PK1), toByteString(PK3));
+
+      assertTrue(checkedProof.isValid());
+      assertThat(checkedProof.getIndexHash(), equalTo(EMPTY_MAP_INDEX_HASH));
+      assertFalse(checkedProof.containsKey(toByteString(PK2)));
+    });
+  }
+
+  @Test
+  void getRangeProof_MultiEntryMap() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<HashCode, String>> entries = createSortedMapEntries();
+      putAll(map, entries);
+
+      HashCode fromKey = PROOF_KEYS.get(2);
+      HashCode toKey = PROOF_KEYS.get(6);
+      UncheckedMapProof proof = map.getRangeProof(fromKey, toKey);
+
+      CheckedMapProof checkedProof = proof.checkRange(toByteString(fromKey),
+          toByteString(toKey));
+
+      assertTrue(checkedProof.isValid());
+      assertThat(checkedProof.getIndexHash(), equalTo(map.getIndexHash()));
+      assertThat(checkedProof.getEntries(), equalTo(toByteStringEntries(entries.subList(2, 6))));
+    });
+  }
+
+  @Test
+  void getRangeProof_RandomMap() {
+    runTestWithView(database::createFork, (map) -> {
+      Random random = new Random(17);
+      List<HashCode> keys = Stream.generate(() -> HashCode.fromBytes(randomKey(random)))
+          .limit(256)
+          .sorted(Comparator.comparing(HashCode::asBytes,
+              UnsignedBytes.lexicographicalComparator()))
+          .collect(Collectors.toList());
+      List<MapEntry<HashCode, String>> entries = createMapEntries(keys.stream());
+      putAll(map, entries);
+
+      for (int i = 0; i < 16; i++) {
+        int from = random.nextInt(entries.size());
+        int to = from + random.nextInt(entries.size() - from);
+        HashCode fromKey = entries.get(from).getKey();
+        HashCode toKey = entries.get(to).getKey();
+
+        CheckedMapProof checkedProof = map.getRangeProof(fromKey, toKey)
+            .checkRange(toByteString(fromKey), toByteString(toKey));
+
+        assertTrue(checkedProof.isValid());
+        assertThat(checkedProof.getEntries(),
+            equalTo(toByteStringEntries(entries.subList(from, to))));
+      }
+    });
+  }
+
+  @Test
+  void getRangeProof_ProofOfOtherRangeIsIncomplete() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<HashCode, String>> entries = createSortedMapEntries();
+      putAll(map, entries);
+
+      UncheckedMapProof proof = map.getRangeProof(PROOF_KEYS.get(2), PROOF_KEYS.get(4));
+
+      CheckedMapProof checkedProof = proof.checkRange(toByteString(PROOF_KEYS.get(2)),
+          toByteString(PROOF_KEYS.get(6)));
+
+      assertThat(checkedProof.getProofStatus(), equalTo(MapProofStatus.INCOMPLETE_RANGE));
+    });
+  }
+
+  @Test
+  void getRangeProofThrowsIfReversedRange() {
+    runTestWithView(database::createSnapshot,
+        (map) -> assertThrows(IllegalArgumentException.class,
+            () -> map.getRangeProof(PK2, PK1)));
+  }
+
   @Test
   void getMultiProof_FourEntryMap_DoesNotContain() {
     runTestWithView(database::createFork, (map) -> {
@@ -584,6 +729,96 @@ class ProofMapIndexProxyIntegrationTest
         (map) -> assertThrows(IllegalArgumentException.class, () -> map.remove(INVALID_PROOF_KEY)));
   }
 
+  @Test
+  void computeUpdatesIndexHash() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(PK1, V1);
+
+      String newValue = map.compute(PK1, (k, v) -> v + V2);
+
+      assertThat(newValue, equalTo(V1 + V2));
+      assertThat(map.get(PK1), equalTo(V1 + V2));
+      assertThat(map, provesThatPresent(PK1, V1 + V2));
+    });
+  }
+
+  @Test
+  void computeRemovesIfNull() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(PK1, V1);
+
+      assertNull(map.compute(PK1, (k, v) -> null));
+      assertThat(map, provesThatAbsent(PK1));
+    });
+  }
+
+  @Test
+  void computeFailsIfSnapshot() {
+    runTestWithView(database::createSnapshot,
+        (map) -> assertThrows(UnsupportedOperationException.class,
+            () -> map.compute(PK1, (k, v) -> V1)));
+  }
+
+  @Test
+  void computeFailsIfInvalidKey() {
+    runTestWithView(database::createFork,
+        (map) -> assertThrows(IllegalArgumentException.class,
+            () -> map.compute(INVALID_PROOF_KEY, (k, v) -> V1)));
+  }
+
+  @Test
+  void merge() {
+    runTestWithView(database::createFork, (map) -> {
+      map.merge(PK1, V1, String::concat);
+      map.merge(PK1, V2, String::concat);
+
+      assertThat(map.get(PK1), equalTo(V1 + V2));
+    });
+  }
+
+  @Test
+  void addAndGet() throws CloseFailuresException {
+    try (Cleaner cleaner = new Cleaner()) {
+      View view = database.createFork(cleaner);
+      ProofMapIndexProxy<HashCode, Long> map = ProofMapIndexProxy.newInstance(MAP_NAME, view,
+          StandardSerializers.hash(), StandardSerializers.fixed64());
+
+      assertThat(map.addAndGet(PK1, 5L), equalTo(5L));
+      assertThat(map.addAndGet(PK1, 5L), equalTo(10L));
+      assertThat(map.get(PK1), equalTo(10L));
+    }
+  }
+
+  @Test
+  void removeAll() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putAll(ImmutableMap.of(
+          PK1, V1,
+          PK2, V2,
+          PK3, V3));
+
+      map.removeAll(ImmutableList.of(PK1, PK3));
+
+      assertFalse(map.containsKey(PK1));
+      assertThat(map.get(PK2), equalTo(V2));
+      assertFalse(map.containsKey(PK3));
+    });
+  }
+
+  @Test
+  void removeAllFailsIfSnapshot() {
+    runTestWithView(database::createSnapshot,
+        (map) -> assertThrows(UnsupportedOperationException.class,
+            () -> map.removeAll(ImmutableList.of(PK1))));
+  }
+
+  @Test
+  void removeAllFailsIfInvalidKey() {
+    runTestWithView(database::createFork,
+        (map) -> assertThrows(IllegalArgumentException.class,
+            () -> map.removeAll(ImmutableList.of(PK1, INVALID_PROOF_KEY))));
+  }
+
   @Test
   void keysTest() {
     runTestWithView(database::createFork, (map) -> {
@@ -630,6 +865,83 @@ class ProofMapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void keysFromTest() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<HashCode, String>> entries = createSortedMapEntries();
+      putAll(map, entries);
+
+      HashCode fromKey = PROOF_KEYS.get(3);
+      List<HashCode> keysFromIter = ImmutableList.copyOf(map.keys(fromKey));
+      List<HashCode> expectedKeys = PROOF_KEYS.subList(3, PROOF_KEYS.size());
+
+      assertThat(keysFromIter, equalTo(expectedKeys));
+    });
+  }
+
+  @Test
+  void valuesFromTest() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<HashCode, String>> entries = createSortedMapEntries();
+      putAll(map, entries);
+
+      HashCode fromKey = PROOF_KEYS.get(5);
+      List<String> valuesFromIter = ImmutableList.copyOf(map.values(fromKey));
+      List<String> expectedValues =
+          MapEntries.extractValues(entries.subList(5, entries.size()));
+
+      assertThat(valuesFromIter, equalTo(expectedValues));
+    });
+  }
+
+  @Test
+  void entriesInRangeTest() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<HashCode, String>> entries = createSortedMapEntries();
+      putAll(map, entries);
+
+      HashCode fromKey = PROOF_KEYS.get(2);
+      HashCode toKey = PROOF_KEYS.get(6);
+      List<MapEntry<HashCode, String>> entriesFromIter =
+          ImmutableList.copyOf(map.entries(fromKey, toKey));
+
+      assertThat(entriesFromIter, equalTo(entries.subList(2, 6)));
+    });
+  }
+
+  @Test
+  void entriesFromAbsentKeyTest() {
+    runTestWithView(database::createFork, (map) -> {
+      // Put only the entries with the even keys
+      List<MapEntry<HashCode, String>> entries = createSortedMapEntries();
+      List<MapEntry<HashCode, String>> evenEntries = IntStream.range(0, entries.size())
+          .filter(i -> i % 2 == 0)
+          .mapToObj(entries::get)
+          .collect(Collectors.toList());
+      putAll(map, evenEntries);
+
+      HashCode absentKey = PROOF_KEYS.get(1);
+      List<MapEntry<HashCode, String>> entriesFromIter =
+          ImmutableList.copyOf(map.entries(absentKey));
+
+      assertThat(entriesFromIter, equalTo(evenEntries.subList(1, evenEntries.size())));
+    });
+  }
+
+  @Test
+  void entriesFromThrowsIfInvalidKey() {
+    runTestWithView(database::createSnapshot,
+        (map) -> assertThrows(IllegalArgumentException.class,
+            () -> map.entries(INVALID_PROOF_KEY)));
+  }
+
+  @Test
+  void keysInRangeThrowsIfInvalidUpperBound() {
+    runTestWithView(database::createSnapshot,
+        (map) -> assertThrows(IllegalArgumentException.class,
+            () -> map.keys(PK1, INVALID_PROOF_KEY)));
+  }
+
   @Test
   void clearEmptyHasNoEffect() {
     runTestWithView(database::createFork, ProofMapIndexProxy::clear);
@@ -767,6 +1079,24 @@ class ProofMapIndexProxyIntegrationTest
    * @param suffix a key suffix. Must be shorter than or equal to 32 bytes in UTF-8.
    * @return a key, starting with zeroes and followed by the specified suffix encoded in UTF-8
    */
+  private static ByteString toByteString(HashCode key) {
+    return ByteString.copyFrom(key.asBytes());
+  }
+
+  private static Set<MapEntry<ByteString, ByteString>> toByteStringEntries(
+      List<MapEntry<HashCode, String>> entries) {
+    return entries.stream()
+        .map(e -> MapEntry.valueOf(toByteString(e.getKey()),
+            ByteString.copyFromUtf8(e.getValue())))
+        .collect(Collectors.toSet());
+  }
+
+  private static byte[] randomKey(Random random) {
+    byte[] key = new byte[PROOF_MAP_KEY_SIZE];
+    random.nextBytes(key);
+    return key;
+  }
+
   private static HashCode createProofKey(String suffix) {
     byte[] suffixBytes = bytes(suffix);
     return createProofKey(suffixBytes);
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.exonum.binding.core.storage.indices.StorageIterators.DEFAULT_CHUNK_SIZE;
+import static com.exonum.binding.core.storage.indices.StorageIterators.parseChunkSize;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StorageIteratorsTest {
+
+  @Test
+  void parseChunkSizeReturnsDefaultIfNotSet() {
+    assertThat(parseChunkSize(null), equalTo(DEFAULT_CHUNK_SIZE));
+  }
+
+  @Test
+  void parseChunkSize() {
+    assertThat(parseChunkSize("128"), equalTo(128));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "0", "-1", "a", "1.5", "2147483648"})
+  void parseChunkSizeReturnsDefaultIfInvalid(String value) {
+    assertThat(parseChunkSize(value), equalTo(DEFAULT_CHUNK_SIZE));
+  }
+}
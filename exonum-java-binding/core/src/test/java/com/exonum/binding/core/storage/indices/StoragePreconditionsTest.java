@@ -270,6 +270,36 @@ class StoragePreconditionsTest {
     assertThat(thrown.getLocalizedMessage(), containsString("size (-1) is negative"));
   }
 
+  @Test
+  void checkPositionIndexes_AllValid() {
+    long size = 3;
+    long[][] validRanges = {{0, 0}, {0, 3}, {1, 2}, {3, 3}};
+
+    for (long[] range : validRanges) {
+      StoragePreconditions.checkPositionIndexes(range[0], range[1], size);
+    }
+  }
+
+  @Test
+  void checkPositionIndexes_ToGreaterThanSize() {
+    IndexOutOfBoundsException thrown = assertThrows(IndexOutOfBoundsException.class,
+        () -> StoragePreconditions.checkPositionIndexes(0, 4, 3));
+    assertThat(thrown.getLocalizedMessage(), containsString("index (4) is greater than size (3)"));
+  }
+
+  @Test
+  void checkPositionIndexes_FromGreaterThanTo() {
+    IndexOutOfBoundsException thrown = assertThrows(IndexOutOfBoundsException.class,
+        () -> StoragePreconditions.checkPositionIndexes(2, 1, 3));
+    assertThat(thrown.getLocalizedMessage(), containsString("from index (2)"));
+  }
+
+  @Test
+  void checkPositionIndexes_FromNegative() {
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> StoragePreconditions.checkPositionIndexes(-1, 1, 3));
+  }
+
   @Test
   void checkRangeFromNegative() {
     IndexOutOfBoundsException thrown = assertThrows(IndexOutOfBoundsException.class,
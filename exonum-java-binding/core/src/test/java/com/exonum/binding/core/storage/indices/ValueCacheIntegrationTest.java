@@ -0,0 +1,245 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.storage.indices;
+
+import static com.exonum.binding.core.storage.indices.TestStorageItems.K1;
+import static com.exonum.binding.core.storage.indices.TestStorageItems.K2;
+import static com.exonum.binding.core.storage.indices.TestStorageItems.K3;
+import static com.exonum.binding.core.storage.indices.TestStorageItems.V1;
+import static com.exonum.binding.core.storage.indices.TestStorageItems.V2;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.storage.database.Fork;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.test.RequiresNativeLibrary;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@RequiresNativeLibrary
+class ValueCacheIntegrationTest {
+
+  private static final String MAP_NAME = "test_map";
+  private static final String ENTRY_NAME = "test_entry";
+  private static final long HEIGHT = 1L;
+
+  private TemporaryDb database;
+  private Cleaner cleaner;
+  private ValueCache cache;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    database = TemporaryDb.newInstance();
+    cleaner = new Cleaner();
+    cache = ValueCache.newInstance(16);
+
+    Fork fork = database.createFork(cleaner);
+    MapIndex<String, String> map = createMap(fork);
+    map.put(K1, V1);
+    map.put(K2, V2);
+    EntryIndexProxy<String> entry = createEntry(fork);
+    entry.set(V1);
+    database.merge(fork);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    cleaner.close();
+    database.close();
+  }
+
+  @Test
+  void cachingMapRejectsForkIndexes() {
+    Fork fork = database.createFork(cleaner);
+    MapIndex<String, String> map = createMap(fork);
+
+    assertThrows(IllegalArgumentException.class, () -> cache.cachingMap(map, HEIGHT));
+  }
+
+  @Test
+  void cachingEntryRejectsForkIndexes() {
+    Fork fork = database.createFork(cleaner);
+    EntryIndexProxy<String> entry = createEntry(fork);
+
+    assertThrows(IllegalArgumentException.class, () -> cache.cachingEntry(entry, HEIGHT));
+  }
+
+  @Test
+  void mapGetCachesValues() {
+    MapIndex<String, String> map = cache.cachingMap(createMap(newSnapshot()), HEIGHT);
+
+    assertThat(map.get(K1), equalTo(V1));
+    assertThat(map.get(K1), equalTo(V1));
+
+    CacheStats stats = cache.stats();
+    assertThat(stats.missCount(), equalTo(1L));
+    assertThat(stats.hitCount(), equalTo(1L));
+  }
+
+  @Test
+  void mapGetCachesAbsentValues() {
+    MapIndex<String, String> map = cache.cachingMap(createMap(newSnapshot()), HEIGHT);
+
+    assertThat(map.get(K3), nullValue());
+    assertFalse(map.containsKey(K3));
+
+    CacheStats stats = cache.stats();
+    assertThat(stats.missCount(), equalTo(1L));
+    assertThat(stats.hitCount(), equalTo(1L));
+  }
+
+  @Test
+  void mapGetAllUsesCachedValues() {
+    MapIndex<String, String> map = cache.cachingMap(createMap(newSnapshot()), HEIGHT);
+    map.get(K2);
+
+    Map<String, String> values = map.getAll(Arrays.asList(K3, K2, K1));
+
+    assertThat(values.keySet(), contains(K2, K1));
+    assertThat(values.get(K1), equalTo(V1));
+    assertThat(values.get(K2), equalTo(V2));
+    CacheStats stats = cache.stats();
+    assertThat(stats.hitCount(), equalTo(1L));
+    assertThat(stats.missCount(), equalTo(3L));
+    assertThat(cache.size(), equalTo(3L));
+  }
+
+  @Test
+  void mapValuesAreCachedPerHeight() {
+    Snapshot snapshot = newSnapshot();
+    MapIndex<String, String> map1 = cache.cachingMap(createMap(snapshot), HEIGHT);
+    MapIndex<String, String> map2 = cache.cachingMap(createMap(snapshot), HEIGHT + 1);
+
+    map1.get(K1);
+    map2.get(K1);
+
+    assertThat(cache.stats().missCount(), equalTo(2L));
+  }
+
+  @Test
+  void wrappingAtGreaterHeightEvictsPreviousHeights() {
+    Snapshot snapshot = newSnapshot();
+    MapIndex<String, String> map1 = cache.cachingMap(createMap(snapshot), HEIGHT);
+    map1.get(K1);
+    map1.get(K2);
+
+    MapIndex<String, String> map2 = cache.cachingMap(createMap(snapshot), HEIGHT + 1);
+    assertThat(cache.size(), equalTo(0L));
+
+    map2.get(K1);
+    // Wrapping at the same or a lower height does not evict anything
+    cache.cachingMap(createMap(snapshot), HEIGHT + 1);
+    cache.cachingMap(createMap(snapshot), HEIGHT);
+    assertThat(cache.size(), equalTo(1L));
+  }
+
+  @Test
+  void cachedMapIsReadOnly() {
+    MapIndex<String, String> map = cache.cachingMap(createMap(newSnapshot()), HEIGHT);
+
+    assertThrows(UnsupportedOperationException.class, () -> map.put(K3, V1));
+    assertThrows(UnsupportedOperationException.class, () -> map.remove(K1));
+    assertThrows(UnsupportedOperationException.class, map::clear);
+  }
+
+  @Test
+  void cachedMapIteratesUnderlyingMap() {
+    MapIndex<String, String> map = cache.cachingMap(createMap(newSnapshot()), HEIGHT);
+
+    assertThat(ImmutableList.copyOf(map.keys()), contains(K1, K2));
+  }
+
+  @Test
+  void entryGetCachesValue() {
+    CachingEntryIndex<String> entry = cache.cachingEntry(createEntry(newSnapshot()), HEIGHT);
+
+    assertThat(entry.get(), equalTo(V1));
+    assertTrue(entry.isPresent());
+
+    CacheStats stats = cache.stats();
+    assertThat(stats.missCount(), equalTo(1L));
+    assertThat(stats.hitCount(), equalTo(1L));
+  }
+
+  @Test
+  void entryGetFailsIfAbsent() {
+    Snapshot snapshot = newSnapshot();
+    EntryIndexProxy<String> absentEntry = EntryIndexProxy.newInstance("absent_entry", snapshot,
+        StandardSerializers.string());
+    CachingEntryIndex<String> entry = cache.cachingEntry(absentEntry, HEIGHT);
+
+    assertFalse(entry.isPresent());
+    assertThrows(NoSuchElementException.class, entry::get);
+  }
+
+  @Test
+  void invalidateAll() {
+    MapIndex<String, String> map = cache.cachingMap(createMap(newSnapshot()), HEIGHT);
+    map.get(K1);
+
+    cache.invalidateAll();
+
+    assertThat(cache.size(), equalTo(0L));
+    map.get(K1);
+    assertThat(cache.stats().missCount(), equalTo(2L));
+  }
+
+  @Test
+  void evictsValuesBeyondMaximumSize() {
+    ValueCache cache = ValueCache.newInstance(1);
+    MapIndex<String, String> map = cache.cachingMap(createMap(newSnapshot()), HEIGHT);
+
+    map.get(K1);
+    map.get(K2);
+
+    assertThat(cache.size(), equalTo(1L));
+    assertThat(cache.stats().evictionCount(), equalTo(1L));
+  }
+
+  @Test
+  void newInstanceRejectsNonPositiveSize() {
+    assertThrows(IllegalArgumentException.class, () -> ValueCache.newInstance(0));
+  }
+
+  private Snapshot newSnapshot() {
+    return database.createSnapshot(cleaner);
+  }
+
+  private static MapIndexProxy<String, String> createMap(View view) {
+    return MapIndexProxy.newInstance(MAP_NAME, view, StandardSerializers.string(),
+        StandardSerializers.string());
+  }
+
+  private static EntryIndexProxy<String> createEntry(View view) {
+    return EntryIndexProxy.newInstance(ENTRY_NAME, view, StandardSerializers.string());
+  }
+}
@@ -36,6 +36,7 @@ import com.google.inject.Inject;
 import com.google.protobuf.InvalidProtocolBufferException;
 import io.vertx.ext.web.Router;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nullable;
 
@@ -73,7 +74,7 @@ public final class CryptocurrencyServiceImpl extends AbstractService
   public Optional<Wallet> getWallet(PublicKey ownerKey) {
     checkBlockchainInitialized();
 
-    return node.withSnapshot((view) -> {
+    return node.withCommittedSnapshot((view) -> {
       CryptocurrencySchema schema = new CryptocurrencySchema(view);
       MapIndex<PublicKey, Wallet> wallets = schema.wallets();
 
@@ -85,19 +86,32 @@ public final class CryptocurrencyServiceImpl extends AbstractService
   public List<HistoryEntity> getWalletHistory(PublicKey ownerKey) {
     checkBlockchainInitialized();
 
-    return node.withSnapshot(view -> {
+    return node.withCommittedSnapshot(view -> {
       CryptocurrencySchema schema = new CryptocurrencySchema(view);
       ListIndex<HashCode> walletHistory = schema.transactionsHistory(ownerKey);
       Blockchain blockchain = Blockchain.newInstance(view);
       MapIndex<HashCode, TransactionMessage> txMessages = blockchain.getTxMessages();
 
-      return walletHistory.stream()
-          .map(txMessages::get)
+      List<HashCode> messageHashes = walletHistory.stream()
+          .collect(toList());
+
+      Map<HashCode, TransactionMessage> messages = txMessages.getAll(messageHashes);
+
+      return messageHashes.stream()
+          .map(messageHash -> getTxMessage(messages, messageHash))
           .map(this::createTransferHistoryEntry)
           .collect(toList());
     });
   }
 
+  private static TransactionMessage getTxMessage(Map<HashCode, TransactionMessage> messages,
+      HashCode messageHash) {
+    TransactionMessage txMessage = messages.get(messageHash);
+    checkState(txMessage != null, "No transaction message with hash %s in the blockchain",
+        messageHash);
+    return txMessage;
+  }
+
   private HistoryEntity createTransferHistoryEntry(TransactionMessage txMessage) {
     checkState(txMessage.getServiceId() == getId(),
         "Service ID mismatch: message contains %s, expected %s", txMessage.getServiceId(), getId());
@@ -19,6 +19,7 @@ package com.exonum.binding.fakes;
 import static org.mockito.Mockito.mock;
 
 import com.exonum.binding.core.runtime.ServiceRuntime;
+import com.exonum.binding.core.service.SnapshotCache;
 import com.exonum.binding.core.service.adapters.UserServiceAdapter;
 import com.exonum.binding.core.service.adapters.UserTransactionAdapter;
 import com.exonum.binding.core.service.adapters.ViewFactory;
@@ -120,7 +121,7 @@ public final class NativeFacade {
   public static UserServiceAdapter createTestService() {
     Server server = createServerMock();
     TestService service = new TestService();
-    return new UserServiceAdapter(service, server, VIEW_FACTORY);
+    return new UserServiceAdapter(service, server, VIEW_FACTORY, SnapshotCache.newInstance());
   }
 
   private static Server createServerMock() {
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.core.service.SnapshotCache.Lease;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.test.TestService;
+import com.exonum.binding.test.TestServiceModule;
+import com.exonum.binding.testkit.TestKit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the retained snapshots of {@link NodeProxy}, which require access
+ * to its package-private state.
+ */
+class NodeProxySnapshotsIntegrationTest {
+
+  @Test
+  void servicesShareRetainedSnapshots() {
+    try (TestKit testKit = TestKit.forService(TestServiceModule.class)) {
+      testKit.createBlock();
+      NodeProxy node = getNodeProxy(testKit);
+      Snapshot retained;
+      try (Lease lease = node.getCommittedSnapshots().borrowLatest().get()) {
+        retained = lease.getSnapshot();
+      }
+
+      node.close();
+
+      // The node does not own the snapshots, which other services may use
+      assertFalse(retained.getCleaner().isClosed());
+    }
+  }
+
+  @Test
+  void testKitCloseDestroysRetainedSnapshots() {
+    Snapshot retained;
+    try (TestKit testKit = TestKit.forService(TestServiceModule.class)) {
+      testKit.createBlock();
+      NodeProxy node = getNodeProxy(testKit);
+      try (Lease lease = node.getCommittedSnapshots().borrowLatest().get()) {
+        retained = lease.getSnapshot();
+      }
+    }
+
+    assertTrue(retained.getCleaner().isClosed());
+  }
+
+  private static NodeProxy getNodeProxy(TestKit testKit) {
+    TestService service = testKit.getService(TestService.SERVICE_ID, TestService.class);
+    return (NodeProxy) service.getNode();
+  }
+}
@@ -18,9 +18,14 @@ package com.exonum.binding.test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.exonum.binding.core.blockchain.Block;
+import com.exonum.binding.core.blockchain.Blockchain;
 import com.exonum.binding.core.service.Node;
+import com.exonum.binding.core.service.NodeProxy;
 import com.exonum.binding.core.service.TransactionSubmissionException;
+import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.transaction.RawTransaction;
 import com.exonum.binding.testkit.TestKit;
 import org.junit.jupiter.api.Test;
@@ -47,4 +52,43 @@ class NodeProxyIntegrationTest {
           .hasMessageContaining("not found");
     }
   }
+
+  @Test
+  void withCommittedSnapshotDestroysTheViewOfRequest() {
+    try (TestKit testKit = TestKit.forService(TestServiceModule.class)) {
+      Block block = testKit.createBlock();
+      NodeProxy node = getNodeProxy(testKit);
+      Snapshot requestSnapshot = node.withCommittedSnapshot(snapshot -> snapshot);
+
+      // The indexes and iterators opened during the request are destroyed once it completes
+      assertTrue(requestSnapshot.getCleaner().isClosed());
+
+      // The retained snapshot remains usable by the subsequent requests
+      long height = node.withCommittedSnapshot(
+          snapshot -> Blockchain.newInstance(snapshot).getHeight());
+      assertThat(height).isEqualTo(block.getHeight());
+    }
+  }
+
+  @Test
+  void withCommittedSnapshotAfterClose() {
+    try (TestKit testKit = TestKit.forService(TestServiceModule.class)) {
+      testKit.createBlock();
+      NodeProxy node = getNodeProxy(testKit);
+      long height = node.withCommittedSnapshot(
+          snapshot -> Blockchain.newInstance(snapshot).getHeight());
+
+      node.close();
+
+      assertThrows(IllegalStateException.class,
+          () -> node.withCommittedSnapshot(snapshot -> snapshot));
+      assertThrows(IllegalStateException.class,
+          () -> node.withCommittedSnapshot(height, snapshot -> snapshot));
+    }
+  }
+
+  private static NodeProxy getNodeProxy(TestKit testKit) {
+    TestService service = testKit.getService(TestService.SERVICE_ID, TestService.class);
+    return (NodeProxy) service.getNode();
+  }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.test;
+
+import static com.exonum.binding.test.TestTransaction.BODY_CHARSET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.core.blockchain.Block;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.core.storage.indices.MapIndex;
+import com.exonum.binding.core.storage.indices.ValueCache;
+import com.exonum.binding.testkit.TestKit;
+import org.junit.jupiter.api.Test;
+
+class ValueCacheIntegrationTest {
+
+  @Test
+  void cachingMapReadsTheHeightOfSnapshot() {
+    try (TestKit testKit = TestKit.forService(TestServiceModule.class)) {
+      // The service submits a transaction in afterCommit, which goes into the next block
+      Block block = testKit.createBlock();
+      String value = "Test message on height " + block.getHeight();
+      HashCode key = Hashing.defaultHashFunction()
+          .hashString(value, BODY_CHARSET);
+      ValueCache cache = ValueCache.newInstance(16);
+
+      Snapshot snapshot1 = testKit.getSnapshot();
+      MapIndex<HashCode, String> map1 = cache.cachingMap(new TestSchema(snapshot1).testMap());
+      assertThat(map1.get(key)).isNull();
+
+      testKit.createBlock();
+
+      // The absent value cached at the previous height must not be returned
+      Snapshot snapshot2 = testKit.getSnapshot();
+      MapIndex<HashCode, String> map2 = cache.cachingMap(new TestSchema(snapshot2).testMap());
+      assertThat(map2.get(key)).isEqualTo(value);
+      assertThat(cache.stats().hitCount()).isZero();
+    }
+  }
+}
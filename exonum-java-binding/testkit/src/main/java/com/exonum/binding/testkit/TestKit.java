@@ -35,6 +35,7 @@ import com.exonum.binding.core.service.BlockCommittedEvent;
 import com.exonum.binding.core.service.Node;
 import com.exonum.binding.core.service.Service;
 import com.exonum.binding.core.service.ServiceModule;
+import com.exonum.binding.core.service.SnapshotCache;
 import com.exonum.binding.core.service.adapters.UserServiceAdapter;
 import com.exonum.binding.core.storage.database.Fork;
 import com.exonum.binding.core.storage.database.Snapshot;
@@ -104,8 +105,12 @@ public final class TestKit extends AbstractCloseableNativeProxy {
   @VisibleForTesting
   final Cleaner snapshotCleaner = new Cleaner("TestKit#getSnapshot");
 
-  private TestKit(long nativeHandle, Map<Short, UserServiceAdapter> serviceAdapters) {
+  private final SnapshotCache committedSnapshots;
+
+  private TestKit(long nativeHandle, Map<Short, UserServiceAdapter> serviceAdapters,
+      SnapshotCache committedSnapshots) {
     super(nativeHandle, true);
+    this.committedSnapshots = committedSnapshots;
     populateServiceMap(serviceAdapters);
   }
 
@@ -130,7 +135,8 @@ public final class TestKit extends AbstractCloseableNativeProxy {
         : new TimeProviderAdapter(timeProvider);
     long nativeHandle = nativeCreateTestKit(userServiceAdapters, isAuditorNode, validatorCount,
         timeProviderAdapter);
-    return new TestKit(nativeHandle, serviceAdapters);
+    SnapshotCache committedSnapshots = frameworkInjector.getInstance(SnapshotCache.class);
+    return new TestKit(nativeHandle, serviceAdapters, committedSnapshots);
   }
 
   /**
@@ -367,6 +373,8 @@ public final class TestKit extends AbstractCloseableNativeProxy {
   @Override
   protected void disposeInternal() {
     try {
+      // The committed snapshots of the services must be destroyed before the node
+      committedSnapshots.close();
       snapshotCleaner.close();
     } catch (CloseFailuresException e) {
       throw new IllegalStateException(e);
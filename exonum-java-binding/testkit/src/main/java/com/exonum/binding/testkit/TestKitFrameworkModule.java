@@ -16,6 +16,7 @@
 
 package com.exonum.binding.testkit;
 
+import com.exonum.binding.core.service.SnapshotCache;
 import com.exonum.binding.core.service.adapters.ViewFactory;
 import com.exonum.binding.core.service.adapters.ViewProxyFactory;
 import com.exonum.binding.core.transport.Server;
@@ -29,5 +30,7 @@ class TestKitFrameworkModule extends AbstractModule {
     bind(Server.class).toProvider(Server::create).in(Singleton.class);
 
     bind(ViewFactory.class).toInstance(ViewProxyFactory.getInstance());
+
+    bind(SnapshotCache.class).toProvider(SnapshotCache::newInstance).in(Singleton.class);
   }
 }